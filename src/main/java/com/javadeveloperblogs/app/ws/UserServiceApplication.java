@@ -1,7 +1,22 @@
 package com.javadeveloperblogs.app.ws;
 
+import com.javadeveloperblogs.app.ws.io.entity.AddressEntity;
+import com.javadeveloperblogs.app.ws.io.entity.UserEntity;
+import com.javadeveloperblogs.app.ws.shared.dto.AddressDTO;
+import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import com.javadeveloperblogs.app.ws.shared.dto.UserStatisticsDto;
+import com.javadeveloperblogs.app.ws.ui.model.request.AddressRequestModel;
+import com.javadeveloperblogs.app.ws.ui.model.request.UserDetailsRequestModel;
+import com.javadeveloperblogs.app.ws.ui.model.response.AddressesRest;
+import com.javadeveloperblogs.app.ws.ui.model.response.PartialUserRest;
+import com.javadeveloperblogs.app.ws.ui.model.response.UserRest;
+import com.javadeveloperblogs.app.ws.ui.model.response.UserStatisticsRest;
+import org.modelmapper.ModelMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 /**
  * Main application class for the User Service.
@@ -13,10 +28,54 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @since 2025
  */
 @SpringBootApplication
+@EnableScheduling
 public class UserServiceApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(UserServiceApplication.class, args);
 	}
 
+	@Bean
+	public BCryptPasswordEncoder bCryptPasswordEncoder() {
+		return new BCryptPasswordEncoder();
+	}
+
+	/**
+	 * Shared, pre-configured ModelMapper.
+	 * <p>
+	 * Type maps are built once at startup instead of on the first request that needs them,
+	 * and a single instance is shared so mapping metadata is not rebuilt per call.
+	 * Roles and the address back-reference are mapped by hand in the services: ModelMapper
+	 * cannot turn role names into RoleEntity instances and would recurse through userDetails.
+	 * </p>
+	 */
+	@Bean
+	public ModelMapper modelMapper() {
+		ModelMapper modelMapper = new ModelMapper();
+
+		// Skips are registered on empty type maps before the implicit mappings; once a nested
+		// property such as userDetails.email is mapped implicitly, its parent can no longer be skipped
+		modelMapper.emptyTypeMap(UserDto.class, UserEntity.class)
+				.addMappings(mapper -> mapper.skip(UserEntity::setRoles))
+				.implicitMappings();
+		modelMapper.emptyTypeMap(UserEntity.class, UserDto.class)
+				.addMappings(mapper -> mapper.skip(UserDto::setRoles))
+				.implicitMappings();
+		modelMapper.emptyTypeMap(AddressDTO.class, AddressEntity.class)
+				.addMappings(mapper -> mapper.skip(AddressEntity::setUserDetails))
+				.implicitMappings();
+		modelMapper.emptyTypeMap(AddressEntity.class, AddressDTO.class)
+				.addMappings(mapper -> mapper.skip(AddressDTO::setUserDetails))
+				.implicitMappings();
+
+		modelMapper.typeMap(UserDetailsRequestModel.class, UserDto.class);
+		modelMapper.typeMap(AddressRequestModel.class, AddressDTO.class);
+		modelMapper.typeMap(UserDto.class, UserRest.class);
+		modelMapper.typeMap(UserDto.class, PartialUserRest.class);
+		modelMapper.typeMap(AddressDTO.class, AddressesRest.class);
+		modelMapper.typeMap(UserStatisticsDto.class, UserStatisticsRest.class);
+
+		return modelMapper;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.javadeveloperblogs.app.ws.exception;
+
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.Date;
+
+/**
+ * Global mapping of {@link UserException} and its subclasses to {@link ErrorMessage} responses.
+ *
+ * <ul>
+ *     <li>{@link UserNotFoundException}: 404 Not Found</li>
+ *     <li>{@link UserAlreadyExistsException}: 409 Conflict</li>
+ *     <li>{@link AuthenticationFailedException}: 401 Unauthorized</li>
+ *     <li>{@link AuthorizationDeniedException}: 403 Forbidden</li>
+ *     <li>{@link ServiceBusyException}: 503 Service Unavailable</li>
+ *     <li>any other {@link UserException}: 400 Bad Request</li>
+ * </ul>
+ *
+ * These are expected outcomes, so they are not logged.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@ControllerAdvice
+public class AppExceptionsHandler {
+
+	@ExceptionHandler(value = { UserNotFoundException.class })
+	public ResponseEntity<Object> handleUserNotFoundException(UserNotFoundException ex) {
+		return errorResponse(ex, HttpStatus.NOT_FOUND);
+	}
+
+	@ExceptionHandler(value = { UserAlreadyExistsException.class })
+	public ResponseEntity<Object> handleUserAlreadyExistsException(UserAlreadyExistsException ex) {
+		return errorResponse(ex, HttpStatus.CONFLICT);
+	}
+
+	@ExceptionHandler(value = { AuthenticationFailedException.class })
+	public ResponseEntity<Object> handleAuthenticationFailedException(AuthenticationFailedException ex) {
+		return errorResponse(ex, HttpStatus.UNAUTHORIZED);
+	}
+
+	@ExceptionHandler(value = { AuthorizationDeniedException.class })
+	public ResponseEntity<Object> handleAuthorizationDeniedException(AuthorizationDeniedException ex) {
+		return errorResponse(ex, HttpStatus.FORBIDDEN);
+	}
+
+	@ExceptionHandler(value = { ServiceBusyException.class })
+	public ResponseEntity<Object> handleServiceBusyException(ServiceBusyException ex) {
+		return errorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	@ExceptionHandler(value = { UserException.class })
+	public ResponseEntity<Object> handleUserException(UserException ex) {
+		return errorResponse(ex, HttpStatus.BAD_REQUEST);
+	}
+
+	private static ResponseEntity<Object> errorResponse(UserException ex, HttpStatus status) {
+		ErrorMessage errorMessage = new ErrorMessage(new Date(), ex.getMessage());
+		return new ResponseEntity<>(errorMessage, new HttpHeaders(), status);
+	}
+}
@@ -0,0 +1,24 @@
+package com.javadeveloperblogs.app.ws.exception;
+
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+
+/**
+ * Credentials or tokens were rejected. Mapped to 401; the message never says which part was wrong.
+ * Stackless, see {@link UserException}.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class AuthenticationFailedException extends UserException {
+
+	private static final long serialVersionUID = 6902711930851208415L;
+
+	public AuthenticationFailedException() {
+		super(ErrorMessages.AUTHENTICATION_FAILED);
+	}
+
+	public AuthenticationFailedException(ErrorMessages errorMessage) {
+		super(errorMessage);
+	}
+}
@@ -0,0 +1,20 @@
+package com.javadeveloperblogs.app.ws.exception;
+
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+
+/**
+ * The authenticated caller is not allowed to perform the operation. Mapped to 403.
+ * Stackless, see {@link UserException}.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class AuthorizationDeniedException extends UserException {
+
+	private static final long serialVersionUID = -2914075385146627790L;
+
+	public AuthorizationDeniedException() {
+		super(ErrorMessages.ACCESS_DENIED);
+	}
+}
@@ -0,0 +1,20 @@
+package com.javadeveloperblogs.app.ws.exception;
+
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+
+/**
+ * A bounded resource (such as event stream subscriptions) is exhausted and the request should be retried later. Mapped to 503.
+ * Stackless, see {@link UserException}.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class ServiceBusyException extends UserException {
+
+	private static final long serialVersionUID = -7530289148811275524L;
+
+	public ServiceBusyException(ErrorMessages errorMessage) {
+		super(errorMessage);
+	}
+}
@@ -0,0 +1,24 @@
+package com.javadeveloperblogs.app.ws.exception;
+
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+
+/**
+ * A user with the same unique data (email) already exists. Mapped to 409.
+ * Stackless, see {@link UserException}.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class UserAlreadyExistsException extends UserException {
+
+	private static final long serialVersionUID = -2294063514721330854L;
+
+	public UserAlreadyExistsException() {
+		super(ErrorMessages.RECORD_ALREADY_EXISTS);
+	}
+
+	public UserAlreadyExistsException(ErrorMessages errorMessage) {
+		super(errorMessage);
+	}
+}
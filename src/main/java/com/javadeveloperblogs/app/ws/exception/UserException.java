@@ -1,4 +1,32 @@
 package com.javadeveloperblogs.app.ws.exception;
 
-public class UserException {
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+
+/**
+ * Base class of the expected, business-level errors raised by the user service.
+ *
+ * These exceptions describe outcomes a client can cause at will (unknown ids, duplicate
+ * sign-ups, wrong passwords), so they are created without a stack trace and without
+ * suppression support. Filling in a stack trace walks the whole call stack and dominates the
+ * cost of a not-found or enumeration storm; the message and type already say everything the
+ * caller and {@link AppExceptionsHandler} need.
+ *
+ * Mapped to HTTP responses by {@link AppExceptionsHandler}; a plain UserException means the
+ * request itself was invalid (400).
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class UserException extends RuntimeException {
+
+	private static final long serialVersionUID = 1348771109171435607L;
+
+	public UserException(ErrorMessages errorMessage) {
+		this(errorMessage.getErrorMessage());
+	}
+
+	public UserException(String message) {
+		super(message, null, false, false);
+	}
 }
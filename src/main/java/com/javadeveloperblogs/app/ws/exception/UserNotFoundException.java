@@ -0,0 +1,24 @@
+package com.javadeveloperblogs.app.ws.exception;
+
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+
+/**
+ * No user (or token) matches the given identifier. Mapped to 404.
+ * Stackless, see {@link UserException}.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class UserNotFoundException extends UserException {
+
+	private static final long serialVersionUID = 4725128310931262907L;
+
+	public UserNotFoundException() {
+		super(ErrorMessages.NO_RECORD_FOUND);
+	}
+
+	public UserNotFoundException(ErrorMessages errorMessage) {
+		super(errorMessage);
+	}
+}
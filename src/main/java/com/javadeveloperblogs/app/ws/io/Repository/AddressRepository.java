@@ -1,10 +1,17 @@
 package com.javadeveloperblogs.app.ws.io.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.javadeveloperblogs.app.ws.io.entity.AddressEntity;
 import com.javadeveloperblogs.app.ws.io.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -26,6 +33,15 @@ import org.springframework.stereotype.Repository;
  *   useful for displaying a user's complete address list (shipping, billing, etc.)
  * - findByAddressId(String): Retrieves a single address by its public addressId,
  *   used for external API operations where the internal database ID should not be exposed
+ * - findAllByUserIdIn(Collection): Addresses of several users by public userId in one query,
+ *   backing the batched address lookup
+ * - countAddressesByCountry() / countAddressesByType() / countByUserDetailsDeletedAtIsNull():
+ *   Totals used by the periodic reconcile of the address statistics
+ * - findCountryAndTypeByUserId(String): The counted values of a user's addresses, for its soft delete
+ * - deleteByUserIds(Collection): Removes the addresses of purged users in one DELETE
+ *
+ * Addresses of soft-deleted users are excluded from the lookups and totals; they remain
+ * until UserPurgeService removes them with their user.
  *
  * Usage:
  * This repository is automatically implemented by Spring Data JPA at runtime and is typically
@@ -39,5 +55,34 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface AddressRepository extends CrudRepository<AddressEntity, Long> {
 	List<AddressEntity> findAllByUserDetails(UserEntity userEntity);
-	AddressEntity findByAddressId(String addressId);
+
+	@Query("SELECT a FROM addresses a WHERE a.addressId = :addressId AND a.userDetails.deletedAt IS NULL")
+	AddressEntity findByAddressId(@Param("addressId") String addressId);
+
+	// Addresses of several users in one IN query; the owning user is fetched in the same statement
+	@Query("SELECT a FROM addresses a JOIN FETCH a.userDetails u WHERE u.userId IN :userIds AND u.deletedAt IS NULL")
+	List<AddressEntity> findAllByUserIdIn(@Param("userIds") Collection<String> userIds);
+
+	// Rows of [user id, addressId, city, country, streetName, postalCode, type] for the ?expand=addresses
+	// expansion; reads the foreign key column only, so no UserEntity is loaded
+	@Query("SELECT a.userDetails.id, a.addressId, a.city, a.country, a.streetName, a.postalCode, a.type FROM addresses a WHERE a.userDetails.id IN :userIds")
+	List<Object[]> findAddressColumnsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+	// Rows of [country, address count] and [type, address count]; used to reconcile the in-memory statistics
+	@Query("SELECT a.country, COUNT(a) FROM addresses a WHERE a.userDetails.deletedAt IS NULL GROUP BY a.country")
+	List<Object[]> countAddressesByCountry();
+
+	@Query("SELECT a.type, COUNT(a) FROM addresses a WHERE a.userDetails.deletedAt IS NULL GROUP BY a.type")
+	List<Object[]> countAddressesByType();
+
+	long countByUserDetailsDeletedAtIsNull();
+
+	// Rows of [country, type] of a user's addresses, read before a soft delete takes them out of the statistics
+	@Query("SELECT a.country, a.type FROM addresses a WHERE a.userDetails.userId = :userId")
+	List<Object[]> findCountryAndTypeByUserId(@Param("userId") String userId);
+
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "addresses"))
+	@Query(value = "DELETE FROM addresses WHERE users_id IN (:userIds)", nativeQuery = true)
+	void deleteByUserIds(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.javadeveloperblogs.app.ws.io.Repository;
 
 import com.javadeveloperblogs.app.ws.io.entity.AuthorityEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -22,7 +25,10 @@ import org.springframework.stereotype.Repository;
  * - findByName(String): Retrieves an authority by its unique name (e.g., "READ_AUTHORITY",
  *   "WRITE_AUTHORITY"). This method is essential for assigning specific permissions to roles
  *   during role creation or modification, and for checking if an authority already exists
- *   before creating a new one.
+ *   before creating a new one. The result is held in the Hibernate query cache and
+ *   the authority in the second-level cache; changes to the authorities table made through
+ *   Hibernate invalidate the cached query results. With sharding the query cache is off
+ *   (see ShardingConfig), as each shard has its own authority ids.
  *
  * Usage:
  * This repository is automatically implemented by Spring Data JPA at runtime and is typically
@@ -38,5 +44,6 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface AuthorityRepository extends CrudRepository<AuthorityEntity, Long> {
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	AuthorityEntity findByName(String name);
 }
\ No newline at end of file
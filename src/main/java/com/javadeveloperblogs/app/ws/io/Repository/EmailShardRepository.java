@@ -0,0 +1,39 @@
+package com.javadeveloperblogs.app.ws.io.Repository;
+
+import com.javadeveloperblogs.app.ws.io.entity.EmailShardEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the email to shard directory.
+ *
+ * Custom Query Methods:
+ * - findAllByEmailIn(Collection): Shards of several emails in one query
+ * - insert(String, int, Instant): Plain INSERT, so a taken email fails on the primary key
+ *   instead of being merged into the existing entry as save() would do
+ * - deleteClaim(String, int, Instant): Removes an entry only if it is still the given claim,
+ *   so a claim made again in the meantime is kept
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface EmailShardRepository extends CrudRepository<EmailShardEntity, String> {
+	List<EmailShardEntity> findAllByEmailIn(Collection<String> emails);
+
+	@Modifying
+	@Query(value = "INSERT INTO email_shards (email, shard_id, claimed_at) VALUES (:email, :shardId, :claimedAt)", nativeQuery = true)
+	void insert(@Param("email") String email, @Param("shardId") int shardId, @Param("claimedAt") Instant claimedAt);
+
+	@Modifying
+	@Query("DELETE FROM EmailShardEntity e WHERE e.email = :email AND e.shardId = :shardId AND e.claimedAt = :claimedAt")
+	int deleteClaim(@Param("email") String email, @Param("shardId") int shardId, @Param("claimedAt") Instant claimedAt);
+}
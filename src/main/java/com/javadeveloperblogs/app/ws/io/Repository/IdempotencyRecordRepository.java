@@ -0,0 +1,33 @@
+package com.javadeveloperblogs.app.ws.io.Repository;
+
+import com.javadeveloperblogs.app.ws.io.entity.IdempotencyRecordEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Spring Data JPA repository for stored idempotent responses.
+ *
+ * Custom Query Methods:
+ * - findByIdempotencyKey(String): Looks up a stored response by its hashed key
+ * - deleteExpired(Instant): Removes all records that expired before the given instant in a
+ *   single bulk DELETE, without loading them
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface IdempotencyRecordRepository extends CrudRepository<IdempotencyRecordEntity, Long> {
+	IdempotencyRecordEntity findByIdempotencyKey(String idempotencyKey);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM IdempotencyRecordEntity r WHERE r.expiresAt < :now")
+	int deleteExpired(@Param("now") Instant now);
+}
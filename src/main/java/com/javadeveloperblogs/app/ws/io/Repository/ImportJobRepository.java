@@ -0,0 +1,63 @@
+package com.javadeveloperblogs.app.ws.io.Repository;
+
+import com.javadeveloperblogs.app.ws.io.entity.ImportJobEntity;
+import com.javadeveloperblogs.app.ws.shared.imports.ImportJobStatus;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for user import jobs.
+ *
+ * Custom Query Methods:
+ * - findByJobId(String): Looks up a job by its public ID
+ * - findAllByStatus(ImportJobStatus): Jobs to resume
+ * - claim(...): Makes an instance the owner of a job, unless another instance owns it and
+ *   advanced it recently; returns 0 if the job was not claimed
+ * - release(long, String): Gives up ownership, so any instance may resume the job at once
+ * - addProgress(...): Advances the checkpoint with a single UPDATE while the caller still owns
+ *   the job; called inside the chunk transaction so progress and imported rows commit together
+ * - finish(...): Marks the job COMPLETED or FAILED, again only for its owner
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface ImportJobRepository extends CrudRepository<ImportJobEntity, Long> {
+	ImportJobEntity findByJobId(String jobId);
+	List<ImportJobEntity> findAllByStatus(ImportJobStatus status);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE ImportJobEntity j SET j.claimedBy = :owner, j.updatedAt = :now WHERE j.id = :id AND j.status = :status "
+			+ "AND (j.claimedBy IS NULL OR j.claimedBy = :owner OR j.updatedAt IS NULL OR j.updatedAt < :staleBefore)")
+	int claim(@Param("id") long id, @Param("owner") String owner, @Param("status") ImportJobStatus status,
+			  @Param("now") Instant now, @Param("staleBefore") Instant staleBefore);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE ImportJobEntity j SET j.claimedBy = NULL WHERE j.id = :id AND j.claimedBy = :owner")
+	int release(@Param("id") long id, @Param("owner") String owner);
+
+	@Modifying
+	@Query("UPDATE ImportJobEntity j SET j.recordsRead = j.recordsRead + :records, j.imported = j.imported + :imported, "
+			+ "j.skipped = j.skipped + :skipped, j.failed = j.failed + :failed, "
+			+ "j.firstError = COALESCE(j.firstError, :error), j.updatedAt = :now WHERE j.id = :id AND j.claimedBy = :owner")
+	int addProgress(@Param("id") long id, @Param("owner") String owner, @Param("records") long records,
+					@Param("imported") long imported, @Param("skipped") long skipped, @Param("failed") long failed,
+					@Param("error") String error, @Param("now") Instant now);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE ImportJobEntity j SET j.status = :status, j.firstError = COALESCE(j.firstError, :error), "
+			+ "j.finishedAt = :now, j.updatedAt = :now, j.claimedBy = NULL WHERE j.id = :id AND j.claimedBy = :owner")
+	int finish(@Param("id") long id, @Param("owner") String owner, @Param("status") ImportJobStatus status,
+			   @Param("error") String error, @Param("now") Instant now);
+}
@@ -1,9 +1,18 @@
 package com.javadeveloperblogs.app.ws.io.Repository;
 
 import com.javadeveloperblogs.app.ws.io.entity.PasswordResetTokenEntity;
+import com.javadeveloperblogs.app.ws.io.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+
 /**
  * Spring Data JPA repository interface for PasswordResetTokenEntity data access operations.
  *
@@ -23,6 +32,10 @@ import org.springframework.stereotype.Repository;
  *   This method is critical for validating tokens during the password reset process. When a user
  *   clicks the reset link in their email, this method verifies the token exists and retrieves
  *   the associated user information to allow password change.
+ * - findByUserDetails(UserEntity): Retrieves the outstanding token of a user. The token is
+ *   one-to-one with the user, so a repeated reset request replaces the existing token instead
+ *   of inserting a second row.
+ * - deleteByUserIds(Collection): Removes the tokens of purged users in one DELETE
  *
  * Usage:
  * This repository is automatically implemented by Spring Data JPA at runtime and is typically
@@ -42,4 +55,10 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface PasswordResetTokenRepository extends CrudRepository<PasswordResetTokenEntity, Long>{
 	PasswordResetTokenEntity findByToken(String token);
+	PasswordResetTokenEntity findByUserDetails(UserEntity userDetails);
+
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "password_reset_tokens"))
+	@Query(value = "DELETE FROM password_reset_tokens WHERE users_id IN (:userIds)", nativeQuery = true)
+	void deleteByUserIds(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.javadeveloperblogs.app.ws.io.Repository;
 
 import com.javadeveloperblogs.app.ws.io.entity.RoleEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -31,9 +34,16 @@ public interface RoleRepository extends CrudRepository<RoleEntity, Long> {
 	 * This is a derived query method where Spring Data JPA automatically
 	 * generates the implementation based on the method name convention.
 	 * </p>
+	 * <p>
+	 * The result is held in the Hibernate query cache and the role itself in the
+	 * second-level cache, so repeated lookups do not reach the database. Any change to the
+	 * roles table made through Hibernate invalidates the cached query results. With sharding
+	 * the query cache is off (see ShardingConfig), as each shard has its own role ids.
+	 * </p>
 	 *
 	 * @param name the name of the role to find
 	 * @return the RoleEntity with the specified name, or null if not found
 	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	RoleEntity findByName(String name);
 }
\ No newline at end of file
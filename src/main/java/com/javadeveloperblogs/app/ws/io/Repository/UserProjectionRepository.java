@@ -0,0 +1,38 @@
+package com.javadeveloperblogs.app.ws.io.Repository;
+
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository fragment for reading users with a caller-chosen set of columns.
+ *
+ * The SELECT list is built from the requested UserEntity attribute names, so only those
+ * columns are read and no entity (or its eager associations) is materialized. Every tuple also
+ * carries the internal "id" so that expansions can be fetched by primary key.
+ *
+ * Implemented by {@link UserProjectionRepositoryImpl} and exposed through {@link UserRepository}.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public interface UserProjectionRepository {
+
+	/**
+	 * @return the requested attributes of the user, or null if there is no such userId
+	 */
+	Tuple findAttributesByUserId(String userId, Collection<String> attributes);
+
+	/**
+	 * @return the requested attributes of one page of users, ordered by userId (creation order)
+	 */
+	List<Tuple> findAttributesPage(Collection<String> attributes, int offset, int limit);
+
+	/**
+	 * @return the requested attributes of the users with the given userIds, ordered by userId;
+	 *         unknown userIds are left out
+	 */
+	List<Tuple> findAttributesByUserIds(Collection<String> userIds, Collection<String> attributes);
+}
@@ -0,0 +1,79 @@
+package com.javadeveloperblogs.app.ws.io.Repository;
+
+import com.javadeveloperblogs.app.ws.io.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Criteria API implementation of {@link UserProjectionRepository}.
+ *
+ * Attribute names are passed to {@code Root.get}, which rejects anything that is not a
+ * UserEntity attribute; callers still whitelist them so internal columns are never exposed.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class UserProjectionRepositoryImpl implements UserProjectionRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Tuple findAttributesByUserId(String userId, Collection<String> attributes) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = select(cb, attributes);
+		Root<?> user = query.getRoots().iterator().next();
+		query.where(cb.equal(user.get("userId"), userId));
+
+		List<Tuple> result = entityManager.createQuery(query).setMaxResults(1).getResultList();
+		return result.isEmpty() ? null : result.get(0);
+	}
+
+	@Override
+	public List<Tuple> findAttributesPage(Collection<String> attributes, int offset, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = select(cb, attributes);
+		Root<?> user = query.getRoots().iterator().next();
+		query.orderBy(cb.asc(user.get("userId")));
+
+		return entityManager.createQuery(query)
+				.setFirstResult(offset)
+				.setMaxResults(limit)
+				.getResultList();
+	}
+
+	@Override
+	public List<Tuple> findAttributesByUserIds(Collection<String> userIds, Collection<String> attributes) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = select(cb, attributes);
+		Root<?> user = query.getRoots().iterator().next();
+		query.where(user.get("userId").in(userIds));
+		query.orderBy(cb.asc(user.get("userId")));
+
+		return entityManager.createQuery(query).getResultList();
+	}
+
+	private static CriteriaQuery<Tuple> select(CriteriaBuilder cb, Collection<String> attributes) {
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<UserEntity> user = query.from(UserEntity.class);
+
+		List<Selection<?>> selections = new ArrayList<>();
+		selections.add(user.get("id").alias("id"));
+		for (String attribute : attributes) {
+			selections.add(user.get(attribute).alias(attribute));
+		}
+		query.select(cb.tuple(selections.toArray(Selection[]::new)));
+
+		return query;
+	}
+}
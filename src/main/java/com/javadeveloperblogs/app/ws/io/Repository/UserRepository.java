@@ -1,12 +1,18 @@
 package com.javadeveloperblogs.app.ws.io.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 import com.javadeveloperblogs.app.ws.io.entity.UserEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,10 +36,34 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * Custom Query Methods:
  * Additional finder methods can be defined following Spring Data JPA naming conventions,
  * such as:
- * - findByEmail(String email)
+ * - findByNormalizedEmail(String normalizedEmail): lookup by email, see Emails
  * - findByUserId(String userId)
+ * - findAllByUserIdIn(Collection userIds): multi-get by public id in a single IN query
  * - findByEmailVerificationToken(String token)
  *
+ * Slice Queries:
+ * Methods returning Slice fetch limit+1 rows to determine hasNext and never issue a
+ * SELECT COUNT(*); use them whenever the caller does not need an exact total.
+ * - findAllBy(Pageable): one page of all users
+ * - findByEmailVerificationStatusTrue(Pageable): one page of users with a confirmed email
+ * - countByEmailVerificationStatusTrue(): exact total of confirmed users, for callers that ask for it
+ *
+ * Soft Delete:
+ * Deleted users are hidden from all JPQL and derived queries by UserEntity's @SQLRestriction;
+ * the native queries here filter on deleted_at explicitly.
+ * - softDeleteByUserId(String, Instant): marks a user deleted with a single UPDATE
+ * - findCountedValues(String): verification status and roles of a user, to take it out of the
+ *   in-memory statistics when it is soft-deleted
+ * - findDeletedUsers(int) / deleteRoleAssignments(Collection) / purgeDeleted(Collection): used by
+ *   UserPurgeService to remove deleted users in batches
+ *
+ * Login Lockout:
+ * - updateLockedUntil(String, Instant): persists a lockout starting or ending, never individual failures
+ *
+ * Projections:
+ * Through UserProjectionRepository, users can be read with only the columns a client asked for
+ * (?fields=), see UserProjectionRepositoryImpl.
+ *
  * Usage:
  * This repository is automatically implemented by Spring Data JPA at runtime and can be
  * injected into service classes for user data management operations.
@@ -43,35 +73,64 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * @since 2025
  */
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserProjectionRepository {
 
-    UserEntity findByEmail(String email);
+    UserEntity findByNormalizedEmail(String normalizedEmail);
     UserEntity findByUserId(String userId);
+    List<UserEntity> findAllByUserIdIn(Collection<String> userIds);
+
+    // Which of the given normalized emails are taken; one query per import chunk. Native, so
+    // emails of deleted users that are not purged yet count as taken, as the unique index does
+    @Query(value = "SELECT u.normalized_email FROM users u WHERE u.normalized_email IN (:normalizedEmails)", nativeQuery = true)
+    List<String> findExistingEmails(@Param("normalizedEmails") Collection<String> normalizedEmails);
+
     UserEntity findUserByEmailVerificationToken(String token);
 
     @Query(
-            value = "SELECT * FROM users u WHERE u.email_verification_status = true",
-            countQuery = "SELECT COUNT(*) FROM users u WHERE u.email_verification_status = true",
+            value = "SELECT * FROM users u WHERE u.email_verification_status = true AND u.deleted_at IS NULL",
+            countQuery = "SELECT COUNT(*) FROM users u WHERE u.email_verification_status = true AND u.deleted_at IS NULL",
             nativeQuery = true
     )
     Page<UserEntity> findAllUsersWithConfirmedEmailAddress(Pageable pageableRequest);
 
-    @Query(value = "SELECT * FROM users u WHERE u.first_name = ?1", nativeQuery = true)
+    Slice<UserEntity> findAllBy(Pageable pageableRequest);
+
+    // userIds alone, in userId order; ShardedUserService merges pages from these before loading users
+    @Query("SELECT u.userId FROM UserEntity u ORDER BY u.userId")
+    List<String> findUserIds(Pageable pageableRequest);
+
+    @Query("SELECT u.userId FROM UserEntity u WHERE u.emailVerificationStatus = true ORDER BY u.userId")
+    List<String> findConfirmedUserIds(Pageable pageableRequest);
+
+    Slice<UserEntity> findByEmailVerificationStatusTrue(Pageable pageableRequest);
+
+    long countByEmailVerificationStatusTrue();
+
+    // Rows of [role name, user count]; used to reconcile the in-memory user statistics
+    @Query("SELECT r.name, COUNT(u) FROM UserEntity u JOIN u.roles r GROUP BY r.name")
+    List<Object[]> countUsersByRole();
+
+    // Rows of [user id, role name] for the ?expand=roles expansion
+    @Query("SELECT u.id, r.name FROM UserEntity u JOIN u.roles r WHERE u.id IN :ids")
+    List<Object[]> findRoleNamesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT * FROM users u WHERE u.first_name = ?1 AND u.deleted_at IS NULL", nativeQuery = true)
     List<UserEntity> findUserByFirstName(String firstName);
 
-    @Query(value = "SELECT * FROM users u WHERE u.last_name = :lastName", nativeQuery = true)
+    @Query(value = "SELECT * FROM users u WHERE u.last_name = :lastName AND u.deleted_at IS NULL", nativeQuery = true)
     List<UserEntity> findUserByLastName(@Param("lastName") String lastName);
 
-    // ❗ FIXED → added alias u.first_name and u.last_name
-    // @Query(value = "SELECT * FROM users u WHERE u.first_name LIKE %:keyword% OR u.last_name LIKE %:keyword%", nativeQuery = true)
+    // Without a @Query these names are parsed as derived queries on a non-existent "keyword" property
+    // and the context fails to start, so the LIKE patterns are built with CONCAT.
+    @Query(value = "SELECT * FROM users u WHERE (u.first_name LIKE CONCAT('%', :keyword, '%') OR u.last_name LIKE CONCAT('%', :keyword, '%')) AND u.deleted_at IS NULL", nativeQuery = true)
     List<UserEntity> findUsersByKeyword(@Param("keyword") String keyword);
 
-    //  @Query(value = "SELECT u.first_name, u.last_name FROM users u WHERE u.first_name LIKE %:keyword% OR u.last_name LIKE %:keyword%", nativeQuery = true)
+    @Query(value = "SELECT u.first_name, u.last_name FROM users u WHERE (u.first_name LIKE CONCAT('%', :keyword, '%') OR u.last_name LIKE CONCAT('%', :keyword, '%')) AND u.deleted_at IS NULL", nativeQuery = true)
     List<Object[]> findUserFirstNameAndLastNameByKeyword(@Param("keyword") String keyword);
 
     @Transactional
     @Modifying
-    @Query(value = "UPDATE users u SET u.email_verification_status = :emailVerificationStatus WHERE u.user_id = :userId", nativeQuery = true)
+    @Query(value = "UPDATE users u SET u.email_verification_status = :emailVerificationStatus WHERE u.user_id = :userId AND u.deleted_at IS NULL", nativeQuery = true)
     void updateUserEmailVerificationStatus(
             @Param("emailVerificationStatus") boolean emailVerificationStatus,
             @Param("userId") String userId);
@@ -89,4 +148,36 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
             @Param("emailVerificationStatus") boolean emailVerificationStatus,
             @Param("userId") String userId);
 
+    // Rows of [email verification status, role name] of a user, one per role (a null name if it
+    // has none): what the statistics counted for it, read before a soft delete removes it
+    @Query("SELECT u.emailVerificationStatus, r.name FROM UserEntity u LEFT JOIN u.roles r WHERE u.userId = :userId")
+    List<Object[]> findCountedValues(@Param("userId") String userId);
+
+    // Marks the user deleted in one statement, without loading it or anything it owns; the
+    // synchronized space limits second-level cache invalidation to the users table
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "UPDATE users SET deleted_at = :now, email_verification_token = NULL WHERE user_id = :userId AND deleted_at IS NULL", nativeQuery = true)
+    int softDeleteByUserId(@Param("userId") String userId, @Param("now") Instant now);
+
+    // Starts (lockedUntil in the future) or clears (null) a login lockout; see LoginFailureTracker
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "UPDATE users SET locked_until = :lockedUntil WHERE normalized_email = :normalizedEmail AND deleted_at IS NULL", nativeQuery = true)
+    int updateLockedUntil(@Param("normalizedEmail") String normalizedEmail, @Param("lockedUntil") Instant lockedUntil);
+
+    // Rows of [id, normalized email, userId] of deleted users, oldest deletion first
+    @Query(value = "SELECT u.id, u.normalized_email, u.user_id FROM users u WHERE u.deleted_at IS NOT NULL ORDER BY u.deleted_at LIMIT :limit", nativeQuery = true)
+    List<Object[]> findDeletedUsers(@Param("limit") int limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users_roles"))
+    @Query(value = "DELETE FROM users_roles WHERE users_id IN (:ids)", nativeQuery = true)
+    void deleteRoleAssignments(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "DELETE FROM users WHERE id IN (:ids) AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeDeleted(@Param("ids") Collection<Long> ids);
+
 }
\ No newline at end of file
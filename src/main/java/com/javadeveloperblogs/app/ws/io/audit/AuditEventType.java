@@ -0,0 +1,36 @@
+package com.javadeveloperblogs.app.ws.io.audit;
+
+/**
+ * Kinds of user mutations recorded in the {@link AuditLog}.
+ *
+ * Each type is stored as its code, which must never change once records have been written.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public enum AuditEventType {
+	CREATED(1),
+	UPDATED(2),
+	DELETED(3),
+	EMAIL_VERIFIED(4),
+	PASSWORD_RESET(5),
+	PURGED(6);
+
+	private final byte code;
+
+	AuditEventType(int code) {
+		this.code = (byte) code;
+	}
+
+	public byte code() {
+		return code;
+	}
+
+	public static AuditEventType fromCode(byte code) {
+		for (AuditEventType type : values()) {
+			if (type.code == code) return type;
+		}
+		throw new IllegalArgumentException("Unknown audit event type " + code);
+	}
+}
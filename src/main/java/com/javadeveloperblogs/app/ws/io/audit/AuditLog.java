@@ -0,0 +1,266 @@
+package com.javadeveloperblogs.app.ws.io.audit;
+
+import com.javadeveloperblogs.app.ws.shared.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only audit trail of user mutations, kept in memory-mapped segment files.
+ *
+ * Callers enqueue records on a bounded queue and a single writer thread drains it. The writer
+ * copies each batch into the mapped current segment and then forces the written range to disk
+ * once (group commit), so a burst of mutations costs one fsync instead of one per record.
+ * When a record does not fit, the segment is closed and a new one named after the record's
+ * sequence is created. See {@link AuditSegments} for the file format.
+ *
+ * Records are stamped by the writer and their timestamps never decrease: if the wall clock
+ * steps back, records keep the last timestamp written until the clock catches up. Readers
+ * rely on this to skip segments by time.
+ *
+ * On startup the last segment is scanned up to the first empty or corrupt record; a torn
+ * record left by a crash is zeroed, and numbering and timestamps resume after the last valid
+ * record. A lock file keeps a second process from writing into the same directory.
+ *
+ * Configuration:
+ * - app.audit.directory: directory of the segment files (default audit)
+ * - app.audit.segment-size: size of a segment file (default 64MB)
+ * - app.audit.queue-capacity: records waiting for the writer (default 65536)
+ * - app.audit.batch-size: maximum records per group commit (default 1024)
+ * - app.audit.max-wait: how long shutdown waits for queued records to be written (default 2s)
+ *
+ * Metrics:
+ * - audit.records: records written
+ * - audit.flush: duration of a group commit
+ * - audit.dropped: records lost because the queue was full or the writer failed
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class AuditLog implements DisposableBean {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AuditLog.class);
+	private static final String LOCK_FILE = "audit.lock";
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Value("${app.audit.directory:audit}")
+	Path directory;
+
+	@Value("${app.audit.segment-size:64MB}")
+	DataSize segmentSize;
+
+	@Value("${app.audit.queue-capacity:65536}")
+	int queueCapacity;
+
+	@Value("${app.audit.batch-size:1024}")
+	int batchSize;
+
+	@Value("${app.audit.max-wait:2s}")
+	Duration maxWait;
+
+	private BlockingQueue<PendingRecord> queue;
+	private Thread writer;
+	private volatile boolean running;
+	private FileChannel lockChannel;
+	private FileLock lock;
+	private FileChannel segmentChannel;
+	private MappedByteBuffer segment;
+	private long nextSequence;
+	private long lastRecordedAt;
+	private Counter written;
+	private Counter dropped;
+	private Timer flushTimer;
+
+	@PostConstruct
+	void init() throws IOException {
+		if (segmentSize.toBytes() > Integer.MAX_VALUE)
+			throw new IllegalStateException("app.audit.segment-size must be below 2GB");
+
+		Files.createDirectories(directory);
+		lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		lock = lockChannel.tryLock();
+		if (lock == null)
+			throw new IllegalStateException("Audit directory " + directory.toAbsolutePath() + " is in use by another process");
+
+		recover();
+
+		written = Counter.builder("audit.records").register(meterRegistry);
+		dropped = Counter.builder("audit.dropped").register(meterRegistry);
+		flushTimer = Timer.builder("audit.flush").register(meterRegistry);
+
+		queue = new LinkedBlockingQueue<>(queueCapacity);
+		running = true;
+		writer = new Thread(this::writeLoop, "audit-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Records a mutation once the current transaction commits, so rolled back changes are never
+	 * audited. Only enqueues the record: the committing thread does not wait for the group
+	 * commit, and a record that cannot be written is logged and counted by the writer.
+	 */
+	public void recordAfterCommit(AuditEventType type, String userId) {
+		AfterCommit.run(() -> append(type, userId));
+	}
+
+	/**
+	 * Enqueues a record and returns a future completed with its sequence once it is on disk.
+	 * Never blocks; when the queue is full the record is dropped and the future fails.
+	 */
+	public CompletableFuture<Long> append(AuditEventType type, String userId) {
+		PendingRecord pending = new PendingRecord(type, AuditSegments.encodeUserId(userId));
+		if (!running || !queue.offer(pending)) {
+			dropped.increment();
+			LOG.warn("Audit record {} for user {} dropped, writer is saturated or stopped", type, userId);
+			pending.done.completeExceptionally(new IllegalStateException("Audit log unavailable"));
+		}
+		return pending.done;
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		running = false;
+		if (writer != null) {
+			writer.interrupt();
+			writer.join(maxWait.toMillis());
+		}
+		if (segmentChannel != null) segmentChannel.close();
+		if (lock != null) lock.release();
+		if (lockChannel != null) lockChannel.close();
+	}
+
+	private void writeLoop() {
+		List<PendingRecord> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				PendingRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) continue;
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				writeBatch(batch);
+			} catch (InterruptedException e) {
+				// Shutdown: keep draining what is queued, then leave
+				running = false;
+			} catch (IOException | RuntimeException e) {
+				LOG.error("Writing {} audit records failed", batch.size(), e);
+				dropped.increment(batch.size());
+				for (PendingRecord pending : batch) {
+					pending.done.completeExceptionally(e);
+				}
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void writeBatch(List<PendingRecord> batch) throws IOException {
+		long started = System.nanoTime();
+		int flushFrom = segment.position();
+		// Stamped by the single writer and never below the previous stamp, so timestamps follow
+		// sequence order even when the wall clock steps back, and the reader can skip segments by time
+		long recordedAt = Math.max(System.currentTimeMillis(), lastRecordedAt);
+		lastRecordedAt = recordedAt;
+
+		for (PendingRecord pending : batch) {
+			int size = AuditSegments.recordSize(pending.userId);
+			if (segment.remaining() < size) {
+				segment.force(flushFrom, segment.position() - flushFrom);
+				roll();
+				flushFrom = 0;
+			}
+			pending.sequence = nextSequence++;
+			AuditSegments.write(segment, pending.sequence, recordedAt, pending.type, pending.userId);
+		}
+		segment.force(flushFrom, segment.position() - flushFrom);
+
+		flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+		written.increment(batch.size());
+		for (PendingRecord pending : batch) {
+			pending.done.complete(pending.sequence);
+		}
+	}
+
+	/**
+	 * Opens the last segment positioned after its last valid record, or creates the first one.
+	 */
+	private void recover() throws IOException {
+		List<Path> segments = AuditSegments.list(directory);
+		if (segments.isEmpty()) {
+			nextSequence = 1;
+			open(AuditSegments.segmentPath(directory, nextSequence));
+			return;
+		}
+
+		Path last = segments.get(segments.size() - 1);
+		open(last);
+		nextSequence = Long.parseLong(last.getFileName().toString().substring(0, 20));
+		AuditRecord record;
+		while ((record = AuditSegments.read(segment)) != null) {
+			nextSequence = record.getSequence() + 1;
+			lastRecordedAt = record.getRecordedAt().toEpochMilli();
+		}
+
+		// Zero anything after the last valid record, so a torn write is not mistaken for data later
+		int validEnd = segment.position();
+		for (int i = validEnd; i < segment.limit(); i++) {
+			if (segment.get(i) == 0) continue;
+			LOG.warn("Discarding torn audit data after {}:{}", last.getFileName(), validEnd);
+			for (int j = validEnd; j < segment.limit(); j++) {
+				segment.put(j, (byte) 0);
+			}
+			segment.force();
+			break;
+		}
+	}
+
+	private void roll() throws IOException {
+		segmentChannel.close();
+		open(AuditSegments.segmentPath(directory, nextSequence));
+	}
+
+	private void open(Path path) throws IOException {
+		segmentChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		// Mapping beyond the end grows the file to the full segment size, zero filled
+		segment = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize.toBytes());
+	}
+
+	private static final class PendingRecord {
+		private final AuditEventType type;
+		private final byte[] userId;
+		private final CompletableFuture<Long> done = new CompletableFuture<>();
+		private long sequence;
+
+		private PendingRecord(AuditEventType type, byte[] userId) {
+			this.type = type;
+			this.userId = userId;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.javadeveloperblogs.app.ws.io.audit;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Command line scan of an audit log directory. Safe to run against the directory of a running
+ * application.
+ *
+ * Usage:
+ * ./mvnw compile exec:java -Dexec.mainClass=com.javadeveloperblogs.app.ws.io.audit.AuditLogCli
+ *     -Dexec.args="--dir audit --user Xy12... --from 2025-01-01T00:00:00Z --to 2025-02-01T00:00:00Z"
+ *
+ * Options:
+ * - --dir: audit directory [audit]
+ * - --user: public userId to filter on [all users]
+ * - --from: inclusive ISO-8601 start instant [beginning of the log]
+ * - --to: exclusive ISO-8601 end instant [end of the log]
+ *
+ * Prints one record per line (sequence, time, type, userId) followed by the number of matches.
+ * Exits with status 2 on invalid arguments.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class AuditLogCli {
+
+	public static void main(String[] args) throws IOException {
+		Path directory = Path.of("audit");
+		String userId = null;
+		Instant from = null;
+		Instant to = null;
+
+		try {
+			for (int i = 0; i < args.length; i++) {
+				String option = args[i];
+				if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + option);
+				String value = args[++i];
+				switch (option) {
+					case "--dir" -> directory = Path.of(value);
+					case "--user" -> userId = value;
+					case "--from" -> from = Instant.parse(value);
+					case "--to" -> to = Instant.parse(value);
+					default -> throw new IllegalArgumentException("Unknown option " + option);
+				}
+			}
+		} catch (IllegalArgumentException | DateTimeParseException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Usage: AuditLogCli [--dir <directory>] [--user <userId>] [--from <instant>] [--to <instant>]");
+			System.exit(2);
+		}
+
+		long matches = new AuditLogReader(directory).scan(userId, from, to, System.out::println);
+		System.out.println(matches + " record(s)");
+	}
+}
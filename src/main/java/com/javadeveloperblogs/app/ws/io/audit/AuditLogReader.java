@@ -0,0 +1,73 @@
+package com.javadeveloperblogs.app.ws.io.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read access to an audit log directory, usable while the application is writing to it.
+ *
+ * Segments are mapped read-only and records are returned in sequence order. Reading a segment
+ * stops at its first empty or corrupt record, so a record being written concurrently is simply
+ * not seen yet. Record timestamps never decrease, even across wall clock adjustments (see
+ * {@link AuditLog}), which lets a time range scan skip every segment whose successor starts
+ * before the range and stop at the first record after it.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class AuditLogReader {
+
+	private final Path directory;
+
+	public AuditLogReader(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Passes the records matching all given filters to the consumer, oldest first.
+	 *
+	 * @param userId only records of this user, or null for all users
+	 * @param from   only records written at or after this instant, or null for no lower bound
+	 * @param to     only records written before this instant, or null for no upper bound
+	 * @return the number of records passed to the consumer
+	 */
+	public long scan(String userId, Instant from, Instant to, Consumer<AuditRecord> consumer) throws IOException {
+		List<Path> segments = AuditSegments.list(directory);
+		long returnValue = 0;
+
+		for (int i = 0; i < segments.size(); i++) {
+			if (from != null && i + 1 < segments.size()) {
+				AuditRecord nextFirst = firstRecord(segments.get(i + 1));
+				if (nextFirst != null && nextFirst.getRecordedAt().isBefore(from)) continue;
+			}
+
+			try (FileChannel channel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+				MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				AuditRecord record;
+				while ((record = AuditSegments.read(segment)) != null) {
+					if (to != null && !record.getRecordedAt().isBefore(to)) return returnValue;
+					if (from != null && record.getRecordedAt().isBefore(from)) continue;
+					if (userId != null && !userId.equals(record.getUserId())) continue;
+
+					consumer.accept(record);
+					returnValue++;
+				}
+			}
+		}
+		return returnValue;
+	}
+
+	private AuditRecord firstRecord(Path segment) throws IOException {
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+			long length = Math.min(channel.size(), AuditSegments.recordSize(new byte[AuditSegments.MAX_USER_ID_LENGTH]));
+			return AuditSegments.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, length));
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.javadeveloperblogs.app.ws.io.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Immutable entry of the audit log.
+ *
+ * Fields:
+ * - sequence: Position in the log, strictly increasing across segments and restarts
+ * - recordedAt: When the record was written, shortly after the mutation committed; millisecond precision
+ * - type: What happened to the user
+ * - userId: Public ID of the affected user
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Getter
+@AllArgsConstructor
+public class AuditRecord {
+	private final long sequence;
+	private final Instant recordedAt;
+	private final AuditEventType type;
+	private final String userId;
+
+	@Override
+	public String toString() {
+		return sequence + " " + recordedAt + " " + type + " " + userId;
+	}
+}
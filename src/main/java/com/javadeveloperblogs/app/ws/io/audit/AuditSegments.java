@@ -0,0 +1,122 @@
+package com.javadeveloperblogs.app.ws.io.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * On-disk format of the audit log, shared by {@link AuditLog} and {@link AuditLogReader}.
+ *
+ * <p>The log is a directory of fixed-size segment files named after the sequence of their first
+ * record ({@code 00000000000000000042.audit}). A segment is a run of records followed by
+ * zeros up to the end of the file:</p>
+ * <pre>
+ *   int   length      payload length, 0 marks the end of the written data
+ *   int   crc         CRC32C of the payload
+ *   long  sequence    }
+ *   long  epochMilli  }
+ *   byte  type        } payload
+ *   byte  idLength    }
+ *   byte[] userId     } UTF-8
+ * </pre>
+ * <p>A record whose CRC does not match is the torn tail of a crash and ends the segment.</p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+final class AuditSegments {
+
+	static final int HEADER_SIZE = 8;
+	static final int MAX_USER_ID_LENGTH = 255;
+	private static final int FIXED_PAYLOAD_SIZE = 18;
+	private static final String SUFFIX = ".audit";
+
+	private AuditSegments() {
+	}
+
+	static Path segmentPath(Path directory, long firstSequence) {
+		return directory.resolve(String.format("%020d", firstSequence) + SUFFIX);
+	}
+
+	/**
+	 * Segment files of the directory in log order.
+	 */
+	static List<Path> list(Path directory) throws IOException {
+		List<Path> returnValue = new ArrayList<>();
+		if (!Files.isDirectory(directory)) return returnValue;
+
+		try (Stream<Path> files = Files.list(directory)) {
+			files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().forEach(returnValue::add);
+		}
+		return returnValue;
+	}
+
+	static int recordSize(byte[] userId) {
+		return HEADER_SIZE + FIXED_PAYLOAD_SIZE + userId.length;
+	}
+
+	static byte[] encodeUserId(String userId) {
+		byte[] returnValue = userId.getBytes(StandardCharsets.UTF_8);
+		if (returnValue.length > MAX_USER_ID_LENGTH)
+			throw new IllegalArgumentException("userId longer than " + MAX_USER_ID_LENGTH + " bytes");
+		return returnValue;
+	}
+
+	/**
+	 * Writes a record at the buffer's position and advances it. The length is written last, so
+	 * a reader never sees a length whose record is not complete in memory.
+	 */
+	static void write(ByteBuffer buffer, long sequence, long epochMilli, AuditEventType type, byte[] userId) {
+		int start = buffer.position();
+		int payloadLength = FIXED_PAYLOAD_SIZE + userId.length;
+
+		buffer.position(start + HEADER_SIZE);
+		buffer.putLong(sequence);
+		buffer.putLong(epochMilli);
+		buffer.put(type.code());
+		buffer.put((byte) userId.length);
+		buffer.put(userId);
+
+		CRC32C crc = new CRC32C();
+		crc.update(buffer.slice(start + HEADER_SIZE, payloadLength));
+		buffer.putInt(start + 4, (int) crc.getValue());
+		buffer.putInt(start, payloadLength);
+	}
+
+	/**
+	 * Reads the record at the buffer's position and advances past it.
+	 *
+	 * @return the record, or null at the end of the written data or at a torn record, in which
+	 * case the position is left unchanged
+	 */
+	static AuditRecord read(ByteBuffer buffer) {
+		int start = buffer.position();
+		if (buffer.remaining() < HEADER_SIZE) return null;
+
+		int payloadLength = buffer.getInt(start);
+		if (payloadLength < FIXED_PAYLOAD_SIZE || payloadLength > FIXED_PAYLOAD_SIZE + MAX_USER_ID_LENGTH
+				|| buffer.remaining() < HEADER_SIZE + payloadLength) return null;
+
+		CRC32C crc = new CRC32C();
+		crc.update(buffer.slice(start + HEADER_SIZE, payloadLength));
+		if ((int) crc.getValue() != buffer.getInt(start + 4)) return null;
+
+		ByteBuffer payload = buffer.slice(start + HEADER_SIZE, payloadLength);
+		long sequence = payload.getLong();
+		long epochMilli = payload.getLong();
+		AuditEventType type = AuditEventType.fromCode(payload.get());
+		byte[] userId = new byte[payload.get() & 0xFF];
+		payload.get(userId);
+
+		buffer.position(start + HEADER_SIZE + payloadLength);
+		return new AuditRecord(sequence, Instant.ofEpochMilli(epochMilli), type, new String(userId, StandardCharsets.UTF_8));
+	}
+}
@@ -1,14 +1,21 @@
 package com.javadeveloperblogs.app.ws.io.entity;
 
+import com.javadeveloperblogs.app.ws.io.statistics.UserStatisticsListener;
+import com.javadeveloperblogs.app.ws.shared.PublicIdGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.io.Serializable;
 
@@ -27,6 +34,7 @@ import java.io.Serializable;
  * and is limited to 10 characters for standardized classification.
  *
  * Field Constraints:
+ * - addressId: Time-ordered 26 character public ID (see PublicIdGenerator), unique
  * - city: Maximum 15 characters
  * - country: Maximum 15 characters
  * - streetName: Maximum 100 characters
@@ -41,6 +49,7 @@ import java.io.Serializable;
  * @since 2025
  */
 @Entity(name="addresses")
+@EntityListeners(UserStatisticsListener.class)
 @AllArgsConstructor
 @Data
 @NoArgsConstructor
@@ -49,10 +58,11 @@ public class AddressEntity implements Serializable {
 	private static final long serialVersionUID = 7809200551672852690L;
 
 	@Id
-	@GeneratedValue
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="addresses_seq")
 	private long id;
 
-	@Column(length=30, nullable=false)
+	@JdbcTypeCode(SqlTypes.CHAR)
+	@Column(nullable=false, unique=true, length=PublicIdGenerator.LENGTH)
 	private String addressId;
 
 	@Column(length=15, nullable=false)
@@ -74,4 +84,11 @@ public class AddressEntity implements Serializable {
 	@JoinColumn(name="users_id")
 	private UserEntity userDetails;
 
+	// Country and type as last seen by UserStatisticsListener, used to compute counter deltas
+	@Transient
+	private transient String countedCountry;
+
+	@Transient
+	private transient String countedType;
+
 }
\ No newline at end of file
@@ -10,6 +10,8 @@ import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.util.Collection;
@@ -39,12 +41,16 @@ import java.util.Collection;
  * The authority name is limited to 20 characters and must be unique to prevent
  * permission conflicts.
  *
+ * Authorities are read-mostly reference data and are held in the Hibernate second-level
+ * cache (READ_WRITE, region "authorities" in application.conf).
+ *
  * @author Nasim Sarwar
  * @version 1.0
  * @since 2025
  */
 @Entity
 @Table(name="authorities")
+@Cache(usage=CacheConcurrencyStrategy.READ_WRITE, region="authorities")
 @AllArgsConstructor
 @Data
 @NoArgsConstructor
@@ -53,7 +59,7 @@ public class AuthorityEntity implements Serializable {
 	private static final long serialVersionUID = -5828101164006114538L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="authorities_seq")
 	private long id;
 
 	@Column(nullable=false, length=20)
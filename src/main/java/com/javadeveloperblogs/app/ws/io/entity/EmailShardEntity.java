@@ -0,0 +1,50 @@
+package com.javadeveloperblogs.app.ws.io.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * JPA entity of the email directory used when users are sharded.
+ *
+ * This entity maps to the "email_shards" table, which is only populated on the default shard.
+ * It records on which shard the user with a given email lives, for requests that identify a
+ * user by email (login, password reset), and its primary key keeps emails unique across shards.
+ *
+ * Fields:
+ * - email: The user's normalized email (see Emails), primary key
+ * - shardId: Index of the shard holding the user
+ * - claimedAt: When the email was registered, before its user was created; an entry whose
+ *   user never appeared is only treated as leaked once it is older than the claim timeout
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Entity
+@Table(name="email_shards")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmailShardEntity implements Serializable {
+
+	private static final long serialVersionUID = 3174503928845261930L;
+
+	@Id
+	@Column(length=120)
+	private String email;
+
+	@Column(nullable=false)
+	private int shardId;
+
+	@Column(nullable=false)
+	private Instant claimedAt;
+
+}
@@ -0,0 +1,74 @@
+package com.javadeveloperblogs.app.ws.io.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * JPA entity storing the response of a POST request made with an Idempotency-Key header.
+ *
+ * This entity maps to the "idempotency_records" table. A retried request with the same key is
+ * answered from this record instead of being executed again, including after a restart or on
+ * another instance.
+ *
+ * Fields:
+ * - idempotencyKey: SHA-256 (hex) of method, path, caller and client key, unique
+ * - requestHash: SHA-256 (hex) of the request body, to reject a key reused for a different request
+ * - status / contentType / body: The stored response (up to 16 MB, a MEDIUMBLOB on MySQL)
+ * - expiresAt: When the record may be purged (indexed for the purge job)
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Entity
+@Table(name="idempotency_records", indexes=@Index(name="idx_idempotency_records_expires_at", columnList="expiresAt"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyRecordEntity implements Serializable {
+
+	private static final long serialVersionUID = 3184062950217736401L;
+
+	@Id
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="idempotency_records_seq")
+	private long id;
+
+	@JdbcTypeCode(SqlTypes.CHAR)
+	@Column(nullable=false, unique=true, length=64)
+	private String idempotencyKey;
+
+	@JdbcTypeCode(SqlTypes.CHAR)
+	@Column(nullable=false, length=64)
+	private String requestHash;
+
+	@Column(nullable=false)
+	private int status;
+
+	@Column(length=100)
+	private String contentType;
+
+	@Lob
+	@Column(nullable=false, length=16777215)
+	private byte[] body;
+
+	@Column(nullable=false)
+	private Instant createdAt;
+
+	@Column(nullable=false)
+	private Instant expiresAt;
+
+}
@@ -0,0 +1,93 @@
+package com.javadeveloperblogs.app.ws.io.entity;
+
+import com.javadeveloperblogs.app.ws.shared.PublicIdGenerator;
+import com.javadeveloperblogs.app.ws.shared.imports.ImportFormat;
+import com.javadeveloperblogs.app.ws.shared.imports.ImportJobStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * JPA entity tracking a bulk user import and its checkpoint.
+ *
+ * This entity maps to the "import_jobs" table. The counters are updated in the same
+ * transaction as each imported chunk, so after a crash they describe exactly what was
+ * committed and the job resumes by skipping recordsRead records of the file.
+ *
+ * Fields:
+ * - jobId: Public job ID returned to the client
+ * - path / format: The import file on the server and how to parse it
+ * - recordsRead: Records consumed and committed so far, the resume checkpoint
+ * - imported / skipped / failed: Created users, duplicates of existing emails, unparseable or invalid records
+ * - firstError: Message of the first failed record, for diagnosis
+ * - claimedBy: Instance running the job, null while nobody does; together with updatedAt it
+ *   decides when another instance may take the job over
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Entity
+@Table(name="import_jobs")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobEntity implements Serializable {
+
+	private static final long serialVersionUID = -4511360772938645920L;
+
+	@Id
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="import_jobs_seq")
+	private long id;
+
+	@JdbcTypeCode(SqlTypes.CHAR)
+	@Column(nullable=false, unique=true, length=PublicIdGenerator.LENGTH)
+	private String jobId;
+
+	@Column(nullable=false, length=500)
+	private String path;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable=false, length=10)
+	private ImportFormat format;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable=false, length=10)
+	private ImportJobStatus status;
+
+	private long recordsRead;
+
+	private long imported;
+
+	private long skipped;
+
+	private long failed;
+
+	@Column(length=500)
+	private String firstError;
+
+	@JdbcTypeCode(SqlTypes.CHAR)
+	@Column(length=PublicIdGenerator.LENGTH)
+	private String claimedBy;
+
+	@Column(nullable=false)
+	private Instant createdAt;
+
+	private Instant updatedAt;
+
+	private Instant finishedAt;
+
+}
@@ -2,6 +2,7 @@ package com.javadeveloperblogs.app.ws.io.entity;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
@@ -48,7 +49,7 @@ public class PasswordResetTokenEntity implements Serializable {
 	private static final long serialVersionUID = 8051324316462829780L;
 
 	@Id
-	@GeneratedValue
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="password_reset_tokens_seq")
 	private long id;
 
 	private String token;
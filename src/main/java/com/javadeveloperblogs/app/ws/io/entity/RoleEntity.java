@@ -14,6 +14,8 @@ import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.util.Collection;
@@ -33,12 +35,18 @@ import java.util.Collection;
  * The role name is limited to 20 characters and should follow consistent naming conventions
  * for proper authorization handling throughout the application.
  *
+ * Caching:
+ * Roles are read-mostly reference data, so the entity and its authorities collection are held
+ * in the Hibernate second-level cache (READ_WRITE, regions "roles" and "role-authorities" in
+ * application.conf). Changes made through JPA update or invalidate the cached entries on commit.
+ *
  * @author Nasim Sarwar
  * @version 1.0
  * @since 2025
  */
 @Entity
 @Table(name="roles")
+@Cache(usage=CacheConcurrencyStrategy.READ_WRITE, region="roles")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -47,7 +55,7 @@ public class RoleEntity implements Serializable {
 	private static final long serialVersionUID = 5605260522147928803L;
 	
 	@Id
-	@GeneratedValue(strategy=GenerationType.AUTO)
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="roles_seq")
 	private long id;
 	
 	@Column(nullable=false, length=20)
@@ -56,6 +64,7 @@ public class RoleEntity implements Serializable {
 	@ManyToMany(mappedBy="roles")
 	private Collection<UserEntity> users;
 	
+	@Cache(usage=CacheConcurrencyStrategy.READ_WRITE, region="role-authorities")
 	@ManyToMany(cascade= { CascadeType.PERSIST }, fetch = FetchType.EAGER )
 	@JoinTable(name="roles_authorities", 
 			joinColumns=@JoinColumn(name="roles_id",referencedColumnName="id"), 
@@ -1,20 +1,36 @@
 package com.javadeveloperblogs.app.ws.io.entity;
 
+import com.javadeveloperblogs.app.ws.io.statistics.UserStatisticsListener;
+import com.javadeveloperblogs.app.ws.shared.Emails;
+import com.javadeveloperblogs.app.ws.shared.PublicIdGenerator;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.type.SqlTypes;
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 
@@ -32,26 +48,42 @@ import java.util.List;
  * Features:
  * - Email verification workflow with token and status tracking
  * - Encrypted password storage for security
- * - Public user ID (userId) separate from internal database ID for external exposure
+ * - Last login / last seen timestamps, maintained in batches by UserActivityService
+ * - Soft delete: deleting a user only sets deletedAt, and @SQLRestriction hides such rows from
+ *   every JPQL, Criteria and derived query; UserPurgeService removes them and their children
+ *   later. Native queries must filter on deleted_at themselves
+ * - Counted by UserStatisticsListener for the GET /users/stats endpoint
+ * - Public user ID (userId) separate from internal database ID for external exposure;
+ *   a time-ordered 26 character CHAR column with a unique index (see PublicIdGenerator)
+ * - Email uniqueness is enforced by the database: normalizedEmail is derived from email on
+ *   every insert and update (see Emails) and carries the unique index uk_users_normalized_email,
+ *   so two concurrent signups differing only in case cannot both succeed
  *
  * @author Nasim Sarwar
  * @version 1.0
  * @since 2025
  */
 @Entity
-@Table(name="users")
+@Table(name="users",
+		indexes=@Index(name="idx_users_deleted_at", columnList="deletedAt"),
+		uniqueConstraints=@UniqueConstraint(name=UserEntity.NORMALIZED_EMAIL_CONSTRAINT, columnNames="normalizedEmail"))
+@SQLRestriction("deleted_at IS NULL")
+@EntityListeners(UserStatisticsListener.class)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class UserEntity implements Serializable {
  
 	private static final long serialVersionUID = 5313493413859894403L;
+
+	public static final String NORMALIZED_EMAIL_CONSTRAINT = "uk_users_normalized_email";
 	
 	@Id
-	@GeneratedValue
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="users_seq")
 	private long id;
 	
-	@Column(nullable=false)
+	@JdbcTypeCode(SqlTypes.CHAR)
+	@Column(nullable=false, unique=true, length=PublicIdGenerator.LENGTH)
 	private String userId;
 
 	@Column(nullable=false, length=50)
@@ -62,6 +94,10 @@ public class UserEntity implements Serializable {
 	
 	@Column(nullable=false, length=120)
 	private String email;
+
+	// Always Emails.normalize(email), maintained by normalizeEmail(); never set it directly
+	@Column(nullable=false, length=120)
+	private String normalizedEmail;
 	
 	@Column(nullable=false)
 	private String encryptedPassword;
@@ -70,16 +106,41 @@ public class UserEntity implements Serializable {
 	
 	@Column(nullable=false)
 	private Boolean emailVerificationStatus = false;
+
+	// Written only by the UserActivityService write-behind flush, never by entity updates
+	@Column(insertable=false, updatable=false)
+	private Instant lastLoginAt;
+
+	@Column(insertable=false, updatable=false)
+	private Instant lastSeenAt;
+
+	// Set by UserRepository.updateLockedUntil on login lockout state changes only
+	@Column(insertable=false, updatable=false)
+	private Instant lockedUntil;
+
+	// Set by UserRepository.softDeleteByUserId only
+	@Column(insertable=false, updatable=false)
+	private Instant deletedAt;
 	
 	@OneToMany(mappedBy="userDetails", cascade=CascadeType.ALL)
 	private List<AddressEntity> addresses;
 	
+	// Cached role ids per user, so the eager role load is served from the second-level cache
+	@Cache(usage=CacheConcurrencyStrategy.READ_WRITE, region="user-roles")
 	@ManyToMany(cascade= { CascadeType.PERSIST }, fetch = FetchType.EAGER )
 	@JoinTable(name="users_roles", 
 			joinColumns=@JoinColumn(name="users_id",referencedColumnName="id"), 
 			inverseJoinColumns=@JoinColumn(name="roles_id",referencedColumnName="id"))
 	private Collection<RoleEntity> roles;
 
+	// Verification status as last seen by UserStatisticsListener, used to compute counter deltas
+	@Transient
+	private transient Boolean countedEmailVerificationStatus;
 
+	@PrePersist
+	@PreUpdate
+	void normalizeEmail() {
+		normalizedEmail = Emails.normalize(email);
+	}
 
 }
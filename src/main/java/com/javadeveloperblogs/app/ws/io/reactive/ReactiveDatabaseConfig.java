@@ -0,0 +1,58 @@
+package com.javadeveloperblogs.app.ws.io.reactive;
+
+import io.r2dbc.pool.PoolingConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+
+/**
+ * Configuration of the R2DBC client used by the non-blocking read path.
+ *
+ * The ConnectionFactory is deliberately kept out of the application context: Spring Boot backs
+ * off from creating the JDBC DataSource as soon as a ConnectionFactory bean exists, and the
+ * blocking JPA repositories still need it. Only the DatabaseClient is exposed as a bean.
+ *
+ * Properties:
+ * - app.r2dbc.url: R2DBC URL, e.g. r2dbc:pool:mysql://localhost:3306/user_service_db
+ * - app.r2dbc.max-pool-size: maximum pooled connections
+ * - spring.datasource.username / spring.datasource.password: shared with the JDBC DataSource
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration(proxyBeanMethods = false)
+public class ReactiveDatabaseConfig implements DisposableBean {
+
+	private final ConnectionFactory connectionFactory;
+
+	public ReactiveDatabaseConfig(@Value("${app.r2dbc.url}") String url,
+								  @Value("${app.r2dbc.max-pool-size:20}") int maxPoolSize,
+								  @Value("${spring.datasource.username:}") String username,
+								  @Value("${spring.datasource.password:}") String password) {
+		ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+				.option(ConnectionFactoryOptions.USER, username)
+				.option(ConnectionFactoryOptions.PASSWORD, password)
+				.option(PoolingConnectionFactoryProvider.MAX_SIZE, maxPoolSize)
+				.build();
+		this.connectionFactory = ConnectionFactories.get(options);
+	}
+
+	@Bean
+	public DatabaseClient reactiveDatabaseClient() {
+		return DatabaseClient.create(connectionFactory);
+	}
+
+	@Override
+	public void destroy() {
+		if (connectionFactory instanceof Disposable disposable) {
+			disposable.dispose();
+		}
+	}
+}
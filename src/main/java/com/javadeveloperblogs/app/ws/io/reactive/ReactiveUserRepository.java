@@ -0,0 +1,85 @@
+package com.javadeveloperblogs.app.ws.io.reactive;
+
+import com.javadeveloperblogs.app.ws.shared.dto.AddressDTO;
+import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking, read-only data access for users and their addresses over R2DBC.
+ *
+ * Queries run against the same "users" and "addresses" tables mapped by UserEntity and
+ * AddressEntity, and rows are read straight into the shared UserDto and AddressDTO models.
+ * Only the columns exposed by UserRest and AddressesRest are selected. Soft-deleted users are
+ * filtered out explicitly, since @SQLRestriction only applies to Hibernate queries.
+ *
+ * Query Methods:
+ * - findByUserId(String): a single user by public userId, empty if not found
+ * - findAll(long, int): one page of users ordered by userId, the order UserService pages in
+ * - findAddressesByUserId(String): all addresses of a user by public userId
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public class ReactiveUserRepository {
+
+	private static final String USER_COLUMNS =
+			"u.id, u.user_id, u.first_name, u.last_name, u.email, u.email_verification_status";
+
+	private final DatabaseClient databaseClient;
+
+	public ReactiveUserRepository(DatabaseClient reactiveDatabaseClient) {
+		this.databaseClient = reactiveDatabaseClient;
+	}
+
+	public Mono<UserDto> findByUserId(String userId) {
+		return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users u WHERE u.user_id = :userId AND u.deleted_at IS NULL")
+				.bind("userId", userId)
+				.map(ReactiveUserRepository::toUserDto)
+				.one();
+	}
+
+	public Flux<UserDto> findAll(long offset, int limit) {
+		return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users u WHERE u.deleted_at IS NULL ORDER BY u.user_id LIMIT :limit OFFSET :offset")
+				.bind("limit", limit)
+				.bind("offset", offset)
+				.map(ReactiveUserRepository::toUserDto)
+				.all();
+	}
+
+	public Flux<AddressDTO> findAddressesByUserId(String userId) {
+		return databaseClient.sql("SELECT a.id, a.address_id, a.city, a.country, a.street_name, a.postal_code, a.type "
+						+ "FROM addresses a JOIN users u ON a.users_id = u.id WHERE u.user_id = :userId AND u.deleted_at IS NULL")
+				.bind("userId", userId)
+				.map(ReactiveUserRepository::toAddressDto)
+				.all();
+	}
+
+	private static UserDto toUserDto(Readable row) {
+		UserDto userDto = new UserDto();
+		userDto.setId(row.get("id", Long.class));
+		userDto.setUserId(row.get("user_id", String.class));
+		userDto.setFirstName(row.get("first_name", String.class));
+		userDto.setLastName(row.get("last_name", String.class));
+		userDto.setEmail(row.get("email", String.class));
+		userDto.setEmailVerificationStatus(row.get("email_verification_status", Boolean.class));
+		return userDto;
+	}
+
+	private static AddressDTO toAddressDto(Readable row) {
+		AddressDTO addressDto = new AddressDTO();
+		addressDto.setId(row.get("id", Long.class));
+		addressDto.setAddressId(row.get("address_id", String.class));
+		addressDto.setCity(row.get("city", String.class));
+		addressDto.setCountry(row.get("country", String.class));
+		addressDto.setStreetName(row.get("street_name", String.class));
+		addressDto.setPostalCode(row.get("postal_code", String.class));
+		addressDto.setType(row.get("type", String.class));
+		return addressDto;
+	}
+}
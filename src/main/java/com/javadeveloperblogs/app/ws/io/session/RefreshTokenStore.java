@@ -0,0 +1,341 @@
+package com.javadeveloperblogs.app.ws.io.session;
+
+import com.javadeveloperblogs.app.ws.exception.ServiceBusyException;
+import com.javadeveloperblogs.app.ws.shared.AfterCommit;
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory store of refresh-token sessions, kept off the database entirely.
+ *
+ * Refresh tokens are 256 random bits, handed out Base64url encoded. Only the first 128 bits of
+ * their SHA-256 are kept, so neither memory nor the files on disk contain usable tokens.
+ * Sessions are spread over app.sessions.stripes {@link SessionSegment}s by key, each with its
+ * own lock, off-heap slots, primitive hash index and expiry timing wheel, so a million sessions
+ * cost a few dozen megabytes and no per-session objects for the garbage collector.
+ *
+ * Durability comes from a {@link SessionJournal}: every change is appended to the journal and
+ * written through every app.sessions.journal-sync-interval, and every
+ * app.sessions.snapshot-interval the live sessions are written to a snapshot that replaces
+ * the older files. A crash loses at most the last sync interval of changes. The store is
+ * local to one instance; several instances need sticky routing or their own user partitions.
+ *
+ * Every session remembers the login it descends from (startedAt), and refreshes carry it over.
+ * revokeAll() ends all sessions of a user at once by recording a revocation instant for the
+ * user: lookups treat sessions started at or before it as gone, without an index by user or a
+ * database query, and the expiry sweep frees them in time. Revocations are journaled and
+ * snapshotted like sessions, and dropped once app.sessions.max-lifetime has passed, when no
+ * session they could apply to is left.
+ *
+ * Configuration:
+ * - app.sessions.directory: snapshot and journal directory (default sessions)
+ * - app.sessions.max-sessions: capacity, memory is reserved up front (default 1000000)
+ * - app.sessions.stripes: independently locked segments (default 16)
+ * - app.sessions.wheel-tick: expiry resolution and sweep interval (default 1s)
+ * - app.sessions.journal-sync-interval: how often the journal is forced to disk (default 1s)
+ * - app.sessions.snapshot-interval: how often a snapshot is written (default 5m)
+ * - app.sessions.max-lifetime: longest a session lasts from its login, however often it is
+ *   refreshed (default 30d)
+ *
+ * Metrics:
+ * - sessions.active: stored sessions, including expired ones not yet swept
+ * - sessions.expired: sessions removed by the expiry sweep
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class RefreshTokenStore implements DisposableBean {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RefreshTokenStore.class);
+	private static final int TOKEN_BYTES = 32;
+	private static final int TOKEN_LENGTH = 43;
+	private static final long MAX_TICKS_PER_SWEEP = 1 << 16;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Value("${app.sessions.directory:sessions}")
+	Path directory;
+
+	@Value("${app.sessions.max-sessions:1000000}")
+	int maxSessions;
+
+	@Value("${app.sessions.stripes:16}")
+	int stripes;
+
+	@Value("${app.sessions.wheel-tick:1s}")
+	Duration wheelTick;
+
+	@Value("${app.sessions.max-lifetime:30d}")
+	Duration maxLifetime;
+
+	private final SecureRandom random = new SecureRandom();
+	private final ReentrantLock snapshotLock = new ReentrantLock();
+	// userId to the epoch millis before which (inclusive) its sessions are revoked
+	private final ConcurrentMap<String, Long> userRevocations = new ConcurrentHashMap<>();
+	private SessionSegment[] segments;
+	private ReentrantLock[] locks;
+	private SessionJournal journal;
+	private long generation;
+	private Counter expired;
+
+	@PostConstruct
+	void init() throws IOException {
+		int perStripe = (maxSessions + stripes - 1) / stripes;
+		long now = System.currentTimeMillis();
+		segments = new SessionSegment[stripes];
+		locks = new ReentrantLock[stripes];
+		for (int i = 0; i < stripes; i++) {
+			segments[i] = new SessionSegment(perStripe, wheelTick.toMillis(), now);
+			locks[i] = new ReentrantLock();
+		}
+
+		journal = new SessionJournal(directory);
+		generation = journal.recover(new SessionJournal.Replay() {
+			@Override
+			public void issue(SessionRecord session) {
+				if (session.getExpiresAt() <= now) return;
+				segment(session.getKeyHigh()).put(session.getKeyHigh(), session.getKeyLow(), session.getStartedAt(),
+						session.getExpiresAt(), session.getUserId().getBytes(StandardCharsets.US_ASCII));
+			}
+
+			@Override
+			public void revoke(long keyHigh, long keyLow) {
+				segment(keyHigh).remove(keyHigh, keyLow, now);
+			}
+
+			@Override
+			public void revokeUser(String userId, long revokedAt) {
+				userRevocations.merge(userId, revokedAt, Math::max);
+			}
+		});
+		snapshot();
+		LOG.info("Recovered {} sessions", activeSessions());
+
+		expired = Counter.builder("sessions.expired").register(meterRegistry);
+		Gauge.builder("sessions.active", this, RefreshTokenStore::activeSessions).register(meterRegistry);
+	}
+
+	/**
+	 * Starts a session for the user and returns its refresh token.
+	 *
+	 * @param startedAt the login the session descends from: now for a login, the startedAt of
+	 *                  the replaced session for a refresh
+	 * @throws ServiceBusyException when the stripe of the new token is full
+	 */
+	public String issue(String userId, Instant startedAt, Instant expiresAt) {
+		byte[] userIdBytes = userId.getBytes(StandardCharsets.US_ASCII);
+		if (userIdBytes.length > SessionSegment.MAX_USER_ID_LENGTH)
+			throw new IllegalArgumentException("userId longer than " + SessionSegment.MAX_USER_ID_LENGTH + " characters");
+
+		byte[] tokenBytes = new byte[TOKEN_BYTES];
+		random.nextBytes(tokenBytes);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+
+		ByteBuffer key = key(token);
+		long keyHigh = key.getLong(0);
+		long keyLow = key.getLong(8);
+		int stripe = stripe(keyHigh);
+		locks[stripe].lock();
+		try {
+			if (!segments[stripe].put(keyHigh, keyLow, startedAt.toEpochMilli(), expiresAt.toEpochMilli(), userIdBytes))
+				throw new ServiceBusyException(ErrorMessages.TOO_MANY_SESSIONS);
+			journal.appendIssue(keyHigh, keyLow, startedAt.toEpochMilli(), expiresAt.toEpochMilli(), userIdBytes);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			locks[stripe].unlock();
+		}
+		return token;
+	}
+
+	/**
+	 * User of the token's session, or null when the token is unknown, revoked or expired.
+	 */
+	public String userIdOf(String token) {
+		ByteBuffer key = key(token);
+		if (key == null) return null;
+
+		SessionRecord session;
+		int stripe = stripe(key.getLong(0));
+		locks[stripe].lock();
+		try {
+			session = segments[stripe].get(key.getLong(0), key.getLong(8), System.currentTimeMillis());
+		} finally {
+			locks[stripe].unlock();
+		}
+		return session == null || isRevoked(session) ? null : session.getUserId();
+	}
+
+	/**
+	 * Ends the token's session.
+	 *
+	 * @return the ended session, or null when the token is unknown, revoked or expired
+	 */
+	public SessionRecord revoke(String token) {
+		ByteBuffer key = key(token);
+		if (key == null) return null;
+
+		long keyHigh = key.getLong(0);
+		long keyLow = key.getLong(8);
+		int stripe = stripe(keyHigh);
+		SessionRecord session;
+		locks[stripe].lock();
+		try {
+			session = segments[stripe].remove(keyHigh, keyLow, System.currentTimeMillis());
+			if (session != null) journal.appendRevoke(keyHigh, keyLow);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			locks[stripe].unlock();
+		}
+		return session == null || isRevoked(session) ? null : session;
+	}
+
+	/**
+	 * Ends every session of the user that exists now, once the current transaction commits.
+	 * Sessions the user starts afterwards are not affected.
+	 */
+	public void revokeAllAfterCommit(String userId) {
+		AfterCommit.run(() -> revokeAll(userId));
+	}
+
+	/**
+	 * Ends every session of the user that exists now. Applies in memory at once; if the journal
+	 * cannot be written the revocation is only logged, as the change it follows is already
+	 * committed, and the next snapshot persists it.
+	 */
+	public void revokeAll(String userId) {
+		long now = System.currentTimeMillis();
+		userRevocations.merge(userId, now, Math::max);
+		try {
+			journal.appendRevokeUser(userId.getBytes(StandardCharsets.US_ASCII), now);
+		} catch (IOException e) {
+			LOG.error("Journaling the revocation of a user's sessions failed", e);
+		}
+	}
+
+	/**
+	 * Frees expired sessions, one stripe at a time.
+	 */
+	@Scheduled(fixedDelayString = "${app.sessions.wheel-tick:1s}")
+	public void expire() {
+		long now = System.currentTimeMillis();
+		for (int stripe = 0; stripe < segments.length; stripe++) {
+			locks[stripe].lock();
+			try {
+				expired.increment(segments[stripe].advance(now, MAX_TICKS_PER_SWEEP));
+			} finally {
+				locks[stripe].unlock();
+			}
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.sessions.journal-sync-interval:1s}")
+	public void sync() {
+		try {
+			journal.sync();
+		} catch (IOException e) {
+			LOG.error("Syncing the session journal failed", e);
+		}
+	}
+
+	/**
+	 * Starts a new journal and writes the live sessions to a snapshot, which makes the older
+	 * snapshot and journals obsolete. Stripes are copied one at a time, so issuing and
+	 * revoking continue while the snapshot is written.
+	 */
+	@Scheduled(initialDelayString = "${app.sessions.snapshot-interval:5m}", fixedDelayString = "${app.sessions.snapshot-interval:5m}")
+	public void snapshot() {
+		snapshotLock.lock();
+		try {
+			long next = generation + 1;
+			journal.startGeneration(next);
+			generation = next;
+			long now = System.currentTimeMillis();
+			// A revocation older than the longest session lifetime has nothing left to apply to
+			long horizon = now - maxLifetime.toMillis();
+			userRevocations.values().removeIf(revokedAt -> revokedAt < horizon);
+			journal.writeSnapshot(next, sink -> {
+				for (int stripe = 0; stripe < segments.length; stripe++) {
+					locks[stripe].lock();
+					try {
+						segments[stripe].forEach(now, session -> {
+							if (!isRevoked(session)) sink.accept(session);
+						});
+					} finally {
+						locks[stripe].unlock();
+					}
+				}
+			}, userRevocations);
+		} catch (IOException e) {
+			LOG.error("Writing the session snapshot failed, the journal is kept", e);
+		} finally {
+			snapshotLock.unlock();
+		}
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		snapshot();
+		journal.close();
+	}
+
+	private boolean isRevoked(SessionRecord session) {
+		Long revokedAt = userRevocations.get(session.getUserId());
+		return revokedAt != null && session.getStartedAt() <= revokedAt;
+	}
+
+	private double activeSessions() {
+		long returnValue = 0;
+		for (SessionSegment segment : segments) returnValue += segment.size();
+		return returnValue;
+	}
+
+	private SessionSegment segment(long keyHigh) {
+		return segments[stripe(keyHigh)];
+	}
+
+	private int stripe(long keyHigh) {
+		return (int) Math.floorMod(keyHigh >>> 32, (long) stripes);
+	}
+
+	/**
+	 * SHA-256 of the token, or null for a value that cannot be a token of this store.
+	 */
+	private static ByteBuffer key(String token) {
+		if (token == null || token.length() != TOKEN_LENGTH) return null;
+		try {
+			return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,249 @@
+package com.javadeveloperblogs.app.ws.io.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Durability for the {@link RefreshTokenStore}: periodic snapshots plus a journal of the
+ * changes since the last one.
+ *
+ * <p>Files are numbered by generation. Starting generation N opens journal-N; the snapshot-N
+ * written afterwards holds every session alive at that point, which makes all older files
+ * redundant. Recovery loads the newest snapshot and replays the journals from its generation
+ * on. Replaying is idempotent (an issue is a put, a revoke a remove, a user revocation keeps
+ * the latest instant), so changes that made it into both the snapshot and the journal are
+ * harmless.</p>
+ *
+ * <p>Session records are {@code byte op, long keyHigh, long keyLow} followed, for an issue, by
+ * {@code long startedAt, long expiresAt, byte length, byte[] userId}. A revocation of all the
+ * sessions of a user is {@code byte op, long revokedAt, byte length, byte[] userId}. A snapshot
+ * holds the live sessions and user revocations, ends with op 0 and is written to a temporary
+ * file that is renamed once complete. A torn record at the end of a journal ends its replay.</p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+final class SessionJournal implements Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SessionJournal.class);
+
+	private static final byte END = 0;
+	private static final byte ISSUE = 1;
+	private static final byte REVOKE = 2;
+	private static final byte REVOKE_USER = 3;
+	private static final String SNAPSHOT = "snapshot-";
+	private static final String JOURNAL = "journal-";
+
+	/**
+	 * Receives recovered changes.
+	 */
+	interface Replay {
+		void issue(SessionRecord session);
+
+		void revoke(long keyHigh, long keyLow);
+
+		void revokeUser(String userId, long revokedAt);
+	}
+
+	private final Path directory;
+	private FileChannel journalChannel;
+	private DataOutputStream journal;
+
+	SessionJournal(Path directory) throws IOException {
+		this.directory = directory;
+		Files.createDirectories(directory);
+	}
+
+	/**
+	 * Replays the newest snapshot and the journals written since.
+	 *
+	 * @return the newest generation found, 0 for an empty directory
+	 */
+	long recover(Replay replay) throws IOException {
+		long snapshotGeneration = 0;
+		for (long generation : generations(SNAPSHOT)) snapshotGeneration = Math.max(snapshotGeneration, generation);
+		long returnValue = snapshotGeneration;
+
+		if (snapshotGeneration > 0) read(file(SNAPSHOT, snapshotGeneration), replay);
+		for (long generation : generations(JOURNAL)) {
+			if (generation < snapshotGeneration) continue;
+			read(file(JOURNAL, generation), replay);
+			returnValue = Math.max(returnValue, generation);
+		}
+		return returnValue;
+	}
+
+	/**
+	 * Closes the current journal and directs further changes to journal-generation.
+	 */
+	synchronized void startGeneration(long generation) throws IOException {
+		// Opened before the current journal is closed, so a failure leaves the current one in use
+		FileChannel channel = FileChannel.open(file(JOURNAL, generation),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		closeJournal();
+		journalChannel = channel;
+		journal = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+	}
+
+	synchronized void appendIssue(long keyHigh, long keyLow, long startedAt, long expiresAt, byte[] userId) throws IOException {
+		journal.writeByte(ISSUE);
+		journal.writeLong(keyHigh);
+		journal.writeLong(keyLow);
+		journal.writeLong(startedAt);
+		journal.writeLong(expiresAt);
+		journal.writeByte(userId.length);
+		journal.write(userId);
+	}
+
+	synchronized void appendRevoke(long keyHigh, long keyLow) throws IOException {
+		journal.writeByte(REVOKE);
+		journal.writeLong(keyHigh);
+		journal.writeLong(keyLow);
+	}
+
+	synchronized void appendRevokeUser(byte[] userId, long revokedAt) throws IOException {
+		writeRevokeUser(journal, userId, revokedAt);
+	}
+
+	/**
+	 * Writes buffered journal records through to the disk.
+	 */
+	synchronized void sync() throws IOException {
+		if (journal == null) return;
+		journal.flush();
+		journalChannel.force(false);
+	}
+
+	/**
+	 * Writes snapshot-generation from the sessions the source passes to its consumer and the
+	 * user revocations (userId to epoch millis), then deletes the files of older generations.
+	 */
+	void writeSnapshot(long generation, Consumer<Consumer<SessionRecord>> source, Map<String, Long> userRevocations) throws IOException {
+		Path target = file(SNAPSHOT, generation);
+		Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+
+		try (FileChannel channel = FileChannel.open(temporary,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+			IOException[] failure = new IOException[1];
+			source.accept(session -> {
+				if (failure[0] != null) return;
+				try {
+					byte[] userId = session.getUserId().getBytes(StandardCharsets.US_ASCII);
+					out.writeByte(ISSUE);
+					out.writeLong(session.getKeyHigh());
+					out.writeLong(session.getKeyLow());
+					out.writeLong(session.getStartedAt());
+					out.writeLong(session.getExpiresAt());
+					out.writeByte(userId.length);
+					out.write(userId);
+				} catch (IOException e) {
+					failure[0] = e;
+				}
+			});
+			if (failure[0] != null) throw failure[0];
+			for (Map.Entry<String, Long> revocation : userRevocations.entrySet()) {
+				writeRevokeUser(out, revocation.getKey().getBytes(StandardCharsets.US_ASCII), revocation.getValue());
+			}
+			out.writeByte(END);
+			out.flush();
+			channel.force(true);
+		}
+		Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+		for (long older : generations(SNAPSHOT)) {
+			if (older < generation) Files.deleteIfExists(file(SNAPSHOT, older));
+		}
+		for (long older : generations(JOURNAL)) {
+			if (older < generation) Files.deleteIfExists(file(JOURNAL, older));
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		closeJournal();
+	}
+
+	private void closeJournal() throws IOException {
+		if (journal == null) return;
+		sync();
+		journal.close();
+		journal = null;
+		journalChannel = null;
+	}
+
+	private void read(Path file, Replay replay) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			while (true) {
+				byte op = in.readByte();
+				if (op == END) return;
+				if (op == REVOKE) {
+					replay.revoke(in.readLong(), in.readLong());
+				} else if (op == ISSUE) {
+					long keyHigh = in.readLong();
+					long keyLow = in.readLong();
+					long startedAt = in.readLong();
+					long expiresAt = in.readLong();
+					replay.issue(new SessionRecord(keyHigh, keyLow, startedAt, expiresAt, readUserId(in)));
+				} else if (op == REVOKE_USER) {
+					long revokedAt = in.readLong();
+					replay.revokeUser(readUserId(in), revokedAt);
+				} else {
+					LOG.warn("Unknown record type {} in {}, ignoring the rest of the file", op, file.getFileName());
+					return;
+				}
+			}
+		} catch (EOFException e) {
+			// Torn tail of a journal written up to a crash
+		}
+	}
+
+	private static void writeRevokeUser(DataOutputStream out, byte[] userId, long revokedAt) throws IOException {
+		out.writeByte(REVOKE_USER);
+		out.writeLong(revokedAt);
+		out.writeByte(userId.length);
+		out.write(userId);
+	}
+
+	private static String readUserId(DataInputStream in) throws IOException {
+		byte[] userId = new byte[in.readUnsignedByte()];
+		in.readFully(userId);
+		return new String(userId, StandardCharsets.US_ASCII);
+	}
+
+	private List<Long> generations(String prefix) throws IOException {
+		List<Long> returnValue = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			files.map(file -> file.getFileName().toString())
+					.filter(name -> name.startsWith(prefix) && name.length() > prefix.length() && name.substring(prefix.length()).chars().allMatch(Character::isDigit))
+					.forEach(name -> returnValue.add(Long.parseLong(name.substring(prefix.length()))));
+		}
+		returnValue.sort(null);
+		return returnValue;
+	}
+
+	private Path file(String prefix, long generation) {
+		return directory.resolve(prefix + generation);
+	}
+}
@@ -0,0 +1,30 @@
+package com.javadeveloperblogs.app.ws.io.session;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A session as written to snapshots and the journal of the {@link RefreshTokenStore}, and as
+ * returned by its lookups.
+ *
+ * Fields:
+ * - keyHigh, keyLow: First 128 bits of the SHA-256 of the refresh token; the token itself is never stored
+ * - startedAt: Login the session descends from in epoch millis; refreshes keep it, which caps the
+ *   session's total lifetime and lets a revocation of all the user's sessions reach it
+ * - expiresAt: Expiry in epoch millis
+ * - userId: Public ID of the session's user
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class SessionRecord {
+	private final long keyHigh;
+	private final long keyLow;
+	private final long startedAt;
+	private final long expiresAt;
+	private final String userId;
+}
@@ -0,0 +1,323 @@
+package com.javadeveloperblogs.app.ws.io.session;
+
+import com.javadeveloperblogs.app.ws.shared.PublicIdGenerator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * One stripe of the {@link RefreshTokenStore}: a fixed number of session slots with their hash
+ * index and expiry wheel, guarded by the store's lock for this stripe.
+ *
+ * <p>Sessions are kept without per-session objects. A slot is 72 bytes of a direct buffer:</p>
+ * <pre>
+ *   0  long  key high      } first 128 bits of the token's SHA-256
+ *   8  long  key low       }
+ *  16  long  expiresAt     epoch millis
+ *  24  int   next          wheel bucket list, or free list
+ *  28  int   previous      wheel bucket list
+ *  32  byte  userId length
+ *  33  byte[26] userId     ASCII
+ *  60  int   bucket        wheel bucket holding the slot
+ *  64  long  startedAt     epoch millis of the login the session descends from
+ * </pre>
+ * <p>The index is an open-addressing int table of slot numbers (+1, 0 = empty) with linear
+ * probing and backward-shift deletion, so no tombstones accumulate.</p>
+ *
+ * <h2>Expiry:</h2>
+ * <p>Slots are linked into a hierarchical timing wheel of {@value #LEVELS} levels with
+ * {@value #BUCKETS} buckets each. Level 0 buckets span one tick, each higher level 64 times
+ * the one below. Insert and remove are O(1) list operations; {@link #advance(long, long)}
+ * empties one level 0 bucket per tick and, when a level wraps, redistributes the next bucket
+ * of the level above. Anything beyond the top level waits in its last bucket and is
+ * redistributed when that bucket comes round. A pause longer than maxTicks is not walked
+ * through: the wheel jumps and every session is scheduled again.</p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+final class SessionSegment {
+
+	static final int MAX_USER_ID_LENGTH = PublicIdGenerator.LENGTH;
+
+	private static final int SLOT_SIZE = 72;
+	private static final int KEY_HIGH = 0;
+	private static final int KEY_LOW = 8;
+	private static final int EXPIRES_AT = 16;
+	private static final int NEXT = 24;
+	private static final int PREVIOUS = 28;
+	private static final int USER_ID_LENGTH = 32;
+	private static final int USER_ID = 33;
+	private static final int BUCKET = 60;
+	private static final int STARTED_AT = 64;
+	private static final int NONE = -1;
+
+	private static final int LEVELS = 4;
+	private static final int BUCKET_BITS = 6;
+	private static final int BUCKETS = 1 << BUCKET_BITS;
+	private static final long MAX_DELTA = (1L << (BUCKET_BITS * LEVELS)) - 1;
+
+	private final ByteBuffer slots;
+	private final int capacity;
+	private final int[] index;
+	private final int indexMask;
+	private final int[] buckets = new int[LEVELS * BUCKETS];
+	private final long tickMillis;
+	private int freeHead;
+	private int size;
+	private long currentTick;
+
+	SessionSegment(int capacity, long tickMillis, long nowMillis) {
+		this.capacity = capacity;
+		this.tickMillis = tickMillis;
+		slots = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+
+		int indexSize = Integer.highestOneBit(Math.max(2, capacity * 2) - 1) << 1;
+		index = new int[indexSize];
+		indexMask = indexSize - 1;
+
+		for (int slot = 0; slot < capacity; slot++) {
+			slots.putInt(offset(slot) + NEXT, slot + 1 < capacity ? slot + 1 : NONE);
+		}
+		freeHead = capacity > 0 ? 0 : NONE;
+		Arrays.fill(buckets, NONE);
+		currentTick = nowMillis / tickMillis;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Stores a session, replacing one with the same key.
+	 *
+	 * @return false when the segment is full
+	 */
+	boolean put(long keyHigh, long keyLow, long startedAt, long expiresAt, byte[] userId) {
+		int position = find(keyHigh, keyLow);
+		if (position >= 0) remove(position);
+		if (freeHead == NONE) return false;
+
+		int slot = freeHead;
+		int offset = offset(slot);
+		freeHead = slots.getInt(offset + NEXT);
+
+		slots.putLong(offset + KEY_HIGH, keyHigh);
+		slots.putLong(offset + KEY_LOW, keyLow);
+		slots.putLong(offset + EXPIRES_AT, expiresAt);
+		slots.putLong(offset + STARTED_AT, startedAt);
+		slots.put(offset + USER_ID_LENGTH, (byte) userId.length);
+		slots.put(offset + USER_ID, userId);
+
+		position = home(keyLow);
+		while (index[position] != 0) position = (position + 1) & indexMask;
+		index[position] = slot + 1;
+
+		schedule(slot, expiresAt);
+		size++;
+		return true;
+	}
+
+	/**
+	 * A live session, or null.
+	 */
+	SessionRecord get(long keyHigh, long keyLow, long nowMillis) {
+		int position = find(keyHigh, keyLow);
+		if (position < 0) return null;
+
+		int offset = offset(index[position] - 1);
+		if (slots.getLong(offset + EXPIRES_AT) <= nowMillis) return null;
+		return record(offset);
+	}
+
+	/**
+	 * Removes a session and returns it, or null when there was no live session.
+	 */
+	SessionRecord remove(long keyHigh, long keyLow, long nowMillis) {
+		int position = find(keyHigh, keyLow);
+		if (position < 0) return null;
+
+		int offset = offset(index[position] - 1);
+		SessionRecord returnValue = slots.getLong(offset + EXPIRES_AT) > nowMillis ? record(offset) : null;
+		remove(position);
+		return returnValue;
+	}
+
+	/**
+	 * Moves the wheel forward to nowMillis and frees every session expired by then.
+	 *
+	 * @return the number of sessions freed
+	 */
+	int advance(long nowMillis, long maxTicks) {
+		int returnValue = 0;
+		long targetTick = nowMillis / tickMillis;
+		// After a long pause, jump instead of walking every missed tick. The buckets of the
+		// skipped ticks would only come round again after a full turn of their level, so every
+		// session is scheduled anew; those expired by now land in the next tick's bucket
+		if (targetTick - currentTick > maxTicks) {
+			currentTick = targetTick - maxTicks;
+			rescheduleAll();
+		}
+
+		while (currentTick < targetTick) {
+			currentTick++;
+			for (int level = LEVELS - 1; level > 0; level--) {
+				if ((currentTick & ((1L << (BUCKET_BITS * level)) - 1)) == 0) cascade(level);
+			}
+
+			int bucket = bucket(0, currentTick);
+			int slot = buckets[bucket];
+			buckets[bucket] = NONE;
+			while (slot != NONE) {
+				int offset = offset(slot);
+				int next = slots.getInt(offset + NEXT);
+				if (slots.getLong(offset + EXPIRES_AT) <= nowMillis) {
+					remove(find(slots.getLong(offset + KEY_HIGH), slots.getLong(offset + KEY_LOW)), false);
+					returnValue++;
+				} else {
+					schedule(slot, slots.getLong(offset + EXPIRES_AT));
+				}
+				slot = next;
+			}
+		}
+		return returnValue;
+	}
+
+	/**
+	 * Passes every live session to the consumer, for snapshots.
+	 */
+	void forEach(long nowMillis, Consumer<SessionRecord> consumer) {
+		for (int position = 0; position < index.length; position++) {
+			if (index[position] == 0) continue;
+			int offset = offset(index[position] - 1);
+			if (slots.getLong(offset + EXPIRES_AT) <= nowMillis) continue;
+			consumer.accept(record(offset));
+		}
+	}
+
+	private void cascade(int level) {
+		int bucket = bucket(level, currentTick);
+		int slot = buckets[bucket];
+		buckets[bucket] = NONE;
+		while (slot != NONE) {
+			int next = slots.getInt(offset(slot) + NEXT);
+			// The current tick's level 0 bucket is emptied right after cascading, so it is still a valid target
+			schedule(slot, slots.getLong(offset(slot) + EXPIRES_AT), currentTick);
+			slot = next;
+		}
+	}
+
+	private void rescheduleAll() {
+		int[] scheduled = new int[size];
+		int count = 0;
+		for (int bucket = 0; bucket < buckets.length; bucket++) {
+			for (int slot = buckets[bucket]; slot != NONE; slot = slots.getInt(offset(slot) + NEXT)) {
+				scheduled[count++] = slot;
+			}
+			buckets[bucket] = NONE;
+		}
+		for (int i = 0; i < count; i++) {
+			schedule(scheduled[i], slots.getLong(offset(scheduled[i]) + EXPIRES_AT));
+		}
+	}
+
+	private void schedule(int slot, long expiresAt) {
+		schedule(slot, expiresAt, currentTick + 1);
+	}
+
+	/**
+	 * Links the slot into the bucket of its expiry tick, but no earlier than firstTick.
+	 */
+	private void schedule(int slot, long expiresAt, long firstTick) {
+		long tick = Math.max(firstTick, Math.min(ceilTick(expiresAt), currentTick + MAX_DELTA));
+		long delta = tick - currentTick;
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= 1L << (BUCKET_BITS * (level + 1))) level++;
+
+		int bucket = bucket(level, tick);
+		int offset = offset(slot);
+		int head = buckets[bucket];
+		slots.putInt(offset + NEXT, head);
+		slots.putInt(offset + PREVIOUS, NONE);
+		slots.putInt(offset + BUCKET, bucket);
+		if (head != NONE) slots.putInt(offset(head) + PREVIOUS, slot);
+		buckets[bucket] = slot;
+	}
+
+	private void unschedule(int slot) {
+		int offset = offset(slot);
+		int next = slots.getInt(offset + NEXT);
+		int previous = slots.getInt(offset + PREVIOUS);
+		if (next != NONE) slots.putInt(offset(next) + PREVIOUS, previous);
+		if (previous != NONE) {
+			slots.putInt(offset(previous) + NEXT, next);
+		} else {
+			buckets[slots.getInt(offset + BUCKET)] = next;
+		}
+	}
+
+	private void remove(int position) {
+		remove(position, true);
+	}
+
+	/**
+	 * Frees the slot at the index position and closes the gap in the probe sequence.
+	 */
+	private void remove(int position, boolean scheduled) {
+		int slot = index[position] - 1;
+		if (scheduled) unschedule(slot);
+		slots.putInt(offset(slot) + NEXT, freeHead);
+		freeHead = slot;
+		size--;
+
+		int gap = position;
+		int probe = position;
+		while (true) {
+			probe = (probe + 1) & indexMask;
+			if (index[probe] == 0) break;
+			int home = home(slots.getLong(offset(index[probe] - 1) + KEY_LOW));
+			// Entries whose home lies cyclically in (gap, probe] are still reachable; others move into the gap
+			boolean reachable = gap <= probe ? gap < home && home <= probe : gap < home || home <= probe;
+			if (reachable) continue;
+			index[gap] = index[probe];
+			gap = probe;
+		}
+		index[gap] = 0;
+	}
+
+	private int find(long keyHigh, long keyLow) {
+		int position = home(keyLow);
+		while (index[position] != 0) {
+			int offset = offset(index[position] - 1);
+			if (slots.getLong(offset + KEY_LOW) == keyLow && slots.getLong(offset + KEY_HIGH) == keyHigh) return position;
+			position = (position + 1) & indexMask;
+		}
+		return NONE;
+	}
+
+	private SessionRecord record(int offset) {
+		byte[] userId = new byte[slots.get(offset + USER_ID_LENGTH)];
+		slots.get(offset + USER_ID, userId);
+		return new SessionRecord(slots.getLong(offset + KEY_HIGH), slots.getLong(offset + KEY_LOW),
+				slots.getLong(offset + STARTED_AT), slots.getLong(offset + EXPIRES_AT), new String(userId, StandardCharsets.US_ASCII));
+	}
+
+	private int home(long keyLow) {
+		return (int) keyLow & indexMask;
+	}
+
+	private long ceilTick(long millis) {
+		return Math.floorDiv(millis + tickMillis - 1, tickMillis);
+	}
+
+	private static int bucket(int level, long tick) {
+		return level * BUCKETS + (int) ((tick >>> (BUCKET_BITS * level)) & (BUCKETS - 1));
+	}
+
+	private static int offset(int slot) {
+		return slot * SLOT_SIZE;
+	}
+}
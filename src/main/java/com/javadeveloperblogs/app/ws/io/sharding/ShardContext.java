@@ -0,0 +1,44 @@
+package com.javadeveloperblogs.app.ws.io.sharding;
+
+/**
+ * Shard the current thread's database work is routed to.
+ *
+ * The value is read by {@link ShardRoutingDataSource} whenever a connection is obtained, which
+ * for a transaction is when it begins. It is set only through {@link ShardRouter}, which also
+ * restores the previous value; threads that never set it use {@link #DEFAULT_SHARD}.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public final class ShardContext {
+
+	/**
+	 * Shard used when none is selected. It also holds the data that is not partitioned by user:
+	 * the email directory, idempotency records and import jobs.
+	 */
+	public static final int DEFAULT_SHARD = 0;
+
+	private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+	private ShardContext() {
+	}
+
+	public static int current() {
+		Integer shard = CURRENT.get();
+		return shard != null ? shard : DEFAULT_SHARD;
+	}
+
+	/**
+	 * Selects a shard and returns the previous selection, which may be null.
+	 */
+	static Integer swap(Integer shard) {
+		Integer previous = CURRENT.get();
+		if (shard == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(shard);
+		}
+		return previous;
+	}
+}
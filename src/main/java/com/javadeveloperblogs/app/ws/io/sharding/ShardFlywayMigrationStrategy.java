@@ -0,0 +1,53 @@
+package com.javadeveloperblogs.app.ws.io.sharding;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Applies the Flyway migrations to every shard instead of only to the default one, which is
+ * all Spring Boot's Flyway sees through the routing DataSource.
+ *
+ * Each shard is migrated with the configuration Spring Boot built from spring.flyway.*, on
+ * the shard's own connection pool, and with the shard_id_start placeholder set to the first
+ * id of the shard's range, so V11__shard_id_ranges.sql moves its sequences there. Shards are
+ * migrated one after the other, starting with the default shard; a failing migration stops
+ * the startup.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class ShardFlywayMigrationStrategy implements FlywayMigrationStrategy {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ShardFlywayMigrationStrategy.class);
+	private static final String ID_RANGE_START_PLACEHOLDER = "shard_id_start";
+
+	private final ShardRoutingDataSource dataSource;
+
+	public ShardFlywayMigrationStrategy(ShardRoutingDataSource dataSource) {
+		this.dataSource = dataSource;
+	}
+
+	@Override
+	public void migrate(Flyway flyway) {
+		Map<Object, DataSource> shards = dataSource.getResolvedDataSources();
+		for (int shard = 0; shard < shards.size(); shard++) {
+			Map<String, String> placeholders = new HashMap<>(flyway.getConfiguration().getPlaceholders());
+			placeholders.put(ID_RANGE_START_PLACEHOLDER, Long.toString(ShardSchemaInitializer.idRangeStart(shard)));
+
+			Flyway.configure()
+					.configuration(flyway.getConfiguration())
+					.dataSource(shards.get(shard))
+					.placeholders(placeholders)
+					.load()
+					.migrate();
+			LOG.info("Migrated schema of shard {}", shard);
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package com.javadeveloperblogs.app.ws.io.sharding;
+
+import com.javadeveloperblogs.app.ws.io.statistics.SqlStatementCounter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Maps users to shards and runs work on a given shard or on all of them.
+ *
+ * <p>A user's shard is a hash of its public userId modulo the number of shards; the userId
+ * is assigned before the user is stored, so every later request carrying it is routed
+ * without a lookup. Requests that only carry an email go through {@link UserShardDirectory}.</p>
+ *
+ * <p>With sharding disabled there is exactly one shard and every method runs its work
+ * directly on the calling thread, so callers need no separate code path.</p>
+ *
+ * <h2>Fan-out:</h2>
+ * <p>{@link #onAllShards(IntFunction)} queries the shards in parallel on a bounded pool of
+ * app.sharding.fan-out-threads; shard 0 runs on the calling thread, and when the pool is
+ * busy the caller runs the remaining shards itself instead of queueing. Statements the pool
+ * threads execute count toward the caller's {@link SqlStatementCounter} scope, so statement
+ * budgets cover every shard.</p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class ShardRouter {
+
+    private final int shardCount;
+    private final ThreadPoolExecutor fanOutPool;
+
+    public ShardRouter(ShardingProperties properties) {
+        shardCount = properties.isEnabled() ? Math.max(1, properties.getShards().size()) : 1;
+
+        if (shardCount > 1) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            fanOutPool = new ThreadPoolExecutor(0, properties.getFanOutThreads(), 60, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "shard-fan-out-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.CallerRunsPolicy());
+        } else {
+            fanOutPool = null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (fanOutPool != null) fanOutPool.shutdown();
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int shardForUserId(String userId) {
+        if (shardCount == 1) return ShardContext.DEFAULT_SHARD;
+
+        // String.hashCode is stable across JVMs; the finalizer of MurmurHash3 spreads it over all bits
+        int hash = userId.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+
+        return Math.floorMod(hash, shardCount);
+    }
+
+    /**
+     * Runs the action with its database work routed to the given shard.
+     *
+     * @throws IllegalStateException if called inside a transaction bound to another shard,
+     *                               which the action would silently join
+     */
+    public <T> T onShard(int shard, Supplier<T> action) {
+        int current = ShardContext.current();
+        if (shard != current && TransactionSynchronizationManager.isActualTransactionActive())
+            throw new IllegalStateException("Cannot switch to shard " + shard + " inside a transaction on shard " + current);
+
+        Integer previous = ShardContext.swap(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.swap(previous);
+        }
+    }
+
+    public void onShard(int shard, Runnable action) {
+        onShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the action once per shard, in parallel, and returns the results indexed by shard.
+     * The first failure is rethrown once all shards have finished.
+     */
+    public <T> List<T> onAllShards(IntFunction<T> action) {
+        if (shardCount == 1) return Collections.singletonList(onShard(ShardContext.DEFAULT_SHARD, () -> action.apply(ShardContext.DEFAULT_SHARD)));
+
+        SqlStatementCounter.Counts counts = SqlStatementCounter.current();
+        List<Future<T>> others = new ArrayList<>(shardCount - 1);
+        for (int shard = 1; shard < shardCount; shard++) {
+            int target = shard;
+            others.add(fanOutPool.submit(() -> {
+                SqlStatementCounter.Counts previous = SqlStatementCounter.attach(counts);
+                try {
+                    return onShard(target, () -> action.apply(target));
+                } finally {
+                    SqlStatementCounter.attach(previous);
+                }
+            }));
+        }
+
+        List<T> returnValue = new ArrayList<>(shardCount);
+        RuntimeException failure = null;
+        try {
+            returnValue.add(onShard(ShardContext.DEFAULT_SHARD, () -> action.apply(ShardContext.DEFAULT_SHARD)));
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        for (Future<T> other : others) {
+            try {
+                returnValue.add(other.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Error error) throw error;
+                if (failure == null) failure = e.getCause() instanceof RuntimeException runtime
+                        ? runtime : new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for shards", e);
+            }
+        }
+        if (failure != null) throw failure;
+
+        return returnValue;
+    }
+}
@@ -0,0 +1,33 @@
+package com.javadeveloperblogs.app.ws.io.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource that hands out connections of the shard selected in {@link ShardContext}.
+ *
+ * JPA, Spring Data repositories and JdbcTemplate all use this single DataSource, so they are
+ * routed without changes. The routing decision is taken when a connection is obtained; a
+ * transaction therefore stays on the shard that was selected when it began.
+ *
+ * Closing it closes the connection pools of all shards.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return ShardContext.current();
+	}
+
+	@Override
+	public void close() throws Exception {
+		for (DataSource shard : getResolvedDataSources().values()) {
+			if (shard instanceof AutoCloseable closeable) closeable.close();
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package com.javadeveloperblogs.app.ws.io.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies spring.jpa.hibernate.ddl-auto to the shards other than the default one, which
+ * Hibernate itself only manages on the connection it bootstraps with.
+ *
+ * <p>create / create-drop recreate the schema, validate checks it; for update and none the
+ * shards are expected to be migrated already, which with spring.flyway.enabled
+ * {@link ShardFlywayMigrationStrategy} does for every shard before Hibernate starts.</p>
+ *
+ * <h2>Identifier ranges:</h2>
+ * <p>Hibernate's pooled optimizer keeps one in-memory block of ids per sequence, shared by all
+ * shards, and refills it from whichever shard the current transaction uses. Identical
+ * sequences on every shard would hand out the same block twice. Each freshly created shard
+ * N therefore starts its sequences at N * 2^40, which keeps ids unique across all shards
+ * (and keeps the second-level cache, keyed by id, unambiguous). Migrated shards get the
+ * same offsets from V11__shard_id_ranges.sql. Unless the schema was just created, startup
+ * fails if a sequence of a shard is below the shard's range, as it would hand out ids that
+ * another shard hands out too.</p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class ShardSchemaInitializer implements InitializingBean {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+	private static final int ID_RANGE_BITS = 40;
+
+	private final SessionFactoryImplementor sessionFactory;
+	private final JdbcTemplate jdbcTemplate;
+	private final ShardRouter shardRouter;
+	private final String ddlAuto;
+
+	public ShardSchemaInitializer(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+								  ShardRouter shardRouter, String ddlAuto) {
+		this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.shardRouter = shardRouter;
+		this.ddlAuto = ddlAuto;
+	}
+
+	/**
+	 * @return the first id of the given shard's range
+	 */
+	public static long idRangeStart(int shard) {
+		return ((long) shard << ID_RANGE_BITS) + 1;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		for (int shard = 1; shard < shardRouter.shardCount(); shard++) {
+			int target = shard;
+			shardRouter.onShard(target, () -> {
+				switch (ddlAuto) {
+					case "create", "create-drop" -> {
+						sessionFactory.getSchemaManager().dropMappedObjects(false);
+						sessionFactory.getSchemaManager().exportMappedObjects(false);
+						offsetSequences(target);
+						LOG.info("Created schema of shard {}", target);
+					}
+					case "validate" -> {
+						sessionFactory.getSchemaManager().validateMappedObjects();
+						checkSequences(target);
+					}
+					default -> {
+						LOG.info("Schema of shard {} is not managed (ddl-auto={})", target, ddlAuto);
+						checkSequences(target);
+					}
+				}
+			});
+		}
+	}
+
+	private void offsetSequences(int shard) {
+		long start = idRangeStart(shard);
+
+		for (DatabaseStructure structure : sequences()) {
+			String name = structure.getPhysicalName().render();
+			if (structure.isPhysicalSequence()) {
+				jdbcTemplate.execute("ALTER SEQUENCE " + name + " RESTART WITH " + start);
+			} else {
+				// Sequence emulated by a one-row table, as on MySQL
+				jdbcTemplate.update("UPDATE " + name + " SET next_val = ?", start);
+			}
+		}
+	}
+
+	/**
+	 * @throws IllegalStateException if a sequence of the shard is below the shard's range
+	 */
+	private void checkSequences(int shard) {
+		long start = idRangeStart(shard);
+
+		for (DatabaseStructure structure : sequences()) {
+			String name = structure.getPhysicalName().render();
+			Long next = structure.isPhysicalSequence()
+					? jdbcTemplate.queryForObject(sessionFactory.getJdbcServices().getDialect().getSequenceSupport()
+							.getSequenceNextValString(name), Long.class)
+					: jdbcTemplate.queryForObject("SELECT next_val FROM " + name, Long.class);
+			if (next == null || next < start)
+				throw new IllegalStateException("Sequence " + name + " of shard " + shard + " is at " + next
+						+ ", below the shard's id range starting at " + start + "; apply V11__shard_id_ranges.sql to the shard");
+		}
+	}
+
+	private List<DatabaseStructure> sequences() {
+		List<DatabaseStructure> returnValue = new ArrayList<>();
+		sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+			if (persister.getGenerator() instanceof SequenceStyleGenerator generator)
+				returnValue.add(generator.getDatabaseStructure());
+		});
+		return returnValue;
+	}
+}
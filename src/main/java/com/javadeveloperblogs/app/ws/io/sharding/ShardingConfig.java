@@ -0,0 +1,83 @@
+package com.javadeveloperblogs.app.ws.io.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.CacheSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration of user sharding.
+ *
+ * With app.sharding.enabled=true the application DataSource is a {@link ShardRoutingDataSource}
+ * over one connection pool per configured shard, and Spring Boot's own DataSource backs off.
+ * Hibernate creates or validates the schema of the default shard as usual;
+ * {@link ShardSchemaInitializer} applies the same spring.jpa.hibernate.ddl-auto action to the
+ * other shards, and Flyway migrations run on every shard (see {@link ShardingFlywayConfig}). Without it nothing here is created except the properties and
+ * {@link ShardRouter}, which then reports a single shard.
+ *
+ * The Hibernate query cache is switched off with sharding: its entries are keyed by query and
+ * parameters only, so a result cached on one shard, e.g. the id of ROLE_USER, would be handed
+ * to the others, whose rows have ids of their own range (see {@link ShardSchemaInitializer}).
+ * Entities stay in the second-level cache, as their ids are unique across shards.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+	@Bean
+	@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+	public ShardRoutingDataSource dataSource(ShardingProperties properties, MeterRegistry meterRegistry) {
+		List<ShardingProperties.Shard> shards = properties.getShards();
+		if (shards.isEmpty())
+			throw new IllegalStateException("app.sharding.enabled is set but no app.sharding.shards are configured");
+
+		Map<Object, Object> targets = new HashMap<>();
+		for (int i = 0; i < shards.size(); i++) {
+			ShardingProperties.Shard shard = shards.get(i);
+			HikariDataSource dataSource = new HikariDataSource();
+			dataSource.setPoolName("shard-" + i);
+			dataSource.setJdbcUrl(shard.getUrl());
+			dataSource.setUsername(shard.getUsername());
+			dataSource.setPassword(shard.getPassword());
+			dataSource.setMaximumPoolSize(shard.getMaxPoolSize());
+			dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+			targets.put(i, dataSource);
+		}
+
+		ShardRoutingDataSource returnValue = new ShardRoutingDataSource();
+		returnValue.setTargetDataSources(targets);
+		returnValue.setDefaultTargetDataSource(targets.get(ShardContext.DEFAULT_SHARD));
+		returnValue.setLenientFallback(false);
+		return returnValue;
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+	public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+														 ShardRouter shardRouter,
+														 @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+		return new ShardSchemaInitializer(entityManagerFactory, dataSource, shardRouter, ddlAuto);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+	public HibernatePropertiesCustomizer shardingHibernateProperties() {
+		return properties -> properties.put(CacheSettings.USE_QUERY_CACHE, "false");
+	}
+}
@@ -0,0 +1,27 @@
+package com.javadeveloperblogs.app.ws.io.sharding;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Flyway migrations with sharding: with spring.flyway.enabled, Spring Boot hands its Flyway
+ * to {@link ShardFlywayMigrationStrategy}, which migrates every shard. Kept apart from
+ * {@link ShardingConfig} so that the latter does not need Flyway on the classpath.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(Flyway.class)
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardingFlywayConfig {
+
+	@Bean
+	public ShardFlywayMigrationStrategy shardFlywayMigrationStrategy(ShardRoutingDataSource dataSource) {
+		return new ShardFlywayMigrationStrategy(dataSource);
+	}
+}
@@ -0,0 +1,47 @@
+package com.javadeveloperblogs.app.ws.io.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of user sharding, bound from app.sharding.*.
+ *
+ * Properties:
+ * - enabled: route users across the configured shards; when false the application uses
+ *   spring.datasource as a single database
+ * - shards[i].url / username / password / max-pool-size: connection settings of shard i. The
+ *   order matters: a user's shard is derived from its userId modulo the number of shards, so
+ *   shards can only be added by migrating existing users
+ * - fan-out-threads: threads that query shards in parallel for list and search requests
+ * - directory-cache-size: email to shard entries kept in memory
+ * - claim-timeout: how long a directory entry may wait for its user to be created; an older
+ *   entry without a user is left over from a crashed creation and may be claimed again
+ *
+ * Reference data (roles, authorities) is not sharded and must exist on every shard. It is
+ * looked up by name on the shard being written, so its ids may differ between shards.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@ConfigurationProperties("app.sharding")
+public class ShardingProperties {
+	private boolean enabled;
+	private List<Shard> shards = new ArrayList<>();
+	private int fanOutThreads = 16;
+	private long directoryCacheSize = 100_000;
+	private Duration claimTimeout = Duration.ofMinutes(1);
+
+	@Data
+	public static class Shard {
+		private String url;
+		private String username;
+		private String password;
+		private int maxPoolSize = 10;
+	}
+}
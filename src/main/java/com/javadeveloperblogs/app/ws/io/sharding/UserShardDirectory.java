@@ -0,0 +1,199 @@
+package com.javadeveloperblogs.app.ws.io.sharding;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.javadeveloperblogs.app.ws.io.Repository.EmailShardRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.UserRepository;
+import com.javadeveloperblogs.app.ws.io.entity.EmailShardEntity;
+import com.javadeveloperblogs.app.ws.shared.Emails;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Directory of the shard each email belongs to, stored on the default shard.
+ *
+ * An entry is registered before its user is created and removed after the user is purged,
+ * so a registered email may briefly point to a user that does not exist yet, but an existing
+ * user is always found. If the process dies between the two steps, or the creation fails
+ * without it being certain that nothing was committed, the entry is left in place; once it is
+ * older than the claim timeout and no user holds the email, removeIfLeaked() frees it so the
+ * email can be claimed again. Such an entry may then move to another shard, so a shard served from the
+ * cache can be stale on other instances: callers that miss the user re-read it with
+ * reloadShardForEmail().
+ *
+ * Entries are keyed by the normalized email (see Emails), so emails differing only in case or
+ * surrounding whitespace claim the same entry. Callers may pass emails as entered.
+ *
+ * The methods join a transaction already open on the default shard and open their own
+ * otherwise. Only used when {@link ShardRouter#isSharded()}.
+ *
+ * Configuration:
+ * - app.sharding.directory-cache-size: maximum number of cached entries
+ * - app.sharding.claim-timeout: age after which an entry without a user counts as leaked
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class UserShardDirectory {
+
+	@Autowired
+	EmailShardRepository emailShardRepository;
+
+	@Autowired
+	UserRepository userRepository;
+
+	@Autowired
+	ShardRouter shardRouter;
+
+	@Autowired
+	ShardingProperties shardingProperties;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	private Cache<String, Integer> shards;
+	private TransactionTemplate transaction;
+
+	@PostConstruct
+	void init() {
+		shards = Caffeine.newBuilder()
+				.maximumSize(shardingProperties.getDirectoryCacheSize())
+				.build();
+		transaction = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * @return the shard of the email, or null if no user has it
+	 */
+	public Integer shardForEmail(String email) {
+		String key = Emails.normalize(email);
+		Integer cached = shards.getIfPresent(key);
+		if (cached != null) return cached;
+
+		EmailShardEntity entry = onDirectory(() -> emailShardRepository.findById(key).orElse(null));
+		if (entry == null) return null;
+
+		shards.put(key, entry.getShardId());
+		return entry.getShardId();
+	}
+
+	/**
+	 * Reads the shard of the email from the directory again, bypassing the cache.
+	 *
+	 * @return the shard of the email, or null if no user has it
+	 */
+	public Integer reloadShardForEmail(String email) {
+		shards.invalidate(Emails.normalize(email));
+		return shardForEmail(email);
+	}
+
+	/**
+	 * Shards of the given emails, keyed by normalized email; emails no user has are absent.
+	 */
+	public Map<String, Integer> shardsForEmails(Collection<String> emails) {
+		Map<String, Integer> returnValue = new HashMap<>();
+		if (emails.isEmpty()) return returnValue;
+
+		List<String> keys = normalize(emails);
+		for (EmailShardEntity entry : onDirectory(() -> emailShardRepository.findAllByEmailIn(keys))) {
+			returnValue.put(entry.getEmail(), entry.getShardId());
+		}
+		return returnValue;
+	}
+
+	/**
+	 * Claims the email for a user on the given shard.
+	 *
+	 * @return false if the email is already taken
+	 */
+	public boolean register(String email, int shard) {
+		String key = Emails.normalize(email);
+		try {
+			onDirectory(() -> {
+				emailShardRepository.insert(key, shard, Instant.now());
+				return null;
+			});
+		} catch (DataIntegrityViolationException e) {
+			return false;
+		}
+		shards.put(key, shard);
+		return true;
+	}
+
+	/**
+	 * Registers several emails at once, failing as a whole if one of them is taken.
+	 */
+	public void registerAll(Map<String, Integer> emailShards) {
+		List<String> emails = new ArrayList<>(emailShards.keySet());
+		Instant claimedAt = Instant.now();
+		onDirectory(() -> {
+			for (String email : emails) {
+				emailShardRepository.insert(Emails.normalize(email), emailShards.get(email), claimedAt);
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * Removes the entry of the email if its user was never created: the entry is older than
+	 * the claim timeout and its shard has no user with the email, deleted ones included.
+	 *
+	 * @return true if the email is free now
+	 */
+	public boolean removeIfLeaked(String email) {
+		String key = Emails.normalize(email);
+		EmailShardEntity entry = onDirectory(() -> emailShardRepository.findById(key).orElse(null));
+		if (entry == null) return true;
+
+		if (entry.getClaimedAt().isAfter(Instant.now().minus(shardingProperties.getClaimTimeout()))) return false;
+		if (!shardRouter.onShard(entry.getShardId(), () -> userRepository.findExistingEmails(List.of(key))).isEmpty()) return false;
+
+		int removed = onDirectory(() -> emailShardRepository.deleteClaim(key, entry.getShardId(), entry.getClaimedAt()));
+		shards.invalidate(key);
+		return removed == 1;
+	}
+
+	public void remove(String email) {
+		String key = Emails.normalize(email);
+		onDirectory(() -> {
+			emailShardRepository.deleteById(key);
+			return null;
+		});
+		shards.invalidate(key);
+	}
+
+	public void removeAll(Collection<String> emails) {
+		List<String> keys = normalize(emails);
+		onDirectory(() -> {
+			emailShardRepository.deleteAllById(keys);
+			return null;
+		});
+		shards.invalidateAll(keys);
+	}
+
+	private static List<String> normalize(Collection<String> emails) {
+		List<String> returnValue = new ArrayList<>(emails.size());
+		for (String email : emails) {
+			returnValue.add(Emails.normalize(email));
+		}
+		return returnValue;
+	}
+
+	private <T> T onDirectory(Supplier<T> action) {
+		return shardRouter.onShard(ShardContext.DEFAULT_SHARD, () -> transaction.execute(status -> action.get()));
+	}
+}
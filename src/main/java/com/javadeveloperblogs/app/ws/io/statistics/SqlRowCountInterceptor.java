@@ -0,0 +1,29 @@
+package com.javadeveloperblogs.app.ws.io.statistics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Session-factory scoped Hibernate Interceptor that counts entity rows hydrated on behalf
+ * of the current HTTP request.
+ *
+ * Every entity instance loaded from a JDBC result set passes through {@link #onLoad}, so the
+ * count reflects the rows materialized per request, including rows pulled in by eager
+ * associations such as UserEntity.roles and RoleEntity.authorities.
+ *
+ * Registered through:
+ * spring.jpa.properties.hibernate.session_factory.interceptor
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ * @see SqlStatementCounter
+ */
+public class SqlRowCountInterceptor implements Interceptor {
+
+	@Override
+	public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+		SqlStatementCounter.addRowFetched();
+		return false;
+	}
+}
@@ -0,0 +1,124 @@
+package com.javadeveloperblogs.app.ws.io.statistics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hibernate StatementInspector that counts the SQL statements executed on behalf of the
+ * current HTTP request.
+ *
+ * Counting is scoped by {@link #begin()} and {@link #end()}, which SqlStatementLoggingFilter
+ * calls around every request. Statements executed outside such a scope (scheduled jobs,
+ * startup) are not counted. Another thread doing work for the request counts into its scope
+ * once it {@link #attach(Counts) attaches} the request's counts, as the shard fan-out of
+ * ShardRouter does. Rows fetched are reported by {@link SqlRowCountInterceptor}, which shares
+ * the same counts.
+ *
+ * Registered through:
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector
+ *
+ * Integration tests can assert a statement budget per endpoint, e.g.
+ * <pre>
+ * mockMvc.perform(get("/users?limit=50"));
+ * assertTrue(SqlStatementCounter.lastCompleted().getStatements() &lt;= 3);
+ * </pre>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+	private static final long serialVersionUID = -3361740229120893177L;
+
+	private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+	private static final ThreadLocal<Counts> LAST_COMPLETED = new ThreadLocal<>();
+
+	@Override
+	public String inspect(String sql) {
+		Counts counts = CURRENT.get();
+		if (counts != null) {
+			counts.statements.incrementAndGet();
+		}
+		return sql;
+	}
+
+	/**
+	 * Starts counting statements and rows for the calling thread.
+	 */
+	public static void begin() {
+		CURRENT.set(new Counts());
+	}
+
+	/**
+	 * Stops counting for the calling thread.
+	 *
+	 * @return the counts collected since {@link #begin()}, never null
+	 */
+	public static Counts end() {
+		Counts counts = CURRENT.get();
+		CURRENT.remove();
+		if (counts == null) {
+			counts = new Counts();
+		}
+		LAST_COMPLETED.set(counts);
+		return counts;
+	}
+
+	/**
+	 * @return the counts of the calling thread's scope, or null outside of one
+	 */
+	public static Counts current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Counts the calling thread's statements and rows into the given counts, which may be null
+	 * to stop counting, without completing a scope.
+	 *
+	 * @return the counts the thread used before, to attach again afterwards
+	 */
+	public static Counts attach(Counts counts) {
+		Counts previous = CURRENT.get();
+		if (counts == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(counts);
+		}
+		return previous;
+	}
+
+	/**
+	 * @return the counts of the last scope completed on the calling thread, never null
+	 */
+	public static Counts lastCompleted() {
+		Counts counts = LAST_COMPLETED.get();
+		return counts != null ? counts : new Counts();
+	}
+
+	static void addRowFetched() {
+		Counts counts = CURRENT.get();
+		if (counts != null) {
+			counts.rows.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Statements executed and entity rows fetched within one counting scope, by all threads
+	 * attached to it.
+	 */
+	public static final class Counts {
+		private final AtomicInteger statements = new AtomicInteger();
+		private final AtomicLong rows = new AtomicLong();
+
+		public int getStatements() {
+			return statements.get();
+		}
+
+		public long getRows() {
+			return rows.get();
+		}
+	}
+}
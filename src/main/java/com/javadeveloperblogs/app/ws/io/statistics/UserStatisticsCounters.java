@@ -0,0 +1,110 @@
+package com.javadeveloperblogs.app.ws.io.statistics;
+
+import com.javadeveloperblogs.app.ws.shared.dto.UserStatisticsDto;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory user and address counters backing GET /users/stats.
+ *
+ * Writers apply small deltas (see {@link UserStatisticsListener}) and readers take a snapshot,
+ * so serving the statistics never touches the database. LongAdder keeps concurrent
+ * increments from contending on a single cache line.
+ *
+ * The counters are only as accurate as the events that reach them: bulk JPQL/native updates
+ * and writes from other instances are picked up by {@link #replace}, which the periodic
+ * reconcile calls with totals read from the database.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class UserStatisticsCounters {
+
+	private final LongAdder totalUsers = new LongAdder();
+	private final LongAdder verifiedUsers = new LongAdder();
+	private final ConcurrentMap<String, LongAdder> usersByRole = new ConcurrentHashMap<>();
+	private final LongAdder totalAddresses = new LongAdder();
+	private final ConcurrentMap<String, LongAdder> addressesByCountry = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LongAdder> addressesByType = new ConcurrentHashMap<>();
+	private volatile Instant reconciledAt;
+
+	public void addUsers(long delta) {
+		totalUsers.add(delta);
+	}
+
+	public void addVerifiedUsers(long delta) {
+		verifiedUsers.add(delta);
+	}
+
+	public void addUsersWithRole(String role, long delta) {
+		usersByRole.computeIfAbsent(role, key -> new LongAdder()).add(delta);
+	}
+
+	public void addAddress(String country, String type, long delta) {
+		totalAddresses.add(delta);
+		addressesByCountry.computeIfAbsent(country, key -> new LongAdder()).add(delta);
+		addressesByType.computeIfAbsent(type, key -> new LongAdder()).add(delta);
+	}
+
+	/**
+	 * Copies the current counters. Each value is read independently, so a snapshot taken while
+	 * writers are active may be off by the deltas in flight.
+	 */
+	public UserStatisticsDto snapshot() {
+		UserStatisticsDto returnValue = new UserStatisticsDto();
+		long total = totalUsers.sum();
+		long verified = verifiedUsers.sum();
+
+		returnValue.setTotalUsers(total);
+		returnValue.setVerifiedUsers(verified);
+		returnValue.setUnverifiedUsers(total - verified);
+		returnValue.setUsersByRole(toMap(usersByRole));
+		returnValue.setTotalAddresses(totalAddresses.sum());
+		returnValue.setAddressesByCountry(toMap(addressesByCountry));
+		returnValue.setAddressesByType(toMap(addressesByType));
+		returnValue.setReconciledAt(reconciledAt);
+
+		return returnValue;
+	}
+
+	/**
+	 * Overwrites the counters with totals computed from the database.
+	 * Deltas committed while the reconcile queries ran may be counted twice or not at all;
+	 * such drift is corrected by the next reconcile.
+	 */
+	public void replace(UserStatisticsDto actual) {
+		set(totalUsers, actual.getTotalUsers());
+		set(verifiedUsers, actual.getVerifiedUsers());
+		replace(usersByRole, actual.getUsersByRole());
+		set(totalAddresses, actual.getTotalAddresses());
+		replace(addressesByCountry, actual.getAddressesByCountry());
+		replace(addressesByType, actual.getAddressesByType());
+		reconciledAt = actual.getReconciledAt();
+	}
+
+	private static void replace(ConcurrentMap<String, LongAdder> counters, Map<String, Long> actual) {
+		counters.keySet().retainAll(actual.keySet());
+		actual.forEach((key, value) -> set(counters.computeIfAbsent(key, k -> new LongAdder()), value));
+	}
+
+	private static void set(LongAdder counter, long value) {
+		counter.add(value - counter.sum());
+	}
+
+	private static Map<String, Long> toMap(Map<String, LongAdder> counters) {
+		Map<String, Long> returnValue = new TreeMap<>();
+		counters.forEach((key, value) -> {
+			long sum = value.sum();
+			if (sum != 0) returnValue.put(key, sum);
+		});
+		return returnValue;
+	}
+}
@@ -0,0 +1,133 @@
+package com.javadeveloperblogs.app.ws.io.statistics;
+
+import com.javadeveloperblogs.app.ws.io.entity.AddressEntity;
+import com.javadeveloperblogs.app.ws.io.entity.RoleEntity;
+import com.javadeveloperblogs.app.ws.io.entity.UserEntity;
+import com.javadeveloperblogs.app.ws.shared.AfterCommit;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * JPA entity listener that keeps {@link UserStatisticsCounters} in step with user and
+ * address writes.
+ *
+ * Registered on UserEntity and AddressEntity through {@code @EntityListeners}; Hibernate
+ * obtains the instance from the Spring context, so dependencies are injected as usual.
+ *
+ * Behaviour:
+ * - @PostLoad records the counted values (verification status, country, type) on the
+ *   entity, so @PostUpdate and @PostRemove can compute a delta without another query
+ * - Deltas are applied after the surrounding transaction commits, so rolled back writes
+ *   never reach the counters
+ * - Role counts follow user creation and deletion; role changes on existing users are
+ *   picked up by the periodic reconcile
+ * - A soft delete is a native UPDATE that never reaches @PostRemove, although the counters
+ *   drop deleted users at once; its caller reports it through softDeleted()
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class UserStatisticsListener {
+
+	@Autowired
+	UserStatisticsCounters counters;
+
+	@PostLoad
+	void postLoad(Object entity) {
+		if (entity instanceof UserEntity user) {
+			user.setCountedEmailVerificationStatus(isVerified(user));
+		} else if (entity instanceof AddressEntity address) {
+			address.setCountedCountry(address.getCountry());
+			address.setCountedType(address.getType());
+		}
+	}
+
+	@PostPersist
+	void postPersist(Object entity) {
+		if (entity instanceof UserEntity user) {
+			boolean verified = isVerified(user);
+			Collection<RoleEntity> roles = user.getRoles();
+			AfterCommit.run(() -> {
+				counters.addUsers(1);
+				if (verified) counters.addVerifiedUsers(1);
+				if (roles != null) {
+					for (RoleEntity role : roles) counters.addUsersWithRole(role.getName(), 1);
+				}
+			});
+		} else if (entity instanceof AddressEntity address) {
+			String country = address.getCountry();
+			String type = address.getType();
+			AfterCommit.run(() -> counters.addAddress(country, type, 1));
+		}
+		postLoad(entity);
+	}
+
+	@PostUpdate
+	void postUpdate(Object entity) {
+		if (entity instanceof UserEntity user) {
+			boolean was = Boolean.TRUE.equals(user.getCountedEmailVerificationStatus());
+			boolean is = isVerified(user);
+			if (was != is) AfterCommit.run(() -> counters.addVerifiedUsers(is ? 1 : -1));
+		} else if (entity instanceof AddressEntity address) {
+			String oldCountry = address.getCountedCountry();
+			String oldType = address.getCountedType();
+			String country = address.getCountry();
+			String type = address.getType();
+			if (!Objects.equals(oldCountry, country) || !Objects.equals(oldType, type)) {
+				AfterCommit.run(() -> {
+					counters.addAddress(oldCountry, oldType, -1);
+					counters.addAddress(country, type, 1);
+				});
+			}
+		}
+		postLoad(entity);
+	}
+
+	@PostRemove
+	void postRemove(Object entity) {
+		if (entity instanceof UserEntity user) {
+			boolean verified = Boolean.TRUE.equals(user.getCountedEmailVerificationStatus());
+			Collection<RoleEntity> roles = user.getRoles();
+			AfterCommit.run(() -> {
+				counters.addUsers(-1);
+				if (verified) counters.addVerifiedUsers(-1);
+				if (roles != null) {
+					for (RoleEntity role : roles) counters.addUsersWithRole(role.getName(), -1);
+				}
+			});
+		} else if (entity instanceof AddressEntity address) {
+			String country = address.getCountedCountry();
+			String type = address.getCountedType();
+			AfterCommit.run(() -> counters.addAddress(country, type, -1));
+		}
+	}
+
+	/**
+	 * Takes a soft-deleted user and its addresses out of the counters after commit.
+	 *
+	 * @param roles names of the user's roles
+	 * @param addresses rows of [country, type], one per address
+	 */
+	public void softDeleted(boolean verified, Collection<String> roles, List<Object[]> addresses) {
+		AfterCommit.run(() -> {
+			counters.addUsers(-1);
+			if (verified) counters.addVerifiedUsers(-1);
+			for (String role : roles) counters.addUsersWithRole(role, -1);
+			for (Object[] address : addresses) counters.addAddress((String) address[0], (String) address[1], -1);
+		});
+	}
+
+	private static boolean isVerified(UserEntity user) {
+		return Boolean.TRUE.equals(user.getEmailVerificationStatus());
+	}
+}
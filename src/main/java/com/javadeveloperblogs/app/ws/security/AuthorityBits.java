@@ -0,0 +1,44 @@
+package com.javadeveloperblogs.app.ws.security;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns each role and authority name one bit of a long, so a caller's granted authorities
+ * are a single long and a rule like hasAnyRole('ADMIN','SUPPORT') is one AND against a mask
+ * computed when the rule is compiled.
+ *
+ * Bits are handed out on first use and stay fixed for the life of the JVM. At most 64 distinct
+ * names are supported, far more than the roles and authorities tables hold.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public final class AuthorityBits {
+
+	private static final Map<String, Long> BITS = new ConcurrentHashMap<>();
+
+	private AuthorityBits() {
+	}
+
+	public static long bit(String name) {
+		Long returnValue = BITS.get(name);
+		if (returnValue != null) return returnValue;
+
+		synchronized (BITS) {
+			return BITS.computeIfAbsent(name, key -> {
+				if (BITS.size() == Long.SIZE)
+					throw new IllegalStateException("More than " + Long.SIZE + " distinct roles and authorities");
+				return 1L << BITS.size();
+			});
+		}
+	}
+
+	public static long mask(Collection<String> names) {
+		long returnValue = 0;
+		for (String name : names) returnValue |= bit(name);
+		return returnValue;
+	}
+}
@@ -0,0 +1,26 @@
+package com.javadeveloperblogs.app.ws.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * What an {@link AuthorizationRule} decides on.
+ *
+ * Fields:
+ * - userId: Public ID of the caller, or null for an anonymous call
+ * - authorities: Bitset of the caller's roles and authorities, see {@link AuthorityBits}
+ * - arguments: Arguments of the invoked method
+ * - returnObject: Result of the invoked method; null before it has run
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Getter
+@AllArgsConstructor
+public class AuthorizationContext {
+	private final String userId;
+	private final long authorities;
+	private final Object[] arguments;
+	private final Object returnObject;
+}
@@ -0,0 +1,26 @@
+package com.javadeveloperblogs.app.ws.security;
+
+/**
+ * A compiled authorization rule.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@FunctionalInterface
+public interface AuthorizationRule {
+
+	boolean test(AuthorizationContext context);
+
+	default AuthorizationRule and(AuthorizationRule other) {
+		return context -> test(context) && other.test(context);
+	}
+
+	default AuthorizationRule or(AuthorizationRule other) {
+		return context -> test(context) || other.test(context);
+	}
+
+	default AuthorizationRule negate() {
+		return context -> !test(context);
+	}
+}
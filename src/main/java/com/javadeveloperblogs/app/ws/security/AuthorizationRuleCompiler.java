@@ -0,0 +1,302 @@
+package com.javadeveloperblogs.app.ws.security;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Compiles {@link PreAuthorize} and {@link PostAuthorize} expressions into
+ * {@link AuthorizationRule}s: trees of small lambdas that test authority masks and compare
+ * values read through method handles. Parsing, name lookup and reflection all happen once, at
+ * compile time; evaluating a rule allocates nothing and never touches SpEL.
+ *
+ * Supported subset of the Spring Security expression language:
+ * - hasRole('X'), hasAnyRole('X', ...): the ROLE_ prefix is added when missing
+ * - hasAuthority('X'), hasAnyAuthority('X', ...)
+ * - isAuthenticated(), permitAll, denyAll
+ * - a == b, a != b where a and b are 'literals', null, #parameter, principal.userId or
+ *   returnObject (PostAuthorize only), each optionally followed by .property accessors
+ * - and / &amp;&amp;, or / ||, not / !, and parentheses
+ *
+ * Anything else is rejected with an IllegalArgumentException naming the rule, so an
+ * unsupported rule fails the application's startup (see MethodAuthorizationInterceptor)
+ * instead of silently allowing access.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public final class AuthorizationRuleCompiler {
+
+	private static final String ROLE_PREFIX = "ROLE_";
+	private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+	private final String expression;
+	private final Method method;
+	private final boolean allowReturnObject;
+	private final List<String> tokens;
+	private int position;
+
+	private AuthorizationRuleCompiler(String expression, Method method, boolean allowReturnObject) {
+		this.expression = expression;
+		this.method = method;
+		this.allowReturnObject = allowReturnObject;
+		this.tokens = tokenize(expression);
+	}
+
+	/**
+	 * Compiles a rule checked before the method runs.
+	 */
+	public static AuthorizationRule compilePre(String expression, Method method) {
+		return new AuthorizationRuleCompiler(expression, method, false).compile();
+	}
+
+	/**
+	 * Compiles a rule checked after the method has returned.
+	 */
+	public static AuthorizationRule compilePost(String expression, Method method) {
+		return new AuthorizationRuleCompiler(expression, method, true).compile();
+	}
+
+	private AuthorizationRule compile() {
+		AuthorizationRule returnValue = or();
+		if (position < tokens.size()) throw error("unexpected '" + tokens.get(position) + "'");
+		return returnValue;
+	}
+
+	private AuthorizationRule or() {
+		AuthorizationRule returnValue = and();
+		while (accept("or") || accept("||")) returnValue = returnValue.or(and());
+		return returnValue;
+	}
+
+	private AuthorizationRule and() {
+		AuthorizationRule returnValue = unary();
+		while (accept("and") || accept("&&")) returnValue = returnValue.and(unary());
+		return returnValue;
+	}
+
+	private AuthorizationRule unary() {
+		if (accept("not") || accept("!")) return unary().negate();
+		if (accept("(")) {
+			AuthorizationRule returnValue = or();
+			expect(")");
+			return returnValue;
+		}
+
+		String token = peek();
+		switch (token) {
+			case "permitAll":
+				position++;
+				return context -> true;
+			case "denyAll":
+				position++;
+				return context -> false;
+			case "isAuthenticated":
+				position++;
+				expect("(");
+				expect(")");
+				return context -> context.getUserId() != null;
+			case "hasRole":
+			case "hasAnyRole":
+				position++;
+				return hasAny(arguments(), true);
+			case "hasAuthority":
+			case "hasAnyAuthority":
+				position++;
+				return hasAny(arguments(), false);
+			default:
+				return comparison();
+		}
+	}
+
+	private AuthorizationRule hasAny(List<String> names, boolean roles) {
+		List<String> authorities = new ArrayList<>();
+		for (String name : names) {
+			authorities.add(roles && !name.startsWith(ROLE_PREFIX) ? ROLE_PREFIX + name : name);
+		}
+		long mask = AuthorityBits.mask(authorities);
+		return context -> (context.getAuthorities() & mask) != 0;
+	}
+
+	private List<String> arguments() {
+		List<String> returnValue = new ArrayList<>();
+		expect("(");
+		do {
+			returnValue.add(literal(next()));
+		} while (accept(","));
+		expect(")");
+		return returnValue;
+	}
+
+	private AuthorizationRule comparison() {
+		Function<AuthorizationContext, Object> left = operand();
+		boolean equal;
+		if (accept("==")) {
+			equal = true;
+		} else if (accept("!=")) {
+			equal = false;
+		} else {
+			throw error("expected == or != after operand");
+		}
+		Function<AuthorizationContext, Object> right = operand();
+
+		return equal
+				? context -> Objects.equals(left.apply(context), right.apply(context))
+				: context -> !Objects.equals(left.apply(context), right.apply(context));
+	}
+
+	private Function<AuthorizationContext, Object> operand() {
+		String token = next();
+		if (token.startsWith("'")) {
+			String value = literal(token);
+			return context -> value;
+		}
+		if (token.equals("null")) return context -> null;
+
+		String[] path = token.split("\\.");
+		Function<AuthorizationContext, Object> returnValue;
+		Class<?> type;
+		int properties = 1;
+
+		if (path[0].equals("principal")) {
+			if (path.length < 2 || !path[1].equals("userId")) throw error("only principal.userId is available");
+			returnValue = AuthorizationContext::getUserId;
+			type = String.class;
+			properties = 2;
+		} else if (path[0].equals("returnObject")) {
+			if (!allowReturnObject) throw error("returnObject is only available in @PostAuthorize");
+			returnValue = AuthorizationContext::getReturnObject;
+			type = method.getReturnType();
+		} else if (path[0].startsWith("#")) {
+			int index = parameterIndex(path[0].substring(1));
+			returnValue = context -> context.getArguments()[index];
+			type = method.getParameterTypes()[index];
+		} else {
+			throw error("unknown operand '" + token + "'");
+		}
+
+		for (int i = properties; i < path.length; i++) {
+			MethodHandle getter = getter(type, path[i]);
+			type = getter.type().returnType();
+			MethodHandle generic = getter.asType(MethodType.methodType(Object.class, Object.class));
+			Function<AuthorizationContext, Object> target = returnValue;
+			returnValue = context -> {
+				Object value = target.apply(context);
+				if (value == null) return null;
+				try {
+					return (Object) generic.invokeExact(value);
+				} catch (Throwable e) {
+					throw new IllegalStateException("Evaluating authorization rule '" + expression + "' failed", e);
+				}
+			};
+		}
+		return returnValue;
+	}
+
+	private int parameterIndex(String name) {
+		String[] names = PARAMETER_NAMES.getParameterNames(method);
+		if (names != null) {
+			for (int i = 0; i < names.length; i++) {
+				if (names[i].equals(name)) return i;
+			}
+		}
+		throw error("method has no parameter named '" + name + "'");
+	}
+
+	private MethodHandle getter(Class<?> type, String property) {
+		PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, property);
+		Method getter = descriptor != null ? descriptor.getReadMethod() : null;
+		if (getter == null) {
+			try {
+				getter = type.getMethod(property);
+			} catch (NoSuchMethodException e) {
+				throw error("no readable property '" + property + "' on " + type.getSimpleName());
+			}
+		}
+		try {
+			return MethodHandles.publicLookup().unreflect(getter);
+		} catch (IllegalAccessException e) {
+			throw error("property '" + property + "' of " + type.getSimpleName() + " is not accessible");
+		}
+	}
+
+	private String literal(String token) {
+		if (token.length() < 2 || !token.startsWith("'") || !token.endsWith("'")) throw error("expected a quoted string");
+		return token.substring(1, token.length() - 1);
+	}
+
+	private boolean accept(String token) {
+		if (position < tokens.size() && tokens.get(position).equals(token)) {
+			position++;
+			return true;
+		}
+		return false;
+	}
+
+	private void expect(String token) {
+		if (!accept(token)) throw error("expected '" + token + "'");
+	}
+
+	private String peek() {
+		if (position >= tokens.size()) throw error("unexpected end");
+		return tokens.get(position);
+	}
+
+	private String next() {
+		String returnValue = peek();
+		position++;
+		return returnValue;
+	}
+
+	private IllegalArgumentException error(String problem) {
+		return new IllegalArgumentException("Cannot compile authorization rule '" + expression + "' of "
+				+ method.getDeclaringClass().getSimpleName() + "." + method.getName() + ": " + problem);
+	}
+
+	/**
+	 * Splits the expression into quoted strings, operators, punctuation and dotted names.
+	 */
+	private List<String> tokenize(String expression) {
+		List<String> returnValue = new ArrayList<>();
+		int i = 0;
+		while (i < expression.length()) {
+			char c = expression.charAt(i);
+			if (Character.isWhitespace(c)) {
+				i++;
+			} else if (c == '\'') {
+				int end = expression.indexOf('\'', i + 1);
+				if (end < 0) throw error("unterminated string");
+				returnValue.add(expression.substring(i, end + 1));
+				i = end + 1;
+			} else if (expression.startsWith("==", i) || expression.startsWith("!=", i)
+					|| expression.startsWith("&&", i) || expression.startsWith("||", i)) {
+				returnValue.add(expression.substring(i, i + 2));
+				i += 2;
+			} else if (c == '(' || c == ')' || c == ',' || c == '!') {
+				returnValue.add(String.valueOf(c));
+				i++;
+			} else if (Character.isJavaIdentifierPart(c) || c == '#' || c == '.') {
+				int start = i;
+				while (i < expression.length()
+						&& (Character.isJavaIdentifierPart(expression.charAt(i)) || expression.charAt(i) == '#' || expression.charAt(i) == '.')) {
+					i++;
+				}
+				returnValue.add(expression.substring(start, i));
+			} else {
+				throw error("unexpected character '" + c + "'");
+			}
+		}
+		return returnValue;
+	}
+}
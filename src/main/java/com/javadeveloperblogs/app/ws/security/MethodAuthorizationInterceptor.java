@@ -0,0 +1,121 @@
+package com.javadeveloperblogs.app.ws.security;
+
+import com.javadeveloperblogs.app.ws.exception.AuthenticationFailedException;
+import com.javadeveloperblogs.app.ws.exception.AuthorizationDeniedException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces {@link PreAuthorize} and {@link PostAuthorize} on proxied beans.
+ *
+ * Once all singletons exist, the rules of every annotated method of every bean class are
+ * compiled by {@link AuthorizationRuleCompiler} and cached per method, so a rule that does
+ * not compile stops the startup instead of failing its first request, and calls evaluate plain
+ * Java only. Methods of beans created later are compiled on their first call.
+ *
+ * The caller is the principal of the current HTTP request, whose name is its public userId
+ * (as for UserActivityFilter), with the authorities from {@link PrincipalAuthorities}.
+ *
+ * An anonymous caller failing a rule gets {@link AuthenticationFailedException} (401), an
+ * authenticated one {@link AuthorizationDeniedException} (403).
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class MethodAuthorizationInterceptor implements MethodInterceptor, SmartInitializingSingleton {
+
+	private static final Rules NO_RULES = new Rules(null, null);
+
+	private final ObjectProvider<PrincipalAuthorities> principalAuthorities;
+	private final ListableBeanFactory beanFactory;
+	private final Map<Method, Rules> rules = new ConcurrentHashMap<>();
+
+	public MethodAuthorizationInterceptor(ObjectProvider<PrincipalAuthorities> principalAuthorities, ListableBeanFactory beanFactory) {
+		this.principalAuthorities = principalAuthorities;
+		this.beanFactory = beanFactory;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		for (String name : beanFactory.getBeanDefinitionNames()) {
+			Class<?> type = beanFactory.getType(name, false);
+			if (type == null) continue;
+
+			ReflectionUtils.doWithMethods(ClassUtils.getUserClass(type),
+					method -> rules.computeIfAbsent(method, MethodAuthorizationInterceptor::compile),
+					method -> AnnotatedElementUtils.hasAnnotation(method, PreAuthorize.class)
+							|| AnnotatedElementUtils.hasAnnotation(method, PostAuthorize.class));
+		}
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+		Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+		Rules methodRules = rules.computeIfAbsent(method, MethodAuthorizationInterceptor::compile);
+		if (methodRules == NO_RULES) return invocation.proceed();
+
+		String userId = currentUserId();
+		long authorities = userId != null ? principalAuthorities.getObject().of(userId) : 0L;
+
+		if (methodRules.pre != null) {
+			check(methodRules.pre, new AuthorizationContext(userId, authorities, invocation.getArguments(), null));
+		}
+		Object returnValue = invocation.proceed();
+		if (methodRules.post != null) {
+			check(methodRules.post, new AuthorizationContext(userId, authorities, invocation.getArguments(), returnValue));
+		}
+		return returnValue;
+	}
+
+	private static void check(AuthorizationRule rule, AuthorizationContext context) {
+		if (rule.test(context)) return;
+		if (context.getUserId() == null) throw new AuthenticationFailedException();
+		throw new AuthorizationDeniedException();
+	}
+
+	private static Rules compile(Method method) {
+		PreAuthorize pre = AnnotatedElementUtils.findMergedAnnotation(method, PreAuthorize.class);
+		PostAuthorize post = AnnotatedElementUtils.findMergedAnnotation(method, PostAuthorize.class);
+		if (pre == null && post == null) return NO_RULES;
+
+		return new Rules(pre != null ? AuthorizationRuleCompiler.compilePre(pre.value(), method) : null,
+				post != null ? AuthorizationRuleCompiler.compilePost(post.value(), method) : null);
+	}
+
+	private static String currentUserId() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (!(attributes instanceof ServletRequestAttributes servletAttributes)) return null;
+
+		HttpServletRequest request = servletAttributes.getRequest();
+		Principal principal = request.getUserPrincipal();
+		return principal != null ? principal.getName() : null;
+	}
+
+	private static final class Rules {
+		private final AuthorizationRule pre;
+		private final AuthorizationRule post;
+
+		private Rules(AuthorizationRule pre, AuthorizationRule post) {
+			this.pre = pre;
+			this.post = post;
+		}
+	}
+}
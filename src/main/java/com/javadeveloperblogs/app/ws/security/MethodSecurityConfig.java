@@ -0,0 +1,47 @@
+package com.javadeveloperblogs.app.ws.security;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+/**
+ * Turns on {@link PreAuthorize} and {@link PostAuthorize} enforcement when
+ * app.method-security.enabled=true (off by default, as long as no authentication mechanism
+ * populates the request principal).
+ *
+ * The advisor is an infrastructure bean, so the auto-proxy creator Spring Boot already
+ * registers for transactions picks it up; annotated beans are proxied, nothing else is. The
+ * interceptor is a bean of its own, so it is told when all singletons exist and compiles the
+ * rules then.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.method-security.enabled", havingValue = "true")
+public class MethodSecurityConfig {
+
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	static MethodAuthorizationInterceptor methodAuthorizationInterceptor(ObjectProvider<PrincipalAuthorities> principalAuthorities,
+			ListableBeanFactory beanFactory) {
+		return new MethodAuthorizationInterceptor(principalAuthorities, beanFactory);
+	}
+
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	static Advisor methodAuthorizationAdvisor(MethodAuthorizationInterceptor methodAuthorizationInterceptor) {
+		ComposablePointcut pointcut = new ComposablePointcut(AnnotationMatchingPointcut.forMethodAnnotation(PreAuthorize.class))
+				.union(AnnotationMatchingPointcut.forMethodAnnotation(PostAuthorize.class));
+		return new DefaultPointcutAdvisor(pointcut, methodAuthorizationInterceptor);
+	}
+}
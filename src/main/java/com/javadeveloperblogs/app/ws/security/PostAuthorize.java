@@ -0,0 +1,25 @@
+package com.javadeveloperblogs.app.ws.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Authorization rule checked after the annotated method has returned, with the result
+ * available as returnObject, for example
+ * {@code @PostAuthorize("hasRole('ADMIN') or returnObject.userId == principal.userId")}.
+ *
+ * Compiled like {@link PreAuthorize}. Enforced only with app.method-security.enabled=true.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PostAuthorize {
+	String value();
+}
@@ -0,0 +1,26 @@
+package com.javadeveloperblogs.app.ws.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Authorization rule checked before the annotated method runs, for example
+ * {@code @PreAuthorize("hasRole('ADMIN') or #id == principal.userId")}.
+ *
+ * The rule uses the Spring Security expression syntax but is compiled once into plain Java by
+ * {@link AuthorizationRuleCompiler}; see there for the supported subset. Enforced only with
+ * app.method-security.enabled=true.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PreAuthorize {
+	String value();
+}
@@ -0,0 +1,79 @@
+package com.javadeveloperblogs.app.ws.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.javadeveloperblogs.app.ws.exception.UserNotFoundException;
+import com.javadeveloperblogs.app.ws.io.Repository.RoleRepository;
+import com.javadeveloperblogs.app.ws.io.entity.AuthorityEntity;
+import com.javadeveloperblogs.app.ws.io.entity.RoleEntity;
+import com.javadeveloperblogs.app.ws.service.UserService;
+import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Authority bitsets of callers, keyed by public userId.
+ *
+ * A user's bitset holds the bits of their roles and of every authority those roles grant (see
+ * {@link AuthorityBits}). Bitsets are cached for app.method-security.authority-cache-ttl, so
+ * authorizing a call normally costs one cache hit; role changes take effect within that time.
+ * Unknown users get an empty bitset.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class PrincipalAuthorities {
+
+	@Autowired
+	UserService userService;
+
+	@Autowired
+	RoleRepository roleRepository;
+
+	@Value("${app.method-security.authority-cache-size:10000}")
+	long cacheSize;
+
+	@Value("${app.method-security.authority-cache-ttl:1m}")
+	Duration cacheTtl;
+
+	private Cache<String, Long> authorities;
+
+	@PostConstruct
+	void init() {
+		authorities = Caffeine.newBuilder()
+				.maximumSize(cacheSize)
+				.expireAfterWrite(cacheTtl)
+				.build();
+	}
+
+	public long of(String userId) {
+		return authorities.get(userId, this::load);
+	}
+
+	private long load(String userId) {
+		UserDto user;
+		try {
+			user = userService.getUserByUserId(userId);
+		} catch (UserNotFoundException e) {
+			return 0L;
+		}
+		if (user.getRoles() == null) return 0L;
+
+		long returnValue = 0;
+		for (String role : user.getRoles()) {
+			returnValue |= AuthorityBits.bit(role);
+			RoleEntity roleEntity = roleRepository.findByName(role);
+			if (roleEntity == null || roleEntity.getAuthorities() == null) continue;
+			for (AuthorityEntity authority : roleEntity.getAuthorities()) {
+				returnValue |= AuthorityBits.bit(authority.getName());
+			}
+		}
+		return returnValue;
+	}
+}
@@ -2,11 +2,14 @@ package com.javadeveloperblogs.app.ws.service;
 
 import com.javadeveloperblogs.app.ws.shared.dto.AddressDTO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 
 
 public interface AddressService {
 	List<AddressDTO> getAddresses(String userId);
+	Map<String, List<AddressDTO>> getAddressesByUserIds(Collection<String> userIds);
     AddressDTO getAddress(String addressId);
 }
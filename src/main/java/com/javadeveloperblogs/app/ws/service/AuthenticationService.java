@@ -0,0 +1,9 @@
+package com.javadeveloperblogs.app.ws.service;
+
+import com.javadeveloperblogs.app.ws.shared.dto.SessionDto;
+
+public interface AuthenticationService {
+	SessionDto login(String email, String password);
+	SessionDto refresh(String refreshToken);
+	void logout(String refreshToken);
+}
@@ -0,0 +1,10 @@
+package com.javadeveloperblogs.app.ws.service;
+
+import com.javadeveloperblogs.app.ws.shared.dto.IdempotentResponseDto;
+
+import java.util.concurrent.Callable;
+
+public interface IdempotencyService {
+	IdempotentResponseDto execute(String idempotencyKey, String requestHash, Callable<IdempotentResponseDto> request) throws Exception;
+	int purgeExpired();
+}
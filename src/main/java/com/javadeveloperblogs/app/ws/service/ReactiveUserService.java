@@ -0,0 +1,14 @@
+package com.javadeveloperblogs.app.ws.service;
+
+import com.javadeveloperblogs.app.ws.shared.dto.AddressDTO;
+import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+
+public interface ReactiveUserService {
+	Mono<UserDto> getUserByUserId(String userId);
+	Flux<UserDto> getUsers(int page, int limit);
+	Flux<AddressDTO> getAddresses(String userId);
+}
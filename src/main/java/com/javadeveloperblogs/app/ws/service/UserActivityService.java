@@ -0,0 +1,7 @@
+package com.javadeveloperblogs.app.ws.service;
+
+public interface UserActivityService {
+	void recordLogin(String userId);
+	void recordSeen(String userId);
+	int flush();
+}
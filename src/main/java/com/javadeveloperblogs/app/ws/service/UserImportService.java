@@ -0,0 +1,9 @@
+package com.javadeveloperblogs.app.ws.service;
+
+import com.javadeveloperblogs.app.ws.shared.dto.ImportJobDto;
+import com.javadeveloperblogs.app.ws.shared.imports.ImportFormat;
+
+public interface UserImportService {
+	ImportJobDto startImport(String path, ImportFormat format);
+	ImportJobDto getImportJob(String jobId);
+}
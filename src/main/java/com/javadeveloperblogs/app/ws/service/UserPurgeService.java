@@ -0,0 +1,5 @@
+package com.javadeveloperblogs.app.ws.service;
+
+public interface UserPurgeService {
+	int purge();
+}
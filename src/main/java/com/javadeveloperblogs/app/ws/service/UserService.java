@@ -1,8 +1,13 @@
 package com.javadeveloperblogs.app.ws.service;
 
+import com.javadeveloperblogs.app.ws.shared.TotalCountMode;
 import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import com.javadeveloperblogs.app.ws.shared.dto.UserSliceDto;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 
 
@@ -10,10 +15,15 @@ public interface UserService {
 	UserDto createUser(UserDto user);
 	UserDto getUser(String email);
 	UserDto getUserByUserId(String userId);
+	UserDto getUserByUserId(String userId, Collection<String> fields, Collection<String> expand);
+	Map<String, UserDto> getUsersByUserIds(Collection<String> userIds);
 	UserDto updateUser(String userId, UserDto user);
 	void deleteUser(String userId);
 	List<UserDto> getUsers(int page, int limit);
+	List<UserDto> getUsers(int page, int limit, Collection<String> fields, Collection<String> expand);
+	UserSliceDto getUsersWithConfirmedEmail(int page, int limit, TotalCountMode totalCountMode);
 	boolean verifyEmailToken(String token);
 	boolean requestPasswordReset(String email);
 	boolean resetPassword(String token, String password);
+	void setLockedUntil(String email, Instant lockedUntil);
 }
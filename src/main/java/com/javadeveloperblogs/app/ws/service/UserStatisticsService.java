@@ -0,0 +1,8 @@
+package com.javadeveloperblogs.app.ws.service;
+
+import com.javadeveloperblogs.app.ws.shared.dto.UserStatisticsDto;
+
+public interface UserStatisticsService {
+	UserStatisticsDto getStatistics();
+	UserStatisticsDto reconcile();
+}
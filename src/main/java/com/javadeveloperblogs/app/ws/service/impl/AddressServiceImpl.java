@@ -1,19 +1,88 @@
 package com.javadeveloperblogs.app.ws.service.impl;
 
+import com.javadeveloperblogs.app.ws.exception.UserException;
+import com.javadeveloperblogs.app.ws.io.Repository.AddressRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.UserRepository;
+import com.javadeveloperblogs.app.ws.io.entity.AddressEntity;
+import com.javadeveloperblogs.app.ws.io.entity.UserEntity;
 import com.javadeveloperblogs.app.ws.service.AddressService;
 import com.javadeveloperblogs.app.ws.shared.dto.AddressDTO;
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 @Service
 public class AddressServiceImpl implements AddressService {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    AddressRepository addressRepository;
+
+    @Autowired
+    ModelMapper modelMapper;
+
+    @Value("${app.multi-get.max-ids:100}")
+    int multiGetMaxIds;
+
     /**
      * @param userId
      * @return
      */
     @Override
+    @Transactional(readOnly = true)
     public List<AddressDTO> getAddresses(String userId) {
-        return List.of();
+        List<AddressDTO> returnValue = new ArrayList<>();
+
+        UserEntity userEntity = userRepository.findByUserId(userId);
+        if (userEntity == null) return returnValue;
+
+        Iterable<AddressEntity> addresses = addressRepository.findAllByUserDetails(userEntity);
+        for (AddressEntity addressEntity : addresses) {
+            returnValue.add(modelMapper.map(addressEntity, AddressDTO.class));
+        }
+
+        return returnValue;
+    }
+
+    /**
+     * Loads the addresses of all requested users with a single IN query.
+     * Every requested userId is present in the result, in request order, with an empty list
+     * when the user has no addresses or does not exist.
+     *
+     * @param userIds
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, List<AddressDTO>> getAddressesByUserIds(Collection<String> userIds) {
+        Set<String> ids = new LinkedHashSet<>(userIds);
+        if (ids.size() > multiGetMaxIds)
+            throw new UserException(ErrorMessages.TOO_MANY_IDS_REQUESTED);
+
+        Map<String, List<AddressDTO>> returnValue = new LinkedHashMap<>();
+        for (String id : ids) {
+            returnValue.put(id, new ArrayList<>());
+        }
+        if (ids.isEmpty()) return returnValue;
+
+        for (AddressEntity addressEntity : addressRepository.findAllByUserIdIn(ids)) {
+            returnValue.get(addressEntity.getUserDetails().getUserId())
+                    .add(modelMapper.map(addressEntity, AddressDTO.class));
+        }
+
+        return returnValue;
     }
 
     /**
@@ -21,7 +90,16 @@ public class AddressServiceImpl implements AddressService {
      * @return
      */
     @Override
+    @Transactional(readOnly = true)
     public AddressDTO getAddress(String addressId) {
-        return null;
+        AddressDTO returnValue = null;
+
+        AddressEntity addressEntity = addressRepository.findByAddressId(addressId);
+
+        if (addressEntity != null) {
+            returnValue = modelMapper.map(addressEntity, AddressDTO.class);
+        }
+
+        return returnValue;
     }
 }
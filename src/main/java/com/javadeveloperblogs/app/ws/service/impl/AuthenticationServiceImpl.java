@@ -0,0 +1,156 @@
+package com.javadeveloperblogs.app.ws.service.impl;
+
+import com.javadeveloperblogs.app.ws.exception.AuthenticationFailedException;
+import com.javadeveloperblogs.app.ws.exception.UserNotFoundException;
+import com.javadeveloperblogs.app.ws.io.session.RefreshTokenStore;
+import com.javadeveloperblogs.app.ws.io.session.SessionRecord;
+import com.javadeveloperblogs.app.ws.service.AuthenticationService;
+import com.javadeveloperblogs.app.ws.service.UserActivityService;
+import com.javadeveloperblogs.app.ws.service.UserService;
+import com.javadeveloperblogs.app.ws.shared.LoginFailureTracker;
+import com.javadeveloperblogs.app.ws.shared.dto.SessionDto;
+import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Default implementation of the {@link AuthenticationService} interface.
+ *
+ * <p>Login checks the credentials against the stored user and opens a session in the
+ * {@link RefreshTokenStore}. Refresh tokens are single use: a refresh revokes the presented
+ * token and returns a new one valid for another app.sessions.refresh-token-ttl (default 14d),
+ * so a stolen token stops working as soon as either party uses it. No refresh extends a
+ * session beyond app.sessions.max-lifetime (default 30d) after its login, so a stolen chain
+ * of tokens ends then at the latest. Refresh and logout work on the in-memory store only and
+ * never query the database.</p>
+ *
+ * <p>Deleting a user and resetting its password end all its sessions, see
+ * {@link RefreshTokenStore#revokeAll}.</p>
+ *
+ * <p>Every failure is reported as {@link AuthenticationFailedException} without saying whether
+ * the email, the password or the token was wrong.</p>
+ *
+ * <p>Failed logins are counted per email by the {@link LoginFailureTracker}; enough failures
+ * lock the email out for a while. Only the start and the end of a lockout are written to the
+ * user's row (lockedUntil), which keeps it in force across restarts and instances.</p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+public class AuthenticationServiceImpl implements AuthenticationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuthenticationServiceImpl.class);
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    UserActivityService userActivityService;
+
+    @Autowired
+    RefreshTokenStore refreshTokenStore;
+
+    @Autowired
+    LoginFailureTracker loginFailureTracker;
+
+    @Autowired
+    BCryptPasswordEncoder bCryptPasswordEncoder;
+
+    @Value("${app.sessions.refresh-token-ttl:14d}")
+    Duration refreshTokenTtl;
+
+    @Value("${app.sessions.max-lifetime:30d}")
+    Duration maxSessionLifetime;
+
+    @Override
+    public SessionDto login(String email, String password) {
+        if (email == null || password == null) throw new AuthenticationFailedException();
+        email = email.trim();
+
+        // Both lockout checks come before BCrypt, so a locked account costs no hashing
+        if (loginFailureTracker.lockedUntil(email) != null)
+            throw new AuthenticationFailedException(ErrorMessages.ACCOUNT_LOCKED);
+
+        UserDto user;
+        try {
+            user = userService.getUser(email);
+        } catch (UserNotFoundException e) {
+            // Counted like a wrong password, so unknown emails are throttled the same way
+            loginFailureTracker.recordFailure(email);
+            throw new AuthenticationFailedException();
+        }
+
+        if (user.getLockedUntil() != null && user.getLockedUntil().isAfter(Instant.now()))
+            throw new AuthenticationFailedException(ErrorMessages.ACCOUNT_LOCKED);
+
+        if (user.getEncryptedPassword() == null || !bCryptPasswordEncoder.matches(password, user.getEncryptedPassword())) {
+            Instant lockedUntil = loginFailureTracker.recordFailure(email);
+            if (lockedUntil != null) persistLockout(user.getEmail(), lockedUntil);
+            throw new AuthenticationFailedException();
+        }
+        if (!Boolean.TRUE.equals(user.getEmailVerificationStatus()))
+            throw new AuthenticationFailedException(ErrorMessages.EMAIL_ADDRESS_NOT_VERIFIED);
+
+        loginFailureTracker.recordSuccess(email);
+        if (user.getLockedUntil() != null) persistLockout(user.getEmail(), null);
+
+        userActivityService.recordLogin(user.getUserId());
+        return openSession(user.getUserId(), Instant.now());
+    }
+
+    @Override
+    public SessionDto refresh(String refreshToken) {
+        SessionRecord session = refreshTokenStore.revoke(refreshToken);
+        if (session == null) throw new AuthenticationFailedException();
+
+        // A refresh is the only request that identifies its caller, see UserActivityFilter
+        userActivityService.recordSeen(session.getUserId());
+        return openSession(session.getUserId(), Instant.ofEpochMilli(session.getStartedAt()));
+    }
+
+    /**
+     * Ends the session of the token. Unknown and expired tokens are ignored, so logging out
+     * twice is not an error.
+     */
+    @Override
+    public void logout(String refreshToken) {
+        refreshTokenStore.revoke(refreshToken);
+    }
+
+    /**
+     * Writes a lockout transition. A failure is logged only: the in-memory lockout already
+     * applies, and the login must still answer 401 rather than 500.
+     */
+    private void persistLockout(String email, Instant lockedUntil) {
+        try {
+            userService.setLockedUntil(email, lockedUntil);
+        } catch (RuntimeException e) {
+            LOG.warn("Persisting the login lockout of a user failed: {}", e.toString());
+        }
+    }
+
+    /**
+     * @param startedAt the login the session descends from
+     */
+    private SessionDto openSession(String userId, Instant startedAt) {
+        Instant expiresAt = Instant.now().plus(refreshTokenTtl);
+        Instant endOfLifetime = startedAt.plus(maxSessionLifetime);
+        if (expiresAt.isAfter(endOfLifetime)) expiresAt = endOfLifetime;
+
+        SessionDto returnValue = new SessionDto();
+        returnValue.setUserId(userId);
+        returnValue.setRefreshToken(refreshTokenStore.issue(userId, startedAt, expiresAt));
+        returnValue.setExpiresAt(expiresAt);
+        return returnValue;
+    }
+}
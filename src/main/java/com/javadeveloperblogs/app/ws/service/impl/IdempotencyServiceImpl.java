@@ -0,0 +1,171 @@
+package com.javadeveloperblogs.app.ws.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.javadeveloperblogs.app.ws.io.Repository.IdempotencyRecordRepository;
+import com.javadeveloperblogs.app.ws.io.entity.IdempotencyRecordEntity;
+import com.javadeveloperblogs.app.ws.service.IdempotencyService;
+import com.javadeveloperblogs.app.ws.shared.dto.IdempotentResponseDto;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Default implementation of the {@link IdempotencyService} interface.
+ *
+ * <h2>Lookup order:</h2>
+ * <ul>
+ *   <li>In-memory cache of recent responses (bounded, app.idempotency.cache-size)</li>
+ *   <li>A request with the same key that is still running: the caller waits for it, up to
+ *   app.idempotency.max-wait, and receives its response</li>
+ *   <li>The idempotency_records table, so a replay also works after a restart or on another
+ *   instance</li>
+ * </ul>
+ * <p>Only when all three miss is the request executed. Responses below 500 are stored for
+ * app.idempotency.ttl (default 24h); server errors are not stored, so the client can retry.
+ * Failures of the executing request are propagated to the callers waiting on it.</p>
+ *
+ * <p>In-flight coordination is per instance. Two instances racing on the same key may both
+ * execute; the unique key column keeps only the first stored response.</p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    @Autowired
+    IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Value("${app.idempotency.ttl:24h}")
+    Duration ttl;
+
+    @Value("${app.idempotency.max-wait:30s}")
+    Duration maxWait;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    long cacheSize;
+
+    private final ConcurrentMap<String, CompletableFuture<IdempotentResponseDto>> inFlight = new ConcurrentHashMap<>();
+    private Cache<String, IdempotentResponseDto> completed;
+
+    @PostConstruct
+    void init() {
+        completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @throws java.util.concurrent.TimeoutException when a request with the same key is still
+     *         running after app.idempotency.max-wait
+     */
+    @Override
+    public IdempotentResponseDto execute(String idempotencyKey, String requestHash,
+                                         Callable<IdempotentResponseDto> request) throws Exception {
+        IdempotentResponseDto cached = completed.getIfPresent(idempotencyKey);
+        if (cached != null) return replay(cached);
+
+        CompletableFuture<IdempotentResponseDto> leader = new CompletableFuture<>();
+        CompletableFuture<IdempotentResponseDto> running = inFlight.putIfAbsent(idempotencyKey, leader);
+        if (running != null) {
+            try {
+                return replay(running.get(maxWait.toNanos(), TimeUnit.NANOSECONDS));
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+
+        try {
+            IdempotentResponseDto stored = completed.getIfPresent(idempotencyKey);
+            if (stored == null) stored = load(idempotencyKey);
+            if (stored != null) {
+                leader.complete(stored);
+                return replay(stored);
+            }
+
+            IdempotentResponseDto response = request.call();
+            response.setRequestHash(requestHash);
+            if (response.getStatus() < 500) {
+                store(idempotencyKey, response);
+                completed.put(idempotencyKey, response);
+            }
+            leader.complete(response);
+            return response;
+        } catch (Exception e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(idempotencyKey, leader);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:1h}")
+    public int purgeExpired() {
+        return idempotencyRecordRepository.deleteExpired(Instant.now());
+    }
+
+    private IdempotentResponseDto load(String idempotencyKey) {
+        IdempotencyRecordEntity record = idempotencyRecordRepository.findByIdempotencyKey(idempotencyKey);
+        if (record == null || record.getExpiresAt().isBefore(Instant.now())) return null;
+
+        IdempotentResponseDto returnValue = new IdempotentResponseDto();
+        returnValue.setStatus(record.getStatus());
+        returnValue.setContentType(record.getContentType());
+        returnValue.setBody(record.getBody());
+        returnValue.setRequestHash(record.getRequestHash());
+        completed.put(idempotencyKey, returnValue);
+
+        return returnValue;
+    }
+
+    private void store(String idempotencyKey, IdempotentResponseDto response) {
+        Instant now = Instant.now();
+        IdempotencyRecordEntity record = new IdempotencyRecordEntity();
+        record.setIdempotencyKey(idempotencyKey);
+        record.setRequestHash(response.getRequestHash());
+        record.setStatus(response.getStatus());
+        record.setContentType(response.getContentType());
+        record.setBody(response.getBody());
+        record.setCreatedAt(now);
+        record.setExpiresAt(now.plus(ttl));
+
+        try {
+            idempotencyRecordRepository.save(record);
+        } catch (DataIntegrityViolationException e) {
+            LOG.debug("Idempotency key already stored by another instance");
+        } catch (RuntimeException e) {
+            // The request has already executed; keep serving replays from memory rather than fail it
+            LOG.warn("Could not persist idempotent response: {}", e.toString());
+        }
+    }
+
+    private static IdempotentResponseDto replay(IdempotentResponseDto stored) {
+        IdempotentResponseDto returnValue = new IdempotentResponseDto();
+        returnValue.setStatus(stored.getStatus());
+        returnValue.setContentType(stored.getContentType());
+        returnValue.setBody(stored.getBody());
+        returnValue.setRequestHash(stored.getRequestHash());
+        returnValue.setReplayed(true);
+        return returnValue;
+    }
+}
@@ -0,0 +1,66 @@
+package com.javadeveloperblogs.app.ws.service.impl;
+
+import com.javadeveloperblogs.app.ws.exception.UserNotFoundException;
+import com.javadeveloperblogs.app.ws.io.reactive.ReactiveUserRepository;
+import com.javadeveloperblogs.app.ws.service.ReactiveUserService;
+import com.javadeveloperblogs.app.ws.shared.Pages;
+import com.javadeveloperblogs.app.ws.shared.dto.AddressDTO;
+import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking implementation of the user read operations.
+ *
+ * <p>Mirrors the read side of {@link UserServiceImpl} on top of {@link ReactiveUserRepository},
+ * so no request thread is held while the database works. The user row and its addresses are
+ * queried concurrently and combined into the same {@link UserDto} the blocking path returns.</p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    @Autowired
+    ReactiveUserRepository reactiveUserRepository;
+
+    /**
+     * @param userId
+     * @return
+     */
+    @Override
+    public Mono<UserDto> getUserByUserId(String userId) {
+        Mono<UserDto> user = reactiveUserRepository.findByUserId(userId)
+                .switchIfEmpty(Mono.error(UserNotFoundException::new));
+
+        return Mono.zip(user, reactiveUserRepository.findAddressesByUserId(userId).collectList())
+                .map(tuple -> {
+                    UserDto userDto = tuple.getT1();
+                    userDto.setAddresses(tuple.getT2());
+                    return userDto;
+                });
+    }
+
+    /**
+     * @param page
+     * @param limit
+     * @return
+     */
+    @Override
+    public Flux<UserDto> getUsers(int page, int limit) {
+        return reactiveUserRepository.findAll(Pages.offset(page, limit), limit);
+    }
+
+    /**
+     * @param userId
+     * @return
+     */
+    @Override
+    public Flux<AddressDTO> getAddresses(String userId) {
+        return reactiveUserRepository.findAddressesByUserId(userId);
+    }
+}
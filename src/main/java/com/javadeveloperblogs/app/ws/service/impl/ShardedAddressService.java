@@ -0,0 +1,83 @@
+package com.javadeveloperblogs.app.ws.service.impl;
+
+import com.javadeveloperblogs.app.ws.exception.UserException;
+import com.javadeveloperblogs.app.ws.io.sharding.ShardRouter;
+import com.javadeveloperblogs.app.ws.service.AddressService;
+import com.javadeveloperblogs.app.ws.shared.dto.AddressDTO;
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link AddressService} that routes every call to the shard holding the user, active with
+ * app.sharding.enabled=true. Addresses live on the shard of their user; a lookup by addressId
+ * alone asks all shards in parallel.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardedAddressService implements AddressService {
+
+    @Autowired
+    AddressServiceImpl addressServiceImpl;
+
+    @Autowired
+    ShardRouter shardRouter;
+
+    @Value("${app.multi-get.max-ids:100}")
+    int multiGetMaxIds;
+
+    @Override
+    public List<AddressDTO> getAddresses(String userId) {
+        return shardRouter.onShard(shardRouter.shardForUserId(userId), () -> addressServiceImpl.getAddresses(userId));
+    }
+
+    @Override
+    public Map<String, List<AddressDTO>> getAddressesByUserIds(Collection<String> userIds) {
+        Set<String> ids = new LinkedHashSet<>(userIds);
+        if (ids.size() > multiGetMaxIds)
+            throw new UserException(ErrorMessages.TOO_MANY_IDS_REQUESTED);
+
+        Map<Integer, List<String>> idsByShard = new HashMap<>();
+        for (String id : ids) {
+            idsByShard.computeIfAbsent(shardRouter.shardForUserId(id), shard -> new ArrayList<>()).add(id);
+        }
+
+        Map<String, List<AddressDTO>> found = new HashMap<>();
+        for (Map<String, List<AddressDTO>> addresses : shardRouter.onAllShards(shard -> idsByShard.containsKey(shard)
+                ? addressServiceImpl.getAddressesByUserIds(idsByShard.get(shard)) : Map.<String, List<AddressDTO>>of())) {
+            found.putAll(addresses);
+        }
+
+        Map<String, List<AddressDTO>> returnValue = new LinkedHashMap<>();
+        for (String id : ids) {
+            returnValue.put(id, found.get(id));
+        }
+
+        return returnValue;
+    }
+
+    @Override
+    public AddressDTO getAddress(String addressId) {
+        for (AddressDTO address : shardRouter.onAllShards(shard -> addressServiceImpl.getAddress(addressId))) {
+            if (address != null) return address;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.javadeveloperblogs.app.ws.service.impl;
+
+import com.javadeveloperblogs.app.ws.service.ReactiveUserService;
+import com.javadeveloperblogs.app.ws.shared.dto.AddressDTO;
+import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link ReactiveUserService} for sharded deployments, active with app.sharding.enabled=true.
+ *
+ * <p>The R2DBC connection of {@link ReactiveUserServiceImpl} only reaches the default
+ * database, so with sharding the reads go through {@link ShardedUserService} and
+ * {@link ShardedAddressService} instead, which route them to the owning shards. Those are
+ * blocking, so they run on the bounded elastic scheduler and request threads are still never
+ * held while the databases work.</p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardedReactiveUserService implements ReactiveUserService {
+
+    @Autowired
+    ShardedUserService shardedUserService;
+
+    @Autowired
+    ShardedAddressService shardedAddressService;
+
+    @Override
+    public Mono<UserDto> getUserByUserId(String userId) {
+        return Mono.fromCallable(() -> shardedUserService.getUserByUserId(userId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<UserDto> getUsers(int page, int limit) {
+        return Mono.fromCallable(() -> shardedUserService.getUsers(page, limit))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(users -> users);
+    }
+
+    @Override
+    public Flux<AddressDTO> getAddresses(String userId) {
+        return Mono.fromCallable(() -> shardedAddressService.getAddresses(userId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(addresses -> addresses);
+    }
+}
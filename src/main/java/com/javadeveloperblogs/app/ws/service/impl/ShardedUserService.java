@@ -0,0 +1,343 @@
+package com.javadeveloperblogs.app.ws.service.impl;
+
+import com.javadeveloperblogs.app.ws.exception.UserAlreadyExistsException;
+import com.javadeveloperblogs.app.ws.exception.UserException;
+import com.javadeveloperblogs.app.ws.exception.UserNotFoundException;
+import com.javadeveloperblogs.app.ws.io.sharding.ShardRouter;
+import com.javadeveloperblogs.app.ws.io.sharding.UserShardDirectory;
+import com.javadeveloperblogs.app.ws.service.UserService;
+import com.javadeveloperblogs.app.ws.shared.Pages;
+import com.javadeveloperblogs.app.ws.shared.TotalCountMode;
+import com.javadeveloperblogs.app.ws.shared.Utils;
+import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import com.javadeveloperblogs.app.ws.shared.dto.UserSliceDto;
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link UserService} that routes every call to the shard holding the user, active with
+ * app.sharding.enabled=true.
+ *
+ * <p>The per-shard work is done by {@link UserServiceImpl}, unchanged: this class only selects
+ * the shard before the delegate opens its transaction.</p>
+ *
+ * <ul>
+ *   <li>By userId: the shard is derived from the id, see {@link ShardRouter#shardForUserId}.
+ *   New users get their userId here, before they are stored</li>
+ *   <li>By email: the shard is looked up in the {@link UserShardDirectory}, which also keeps
+ *   emails unique across shards</li>
+ *   <li>By token: email verification and password reset tokens are looked up on all shards
+ *   in parallel; only the owning shard matches</li>
+ *   <li>Lists: every shard returns the userIds of its first offset+limit users, and the
+ *   requested page is cut from their merge; only the page's users are then loaded, each from
+ *   its shard. userIds are time-ordered, so pages list users in creation order as before.
+ *   Deep pages still read offset+limit userIds per shard, but no more rows</li>
+ * </ul>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardedUserService implements UserService {
+
+    @Autowired
+    UserServiceImpl userServiceImpl;
+
+    @Autowired
+    ShardRouter shardRouter;
+
+    @Autowired
+    UserShardDirectory userShardDirectory;
+
+    @Autowired
+    Utils utils;
+
+    @Value("${app.multi-get.max-ids:100}")
+    int multiGetMaxIds;
+
+    /**
+     * Claims the email in the directory first, then creates the user on its shard. The claim
+     * is released again only if the creation failed before its transaction could commit, see
+     * {@link #failedBeforeCommit}. Any other failure may come after the commit, from an
+     * after-commit hook or a lost commit acknowledgement, when releasing the claim would leave
+     * a stored user unreachable by email. Such a claim, like one left behind by a creation that
+     * never finished, is taken over once it has timed out and no user holds the email.
+     *
+     * @param user
+     * @return
+     */
+    @Override
+    public UserDto createUser(UserDto user) {
+        String userId = utils.generateUserId();
+        int shard = shardRouter.shardForUserId(userId);
+
+        if (!userShardDirectory.register(user.getEmail(), shard)
+                && !(userShardDirectory.removeIfLeaked(user.getEmail()) && userShardDirectory.register(user.getEmail(), shard)))
+            throw new UserAlreadyExistsException();
+
+        user.setUserId(userId);
+        try {
+            return shardRouter.onShard(shard, () -> userServiceImpl.createUser(user));
+        } catch (RuntimeException e) {
+            if (failedBeforeCommit(e)) userShardDirectory.remove(user.getEmail());
+            throw e;
+        }
+    }
+
+    // Failures raised by the insert's statements, or before its transaction began; the
+    // transaction is rolled back in either case
+    private static boolean failedBeforeCommit(RuntimeException e) {
+        return e instanceof DataIntegrityViolationException
+                || e instanceof UserAlreadyExistsException
+                || e instanceof PessimisticLockingFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    /**
+     * The shard may come from another instance's cache; if the user is not found there, it is
+     * read from the directory again and the lookup repeated once.
+     *
+     * @param email
+     * @return
+     */
+    @Override
+    public UserDto getUser(String email) {
+        Integer shard = userShardDirectory.shardForEmail(email);
+
+        if (shard == null)
+            throw new UserNotFoundException();
+
+        try {
+            return shardRouter.onShard(shard, () -> userServiceImpl.getUser(email));
+        } catch (UserNotFoundException e) {
+            Integer reloaded = userShardDirectory.reloadShardForEmail(email);
+            if (reloaded == null || reloaded.equals(shard)) throw e;
+
+            return shardRouter.onShard(reloaded, () -> userServiceImpl.getUser(email));
+        }
+    }
+
+    @Override
+    public UserDto getUserByUserId(String userId) {
+        return shardRouter.onShard(shardRouter.shardForUserId(userId), () -> userServiceImpl.getUserByUserId(userId));
+    }
+
+    @Override
+    public UserDto getUserByUserId(String userId, Collection<String> fields, Collection<String> expand) {
+        return shardRouter.onShard(shardRouter.shardForUserId(userId),
+                () -> userServiceImpl.getUserByUserId(userId, fields, expand));
+    }
+
+    /**
+     * Queries only the shards holding at least one of the ids, in parallel.
+     *
+     * @param userIds
+     * @return
+     */
+    @Override
+    public Map<String, UserDto> getUsersByUserIds(Collection<String> userIds) {
+        Set<String> ids = new LinkedHashSet<>(userIds);
+        if (ids.size() > multiGetMaxIds)
+            throw new UserException(ErrorMessages.TOO_MANY_IDS_REQUESTED);
+
+        Map<Integer, List<String>> idsByShard = new HashMap<>();
+        for (String id : ids) {
+            idsByShard.computeIfAbsent(shardRouter.shardForUserId(id), shard -> new ArrayList<>()).add(id);
+        }
+
+        Map<String, UserDto> found = new HashMap<>();
+        for (Map<String, UserDto> users : shardRouter.onAllShards(shard -> idsByShard.containsKey(shard)
+                ? userServiceImpl.getUsersByUserIds(idsByShard.get(shard)) : Map.<String, UserDto>of())) {
+            found.putAll(users);
+        }
+
+        Map<String, UserDto> returnValue = new LinkedHashMap<>();
+        for (String id : ids) {
+            if (found.containsKey(id)) returnValue.put(id, found.get(id));
+        }
+
+        return returnValue;
+    }
+
+    @Override
+    public UserDto updateUser(String userId, UserDto user) {
+        return shardRouter.onShard(shardRouter.shardForUserId(userId), () -> userServiceImpl.updateUser(userId, user));
+    }
+
+    /**
+     * The email stays registered in the directory until UserPurgeService removes the user.
+     *
+     * @param userId
+     */
+    @Override
+    public void deleteUser(String userId) {
+        shardRouter.onShard(shardRouter.shardForUserId(userId), () -> userServiceImpl.deleteUser(userId));
+    }
+
+    @Override
+    public List<UserDto> getUsers(int page, int limit) {
+        Map<Integer, List<String>> pageUserIds = pageUserIds(page, limit, false).userIdsByShard;
+
+        return merge(shardRouter.onAllShards(shard -> pageUserIds.containsKey(shard)
+                ? userServiceImpl.getUsersInOrder(pageUserIds.get(shard)) : List.<UserDto>of()));
+    }
+
+    /**
+     * The userId is needed to merge the shards' users; it is fetched even if not requested and
+     * removed from the result.
+     *
+     * @param page
+     * @param limit
+     * @param fields
+     * @param expand
+     * @return
+     */
+    @Override
+    public List<UserDto> getUsers(int page, int limit, Collection<String> fields, Collection<String> expand) {
+        boolean withUserId = fields == null || fields.isEmpty() || fields.contains("userId");
+
+        Collection<String> shardFields = fields;
+        if (!withUserId) {
+            shardFields = new ArrayList<>(fields);
+            shardFields.add("userId");
+        }
+        Collection<String> selected = shardFields;
+
+        Map<Integer, List<String>> pageUserIds = pageUserIds(page, limit, false).userIdsByShard;
+        List<UserDto> returnValue = merge(shardRouter.onAllShards(shard -> pageUserIds.containsKey(shard)
+                ? userServiceImpl.getUsersInOrder(pageUserIds.get(shard), selected, expand) : List.<UserDto>of()));
+
+        if (!withUserId) returnValue.forEach(user -> user.setUserId(null));
+
+        return returnValue;
+    }
+
+    /**
+     * Totals are the sum of the shards' totals, each cached per shard as on a single database.
+     *
+     * @param page
+     * @param limit
+     * @param totalCountMode
+     * @return
+     */
+    @Override
+    public UserSliceDto getUsersWithConfirmedEmail(int page, int limit, TotalCountMode totalCountMode) {
+        PageUserIds pageUserIds = pageUserIds(page, limit, true);
+
+        List<List<UserDto>> users = shardRouter.onAllShards(shard -> pageUserIds.userIdsByShard.containsKey(shard)
+                ? userServiceImpl.getUsersInOrder(pageUserIds.userIdsByShard.get(shard)) : List.<UserDto>of());
+
+        UserSliceDto returnValue = new UserSliceDto();
+        returnValue.setUsers(merge(users));
+        returnValue.setHasNext(pageUserIds.hasNext);
+        if (totalCountMode != TotalCountMode.NONE) {
+            long totalCount = 0;
+            for (Long shardCount : shardRouter.onAllShards(shard -> userServiceImpl.countUsersWithConfirmedEmail(totalCountMode))) {
+                totalCount += shardCount;
+            }
+            returnValue.setTotalCount(totalCount);
+        }
+
+        return returnValue;
+    }
+
+    @Override
+    public boolean verifyEmailToken(String token) {
+        return shardRouter.onAllShards(shard -> userServiceImpl.verifyEmailToken(token)).contains(Boolean.TRUE);
+    }
+
+    @Override
+    public boolean requestPasswordReset(String email) {
+        Integer shard = userShardDirectory.shardForEmail(email);
+
+        if (shard == null)
+            return false;
+
+        if (shardRouter.onShard(shard, () -> userServiceImpl.requestPasswordReset(email)))
+            return true;
+
+        Integer reloaded = userShardDirectory.reloadShardForEmail(email);
+        return reloaded != null && !reloaded.equals(shard)
+                && shardRouter.onShard(reloaded, () -> userServiceImpl.requestPasswordReset(email));
+    }
+
+    @Override
+    public boolean resetPassword(String token, String password) {
+        return shardRouter.onAllShards(shard -> userServiceImpl.resetPassword(token, password)).contains(Boolean.TRUE);
+    }
+
+    @Override
+    public void setLockedUntil(String email, Instant lockedUntil) {
+        Integer shard = userShardDirectory.shardForEmail(email);
+
+        if (shard != null)
+            shardRouter.onShard(shard, () -> userServiceImpl.setLockedUntil(email, lockedUntil));
+    }
+
+    /**
+     * Finds which users make up the requested page. Every shard lists only the userIds of its
+     * first offset+limit+1 users, from the userId index, and the page is cut from their merge;
+     * the callers then load just the page's users from their shards.
+     */
+    private PageUserIds pageUserIds(int page, int limit, boolean confirmedOnly) {
+        int offset = (int) Pages.offset(page, limit);
+        int perShard = offset + limit + 1;
+
+        List<String> merged = new ArrayList<>();
+        for (List<String> userIds : shardRouter.onAllShards(shard -> userServiceImpl.getUserIds(perShard, confirmedOnly))) {
+            merged.addAll(userIds);
+        }
+        merged.sort(null);
+
+        PageUserIds returnValue = new PageUserIds();
+        for (int i = offset; i < Math.min(offset + limit, merged.size()); i++) {
+            String userId = merged.get(i);
+            returnValue.userIdsByShard.computeIfAbsent(shardRouter.shardForUserId(userId), shard -> new ArrayList<>()).add(userId);
+        }
+        returnValue.hasNext = merged.size() > offset + limit;
+
+        return returnValue;
+    }
+
+    /**
+     * Merges the users loaded from the shards into userId order.
+     */
+    private static List<UserDto> merge(List<List<UserDto>> users) {
+        List<UserDto> returnValue = new ArrayList<>();
+        for (List<UserDto> shardUsers : users) {
+            returnValue.addAll(shardUsers);
+        }
+        returnValue.sort(Comparator.comparing(UserDto::getUserId));
+
+        return returnValue;
+    }
+
+    /**
+     * The userIds of one page, grouped by shard, and whether another page follows.
+     */
+    private static final class PageUserIds {
+        private final Map<Integer, List<String>> userIdsByShard = new HashMap<>();
+        private boolean hasNext;
+    }
+}
@@ -0,0 +1,239 @@
+package com.javadeveloperblogs.app.ws.service.impl;
+
+import com.javadeveloperblogs.app.ws.io.sharding.ShardRouter;
+import com.javadeveloperblogs.app.ws.service.UserActivityService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Default implementation of the {@link UserActivityService} interface.
+ *
+ * <p>Last-login and last-seen timestamps change on almost every request, so they are not written
+ * through JPA. Each call only merges the timestamp into an in-memory entry for the user, keeping
+ * the latest value; repeated activity of the same user between flushes costs one map update
+ * and ends up as a single row update.</p>
+ *
+ * <h2>Flushing:</h2>
+ * <ul>
+ *   <li>Every app.user-activity.flush-interval (default 10s) pending entries are written with
+ *   batched JDBC UPDATEs, which bounds how stale the stored timestamps can be. With sharding
+ *   each shard receives the batches of its own users</li>
+ *   <li>When app.user-activity.max-pending users are buffered, the recording thread flushes
+ *   early so memory stays bounded</li>
+ *   <li>Pending entries are flushed on shutdown</li>
+ *   <li>A failed flush puts its entries back, so they are retried by the next flush. No early
+ *   flush is attempted for one flush-interval after a failure</li>
+ * </ul>
+ *
+ * <p>The buffer never holds more than app.user-activity.max-pending users. While the database
+ * cannot keep up (or is down) activity of users not yet buffered is dropped, and so are
+ * entries of a failed flush that no longer fit; user.activity.dropped counts them. Activity
+ * is a best-effort timestamp, so shedding it is preferred over growing the heap.</p>
+ *
+ * <p>The UPDATEs never move a timestamp backwards, so flushes from several instances or a
+ * retried flush cannot overwrite newer activity.</p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+public class UserActivityServiceImpl implements UserActivityService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserActivityServiceImpl.class);
+
+    private static final String UPDATE_LAST_LOGIN =
+            "UPDATE users SET last_login_at = ? WHERE user_id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+    private static final String UPDATE_LAST_SEEN =
+            "UPDATE users SET last_seen_at = ? WHERE user_id = ? AND (last_seen_at IS NULL OR last_seen_at < ?)";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ShardRouter shardRouter;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${app.user-activity.max-pending:50000}")
+    int maxPending;
+
+    @Value("${app.user-activity.batch-size:500}")
+    int batchSize;
+
+    @Value("${app.user-activity.flush-interval:10s}")
+    Duration flushInterval;
+
+    private final Map<String, Activity> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // No early flush before this System.nanoTime() after a failed flush
+    private volatile long earlyFlushNotBefore = System.nanoTime();
+    private Counter flushedRows;
+    private Counter droppedRows;
+
+    @PostConstruct
+    void initMetrics() {
+        Gauge.builder("user.activity.pending", pending, Map::size).register(meterRegistry);
+        flushedRows = Counter.builder("user.activity.flushed").register(meterRegistry);
+        droppedRows = Counter.builder("user.activity.dropped").register(meterRegistry);
+    }
+
+    @Override
+    public void recordLogin(String userId) {
+        record(userId, new Activity(Instant.now(), null));
+    }
+
+    @Override
+    public void recordSeen(String userId) {
+        record(userId, new Activity(null, Instant.now()));
+    }
+
+    /**
+     * Writes all pending activity and returns the number of users flushed. Concurrent calls
+     * do not wait for each other; a call made while a flush is running returns 0.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.user-activity.flush-interval:10s}")
+    public int flush() {
+        if (!flushLock.tryLock()) return 0;
+        try {
+            return flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void record(String userId, Activity activity) {
+        if (userId == null) return;
+
+        if (pending.size() >= maxPending && System.nanoTime() - earlyFlushNotBefore >= 0) flush();
+
+        if (!merge(userId, activity)) droppedRows.increment();
+    }
+
+    /**
+     * Merges the activity into the buffer unless that would add a user beyond max-pending.
+     * Concurrent callers can overshoot the bound by at most one entry each.
+     *
+     * @return whether the activity was kept
+     */
+    private boolean merge(String userId, Activity activity) {
+        if (pending.size() >= maxPending && !pending.containsKey(userId)) return false;
+
+        pending.merge(userId, activity, Activity::latest);
+        return true;
+    }
+
+    private int flushPending() {
+        List<String> userIds = new ArrayList<>();
+        List<Activity> activities = new ArrayList<>();
+        for (String userId : pending.keySet()) {
+            Activity activity = pending.remove(userId);
+            if (activity != null) {
+                userIds.add(userId);
+                activities.add(activity);
+            }
+        }
+        if (userIds.isEmpty()) return 0;
+
+        // Rows grouped by the shard holding the user; a single database is shard 0
+        List<List<Object[]>> logins = new ArrayList<>();
+        List<List<Object[]>> sightings = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            logins.add(new ArrayList<>());
+            sightings.add(new ArrayList<>());
+        }
+        for (int i = 0; i < userIds.size(); i++) {
+            Activity activity = activities.get(i);
+            int shard = shardRouter.shardForUserId(userIds.get(i));
+            if (activity.lastLoginAt != null) {
+                Timestamp at = Timestamp.from(activity.lastLoginAt);
+                logins.get(shard).add(new Object[] { at, userIds.get(i), at });
+            }
+            if (activity.lastSeenAt != null) {
+                Timestamp at = Timestamp.from(activity.lastSeenAt);
+                sightings.get(shard).add(new Object[] { at, userIds.get(i), at });
+            }
+        }
+
+        try {
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                List<Object[]> shardLogins = logins.get(shard);
+                List<Object[]> shardSightings = sightings.get(shard);
+                shardRouter.onShard(shard, () -> {
+                    batchUpdate(UPDATE_LAST_LOGIN, shardLogins);
+                    batchUpdate(UPDATE_LAST_SEEN, shardSightings);
+                });
+            }
+        } catch (RuntimeException e) {
+            earlyFlushNotBefore = System.nanoTime() + flushInterval.toNanos();
+            int dropped = 0;
+            for (int i = 0; i < userIds.size(); i++) {
+                if (!merge(userIds.get(i), activities.get(i))) dropped++;
+            }
+            droppedRows.increment(dropped);
+            LOG.warn("Flushing activity of {} users failed, will retry, dropped {}: {}",
+                    userIds.size(), dropped, e.toString());
+            return 0;
+        }
+
+        flushedRows.increment(userIds.size());
+        return userIds.size();
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    private static final class Activity {
+        private final Instant lastLoginAt;
+        private final Instant lastSeenAt;
+
+        private Activity(Instant lastLoginAt, Instant lastSeenAt) {
+            this.lastLoginAt = lastLoginAt;
+            this.lastSeenAt = lastSeenAt;
+        }
+
+        private static Activity latest(Activity a, Activity b) {
+            return new Activity(max(a.lastLoginAt, b.lastLoginAt), max(a.lastSeenAt, b.lastSeenAt));
+        }
+
+        private static Instant max(Instant a, Instant b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            return a.isAfter(b) ? a : b;
+        }
+    }
+}
@@ -0,0 +1,760 @@
+package com.javadeveloperblogs.app.ws.service.impl;
+
+import com.javadeveloperblogs.app.ws.exception.UserException;
+import com.javadeveloperblogs.app.ws.exception.UserNotFoundException;
+import com.javadeveloperblogs.app.ws.io.Repository.ImportJobRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.RoleRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.UserRepository;
+import com.javadeveloperblogs.app.ws.io.audit.AuditEventType;
+import com.javadeveloperblogs.app.ws.io.audit.AuditLog;
+import com.javadeveloperblogs.app.ws.io.entity.AddressEntity;
+import com.javadeveloperblogs.app.ws.io.entity.ImportJobEntity;
+import com.javadeveloperblogs.app.ws.io.entity.RoleEntity;
+import com.javadeveloperblogs.app.ws.io.entity.UserEntity;
+import com.javadeveloperblogs.app.ws.io.sharding.ShardRouter;
+import com.javadeveloperblogs.app.ws.io.sharding.UserShardDirectory;
+import com.javadeveloperblogs.app.ws.service.UserImportService;
+import com.javadeveloperblogs.app.ws.shared.Emails;
+import com.javadeveloperblogs.app.ws.shared.Utils;
+import com.javadeveloperblogs.app.ws.shared.dto.ImportJobDto;
+import com.javadeveloperblogs.app.ws.shared.events.UserEventBus;
+import com.javadeveloperblogs.app.ws.shared.events.UserEventType;
+import com.javadeveloperblogs.app.ws.shared.imports.ImportFormat;
+import com.javadeveloperblogs.app.ws.shared.imports.ImportJobStatus;
+import com.javadeveloperblogs.app.ws.shared.imports.MalformedRecordException;
+import com.javadeveloperblogs.app.ws.shared.imports.UserRecordReader;
+import com.javadeveloperblogs.app.ws.ui.model.request.AddressRequestModel;
+import com.javadeveloperblogs.app.ws.ui.model.request.UserDetailsRequestModel;
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default implementation of the {@link UserImportService} interface.
+ *
+ * <h2>Pipeline:</h2>
+ * <ul>
+ *   <li>The file is parsed as a stream by a {@link UserRecordReader}; at most two chunks of
+ *   app.user-import.chunk-size records are held in memory</li>
+ *   <li>Passwords of a chunk are BCrypt-hashed on a bounded pool of app.user-import.hash-threads
+ *   threads while the previous chunk is being written, since hashing dominates the cost of an
+ *   import</li>
+ *   <li>Each chunk is written in its own transaction: one query finds emails that already
+ *   exist, the new users and their addresses are inserted in JDBC batches (pooled sequences,
+ *   hibernate.jdbc.batch_size) and the persistence context is flushed and cleared, so memory
+ *   stays flat regardless of file size</li>
+ * </ul>
+ *
+ * <h2>Checkpointing:</h2>
+ * <p>The job's counters are advanced inside the chunk transaction, so the checkpoint always
+ * matches the committed rows. A resumed job parses and discards the first recordsRead records
+ * of the file, then import continues.</p>
+ *
+ * <p>If a constraint violation rolls a chunk back, typically because a user with one of its
+ * emails was created meanwhile, the chunk is retried one record per transaction and the
+ * checkpoint is advanced afterwards. A crash during that retry replays the chunk, and the
+ * records it already stored are then counted as skipped.</p>
+ *
+ * <h2>Ownership:</h2>
+ * <p>A job is run by the instance that claimed it (claimedBy); every checkpoint is written
+ * only while the claim holds, which also refreshes updatedAt. A RUNNING job whose owner has
+ * not advanced it for app.user-import.claim-timeout is taken over by the next instance to look,
+ * so a job interrupted by a crash resumes within that time, on any instance. On shutdown the
+ * job stops between chunks, stays RUNNING and is released, so it resumes at the next start.</p>
+ *
+ * <p>With sharding each chunk is split by the users' shards, see
+ * {@link #writeShardedChunk(long, Chunk, List)}.</p>
+ *
+ * <p>Imported users get the role app.user-import.default-role, and CREATED events and audit
+ * records like users created through the API. Records with missing or oversized fields or
+ * too many addresses are counted as failed, records whose email already exists (in the
+ * database or earlier in the file) as skipped. Throughput is reported
+ * as records per second on the job and logged when the job ends.</p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    @Autowired
+    ImportJobRepository importJobRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    Utils utils;
+
+    @Autowired
+    ShardRouter shardRouter;
+
+    @Autowired
+    UserShardDirectory userShardDirectory;
+
+    @Autowired
+    BCryptPasswordEncoder bCryptPasswordEncoder;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    UserEventBus userEventBus;
+
+    @Autowired
+    AuditLog auditLog;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JsonMapper jsonMapper;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Value("${app.user-import.directory:imports}")
+    Path importDirectory;
+
+    @Value("${app.user-import.chunk-size:1000}")
+    int chunkSize;
+
+    @Value("${app.user-import.hash-threads:0}")
+    int hashThreads;
+
+    @Value("${app.user-import.default-role:ROLE_USER}")
+    String defaultRole;
+
+    @Value("${app.user-import.claim-timeout:5m}")
+    Duration claimTimeout;
+
+    private final Map<String, RunProgress> running = new ConcurrentHashMap<>();
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+    // Owner recorded on the jobs this instance runs
+    private String instanceId;
+    private volatile boolean shuttingDown;
+    private TransactionTemplate chunkTransaction;
+    private ExecutorService jobRunner;
+    private ThreadPoolExecutor hashingPool;
+    private Counter importedRecords;
+    private Counter skippedRecords;
+    private Counter failedRecords;
+
+    @PostConstruct
+    void init() {
+        instanceId = utils.generateUserId();
+        chunkTransaction = new TransactionTemplate(transactionManager);
+
+        jobRunner = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "user-import"));
+
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        hashingPool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(chunkSize * 2), runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        importedRecords = Counter.builder("user.import.records").tag("result", "imported").register(meterRegistry);
+        skippedRecords = Counter.builder("user.import.records").tag("result", "skipped").register(meterRegistry);
+        failedRecords = Counter.builder("user.import.records").tag("result", "failed").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        shuttingDown = true;
+        jobRunner.shutdown();
+        hashingPool.shutdown();
+    }
+
+    /**
+     * Starts the RUNNING jobs no instance is working on: at startup and then every
+     * app.user-import.claim-timeout. Each run claims its job first, see {@link #run(long)}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.user-import.claim-timeout:5m}", fixedDelayString = "${app.user-import.claim-timeout:5m}")
+    void resumeInterruptedJobs() {
+        Instant staleBefore = Instant.now().minus(claimTimeout);
+        for (ImportJobEntity job : importJobRepository.findAllByStatus(ImportJobStatus.RUNNING)) {
+            if (job.getClaimedBy() == null || job.getUpdatedAt() == null || job.getUpdatedAt().isBefore(staleBefore))
+                submit(job.getId());
+        }
+    }
+
+    /**
+     * @param path   file name or path inside app.user-import.directory
+     * @param format file format, or null to derive it from the file extension
+     * @return the created job
+     */
+    @Override
+    public ImportJobDto startImport(String path, ImportFormat format) {
+        Path directory = importDirectory.toAbsolutePath().normalize();
+        Path file = path == null ? null : directory.resolve(path).normalize();
+        if (file == null || !file.startsWith(directory) || !Files.isRegularFile(file))
+            throw new UserException(ErrorMessages.INVALID_IMPORT_FILE);
+
+        if (format == null) format = ImportFormat.fromFileName(file.getFileName().toString());
+        if (format == null)
+            throw new UserException(ErrorMessages.INVALID_IMPORT_FILE);
+
+        ImportJobEntity job = new ImportJobEntity();
+        job.setJobId(utils.generateUserId());
+        job.setPath(file.toString());
+        job.setFormat(format);
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setClaimedBy(instanceId);
+        job.setCreatedAt(Instant.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        ImportJobEntity storedJob = importJobRepository.save(job);
+
+        submit(storedJob.getId());
+
+        return toDto(storedJob);
+    }
+
+    @Override
+    public ImportJobDto getImportJob(String jobId) {
+        ImportJobEntity job = importJobRepository.findByJobId(jobId);
+
+        if (job == null)
+            throw new UserNotFoundException();
+
+        return toDto(job);
+    }
+
+    private void submit(long id) {
+        if (shuttingDown || !scheduled.add(id)) return;
+        jobRunner.execute(() -> {
+            try {
+                run(id);
+            } finally {
+                scheduled.remove(id);
+            }
+        });
+    }
+
+    private void run(long id) {
+        Instant now = Instant.now();
+        if (importJobRepository.claim(id, instanceId, ImportJobStatus.RUNNING, now, now.minus(claimTimeout)) == 0) return;
+        ImportJobEntity job = importJobRepository.findById(id).orElse(null);
+        if (job == null) return;
+        if (job.getRecordsRead() > 0)
+            LOG.info("Resuming user import {} after {} records", job.getJobId(), job.getRecordsRead());
+
+        RunProgress progress = new RunProgress();
+        running.put(job.getJobId(), progress);
+        try (UserRecordReader reader = UserRecordReader.open(job.getFormat(),
+                Files.newBufferedReader(Path.of(job.getPath()), StandardCharsets.UTF_8), jsonMapper)) {
+            skip(reader, job.getRecordsRead());
+
+            Chunk current = readChunk(reader);
+            List<Future<String>> currentHashes = hashPasswords(current);
+            while (current.recordsRead > 0) {
+                if (shuttingDown) {
+                    importJobRepository.release(job.getId(), instanceId);
+                    LOG.info("User import {} paused at shutdown, will resume on next start", job.getJobId());
+                    return;
+                }
+                Chunk next = readChunk(reader);
+                List<Future<String>> nextHashes = hashPasswords(next);
+
+                writeChunk(job.getId(), current, await(currentHashes));
+                progress.records.addAndGet(current.recordsRead);
+
+                current = next;
+                currentHashes = nextHashes;
+            }
+
+            finish(job.getId(), ImportJobStatus.COMPLETED, null);
+            LOG.info("User import {} completed: {} records in this run at {} records/s",
+                    job.getJobId(), progress.records.get(), String.format("%.1f", progress.recordsPerSecond()));
+        } catch (Exception e) {
+            if (shuttingDown) {
+                importJobRepository.release(job.getId(), instanceId);
+                return;
+            }
+            LOG.error("User import {} failed", job.getJobId(), e);
+            finish(job.getId(), ImportJobStatus.FAILED, e.toString());
+        } finally {
+            running.remove(job.getJobId());
+        }
+    }
+
+    private static void skip(UserRecordReader reader, long records) throws IOException {
+        for (long i = 0; i < records; i++) {
+            try {
+                if (reader.next() == null) return;
+            } catch (MalformedRecordException e) {
+                // Counted as failed when it was first read
+            }
+        }
+    }
+
+    private Chunk readChunk(UserRecordReader reader) throws IOException {
+        Chunk chunk = new Chunk();
+        while (chunk.recordsRead < chunkSize) {
+            UserDetailsRequestModel user;
+            try {
+                user = reader.next();
+            } catch (MalformedRecordException e) {
+                chunk.recordsRead++;
+                chunk.fail(e.getMessage());
+                continue;
+            }
+            if (user == null) break;
+
+            chunk.recordsRead++;
+            String error = validate(user);
+            if (error != null) {
+                chunk.fail(error);
+            } else {
+                chunk.users.add(user);
+            }
+        }
+        return chunk;
+    }
+
+    private List<Future<String>> hashPasswords(Chunk chunk) {
+        List<Future<String>> returnValue = new ArrayList<>(chunk.users.size());
+        for (UserDetailsRequestModel user : chunk.users) {
+            String password = user.getPassword();
+            returnValue.add(hashingPool.submit(() -> bCryptPasswordEncoder.encode(password)));
+        }
+        return returnValue;
+    }
+
+    private static List<String> await(List<Future<String>> hashes) throws InterruptedException, ExecutionException {
+        List<String> returnValue = new ArrayList<>(hashes.size());
+        for (Future<String> hash : hashes) {
+            returnValue.add(hash.get());
+        }
+        return returnValue;
+    }
+
+    private void writeChunk(long jobId, Chunk chunk, List<String> encryptedPasswords) {
+        if (shardRouter.isSharded()) {
+            writeShardedChunk(jobId, chunk, encryptedPasswords);
+            return;
+        }
+
+        List<String> emails = normalizedEmails(chunk);
+        List<String> userIds = newUserIds(chunk);
+        ChunkOutcome batch = new ChunkOutcome();
+        ChunkOutcome outcome;
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                batch.stored.addAll(newUsers(emails, existingEmails(emails)));
+                batch.skipped = chunk.users.size() - batch.stored.size();
+                insert(chunk, encryptedPasswords, userIds, batch.stored, true);
+                addProgress(jobId, chunk, batch);
+            });
+            outcome = batch;
+        } catch (DataIntegrityViolationException e) {
+            // A user created meanwhile, e.g. through the API, took one of the emails
+            LOG.warn("User import chunk rolled back by a constraint violation, retrying it row by row: {}",
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            outcome = new ChunkOutcome();
+            List<Integer> candidates = newUsers(emails, existingEmails(emails));
+            outcome.skipped = chunk.users.size() - candidates.size();
+            insertRowByRow(chunk, encryptedPasswords, userIds, candidates, true, outcome);
+
+            ChunkOutcome rows = outcome;
+            chunkTransaction.executeWithoutResult(status -> addProgress(jobId, chunk, rows));
+        }
+        count(chunk, outcome);
+    }
+
+    /**
+     * With sharding users are written to their shards in parallel, one transaction per shard,
+     * and their emails are then registered in the directory in the transaction that advances
+     * the checkpoint. If a chunk is interrupted in between, the users it already stored are
+     * found on their shards when the chunk is replayed, skipped and registered then.
+     *
+     * If a user created meanwhile claimed one of the emails first, the emails are registered
+     * one by one and the imported users that lost their email are deleted again. CREATED
+     * events and audit records are therefore only emitted once the emails are registered.
+     */
+    private void writeShardedChunk(long jobId, Chunk chunk, List<String> encryptedPasswords) {
+        List<String> emails = normalizedEmails(chunk);
+        List<String> userIds = newUserIds(chunk);
+        ChunkOutcome outcome = new ChunkOutcome();
+
+        Map<String, Integer> taken = new HashMap<>(userShardDirectory.shardsForEmails(emails));
+        Map<String, Integer> registrations = new HashMap<>();
+        if (!emails.isEmpty()) {
+            List<List<String>> stored = shardRouter.onAllShards(shard -> userRepository.findExistingEmails(emails));
+            for (int shard = 0; shard < stored.size(); shard++) {
+                for (String email : stored.get(shard)) {
+                    if (taken.putIfAbsent(email, shard) == null) registrations.put(email, shard);
+                }
+            }
+        }
+
+        List<Integer> candidates = newUsers(emails, new HashSet<>(taken.keySet()));
+        outcome.skipped = chunk.users.size() - candidates.size();
+        Map<Integer, List<Integer>> candidatesByShard = new HashMap<>();
+        for (int i : candidates) {
+            int shard = shardRouter.shardForUserId(userIds.get(i));
+            candidatesByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(i);
+        }
+
+        List<ChunkOutcome> shardOutcomes = shardRouter.onAllShards(shard -> {
+            ChunkOutcome shardOutcome = new ChunkOutcome();
+            List<Integer> shardCandidates = candidatesByShard.get(shard);
+            if (shardCandidates == null) return shardOutcome;
+            try {
+                chunkTransaction.executeWithoutResult(status -> insert(chunk, encryptedPasswords, userIds, shardCandidates, false));
+                shardOutcome.stored.addAll(shardCandidates);
+            } catch (DataIntegrityViolationException e) {
+                LOG.warn("User import chunk rolled back by a constraint violation on shard {}, retrying it row by row: {}",
+                        shard, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                insertRowByRow(chunk, encryptedPasswords, userIds, shardCandidates, false, shardOutcome);
+            }
+            return shardOutcome;
+        });
+        for (ChunkOutcome shardOutcome : shardOutcomes) {
+            outcome.add(shardOutcome);
+        }
+
+        for (int i : outcome.stored) {
+            registrations.put(emails.get(i), shardRouter.shardForUserId(userIds.get(i)));
+        }
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                userShardDirectory.registerAll(registrations);
+                addProgress(jobId, chunk, outcome);
+            });
+        } catch (DataIntegrityViolationException e) {
+            registerOneByOne(registrations, emails, userIds, outcome);
+            chunkTransaction.executeWithoutResult(status -> addProgress(jobId, chunk, outcome));
+        }
+
+        List<String> createdUserIds = new ArrayList<>(outcome.stored.size());
+        for (int i : outcome.stored) {
+            createdUserIds.add(userIds.get(i));
+        }
+        publishCreated(createdUserIds);
+        count(chunk, outcome);
+    }
+
+    private void registerOneByOne(Map<String, Integer> registrations, List<String> emails, List<String> userIds,
+                                  ChunkOutcome outcome) {
+        Map<String, Integer> importedByEmail = new HashMap<>();
+        for (int i : outcome.stored) {
+            importedByEmail.put(emails.get(i), i);
+        }
+
+        registrations.forEach((email, shard) -> {
+            if (userShardDirectory.register(email, shard)) return;
+
+            Integer lost = importedByEmail.get(email);
+            if (lost == null) return;
+            shardRouter.onShard(shard, () -> chunkTransaction.executeWithoutResult(status ->
+                    userRepository.delete(userRepository.findByUserId(userIds.get(lost)))));
+            outcome.stored.remove(lost);
+            outcome.skipped++;
+        });
+    }
+
+    /**
+     * @param taken normalized emails that already belong to a user; extended with the chunk's
+     *              emails, so an email repeated within the chunk is only imported once
+     * @return indexes of the chunk's users whose email is not taken
+     */
+    private static List<Integer> newUsers(List<String> emails, Set<String> taken) {
+        List<Integer> returnValue = new ArrayList<>(emails.size());
+        for (int i = 0; i < emails.size(); i++) {
+            if (taken.add(emails.get(i))) returnValue.add(i);
+        }
+        return returnValue;
+    }
+
+    /**
+     * Inserts the chunk's users at the given indexes with the configured default role and
+     * flushes, in the caller's transaction.
+     *
+     * @param publish whether to emit CREATED events and audit records once the transaction commits
+     */
+    private void insert(Chunk chunk, List<String> encryptedPasswords, List<String> userIds, List<Integer> indexes,
+                        boolean publish) {
+        RoleEntity role = defaultRole == null || defaultRole.isBlank() ? null : roleRepository.findByName(defaultRole);
+
+        List<UserEntity> userEntities = new ArrayList<>(indexes.size());
+        for (int i : indexes) {
+            userEntities.add(toEntity(chunk.users.get(i), encryptedPasswords.get(i), userIds.get(i), role));
+        }
+
+        userRepository.saveAll(userEntities);
+        // Flushed through the repository, so a violation surfaces as DataIntegrityViolationException
+        userRepository.flush();
+        entityManager.clear();
+
+        if (!publish) return;
+        List<String> createdUserIds = new ArrayList<>(indexes.size());
+        for (int i : indexes) {
+            createdUserIds.add(userIds.get(i));
+        }
+        publishCreated(createdUserIds);
+    }
+
+    /**
+     * Inserts the users one per transaction, after a constraint violation rolled back their
+     * batch, so one conflicting record does not fail the chunk. A user whose email has been
+     * taken in the meantime (see Emails#isTaken) is skipped; any other violation fails that
+     * record only.
+     */
+    private void insertRowByRow(Chunk chunk, List<String> encryptedPasswords, List<String> userIds,
+                                List<Integer> indexes, boolean publish, ChunkOutcome outcome) {
+        for (int i : indexes) {
+            List<Integer> row = List.of(i);
+            try {
+                chunkTransaction.executeWithoutResult(status -> insert(chunk, encryptedPasswords, userIds, row, publish));
+                outcome.stored.add(i);
+            } catch (DataIntegrityViolationException e) {
+                if (Emails.isTaken(e)) {
+                    outcome.skipped++;
+                } else {
+                    outcome.fail(chunk.users.get(i).getEmail() + ": " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+        }
+    }
+
+    private Set<String> existingEmails(List<String> emails) {
+        return emails.isEmpty() ? new HashSet<>() : new HashSet<>(userRepository.findExistingEmails(emails));
+    }
+
+    /**
+     * Advances the checkpoint, provided this instance still owns the job.
+     *
+     * @throws IllegalStateException if another instance has taken the job over, which rolls
+     *                               back the surrounding transaction
+     */
+    private void addProgress(long jobId, Chunk chunk, ChunkOutcome outcome) {
+        int updated = importJobRepository.addProgress(jobId, instanceId, chunk.recordsRead, outcome.stored.size(),
+                outcome.skipped, chunk.failed + outcome.failed, chunk.firstError != null ? chunk.firstError : outcome.firstError,
+                Instant.now());
+        if (updated == 0)
+            throw new IllegalStateException("User import job was taken over by another instance");
+    }
+
+    private void count(Chunk chunk, ChunkOutcome outcome) {
+        importedRecords.increment(outcome.stored.size());
+        skippedRecords.increment(outcome.skipped);
+        failedRecords.increment(chunk.failed + outcome.failed);
+    }
+
+    private void publishCreated(List<String> userIds) {
+        for (String userId : userIds) {
+            userEventBus.publishAfterCommit(UserEventType.CREATED, userId);
+            auditLog.recordAfterCommit(AuditEventType.CREATED, userId);
+        }
+    }
+
+    private List<String> newUserIds(Chunk chunk) {
+        List<String> returnValue = new ArrayList<>(chunk.users.size());
+        for (int i = 0; i < chunk.users.size(); i++) {
+            returnValue.add(utils.generateUserId());
+        }
+        return returnValue;
+    }
+
+    // Duplicates are detected on normalized emails, as the unique index on users compares them
+    private static List<String> normalizedEmails(Chunk chunk) {
+        List<String> returnValue = new ArrayList<>(chunk.users.size());
+        for (UserDetailsRequestModel user : chunk.users) {
+            returnValue.add(Emails.normalize(user.getEmail()));
+        }
+        return returnValue;
+    }
+
+    private UserEntity toEntity(UserDetailsRequestModel user, String encryptedPassword, String userId, RoleEntity role) {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setUserId(userId);
+        userEntity.setFirstName(user.getFirstName());
+        userEntity.setLastName(user.getLastName());
+        userEntity.setEmail(user.getEmail());
+        userEntity.setEncryptedPassword(encryptedPassword);
+        userEntity.setEmailVerificationToken(utils.generateEmailVerificationToken());
+        userEntity.setEmailVerificationStatus(false);
+        userEntity.setRoles(role != null ? new ArrayList<>(List.of(role)) : new ArrayList<>());
+
+        List<AddressEntity> addresses = new ArrayList<>();
+        if (user.getAddresses() != null) {
+            for (AddressRequestModel address : user.getAddresses()) {
+                AddressEntity addressEntity = new AddressEntity();
+                addressEntity.setAddressId(utils.generateAddressId());
+                addressEntity.setCity(address.getCity());
+                addressEntity.setCountry(address.getCountry());
+                addressEntity.setStreetName(address.getStreetName());
+                addressEntity.setPostalCode(address.getPostalCode());
+                addressEntity.setType(address.getType());
+                addressEntity.setUserDetails(userEntity);
+                addresses.add(addressEntity);
+            }
+        }
+        userEntity.setAddresses(addresses);
+
+        return userEntity;
+    }
+
+    /**
+     * Checks the column constraints of users and addresses up front, so one bad record
+     * fails on its own instead of rolling back its whole chunk.
+     */
+    private static String validate(UserDetailsRequestModel user) {
+        if (isInvalid(user.getFirstName(), 50)) return "firstName is missing or longer than 50 characters";
+        if (isInvalid(user.getLastName(), 50)) return "lastName is missing or longer than 50 characters";
+        if (isInvalid(user.getEmail(), 120)) return "email is missing or longer than 120 characters";
+        if (user.getPassword() == null || user.getPassword().isEmpty()) return "password is missing";
+
+        if (user.getAddresses() != null) {
+            if (user.getAddresses().size() > UserRecordReader.MAX_ADDRESSES)
+                return "more than " + UserRecordReader.MAX_ADDRESSES + " addresses";
+            for (AddressRequestModel address : user.getAddresses()) {
+                if (isInvalid(address.getCity(), 15) || isInvalid(address.getCountry(), 15)
+                        || isInvalid(address.getStreetName(), 100) || isInvalid(address.getPostalCode(), 7)
+                        || isInvalid(address.getType(), 10))
+                    return "address of " + user.getEmail() + " has missing or oversized fields";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isInvalid(String value, int maxLength) {
+        return value == null || value.isBlank() || value.length() > maxLength;
+    }
+
+    // Only the owner finishes a job; one that was taken over is left to its new owner
+    private void finish(long id, ImportJobStatus status, String error) {
+        importJobRepository.finish(id, instanceId, status, error != null ? truncate(error) : null, Instant.now());
+    }
+
+    private ImportJobDto toDto(ImportJobEntity job) {
+        ImportJobDto returnValue = new ImportJobDto();
+        returnValue.setJobId(job.getJobId());
+        returnValue.setPath(job.getPath());
+        returnValue.setFormat(job.getFormat());
+        returnValue.setStatus(job.getStatus());
+        returnValue.setRecordsRead(job.getRecordsRead());
+        returnValue.setImported(job.getImported());
+        returnValue.setSkipped(job.getSkipped());
+        returnValue.setFailed(job.getFailed());
+        returnValue.setFirstError(job.getFirstError());
+        returnValue.setCreatedAt(job.getCreatedAt());
+        returnValue.setFinishedAt(job.getFinishedAt());
+
+        RunProgress progress = running.get(job.getJobId());
+        if (progress != null) {
+            returnValue.setRecordsPerSecond(progress.recordsPerSecond());
+        } else if (job.getFinishedAt() != null) {
+            double seconds = Duration.between(job.getCreatedAt(), job.getFinishedAt()).toMillis() / 1000.0;
+            returnValue.setRecordsPerSecond(seconds > 0 ? job.getRecordsRead() / seconds : 0);
+        }
+
+        return returnValue;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    /**
+     * Records read from the file and not yet written, with the outcome of those that failed parsing or validation.
+     */
+    private static final class Chunk {
+        private final List<UserDetailsRequestModel> users = new ArrayList<>();
+        private int recordsRead;
+        private int failed;
+        private String firstError;
+
+        private void fail(String error) {
+            failed++;
+            if (firstError == null) firstError = truncate(error);
+        }
+    }
+
+    /**
+     * What became of the valid records of a chunk: indexes of the users stored, duplicates
+     * skipped, and records rejected by the database.
+     */
+    private static final class ChunkOutcome {
+        private final List<Integer> stored = new ArrayList<>();
+        private int skipped;
+        private int failed;
+        private String firstError;
+
+        private void fail(String error) {
+            failed++;
+            if (firstError == null) firstError = truncate(error);
+        }
+
+        private void add(ChunkOutcome other) {
+            stored.addAll(other.stored);
+            skipped += other.skipped;
+            failed += other.failed;
+            if (firstError == null) firstError = other.firstError;
+        }
+    }
+
+    /**
+     * Throughput of the current run of a job, excluding records imported before a resume.
+     */
+    private static final class RunProgress {
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong records = new AtomicLong();
+
+        private double recordsPerSecond() {
+            double seconds = (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+            return seconds > 0 ? records.get() / seconds : 0;
+        }
+    }
+}
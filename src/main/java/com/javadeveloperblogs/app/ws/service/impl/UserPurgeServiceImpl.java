@@ -0,0 +1,193 @@
+package com.javadeveloperblogs.app.ws.service.impl;
+
+import com.javadeveloperblogs.app.ws.io.Repository.AddressRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.PasswordResetTokenRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.UserRepository;
+import com.javadeveloperblogs.app.ws.io.audit.AuditEventType;
+import com.javadeveloperblogs.app.ws.io.audit.AuditLog;
+import com.javadeveloperblogs.app.ws.io.sharding.ShardRouter;
+import com.javadeveloperblogs.app.ws.io.sharding.UserShardDirectory;
+import com.javadeveloperblogs.app.ws.service.UserPurgeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Default implementation of the {@link UserPurgeService} interface.
+ *
+ * <p>DELETE /users/{id} only marks the user deleted (see UserServiceImpl#deleteUser). This
+ * service physically removes marked users and everything they own, oldest deletion first.</p>
+ *
+ * <h2>Batching:</h2>
+ * <ul>
+ *   <li>Every app.user-purge.interval (default 1m) up to app.user-purge.max-batches batches of
+ *   app.user-purge.batch-size users are purged per shard</li>
+ *   <li>Each batch is one short transaction of four set-based DELETEs (addresses, password
+ *   reset tokens, role assignments, users), so locks are held briefly and no entity is loaded</li>
+ *   <li>Batches are separated by app.user-purge.pause, leaving room for regular traffic</li>
+ * </ul>
+ *
+ * <h2>Load shedding:</h2>
+ * <p>Before every batch the system CPU load is checked; above app.user-purge.max-cpu-load the
+ * run stops and the remaining users wait for the next, hopefully quieter, run. Deleted users
+ * are invisible to all queries, so a delayed purge only costs disk space.</p>
+ *
+ * <p>With sharding, the emails of purged users are released in the email directory, which
+ * keeps them reserved until then.</p>
+ *
+ * <p>Every purged user gets a PURGED record in the audit log once its batch has committed.</p>
+ *
+ * <p>The DELETEs are native, so no entity listener sees them. They need not: the statistics
+ * count only users that are not deleted, and UserServiceImpl#deleteUser took the users and
+ * their addresses out of the counters when it marked them, so purging them changes no count.</p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+public class UserPurgeServiceImpl implements UserPurgeService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserPurgeServiceImpl.class);
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    AddressRepository addressRepository;
+
+    @Autowired
+    PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    ShardRouter shardRouter;
+
+    @Autowired
+    AuditLog auditLog;
+
+    @Autowired
+    UserShardDirectory userShardDirectory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${app.user-purge.batch-size:100}")
+    int batchSize;
+
+    @Value("${app.user-purge.max-batches:50}")
+    int maxBatches;
+
+    @Value("${app.user-purge.pause:200ms}")
+    Duration pause;
+
+    @Value("${app.user-purge.max-cpu-load:0.6}")
+    double maxCpuLoad;
+
+    private final ReentrantLock purgeLock = new ReentrantLock();
+    private final OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+    private TransactionTemplate batchTransaction;
+    private Counter purgedUsers;
+
+    @PostConstruct
+    void init() {
+        batchTransaction = new TransactionTemplate(transactionManager);
+        purgedUsers = Counter.builder("user.purge.users").register(meterRegistry);
+    }
+
+    /**
+     * Purges deleted users and returns how many were removed. A call made while a purge is
+     * running returns 0.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.user-purge.interval:1m}")
+    public int purge() {
+        if (!purgeLock.tryLock()) return 0;
+        try {
+            int returnValue = 0;
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                returnValue += purgeShard(shard);
+            }
+            if (returnValue > 0) LOG.info("Purged {} deleted users", returnValue);
+            return returnValue;
+        } finally {
+            purgeLock.unlock();
+        }
+    }
+
+    private int purgeShard(int shard) {
+        int returnValue = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            if (isBusy()) {
+                LOG.debug("Purge of shard {} deferred, system is busy", shard);
+                break;
+            }
+
+            List<String> emails = shardRouter.onShard(shard, () -> batchTransaction.execute(status -> purgeBatch()));
+            if (emails.isEmpty()) break;
+
+            if (shardRouter.isSharded()) userShardDirectory.removeAll(emails);
+            purgedUsers.increment(emails.size());
+            returnValue += emails.size();
+
+            if (emails.size() < batchSize) break;
+            try {
+                Thread.sleep(pause.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return returnValue;
+    }
+
+    /**
+     * Deletes one batch of deleted users with their children and returns their normalized emails.
+     */
+    private List<String> purgeBatch() {
+        List<Long> ids = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        List<String> userIds = new ArrayList<>();
+        for (Object[] row : userRepository.findDeletedUsers(batchSize)) {
+            ids.add(((Number) row[0]).longValue());
+            emails.add((String) row[1]);
+            userIds.add((String) row[2]);
+        }
+        if (ids.isEmpty()) return emails;
+
+        addressRepository.deleteByUserIds(ids);
+        passwordResetTokenRepository.deleteByUserIds(ids);
+        userRepository.deleteRoleAssignments(ids);
+        userRepository.purgeDeleted(ids);
+        for (String userId : userIds) {
+            auditLog.recordAfterCommit(AuditEventType.PURGED, userId);
+        }
+
+        return emails;
+    }
+
+    private boolean isBusy() {
+        if (operatingSystem instanceof com.sun.management.OperatingSystemMXBean platform) {
+            double load = platform.getCpuLoad();
+            return load >= 0 && load > maxCpuLoad;
+        }
+        return false;
+    }
+}
@@ -1,11 +1,66 @@
 package com.javadeveloperblogs.app.ws.service.impl;
 
+import com.javadeveloperblogs.app.ws.exception.UserAlreadyExistsException;
+import com.javadeveloperblogs.app.ws.exception.UserException;
+import com.javadeveloperblogs.app.ws.exception.UserNotFoundException;
+import com.javadeveloperblogs.app.ws.io.Repository.AddressRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.PasswordResetTokenRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.RoleRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.UserRepository;
+import com.javadeveloperblogs.app.ws.io.audit.AuditEventType;
+import com.javadeveloperblogs.app.ws.io.audit.AuditLog;
+import com.javadeveloperblogs.app.ws.io.entity.AddressEntity;
+import com.javadeveloperblogs.app.ws.io.entity.PasswordResetTokenEntity;
+import com.javadeveloperblogs.app.ws.io.entity.RoleEntity;
 import com.javadeveloperblogs.app.ws.io.entity.UserEntity;
+import com.javadeveloperblogs.app.ws.io.session.RefreshTokenStore;
+import com.javadeveloperblogs.app.ws.io.sharding.ShardContext;
+import com.javadeveloperblogs.app.ws.io.statistics.UserStatisticsListener;
 import com.javadeveloperblogs.app.ws.service.UserService;
+import com.javadeveloperblogs.app.ws.shared.Emails;
+import com.javadeveloperblogs.app.ws.shared.Pages;
+import com.javadeveloperblogs.app.ws.shared.SingleFlight;
+import com.javadeveloperblogs.app.ws.shared.TotalCountMode;
+import com.javadeveloperblogs.app.ws.shared.UserProfileCache;
+import com.javadeveloperblogs.app.ws.shared.Utils;
+import com.javadeveloperblogs.app.ws.shared.dto.AddressDTO;
 import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import com.javadeveloperblogs.app.ws.shared.dto.UserSliceDto;
+import com.javadeveloperblogs.app.ws.shared.events.UserEventBus;
+import com.javadeveloperblogs.app.ws.shared.events.UserEventType;
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.Tuple;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 /**
  * Default implementation of the {@link UserService} interface.
  *
@@ -39,9 +94,9 @@ import java.util.List;
  * data consistency and proper rollback behavior on errors.</p>
  *
  * <h2>Exception Handling:</h2>
- * <p>This implementation should throw appropriate custom exceptions (e.g.,
- * UserNotFoundException, InvalidCredentialsException, EmailAlreadyExistsException)
- * which will be handled by a global exception handler.</p>
+ * <p>Expected failures are thrown as stackless {@link UserException} subclasses
+ * (UserNotFoundException, UserAlreadyExistsException, AuthenticationFailedException),
+ * which AppExceptionsHandler maps to ErrorMessage responses.</p>
  *
  * <h2>Security Considerations:</h2>
  * <ul>
@@ -66,13 +121,166 @@ import java.util.List;
  */
 @Service
 public class UserServiceImpl implements UserService{
+
+    // UserEntity attributes a client may select with ?fields=, in response order
+    private static final List<String> SELECTABLE_FIELDS = List.of("userId", "firstName", "lastName", "email");
+    private static final Set<String> EXPANSIONS = Set.of("addresses", "roles");
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    AddressRepository addressRepository;
+
+    @Autowired
+    PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    Utils utils;
+
+    @Autowired
+    BCryptPasswordEncoder bCryptPasswordEncoder;
+
+    @Autowired
+    ModelMapper modelMapper;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    UserProfileCache userProfileCache;
+
+    @Autowired
+    UserEventBus userEventBus;
+
+    @Autowired
+    AuditLog auditLog;
+
+    @Autowired
+    UserStatisticsListener userStatisticsListener;
+
+    @Autowired
+    RefreshTokenStore refreshTokenStore;
+
+    @Value("${app.user-lookup.max-wait:2s}")
+    Duration lookupMaxWait;
+
+    @Value("${app.user-count.cache-ttl:60s}")
+    Duration countCacheTtl;
+
+    @Value("${app.multi-get.max-ids:100}")
+    int multiGetMaxIds;
+
+    @Value("${app.user-create.max-attempts:3}")
+    int createMaxAttempts;
+
+    @Value("${app.user-create.retry-backoff:20ms}")
+    Duration createRetryBackoff;
+
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate writeTransaction;
+    private SingleFlight<String, UserDto> userIdLookups;
+    private SingleFlight<String, UserDto> emailLookups;
+    private SingleFlight<String, Long> countRefreshes;
+    // Keyed by shard; with sharding disabled only ShardContext.DEFAULT_SHARD is used
+    private final Map<Integer, CachedCount> confirmedUserCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Concurrent profile lookups for the same userId or email share one database call, and
+     * each caller gets its own copy of the result. The lookups open their own read-only transaction inside the coalesced call, so
+     * waiting callers do not hold a pooled connection.
+     */
+    @PostConstruct
+    void initLookups() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        userIdLookups = new SingleFlight<>("user-by-user-id", lookupMaxWait, UserDto::copy, meterRegistry);
+        emailLookups = new SingleFlight<>("user-by-email", lookupMaxWait, UserDto::copy, meterRegistry);
+        countRefreshes = new SingleFlight<>("user-count", lookupMaxWait, meterRegistry);
+    }
+
     /**
+     * Inserts the user without checking the email first: the unique index on the normalized
+     * email decides between concurrent signups, and its violation is reported as
+     * {@link UserAlreadyExistsException}. Deleted users that are not purged yet still hold
+     * their email.
+     *
+     * The password is hashed before the transaction opens, so the connection is held only
+     * for the inserts. An insert that loses a lock conflict on the index (a deadlock or lock
+     * wait timeout between concurrent signups) is retried in a new transaction after a short
+     * randomized pause, up to app.user-create.max-attempts times in total.
+     *
      * @param user
      * @return
      */
     @Override
     public UserDto createUser(UserDto user) {
-        return null;
+        String encryptedPassword = bCryptPasswordEncoder.encode(user.getPassword());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return writeTransaction.execute(status -> insertUser(user, encryptedPassword));
+            } catch (DataIntegrityViolationException e) {
+                if (Emails.isTaken(e))
+                    throw new UserAlreadyExistsException();
+                throw e;
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= createMaxAttempts) throw e;
+                pauseBeforeRetry(attempt, e);
+            }
+        }
+    }
+
+    private UserDto insertUser(UserDto user, String encryptedPassword) {
+        UserEntity userEntity = modelMapper.map(user, UserEntity.class);
+
+        // A userId assigned by the caller decides the user's shard, see ShardedUserService
+        userEntity.setUserId(user.getUserId() != null ? user.getUserId() : utils.generateUserId());
+        userEntity.setEncryptedPassword(encryptedPassword);
+        userEntity.setEmailVerificationToken(utils.generateEmailVerificationToken());
+        userEntity.setEmailVerificationStatus(false);
+
+        if (userEntity.getAddresses() != null) {
+            for (AddressEntity address : userEntity.getAddresses()) {
+                address.setAddressId(utils.generateAddressId());
+                address.setUserDetails(userEntity);
+            }
+        }
+
+        Collection<RoleEntity> roleEntities = new ArrayList<>();
+        if (user.getRoles() != null) {
+            for (String role : user.getRoles()) {
+                RoleEntity roleEntity = roleRepository.findByName(role);
+                if (roleEntity != null) {
+                    roleEntities.add(roleEntity);
+                }
+            }
+        }
+        userEntity.setRoles(roleEntities);
+
+        // Flushed here, so a violation surfaces before the after-commit hooks are registered
+        UserEntity storedUserDetails = userRepository.saveAndFlush(userEntity);
+        userEventBus.publishAfterCommit(UserEventType.CREATED, storedUserDetails.getUserId());
+        auditLog.recordAfterCommit(AuditEventType.CREATED, storedUserDetails.getUserId());
+
+        return toDto(storedUserDetails);
+    }
+
+    private void pauseBeforeRetry(int attempt, PessimisticLockingFailureException e) {
+        long maxPause = createRetryBackoff.toNanos() * attempt;
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(maxPause + 1));
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
     }
 
     /**
@@ -81,7 +289,15 @@ public class UserServiceImpl implements UserService{
      */
     @Override
     public UserDto getUser(String email) {
-        return null;
+        String normalizedEmail = Emails.normalize(email);
+        return emailLookups.execute(normalizedEmail, () -> readOnlyTransaction.execute(status -> {
+            UserEntity userEntity = userRepository.findByNormalizedEmail(normalizedEmail);
+
+            if (userEntity == null)
+                throw new UserNotFoundException();
+
+            return toDto(userEntity);
+        }));
     }
 
     /**
@@ -90,7 +306,87 @@ public class UserServiceImpl implements UserService{
      */
     @Override
     public UserDto getUserByUserId(String userId) {
-        return null;
+        UserDto cached = userProfileCache.get(userId);
+        if (cached != null) return cached;
+
+        return userIdLookups.execute(userId, () -> readOnlyTransaction.execute(status -> {
+            long stamp = userProfileCache.loadStamp(userId);
+            UserEntity userEntity = userRepository.findByUserId(userId);
+
+            if (userEntity == null)
+                throw new UserNotFoundException();
+
+            UserDto returnValue = toDto(userEntity);
+            userProfileCache.put(returnValue, stamp);
+            return returnValue;
+        }));
+    }
+
+    /**
+     * Reads only the requested columns and fetches each requested expansion with one query.
+     * Without fields all selectable fields are returned; without expand no relation is loaded.
+     *
+     * @param userId
+     * @param fields
+     * @param expand
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserDto getUserByUserId(String userId, Collection<String> fields, Collection<String> expand) {
+        List<String> attributes = selectedFields(fields);
+        Set<String> expansions = selectedExpansions(expand);
+
+        Tuple user = userRepository.findAttributesByUserId(userId, attributes);
+
+        if (user == null)
+            throw new UserNotFoundException();
+
+        return toDtos(List.of(user), attributes, expansions).get(0);
+    }
+
+    /**
+     * Serves cached profiles first and loads the rest with a single IN query.
+     * The result is keyed by userId in request order; unknown ids are omitted.
+     *
+     * @param userIds
+     * @return
+     */
+    @Override
+    public Map<String, UserDto> getUsersByUserIds(Collection<String> userIds) {
+        Set<String> ids = new LinkedHashSet<>(userIds);
+        if (ids.size() > multiGetMaxIds)
+            throw new UserException(ErrorMessages.TOO_MANY_IDS_REQUESTED);
+
+        Map<String, UserDto> cached = userProfileCache.getAll(ids);
+
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            if (!cached.containsKey(id)) missing.add(id);
+        }
+
+        Map<String, UserDto> loaded = new HashMap<>();
+        if (!missing.isEmpty()) {
+            Map<String, Long> stamps = new HashMap<>();
+            for (String id : missing) {
+                stamps.put(id, userProfileCache.loadStamp(id));
+            }
+            readOnlyTransaction.executeWithoutResult(status -> {
+                for (UserEntity userEntity : userRepository.findAllByUserIdIn(missing)) {
+                    UserDto userDto = toDto(userEntity);
+                    userProfileCache.put(userDto, stamps.get(userDto.getUserId()));
+                    loaded.put(userDto.getUserId(), userDto);
+                }
+            });
+        }
+
+        Map<String, UserDto> returnValue = new LinkedHashMap<>();
+        for (String id : ids) {
+            UserDto userDto = cached.containsKey(id) ? cached.get(id) : loaded.get(id);
+            if (userDto != null) returnValue.put(id, userDto);
+        }
+
+        return returnValue;
     }
 
     /**
@@ -99,16 +395,52 @@ public class UserServiceImpl implements UserService{
      * @return
      */
     @Override
+    @Transactional
     public UserDto updateUser(String userId, UserDto user) {
-        return null;
+        UserEntity userEntity = userRepository.findByUserId(userId);
+
+        if (userEntity == null)
+            throw new UserNotFoundException();
+
+        userEntity.setFirstName(user.getFirstName());
+        userEntity.setLastName(user.getLastName());
+
+        UserEntity updatedUserDetails = userRepository.save(userEntity);
+        userProfileCache.evictAfterCommit(userId);
+        userEventBus.publishAfterCommit(UserEventType.UPDATED, userId);
+        auditLog.recordAfterCommit(AuditEventType.UPDATED, userId);
+
+        return toDto(updatedUserDetails);
     }
 
     /**
+     * Soft delete: a single UPDATE marks the user deleted, whatever it owns, and from then on
+     * it is invisible to all queries. The user's sessions end after commit. UserPurgeService removes the row and its addresses, role
+     * assignments and tokens in the background. The statistics count only users that are not
+     * deleted, so the user and its addresses are taken out of them after commit; their counted
+     * values are read first, in two small queries.
+     *
      * @param userId
      */
     @Override
+    @Transactional
     public void deleteUser(String userId) {
+        List<Object[]> counted = userRepository.findCountedValues(userId);
+        List<Object[]> addresses = addressRepository.findCountryAndTypeByUserId(userId);
+
+        if (userRepository.softDeleteByUserId(userId, Instant.now()) == 0)
+            throw new UserNotFoundException();
+
+        List<String> roles = new ArrayList<>();
+        for (Object[] row : counted) {
+            if (row[1] != null) roles.add((String) row[1]);
+        }
+        userStatisticsListener.softDeleted(!counted.isEmpty() && Boolean.TRUE.equals(counted.get(0)[0]), roles, addresses);
 
+        userProfileCache.evictAfterCommit(userId);
+        refreshTokenStore.revokeAllAfterCommit(userId);
+        userEventBus.publishAfterCommit(UserEventType.DELETED, userId);
+        auditLog.recordAfterCommit(AuditEventType.DELETED, userId);
     }
 
     /**
@@ -117,8 +449,137 @@ public class UserServiceImpl implements UserService{
      * @return
      */
     @Override
+    @Transactional(readOnly = true)
     public List<UserDto> getUsers(int page, int limit) {
-        return List.of();
+        List<UserDto> returnValue = new ArrayList<>();
+
+        Pageable pageableRequest = PageRequest.of(Pages.index(page, limit), limit, Sort.by("userId"));
+        Slice<UserEntity> usersSlice = userRepository.findAllBy(pageableRequest);
+
+        for (UserEntity userEntity : usersSlice.getContent()) {
+            returnValue.add(toDto(userEntity));
+        }
+
+        return returnValue;
+    }
+
+    /**
+     * Page of users with only the requested columns; expansions are fetched for the whole page
+     * with one IN query per relation.
+     *
+     * @param page
+     * @param limit
+     * @param fields
+     * @param expand
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDto> getUsers(int page, int limit, Collection<String> fields, Collection<String> expand) {
+        List<String> attributes = selectedFields(fields);
+        Set<String> expansions = selectedExpansions(expand);
+
+        List<Tuple> users = userRepository.findAttributesPage(attributes, (int) Pages.offset(page, limit), limit);
+
+        return toDtos(users, attributes, expansions);
+    }
+
+    /**
+     * Fetches limit+1 rows to report hasNext, so no COUNT query runs unless a total is
+     * requested. A cached total is recomputed at most once per app.user-count.cache-ttl, with
+     * concurrent refreshes coalesced into one query.
+     *
+     * @param page
+     * @param limit
+     * @param totalCountMode
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserSliceDto getUsersWithConfirmedEmail(int page, int limit, TotalCountMode totalCountMode) {
+        UserSliceDto returnValue = new UserSliceDto();
+
+        Pageable pageableRequest = PageRequest.of(Pages.index(page, limit), limit, Sort.by("userId"));
+        Slice<UserEntity> usersSlice = userRepository.findByEmailVerificationStatusTrue(pageableRequest);
+
+        List<UserDto> users = new ArrayList<>();
+        for (UserEntity userEntity : usersSlice.getContent()) {
+            users.add(toDto(userEntity));
+        }
+        returnValue.setUsers(users);
+        returnValue.setHasNext(usersSlice.hasNext());
+        returnValue.setTotalCount(countUsersWithConfirmedEmail(totalCountMode));
+
+        return returnValue;
+    }
+
+    /**
+     * @return the number of users with a confirmed email, exact or cached as requested, or
+     *         null for TotalCountMode.NONE
+     */
+    public Long countUsersWithConfirmedEmail(TotalCountMode totalCountMode) {
+        if (totalCountMode == TotalCountMode.EXACT) return refreshConfirmedUserCount();
+        if (totalCountMode != TotalCountMode.CACHED) return null;
+
+        int shard = ShardContext.current();
+        CachedCount cached = confirmedUserCounts.get(shard);
+        boolean fresh = cached != null && System.nanoTime() - cached.computedAtNanos < countCacheTtl.toNanos();
+        return fresh ? cached.value : countRefreshes.execute("confirmed:" + shard, this::refreshConfirmedUserCount);
+    }
+
+    /**
+     * The first limit userIds in userId order, of all users or only those with a confirmed
+     * email. Used by ShardedUserService to cut a page out of all shards before loading users.
+     *
+     * @param limit
+     * @param confirmedOnly
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public List<String> getUserIds(int limit, boolean confirmedOnly) {
+        Pageable pageableRequest = PageRequest.of(0, limit);
+        return confirmedOnly
+                ? userRepository.findConfirmedUserIds(pageableRequest)
+                : userRepository.findUserIds(pageableRequest);
+    }
+
+    /**
+     * The users with the given userIds in userId order, as getUsers returns them; unknown
+     * userIds are left out.
+     *
+     * @param userIds
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public List<UserDto> getUsersInOrder(Collection<String> userIds) {
+        List<UserDto> returnValue = new ArrayList<>();
+        if (userIds.isEmpty()) return returnValue;
+
+        List<UserEntity> userEntities = new ArrayList<>(userRepository.findAllByUserIdIn(userIds));
+        userEntities.sort(Comparator.comparing(UserEntity::getUserId));
+        for (UserEntity userEntity : userEntities) {
+            returnValue.add(toDto(userEntity));
+        }
+
+        return returnValue;
+    }
+
+    /**
+     * The users with the given userIds in userId order, with only the requested fields and
+     * expansions; unknown userIds are left out.
+     *
+     * @param userIds
+     * @param fields
+     * @param expand
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public List<UserDto> getUsersInOrder(Collection<String> userIds, Collection<String> fields, Collection<String> expand) {
+        List<String> attributes = selectedFields(fields);
+        Set<String> expansions = selectedExpansions(expand);
+        if (userIds.isEmpty()) return new ArrayList<>();
+
+        return toDtos(userRepository.findAttributesByUserIds(userIds, attributes), attributes, expansions);
     }
 
     /**
@@ -126,8 +587,21 @@ public class UserServiceImpl implements UserService{
      * @return
      */
     @Override
+    @Transactional
     public boolean verifyEmailToken(String token) {
-        return false;
+        UserEntity userEntity = userRepository.findUserByEmailVerificationToken(token);
+
+        if (userEntity == null)
+            return false;
+
+        userEntity.setEmailVerificationToken(null);
+        userEntity.setEmailVerificationStatus(Boolean.TRUE);
+        userRepository.save(userEntity);
+        userProfileCache.evictAfterCommit(userEntity.getUserId());
+        userEventBus.publishAfterCommit(UserEventType.EMAIL_VERIFIED, userEntity.getUserId());
+        auditLog.recordAfterCommit(AuditEventType.EMAIL_VERIFIED, userEntity.getUserId());
+
+        return true;
     }
 
     /**
@@ -135,8 +609,22 @@ public class UserServiceImpl implements UserService{
      * @return
      */
     @Override
+    @Transactional
     public boolean requestPasswordReset(String email) {
-        return false;
+        UserEntity userEntity = userRepository.findByNormalizedEmail(Emails.normalize(email));
+
+        if (userEntity == null)
+            return false;
+
+        PasswordResetTokenEntity passwordResetTokenEntity = passwordResetTokenRepository.findByUserDetails(userEntity);
+        if (passwordResetTokenEntity == null) {
+            passwordResetTokenEntity = new PasswordResetTokenEntity();
+        }
+        passwordResetTokenEntity.setToken(utils.generatePasswordResetToken());
+        passwordResetTokenEntity.setUserDetails(userEntity);
+        passwordResetTokenRepository.save(passwordResetTokenEntity);
+
+        return true;
     }
 
     /**
@@ -145,7 +633,131 @@ public class UserServiceImpl implements UserService{
      * @return
      */
     @Override
+    @Transactional
     public boolean resetPassword(String token, String password) {
-        return false;
+        PasswordResetTokenEntity passwordResetTokenEntity = passwordResetTokenRepository.findByToken(token);
+
+        if (passwordResetTokenEntity == null)
+            return false;
+
+        UserEntity userEntity = passwordResetTokenEntity.getUserDetails();
+        if (userEntity == null || userEntity.getDeletedAt() != null)
+            return false;
+
+        userEntity.setEncryptedPassword(bCryptPasswordEncoder.encode(password));
+        userRepository.save(userEntity);
+        userProfileCache.evictAfterCommit(userEntity.getUserId());
+
+        passwordResetTokenRepository.delete(passwordResetTokenEntity);
+        refreshTokenStore.revokeAllAfterCommit(userEntity.getUserId());
+        userEventBus.publishAfterCommit(UserEventType.PASSWORD_RESET, userEntity.getUserId());
+        auditLog.recordAfterCommit(AuditEventType.PASSWORD_RESET, userEntity.getUserId());
+
+        return true;
+    }
+
+    /**
+     * Persists the start (a future instant) or end (null) of a login lockout. Called by
+     * AuthenticationServiceImpl on lockout state changes only; failed attempts themselves are
+     * counted in memory.
+     */
+    @Override
+    @Transactional
+    public void setLockedUntil(String email, Instant lockedUntil) {
+        userRepository.updateLockedUntil(Emails.normalize(email), lockedUntil);
+    }
+
+    private UserDto toDto(UserEntity userEntity) {
+        UserDto returnValue = modelMapper.map(userEntity, UserDto.class);
+
+        if (userEntity.getRoles() != null) {
+            List<String> roles = new ArrayList<>();
+            for (RoleEntity roleEntity : userEntity.getRoles()) {
+                roles.add(roleEntity.getName());
+            }
+            returnValue.setRoles(roles);
+        }
+
+        return returnValue;
+    }
+
+    private static List<String> selectedFields(Collection<String> fields) {
+        if (fields == null || fields.isEmpty()) return SELECTABLE_FIELDS;
+
+        List<String> returnValue = new ArrayList<>();
+        for (String field : SELECTABLE_FIELDS) {
+            if (fields.contains(field)) returnValue.add(field);
+        }
+        if (returnValue.size() != new LinkedHashSet<>(fields).size())
+            throw new UserException(ErrorMessages.UNKNOWN_FIELD);
+
+        return returnValue;
+    }
+
+    private static Set<String> selectedExpansions(Collection<String> expand) {
+        if (expand == null) return Set.of();
+        if (!EXPANSIONS.containsAll(expand))
+            throw new UserException(ErrorMessages.UNKNOWN_FIELD);
+
+        return new LinkedHashSet<>(expand);
+    }
+
+    private List<UserDto> toDtos(List<Tuple> users, List<String> attributes, Set<String> expansions) {
+        Map<Long, UserDto> returnValue = new LinkedHashMap<>();
+
+        for (Tuple user : users) {
+            UserDto userDto = new UserDto();
+            for (String attribute : attributes) {
+                String value = user.get(attribute, String.class);
+                switch (attribute) {
+                    case "userId" -> userDto.setUserId(value);
+                    case "firstName" -> userDto.setFirstName(value);
+                    case "lastName" -> userDto.setLastName(value);
+                    case "email" -> userDto.setEmail(value);
+                    default -> throw new IllegalStateException(attribute);
+                }
+            }
+            returnValue.put(user.get("id", Long.class), userDto);
+        }
+        if (returnValue.isEmpty()) return new ArrayList<>();
+
+        if (expansions.contains("addresses")) {
+            returnValue.values().forEach(userDto -> userDto.setAddresses(new ArrayList<>()));
+            for (Object[] row : addressRepository.findAddressColumnsByUserIds(returnValue.keySet())) {
+                AddressDTO addressDto = new AddressDTO();
+                addressDto.setAddressId((String) row[1]);
+                addressDto.setCity((String) row[2]);
+                addressDto.setCountry((String) row[3]);
+                addressDto.setStreetName((String) row[4]);
+                addressDto.setPostalCode((String) row[5]);
+                addressDto.setType((String) row[6]);
+                returnValue.get((Long) row[0]).getAddresses().add(addressDto);
+            }
+        }
+
+        if (expansions.contains("roles")) {
+            returnValue.values().forEach(userDto -> userDto.setRoles(new ArrayList<>()));
+            for (Object[] row : userRepository.findRoleNamesByIds(returnValue.keySet())) {
+                returnValue.get((Long) row[0]).getRoles().add((String) row[1]);
+            }
+        }
+
+        return new ArrayList<>(returnValue.values());
+    }
+
+    private long refreshConfirmedUserCount() {
+        long count = userRepository.countByEmailVerificationStatusTrue();
+        confirmedUserCounts.put(ShardContext.current(), new CachedCount(count, System.nanoTime()));
+        return count;
+    }
+
+    private static final class CachedCount {
+        private final long value;
+        private final long computedAtNanos;
+
+        private CachedCount(long value, long computedAtNanos) {
+            this.value = value;
+            this.computedAtNanos = computedAtNanos;
+        }
     }
 }
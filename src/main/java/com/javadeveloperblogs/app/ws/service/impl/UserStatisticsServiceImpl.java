@@ -0,0 +1,127 @@
+package com.javadeveloperblogs.app.ws.service.impl;
+
+import com.javadeveloperblogs.app.ws.io.Repository.AddressRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.UserRepository;
+import com.javadeveloperblogs.app.ws.io.sharding.ShardRouter;
+import com.javadeveloperblogs.app.ws.io.statistics.UserStatisticsCounters;
+import com.javadeveloperblogs.app.ws.service.UserStatisticsService;
+import com.javadeveloperblogs.app.ws.shared.dto.UserStatisticsDto;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Default implementation of the {@link UserStatisticsService} interface.
+ *
+ * <p>Statistics are served from {@link UserStatisticsCounters}, which entity lifecycle events
+ * keep current, so a request costs a map copy instead of COUNT/GROUP BY queries over the
+ * users and addresses tables.</p>
+ *
+ * <p>A scheduled reconcile (app.user-stats.reconcile-interval, default 5 minutes, first run at
+ * startup) recomputes the totals from the database and overwrites the counters. This corrects
+ * changes the listener cannot see: bulk JPQL/native updates, role changes on existing users
+ * and writes made by other instances. With sharding every shard is counted in parallel and
+ * the results are summed.</p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+public class UserStatisticsServiceImpl implements UserStatisticsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserStatisticsServiceImpl.class);
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    AddressRepository addressRepository;
+
+    @Autowired
+    UserStatisticsCounters counters;
+
+    @Autowired
+    ShardRouter shardRouter;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public UserStatisticsDto getStatistics() {
+        return counters.snapshot();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.user-stats.reconcile-interval:5m}")
+    public UserStatisticsDto reconcile() {
+        UserStatisticsDto actual = new UserStatisticsDto();
+        actual.setUsersByRole(new TreeMap<>());
+        actual.setAddressesByCountry(new TreeMap<>());
+        actual.setAddressesByType(new TreeMap<>());
+
+        // One read-only transaction per shard, in parallel; a single database is shard 0
+        for (UserStatisticsDto shard : shardRouter.onAllShards(shard -> readOnlyTransaction.execute(status -> countShard()))) {
+            actual.setTotalUsers(actual.getTotalUsers() + shard.getTotalUsers());
+            actual.setVerifiedUsers(actual.getVerifiedUsers() + shard.getVerifiedUsers());
+            actual.setTotalAddresses(actual.getTotalAddresses() + shard.getTotalAddresses());
+            shard.getUsersByRole().forEach((role, count) -> actual.getUsersByRole().merge(role, count, Long::sum));
+            shard.getAddressesByCountry().forEach((country, count) -> actual.getAddressesByCountry().merge(country, count, Long::sum));
+            shard.getAddressesByType().forEach((type, count) -> actual.getAddressesByType().merge(type, count, Long::sum));
+        }
+        long totalUsers = actual.getTotalUsers();
+        long verifiedUsers = actual.getVerifiedUsers();
+        actual.setUnverifiedUsers(totalUsers - verifiedUsers);
+        actual.setReconciledAt(Instant.now());
+
+        UserStatisticsDto previous = counters.snapshot();
+        counters.replace(actual);
+
+        if (previous.getReconciledAt() != null && (previous.getTotalUsers() != totalUsers
+                || previous.getVerifiedUsers() != verifiedUsers
+                || previous.getTotalAddresses() != actual.getTotalAddresses())) {
+            LOG.info("User statistics drift corrected: users {} -> {}, verified {} -> {}, addresses {} -> {}",
+                    previous.getTotalUsers(), totalUsers, previous.getVerifiedUsers(), verifiedUsers,
+                    previous.getTotalAddresses(), actual.getTotalAddresses());
+        }
+
+        return actual;
+    }
+
+    private UserStatisticsDto countShard() {
+        UserStatisticsDto returnValue = new UserStatisticsDto();
+        returnValue.setTotalUsers(userRepository.count());
+        returnValue.setVerifiedUsers(userRepository.countByEmailVerificationStatusTrue());
+        returnValue.setUsersByRole(toMap(userRepository.countUsersByRole()));
+        returnValue.setTotalAddresses(addressRepository.countByUserDetailsDeletedAtIsNull());
+        returnValue.setAddressesByCountry(toMap(addressRepository.countAddressesByCountry()));
+        returnValue.setAddressesByType(toMap(addressRepository.countAddressesByType()));
+        return returnValue;
+    }
+
+    private static Map<String, Long> toMap(List<Object[]> rows) {
+        Map<String, Long> returnValue = new TreeMap<>();
+        for (Object[] row : rows) {
+            returnValue.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return returnValue;
+    }
+}
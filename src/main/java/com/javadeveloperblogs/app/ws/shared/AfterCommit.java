@@ -0,0 +1,49 @@
+package com.javadeveloperblogs.app.ws.shared;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects of a write (counter updates, cache evictions, change events) until the
+ * surrounding transaction has committed, so a rollback never leaks them.
+ * Outside a transaction the action runs immediately.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public final class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	public static void run(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	/**
+	 * Runs the action once the surrounding transaction has ended, whether it committed or
+	 * rolled back, or immediately when there is none.
+	 */
+	public static void runAfterCompletion(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				action.run();
+			}
+		});
+	}
+}
@@ -0,0 +1,44 @@
+package com.javadeveloperblogs.app.ws.shared;
+
+import com.javadeveloperblogs.app.ws.io.entity.UserEntity;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Canonical form of email addresses, used wherever two emails must compare equal.
+ *
+ * An email is normalized by trimming it and lower-casing it with the root locale, so that
+ * "Jane.Doe@Example.com " and "jane.doe@example.com" belong to the same user. The normalized
+ * form is what the unique index on users.normalized_email, the shard directory and the login
+ * lockout tracker are keyed by; the email as entered is still stored and returned unchanged.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public final class Emails {
+
+	private Emails() {
+	}
+
+	/**
+	 * @return the normalized email, or null for null
+	 */
+	public static String normalize(String email) {
+		return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Whether the violation was raised by the unique constraint on users.normalized_email,
+	 * i.e. another user already has the email. Signups and imports insert users without
+	 * checking the email first, so this is how they tell a taken email from any other
+	 * violation.
+	 */
+	public static boolean isTaken(DataIntegrityViolationException e) {
+		String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+		return message != null
+				&& message.toLowerCase(Locale.ROOT).contains(UserEntity.NORMALIZED_EMAIL_CONSTRAINT);
+	}
+}
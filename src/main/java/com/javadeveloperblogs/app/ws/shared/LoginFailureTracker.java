@@ -0,0 +1,168 @@
+package com.javadeveloperblogs.app.ws.shared;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory failed-login counters per email, used to lock an account out after repeated
+ * failures without writing to the database on every failed attempt.
+ *
+ * Each email has a sliding-window counter made of the failures in the current fixed window and
+ * in the previous one, weighted by how much of the previous window still overlaps the sliding
+ * window. Old failures thus decay linearly instead of dropping off at a window boundary, and
+ * an entry costs two ints and two longs. When the estimate reaches app.login-lockout.max-failures
+ * the email is locked for app.login-lockout.lock-duration and its counters are reset.
+ *
+ * Entries live in app.login-lockout.stripes independently locked LRU maps, holding at most
+ * app.login-lockout.max-entries emails together. During a credential stuffing attack the
+ * least recently seen emails are evicted first; an evicted lockout is still enforced through
+ * UserEntity.lockedUntil, which is written when a lockout starts and cleared by the next
+ * successful login.
+ *
+ * Configuration:
+ * - app.login-lockout.max-failures: failures within one window that trigger a lockout (default 5)
+ * - app.login-lockout.window: length of the sliding window (default 15m)
+ * - app.login-lockout.lock-duration: how long a lockout lasts (default 15m)
+ * - app.login-lockout.max-entries: emails tracked at once (default 100000)
+ * - app.login-lockout.stripes: lock stripes (default 64)
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class LoginFailureTracker {
+
+	@Value("${app.login-lockout.max-failures:5}")
+	int maxFailures;
+
+	@Value("${app.login-lockout.window:15m}")
+	Duration window;
+
+	@Value("${app.login-lockout.lock-duration:15m}")
+	Duration lockDuration;
+
+	@Value("${app.login-lockout.max-entries:100000}")
+	int maxEntries;
+
+	@Value("${app.login-lockout.stripes:64}")
+	int stripeCount;
+
+	private Stripe[] stripes;
+	private long windowMillis;
+
+	@PostConstruct
+	void init() {
+		windowMillis = window.toMillis();
+		int perStripe = Math.max(1, maxEntries / stripeCount);
+		stripes = new Stripe[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			stripes[i] = new Stripe(perStripe);
+		}
+	}
+
+	/**
+	 * End of the email's lockout, or null when it is not locked.
+	 */
+	public Instant lockedUntil(String email) {
+		String key = key(email);
+		long now = System.currentTimeMillis();
+		Stripe stripe = stripe(key);
+		stripe.lock.lock();
+		try {
+			Failures failures = stripe.entries.get(key);
+			return failures != null && failures.lockedUntil > now ? Instant.ofEpochMilli(failures.lockedUntil) : null;
+		} finally {
+			stripe.lock.unlock();
+		}
+	}
+
+	/**
+	 * Counts a failed login.
+	 *
+	 * @return the end of the lockout when this failure started one, otherwise null
+	 */
+	public Instant recordFailure(String email) {
+		String key = key(email);
+		long now = System.currentTimeMillis();
+		Stripe stripe = stripe(key);
+		stripe.lock.lock();
+		try {
+			Failures failures = stripe.entries.computeIfAbsent(key, k -> new Failures());
+			if (failures.lockedUntil > now) return null;
+
+			failures.roll(now / windowMillis);
+			failures.current++;
+			double overlap = 1.0 - (double) (now % windowMillis) / windowMillis;
+			if (failures.previous * overlap + failures.current < maxFailures) return null;
+
+			failures.lockedUntil = now + lockDuration.toMillis();
+			failures.previous = 0;
+			failures.current = 0;
+			return Instant.ofEpochMilli(failures.lockedUntil);
+		} finally {
+			stripe.lock.unlock();
+		}
+	}
+
+	/**
+	 * Forgets the email's failures after a successful login.
+	 */
+	public void recordSuccess(String email) {
+		String key = key(email);
+		Stripe stripe = stripe(key);
+		stripe.lock.lock();
+		try {
+			stripe.entries.remove(key);
+		} finally {
+			stripe.lock.unlock();
+		}
+	}
+
+	private Stripe stripe(String key) {
+		int hash = key.hashCode();
+		return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+	}
+
+	private static String key(String email) {
+		return Emails.normalize(email);
+	}
+
+	private static final class Stripe {
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Map<String, Failures> entries;
+
+		private Stripe(int capacity) {
+			entries = new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Failures> eldest) {
+					return size() > capacity;
+				}
+			};
+		}
+	}
+
+	private static final class Failures {
+		private long window;
+		private int previous;
+		private int current;
+		private long lockedUntil;
+
+		/**
+		 * Moves the counters to the given fixed window.
+		 */
+		private void roll(long window) {
+			if (window == this.window) return;
+			previous = window == this.window + 1 ? current : 0;
+			current = 0;
+			this.window = window;
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package com.javadeveloperblogs.app.ws.shared;
+
+import com.javadeveloperblogs.app.ws.exception.UserException;
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+
+/**
+ * Page numbering of the listing endpoints.
+ *
+ * Pages are numbered from 1; page 1 holds the first limit rows. Page numbers below 1 and limits
+ * below 1 are rejected with {@link ErrorMessages#INVALID_PAGE} instead of being folded onto
+ * page 1, so every page number names a different page.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public final class Pages {
+
+	private Pages() {
+	}
+
+	/**
+	 * @return the zero-based page index of a page number
+	 */
+	public static int index(int page, int limit) {
+		if (page < 1 || limit < 1)
+			throw new UserException(ErrorMessages.INVALID_PAGE);
+
+		return page - 1;
+	}
+
+	/**
+	 * @return the number of rows before the first row of the page
+	 */
+	public static long offset(int page, int limit) {
+		return (long) index(page, limit) * limit;
+	}
+}
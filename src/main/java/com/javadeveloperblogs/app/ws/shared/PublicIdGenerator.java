@@ -0,0 +1,78 @@
+package com.javadeveloperblogs.app.ws.shared;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generator for time-ordered, compact public identifiers (userId, addressId).
+ *
+ * Each ID is 128 bits encoded as 26 Crockford base32 characters (0-9, A-Z without I, L, O, U):
+ * - 48 bits: milliseconds since the Unix epoch
+ * - 16 bits: per-millisecond sequence, so IDs generated by this JVM are strictly increasing
+ * - 64 bits: random
+ *
+ * Because the timestamp leads, new IDs sort after older ones, both as strings and as index
+ * keys, and inserts append to the right edge of the B-tree instead of splitting random pages.
+ * The alphabet is upper case only, so ordering and uniqueness also hold under case-insensitive
+ * collations, and the IDs are URL-safe.
+ *
+ * Generation is lock-free: the timestamp/sequence word is advanced with a CAS loop, and the
+ * random part comes from a per-thread SplittableRandom that is seeded once from SecureRandom,
+ * so callers never contend on a shared SecureRandom. The random part is not meant to be a
+ * secret; tokens that must be unguessable are still generated from SecureRandom by Utils.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public final class PublicIdGenerator {
+
+	public static final int LENGTH = 26;
+
+	private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+	private static final SecureRandom SEED_SOURCE = new SecureRandom();
+	private static final ThreadLocal<SplittableRandom> RANDOM =
+			ThreadLocal.withInitial(() -> new SplittableRandom(SEED_SOURCE.nextLong()));
+	private static final AtomicLong TIME_AND_SEQUENCE = new AtomicLong();
+
+	private PublicIdGenerator() {
+	}
+
+	/**
+	 * @return a new 26 character public ID, greater than every ID previously returned by this JVM
+	 */
+	public static String generate() {
+		return encode(nextTimeAndSequence(), RANDOM.get().nextLong());
+	}
+
+	private static long nextTimeAndSequence() {
+		long now = System.currentTimeMillis() << 16;
+		while (true) {
+			long previous = TIME_AND_SEQUENCE.get();
+			// A new millisecond restarts the sequence; otherwise increment, overflowing into the
+			// timestamp if more than 65536 IDs are requested within one millisecond.
+			long next = now > previous ? now : previous + 1;
+			if (TIME_AND_SEQUENCE.compareAndSet(previous, next)) {
+				return next;
+			}
+		}
+	}
+
+	static String encode(long high, long low) {
+		char[] out = new char[LENGTH];
+		for (int i = LENGTH - 1; i >= 0; i--) {
+			int shift = (LENGTH - 1 - i) * 5;
+			long bits;
+			if (shift + 5 <= 64) {
+				bits = low >>> shift;
+			} else if (shift >= 64) {
+				bits = high >>> (shift - 64);
+			} else {
+				bits = (low >>> shift) | (high << (64 - shift));
+			}
+			out[i] = ALPHABET[(int) (bits & 31)];
+		}
+		return new String(out);
+	}
+}
@@ -0,0 +1,130 @@
+package com.javadeveloperblogs.app.ws.shared;
+
+import com.javadeveloperblogs.app.ws.exception.UserException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent calls for the same key into one in-flight execution.
+ *
+ * The first caller for a key (the leader) runs the loader; callers arriving while it is in
+ * flight wait for its result. Once the leader finishes, the key is released and the
+ * next call loads again, so results are never cached beyond the in-flight window.
+ *
+ * Behaviour:
+ * - Every waiter receives its own copy of the result, made by the copier, so callers may
+ *   modify what they get back
+ * - Failures are propagated per key, other keys are unaffected. A {@link UserException} is
+ *   immutable (no stack trace, no suppression) and is rethrown as is; any other failure
+ *   reaches each waiter wrapped in its own IllegalStateException
+ * - Waiting is bounded by maxWait; a waiter that times out fails instead of piling up
+ * - Calls inside a read-write transaction run the loader themselves and are never shared:
+ *   they may see that transaction's uncommitted changes, and must see their own
+ *
+ * Metrics (tagged name=&lt;name&gt;):
+ * - single.flight.calls{result=executed|coalesced}: loads executed vs calls served by another load
+ * - single.flight.coalescing.ratio: share of calls that were coalesced
+ *
+ * @param <K> key type
+ * @param <V> result type
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class SingleFlight<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final long maxWaitNanos;
+	private final UnaryOperator<V> copier;
+	private final Counter executed;
+	private final Counter coalesced;
+
+	/**
+	 * For immutable results, which waiters can share as they are.
+	 */
+	public SingleFlight(String name, Duration maxWait, MeterRegistry meterRegistry) {
+		this(name, maxWait, UnaryOperator.identity(), meterRegistry);
+	}
+
+	public SingleFlight(String name, Duration maxWait, UnaryOperator<V> copier, MeterRegistry meterRegistry) {
+		this.maxWaitNanos = maxWait.toNanos();
+		this.copier = copier;
+		this.executed = Counter.builder("single.flight.calls")
+				.tag("name", name).tag("result", "executed")
+				.register(meterRegistry);
+		this.coalesced = Counter.builder("single.flight.calls")
+				.tag("name", name).tag("result", "coalesced")
+				.register(meterRegistry);
+		Gauge.builder("single.flight.coalescing.ratio", this, SingleFlight::coalescingRatio)
+				.tag("name", name)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Returns the result of the in-flight load for the key, or runs the loader if there is none.
+	 *
+	 * @param key    the key to coalesce on
+	 * @param loader the load to run when this caller becomes the leader
+	 * @return the loaded value
+	 */
+	public V execute(K key, Supplier<V> loader) {
+		if (TransactionSynchronizationManager.isActualTransactionActive()
+				&& !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			executed.increment();
+			return loader.get();
+		}
+
+		CompletableFuture<V> leader = new CompletableFuture<>();
+		CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+
+		if (existing == null) {
+			executed.increment();
+			try {
+				V value = loader.get();
+				leader.complete(value);
+				return value;
+			} catch (RuntimeException | Error e) {
+				leader.completeExceptionally(e);
+				throw e;
+			} finally {
+				inFlight.remove(key, leader);
+			}
+		}
+
+		coalesced.increment();
+		return await(existing);
+	}
+
+	private V await(CompletableFuture<V> existing) {
+		try {
+			V value = existing.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+			return value == null ? null : copier.apply(value);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof UserException userException) throw userException;
+			throw new IllegalStateException("In-flight lookup failed", cause);
+		} catch (TimeoutException e) {
+			throw new IllegalStateException("Timed out waiting for an in-flight lookup", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for an in-flight lookup", e);
+		}
+	}
+
+	private double coalescingRatio() {
+		double total = executed.count() + coalesced.count();
+		return total == 0 ? 0.0 : coalesced.count() / total;
+	}
+}
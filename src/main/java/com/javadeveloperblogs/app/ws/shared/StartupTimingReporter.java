@@ -0,0 +1,91 @@
+package com.javadeveloperblogs.app.ws.shared;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reports startup time and time-to-first-request, both measured from JVM start.
+ *
+ * Startup time is logged when the application is ready. Time-to-first-request is logged when
+ * the first HTTP request has been handled. With app.startup.self-test=true the reporter issues
+ * that first request itself against the liveness probe, and with
+ * app.startup.exit-after-self-test=true it then shuts the application down; the fast-startup
+ * Maven profile uses this to print both numbers as part of the build output.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class StartupTimingReporter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StartupTimingReporter.class);
+
+	private final AtomicBoolean firstRequestHandled = new AtomicBoolean();
+	private final ApplicationContext applicationContext;
+	private final boolean selfTest;
+	private final boolean exitAfterSelfTest;
+
+	public StartupTimingReporter(ApplicationContext applicationContext,
+								 @Value("${app.startup.self-test:false}") boolean selfTest,
+								 @Value("${app.startup.exit-after-self-test:false}") boolean exitAfterSelfTest) {
+		this.applicationContext = applicationContext;
+		this.selfTest = selfTest;
+		this.exitAfterSelfTest = exitAfterSelfTest;
+	}
+
+	@EventListener
+	public void onApplicationReady(ApplicationReadyEvent event) {
+		LOG.info("Startup: application ready in {} ms ({} ms since JVM start)",
+				event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1, jvmUptimeMillis());
+
+		if (selfTest) {
+			selfTest(event.getApplicationContext().getEnvironment().getProperty("local.server.port"));
+		}
+	}
+
+	@EventListener
+	public void onRequestHandled(ServletRequestHandledEvent event) {
+		if (firstRequestHandled.compareAndSet(false, true)) {
+			LOG.info("Startup: first request {} handled {} ms since JVM start ({} ms processing)",
+					event.getRequestUrl(), jvmUptimeMillis(), event.getProcessingTimeMillis());
+		}
+	}
+
+	private void selfTest(String port) {
+		try {
+			HttpClient client = HttpClient.newHttpClient();
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/liveness"))
+					.timeout(Duration.ofSeconds(30))
+					.build();
+			HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+			LOG.info("Startup: self-test request returned {} at {} ms since JVM start",
+					response.statusCode(), jvmUptimeMillis());
+		} catch (Exception e) {
+			LOG.warn("Startup: self-test request failed", e);
+		}
+
+		if (exitAfterSelfTest) {
+			System.exit(SpringApplication.exit(applicationContext, () -> 0));
+		}
+	}
+
+	private static long jvmUptimeMillis() {
+		return ManagementFactory.getRuntimeMXBean().getUptime();
+	}
+}
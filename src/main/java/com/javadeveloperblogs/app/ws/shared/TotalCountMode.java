@@ -0,0 +1,35 @@
+package com.javadeveloperblogs.app.ws.shared;
+
+import com.javadeveloperblogs.app.ws.exception.UserException;
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+
+import java.util.Locale;
+
+/**
+ * How a paged list request reports its total count.
+ *
+ * Values:
+ * - NONE: no total; the page only reports whether a next page exists (no COUNT query)
+ * - CACHED: a recently computed total, possibly stale by up to the configured TTL
+ * - EXACT: a COUNT query on every request
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public enum TotalCountMode {
+	NONE, CACHED, EXACT;
+
+	/**
+	 * Parses the total= request parameter, ignoring case and surrounding whitespace.
+	 *
+	 * @throws UserException with {@link ErrorMessages#INVALID_TOTAL_COUNT_MODE} for any other value
+	 */
+	public static TotalCountMode fromParameter(String value) {
+		String name = value.strip().toUpperCase(Locale.ROOT);
+		for (TotalCountMode mode : values()) {
+			if (mode.name().equals(name)) return mode;
+		}
+		throw new UserException(ErrorMessages.INVALID_TOTAL_COUNT_MODE);
+	}
+}
@@ -0,0 +1,121 @@
+package com.javadeveloperblogs.app.ws.shared;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded in-process cache of user profiles keyed by public userId.
+ *
+ * Single and multi-get lookups consult this cache before the database. A write marks its
+ * userId as pending until its transaction ends, and the entry is evicted once it commits, so
+ * a reader never re-caches data that is about to be rolled back.
+ *
+ * A load that read the previous version while the write was still in flight must not be
+ * cached after that eviction. Loaders therefore take a stamp with {@link #loadStamp(String)}
+ * before reading and hand it to {@link #put(UserDto, long)}, which drops the profile if a
+ * write to the same userId was pending or ended since the stamp was taken. Writes are tracked
+ * in lock stripes, so a write to another userId in the same stripe occasionally prevents
+ * caching too, but a stale profile is never cached.
+ *
+ * Profiles are copied on the way in and out, so callers may modify what they get back.
+ *
+ * Configuration:
+ * - app.user-profile-cache.max-size: maximum number of cached profiles (default 10000)
+ * - app.user-profile-cache.ttl: time to live after the profile was loaded (default 5m)
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class UserProfileCache {
+
+	private static final int STRIPES = 1024;
+
+	@Value("${app.user-profile-cache.max-size:10000}")
+	long maxSize;
+
+	@Value("${app.user-profile-cache.ttl:5m}")
+	Duration ttl;
+
+	private Cache<String, UserDto> profiles;
+	// Per stripe: writes ended so far, and writes whose transaction has not ended yet
+	private final AtomicLongArray endedWrites = new AtomicLongArray(STRIPES);
+	private final AtomicIntegerArray pendingWrites = new AtomicIntegerArray(STRIPES);
+
+	@PostConstruct
+	void init() {
+		profiles = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.build();
+	}
+
+	public UserDto get(String userId) {
+		UserDto user = profiles.getIfPresent(userId);
+		return user == null ? null : user.copy();
+	}
+
+	/**
+	 * Returns the cached profiles among the given ids; ids that are not cached are absent.
+	 */
+	public Map<String, UserDto> getAll(Iterable<String> userIds) {
+		Map<String, UserDto> returnValue = new HashMap<>();
+		profiles.getAllPresent(userIds).forEach((userId, user) -> returnValue.put(userId, user.copy()));
+		return returnValue;
+	}
+
+	/**
+	 * Taken before the profile is read from the database.
+	 */
+	public long loadStamp(String userId) {
+		return endedWrites.get(stripe(userId));
+	}
+
+	/**
+	 * Caches the profile unless a write to its userId was pending or ended since the stamp was
+	 * taken. The check is repeated after the put, so a write that ends in between still wins.
+	 */
+	public void put(UserDto user, long stamp) {
+		String userId = user.getUserId();
+		if (!unchangedSince(userId, stamp)) return;
+
+		profiles.put(userId, user.copy());
+
+		if (!unchangedSince(userId, stamp)) profiles.invalidate(userId);
+	}
+
+	/**
+	 * Marks the profile as being written until the current transaction ends, and evicts it once
+	 * the transaction commits, or immediately when there is none.
+	 */
+	public void evictAfterCommit(String userId) {
+		int stripe = stripe(userId);
+		pendingWrites.incrementAndGet(stripe);
+		AfterCommit.run(() -> profiles.invalidate(userId));
+		AfterCommit.runAfterCompletion(() -> {
+			endedWrites.incrementAndGet(stripe);
+			pendingWrites.decrementAndGet(stripe);
+		});
+	}
+
+	private boolean unchangedSince(String userId, long stamp) {
+		int stripe = stripe(userId);
+		return pendingWrites.get(stripe) == 0 && endedWrites.get(stripe) == stamp;
+	}
+
+	private static int stripe(String userId) {
+		int hash = userId.hashCode();
+		return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+	}
+}
@@ -0,0 +1,52 @@
+package com.javadeveloperblogs.app.ws.shared;
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Random;
+
+/**
+ * Utility component for generating public identifiers and one-time tokens.
+ *
+ * Public identifiers (userId, addressId) are exposed through the REST API instead of the
+ * internal database IDs; they are time-ordered and generated by {@link PublicIdGenerator}.
+ * Tokens are used for email verification and password reset links and stay fully random.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class Utils {
+
+	private static final int TOKEN_LENGTH = 40;
+	private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+	private final Random random = new SecureRandom();
+
+	public String generateUserId() {
+		return PublicIdGenerator.generate();
+	}
+
+	public String generateAddressId() {
+		return PublicIdGenerator.generate();
+	}
+
+	public String generateEmailVerificationToken() {
+		return generateRandomString(TOKEN_LENGTH);
+	}
+
+	public String generatePasswordResetToken() {
+		return generateRandomString(TOKEN_LENGTH);
+	}
+
+	private String generateRandomString(int length) {
+		StringBuilder returnValue = new StringBuilder(length);
+
+		for (int i = 0; i < length; i++) {
+			returnValue.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+		}
+
+		return returnValue.toString();
+	}
+}
@@ -73,4 +73,20 @@ public class AddressDTO {
 	public void setAddressId(String addressId) {
 		this.addressId = addressId;
 	}
+
+	/**
+	 * @return a copy of this address; the user it belongs to is shared, not copied
+	 */
+	public AddressDTO copy() {
+		AddressDTO copy = new AddressDTO();
+		copy.id = id;
+		copy.addressId = addressId;
+		copy.city = city;
+		copy.country = country;
+		copy.streetName = streetName;
+		copy.postalCode = postalCode;
+		copy.type = type;
+		copy.userDetails = userDetails;
+		return copy;
+	}
 }
@@ -0,0 +1,41 @@
+package com.javadeveloperblogs.app.ws.shared.dto;
+
+public class IdempotentResponseDto {
+
+	private int status;
+	private String contentType;
+	private byte[] body;
+	private String requestHash;
+	private boolean replayed;
+
+	public int getStatus() {
+		return status;
+	}
+	public void setStatus(int status) {
+		this.status = status;
+	}
+	public String getContentType() {
+		return contentType;
+	}
+	public void setContentType(String contentType) {
+		this.contentType = contentType;
+	}
+	public byte[] getBody() {
+		return body;
+	}
+	public void setBody(byte[] body) {
+		this.body = body;
+	}
+	public String getRequestHash() {
+		return requestHash;
+	}
+	public void setRequestHash(String requestHash) {
+		this.requestHash = requestHash;
+	}
+	public boolean isReplayed() {
+		return replayed;
+	}
+	public void setReplayed(boolean replayed) {
+		this.replayed = replayed;
+	}
+}
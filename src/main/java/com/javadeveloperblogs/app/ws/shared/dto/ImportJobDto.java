@@ -0,0 +1,95 @@
+package com.javadeveloperblogs.app.ws.shared.dto;
+
+import com.javadeveloperblogs.app.ws.shared.imports.ImportFormat;
+import com.javadeveloperblogs.app.ws.shared.imports.ImportJobStatus;
+
+import java.time.Instant;
+
+public class ImportJobDto {
+
+	private String jobId;
+	private String path;
+	private ImportFormat format;
+	private ImportJobStatus status;
+	private long recordsRead;
+	private long imported;
+	private long skipped;
+	private long failed;
+	private String firstError;
+	private double recordsPerSecond;
+	private Instant createdAt;
+	private Instant finishedAt;
+
+	public String getJobId() {
+		return jobId;
+	}
+	public void setJobId(String jobId) {
+		this.jobId = jobId;
+	}
+	public String getPath() {
+		return path;
+	}
+	public void setPath(String path) {
+		this.path = path;
+	}
+	public ImportFormat getFormat() {
+		return format;
+	}
+	public void setFormat(ImportFormat format) {
+		this.format = format;
+	}
+	public ImportJobStatus getStatus() {
+		return status;
+	}
+	public void setStatus(ImportJobStatus status) {
+		this.status = status;
+	}
+	public long getRecordsRead() {
+		return recordsRead;
+	}
+	public void setRecordsRead(long recordsRead) {
+		this.recordsRead = recordsRead;
+	}
+	public long getImported() {
+		return imported;
+	}
+	public void setImported(long imported) {
+		this.imported = imported;
+	}
+	public long getSkipped() {
+		return skipped;
+	}
+	public void setSkipped(long skipped) {
+		this.skipped = skipped;
+	}
+	public long getFailed() {
+		return failed;
+	}
+	public void setFailed(long failed) {
+		this.failed = failed;
+	}
+	public String getFirstError() {
+		return firstError;
+	}
+	public void setFirstError(String firstError) {
+		this.firstError = firstError;
+	}
+	public double getRecordsPerSecond() {
+		return recordsPerSecond;
+	}
+	public void setRecordsPerSecond(double recordsPerSecond) {
+		this.recordsPerSecond = recordsPerSecond;
+	}
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+	public void setFinishedAt(Instant finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+}
@@ -0,0 +1,30 @@
+package com.javadeveloperblogs.app.ws.shared.dto;
+
+import java.time.Instant;
+
+public class SessionDto {
+
+	private String userId;
+	private String refreshToken;
+	private Instant expiresAt;
+
+	public String getUserId() {
+		return userId;
+	}
+	public void setUserId(String userId) {
+		this.userId = userId;
+	}
+	public String getRefreshToken() {
+		return refreshToken;
+	}
+	public void setRefreshToken(String refreshToken) {
+		this.refreshToken = refreshToken;
+	}
+	public Instant getExpiresAt() {
+		return expiresAt;
+	}
+	public void setExpiresAt(Instant expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+}
@@ -1,6 +1,8 @@
 package com.javadeveloperblogs.app.ws.shared.dto;
 
 import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -18,6 +20,7 @@ public class UserDto implements Serializable{
     private Boolean emailVerificationStatus = false;
     private List<AddressDTO> addresses;
     private Collection<String> roles;
+    private Instant lockedUntil;
     
 	public long getId() {
 		return id;
@@ -85,6 +88,40 @@ public class UserDto implements Serializable{
 	public void setRoles(Collection<String> roles) {
 		this.roles = roles;
 	}
+	public Instant getLockedUntil() {
+		return lockedUntil;
+	}
+	public void setLockedUntil(Instant lockedUntil) {
+		this.lockedUntil = lockedUntil;
+	}
+
+	/**
+	 * @return a copy that shares no mutable state with this user: addresses and roles are copied
+	 *         too, and addresses pointing back to this user point to the copy
+	 */
+	public UserDto copy() {
+		UserDto copy = new UserDto();
+		copy.id = id;
+		copy.userId = userId;
+		copy.firstName = firstName;
+		copy.lastName = lastName;
+		copy.email = email;
+		copy.password = password;
+		copy.encryptedPassword = encryptedPassword;
+		copy.emailVerificationToken = emailVerificationToken;
+		copy.emailVerificationStatus = emailVerificationStatus;
+		copy.lockedUntil = lockedUntil;
+		if (roles != null) copy.roles = new ArrayList<>(roles);
+		if (addresses != null) {
+			copy.addresses = new ArrayList<>(addresses.size());
+			for (AddressDTO address : addresses) {
+				AddressDTO addressCopy = address.copy();
+				if (address.getUserDetails() == this) addressCopy.setUserDetails(copy);
+				copy.addresses.add(addressCopy);
+			}
+		}
+		return copy;
+	}
     
     
     
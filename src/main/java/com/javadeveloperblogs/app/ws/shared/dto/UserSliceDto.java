@@ -0,0 +1,17 @@
+package com.javadeveloperblogs.app.ws.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSliceDto {
+
+	private List<UserDto> users;
+	private boolean hasNext;
+	private Long totalCount;
+}
@@ -0,0 +1,65 @@
+package com.javadeveloperblogs.app.ws.shared.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+public class UserStatisticsDto {
+
+	private long totalUsers;
+	private long verifiedUsers;
+	private long unverifiedUsers;
+	private Map<String, Long> usersByRole;
+	private long totalAddresses;
+	private Map<String, Long> addressesByCountry;
+	private Map<String, Long> addressesByType;
+	private Instant reconciledAt;
+
+	public long getTotalUsers() {
+		return totalUsers;
+	}
+	public void setTotalUsers(long totalUsers) {
+		this.totalUsers = totalUsers;
+	}
+	public long getVerifiedUsers() {
+		return verifiedUsers;
+	}
+	public void setVerifiedUsers(long verifiedUsers) {
+		this.verifiedUsers = verifiedUsers;
+	}
+	public long getUnverifiedUsers() {
+		return unverifiedUsers;
+	}
+	public void setUnverifiedUsers(long unverifiedUsers) {
+		this.unverifiedUsers = unverifiedUsers;
+	}
+	public Map<String, Long> getUsersByRole() {
+		return usersByRole;
+	}
+	public void setUsersByRole(Map<String, Long> usersByRole) {
+		this.usersByRole = usersByRole;
+	}
+	public long getTotalAddresses() {
+		return totalAddresses;
+	}
+	public void setTotalAddresses(long totalAddresses) {
+		this.totalAddresses = totalAddresses;
+	}
+	public Map<String, Long> getAddressesByCountry() {
+		return addressesByCountry;
+	}
+	public void setAddressesByCountry(Map<String, Long> addressesByCountry) {
+		this.addressesByCountry = addressesByCountry;
+	}
+	public Map<String, Long> getAddressesByType() {
+		return addressesByType;
+	}
+	public void setAddressesByType(Map<String, Long> addressesByType) {
+		this.addressesByType = addressesByType;
+	}
+	public Instant getReconciledAt() {
+		return reconciledAt;
+	}
+	public void setReconciledAt(Instant reconciledAt) {
+		this.reconciledAt = reconciledAt;
+	}
+}
@@ -0,0 +1,32 @@
+package com.javadeveloperblogs.app.ws.shared.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Immutable notification that a user changed.
+ *
+ * Events carry only the public userId; subscribers that need the new state fetch it,
+ * typically through the batched GET /users?ids= lookup.
+ *
+ * Fields:
+ * - sequence: Position on the event bus, strictly increasing within one application run
+ * - type: What happened to the user
+ * - userId: Public ID of the affected user
+ * - occurredAt: When the change was committed
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Getter
+@AllArgsConstructor
+public class UserChangeEvent {
+	private final long sequence;
+	private final UserEventType type;
+	private final String userId;
+	private final Instant occurredAt;
+
+}
@@ -0,0 +1,291 @@
+package com.javadeveloperblogs.app.ws.shared.events;
+
+import com.javadeveloperblogs.app.ws.exception.ServiceBusyException;
+import com.javadeveloperblogs.app.ws.shared.AfterCommit;
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-process, bounded, lock-free event bus for user changes.
+ *
+ * Events live in a fixed-size ring buffer indexed by sequence number. Publishers claim a
+ * sequence with a single atomic increment and write their slot; they never block and never
+ * wait for subscribers. When the ring wraps, the oldest events are overwritten, so a
+ * subscriber that falls more than app.user-events.buffer-size events behind is told about the
+ * gap and skips ahead instead of slowing publishers down.
+ *
+ * Subscriptions hold no thread of their own. A publish schedules every subscription that is
+ * not already scheduled on a shared dispatcher of app.user-events.dispatcher-threads threads.
+ * A scheduled subscription delivers up to app.user-events.batch-size consecutive events per
+ * call, so a burst of changes reaches a subscriber as a few batches rather than one call per
+ * event. After at most a few batches it yields its thread to the other subscriptions, and is
+ * scheduled again if it has not caught up. Idle subscriptions cost nothing but their cursor,
+ * and a slow subscriber only ever occupies one dispatcher thread.
+ *
+ * Positions handed to clients have the form &lt;run&gt;:&lt;sequence&gt;. Sequences restart with
+ * every application run, and the run prefix lets a resuming client detect that.
+ *
+ * Configuration:
+ * - app.user-events.buffer-size: ring capacity, rounded up to a power of two (default 8192)
+ * - app.user-events.batch-size: maximum events per delivery (default 256)
+ * - app.user-events.max-subscribers: concurrent subscriptions (default 64)
+ * - app.user-events.dispatcher-threads: threads delivering to all subscriptions (default 0, one per core)
+ *
+ * Metrics:
+ * - user.events.published: events published
+ * - user.events.gaps: times a subscriber lost events to an overwrite
+ * - user.events.subscribers: active subscriptions
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class UserEventBus implements DisposableBean {
+
+	private static final Logger LOG = LoggerFactory.getLogger(UserEventBus.class);
+	// Batches one subscription may deliver before it yields its dispatcher thread
+	private static final int BATCHES_PER_TURN = 4;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Value("${app.user-events.buffer-size:8192}")
+	int bufferSize;
+
+	@Value("${app.user-events.batch-size:256}")
+	int batchSize;
+
+	@Value("${app.user-events.max-subscribers:64}")
+	int maxSubscribers;
+
+	@Value("${app.user-events.dispatcher-threads:0}")
+	int dispatcherThreads;
+
+	private final String run = Long.toString(System.currentTimeMillis(), 36);
+	private final AtomicLong nextSequence = new AtomicLong();
+	private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+	private AtomicReferenceArray<UserChangeEvent> ring;
+	private int mask;
+	private ExecutorService dispatcher;
+	private Counter published;
+	private Counter gaps;
+
+	@PostConstruct
+	void init() {
+		int capacity = Integer.highestOneBit(Math.max(2, bufferSize) - 1) << 1;
+		ring = new AtomicReferenceArray<>(capacity);
+		mask = capacity - 1;
+
+		int threads = dispatcherThreads > 0 ? dispatcherThreads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger threadNumber = new AtomicInteger();
+		// Unbounded queue, but a subscription is queued at most once at a time
+		dispatcher = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "user-events-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		published = Counter.builder("user.events.published").register(meterRegistry);
+		gaps = Counter.builder("user.events.gaps").register(meterRegistry);
+		Gauge.builder("user.events.subscribers", subscriptions, Set::size).register(meterRegistry);
+	}
+
+	/**
+	 * Appends an event and schedules the subscriptions for delivery. Never blocks.
+	 */
+	public long publish(UserEventType type, String userId) {
+		long sequence = nextSequence.getAndIncrement();
+		ring.set(index(sequence), new UserChangeEvent(sequence, type, userId, Instant.now()));
+		published.increment();
+
+		for (Subscription subscription : subscriptions) {
+			subscription.schedule();
+		}
+		return sequence;
+	}
+
+	/**
+	 * Publishes once the current transaction commits, so rolled back changes are never announced.
+	 */
+	public void publishAfterCommit(UserEventType type, String userId) {
+		AfterCommit.run(() -> publish(type, userId));
+	}
+
+	/**
+	 * Sequence the next published event will get.
+	 */
+	public long headSequence() {
+		return nextSequence.get();
+	}
+
+	/**
+	 * Oldest sequence still held in the ring.
+	 */
+	public long oldestRetainedSequence() {
+		return Math.max(0, nextSequence.get() - ring.length());
+	}
+
+	/**
+	 * Client-facing position of an event, used as the SSE event id.
+	 */
+	public String position(long sequence) {
+		return run + ":" + sequence;
+	}
+
+	/**
+	 * Sequence to resume from after the given position, or -1 when the position is malformed
+	 * or belongs to an earlier application run.
+	 */
+	public long resumeSequence(String position) {
+		int separator = position.indexOf(':');
+		if (separator < 0 || !run.equals(position.substring(0, separator))) return -1;
+		try {
+			long sequence = Long.parseLong(position.substring(separator + 1));
+			return sequence >= 0 && sequence < nextSequence.get() ? sequence + 1 : -1;
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Starts delivering events from fromSequence on the shared dispatcher.
+	 *
+	 * @throws ServiceBusyException when app.user-events.max-subscribers subscriptions are active
+	 */
+	public Subscription subscribe(long fromSequence, UserEventSubscriber subscriber) {
+		if (subscriberCount.incrementAndGet() > maxSubscribers) {
+			subscriberCount.decrementAndGet();
+			throw new ServiceBusyException(ErrorMessages.TOO_MANY_SUBSCRIBERS);
+		}
+
+		Subscription subscription = new Subscription(fromSequence, subscriber);
+		subscriptions.add(subscription);
+		subscription.schedule();
+		return subscription;
+	}
+
+	@Override
+	public void destroy() {
+		for (Subscription subscription : subscriptions) {
+			subscription.cancel();
+		}
+		dispatcher.shutdownNow();
+	}
+
+	private int index(long sequence) {
+		return (int) (sequence & mask);
+	}
+
+	/**
+	 * One subscriber's cursor. Runs on the dispatcher only while it has events to deliver.
+	 */
+	public final class Subscription implements Runnable {
+
+		private final UserEventSubscriber subscriber;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		private final AtomicBoolean ended = new AtomicBoolean();
+		private volatile boolean cancelled;
+		// Only touched by the dispatcher thread currently running this subscription
+		private final List<UserChangeEvent> batch = new ArrayList<>();
+		private long cursor;
+
+		private Subscription(long fromSequence, UserEventSubscriber subscriber) {
+			this.cursor = fromSequence;
+			this.subscriber = subscriber;
+		}
+
+		public void cancel() {
+			cancelled = true;
+			end();
+		}
+
+		private void schedule() {
+			if (cancelled || !scheduled.compareAndSet(false, true)) return;
+			try {
+				dispatcher.execute(this);
+			} catch (RejectedExecutionException e) {
+				// Shutting down
+				scheduled.set(false);
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				for (int turn = 0; turn < BATCHES_PER_TURN && !cancelled; turn++) {
+					if (!deliverBatch()) break;
+				}
+			} catch (Exception e) {
+				LOG.debug("User event subscription ended: {}", e.toString());
+				cancel();
+			}
+
+			long position = cursor;
+			scheduled.set(false);
+			// An event published while this turn ran could not schedule it again
+			if (!cancelled && hasPending(position)) schedule();
+		}
+
+		/**
+		 * @return whether anything was delivered
+		 */
+		private boolean deliverBatch() throws Exception {
+			long oldest = oldestRetainedSequence();
+			if (cursor < oldest) {
+				gaps.increment();
+				subscriber.onGap(cursor, oldest);
+				cursor = oldest;
+			}
+
+			batch.clear();
+			while (batch.size() < batchSize) {
+				UserChangeEvent event = ring.get(index(cursor));
+				// Unwritten slot, or one already overwritten by a later lap (reported as a gap next round)
+				if (event == null || event.getSequence() != cursor) break;
+				batch.add(event);
+				cursor++;
+			}
+
+			if (batch.isEmpty()) return false;
+			subscriber.onEvents(batch);
+			return true;
+		}
+
+		private boolean hasPending(long position) {
+			if (position < oldestRetainedSequence()) return true;
+			UserChangeEvent event = ring.get(index(position));
+			return event != null && event.getSequence() == position;
+		}
+
+		private void end() {
+			if (ended.compareAndSet(false, true)) {
+				subscriptions.remove(this);
+				subscriberCount.decrementAndGet();
+			}
+		}
+	}
+}
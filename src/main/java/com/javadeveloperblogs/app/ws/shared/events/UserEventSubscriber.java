@@ -0,0 +1,25 @@
+package com.javadeveloperblogs.app.ws.shared.events;
+
+import java.util.List;
+
+/**
+ * Consumer of user change events, fed in batches by a {@link UserEventBus} subscription.
+ * Throwing from either method ends the subscription.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public interface UserEventSubscriber {
+
+	/**
+	 * Delivers consecutive events in sequence order. The list is reused after the call returns.
+	 */
+	void onEvents(List<UserChangeEvent> batch) throws Exception;
+
+	/**
+	 * Signals that events from missedFrom (inclusive) to resumedAt (exclusive) were overwritten
+	 * before they could be delivered; delivery continues at resumedAt.
+	 */
+	void onGap(long missedFrom, long resumedAt) throws Exception;
+}
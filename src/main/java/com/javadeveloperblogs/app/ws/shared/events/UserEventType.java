@@ -0,0 +1,16 @@
+package com.javadeveloperblogs.app.ws.shared.events;
+
+/**
+ * Kinds of user changes published on the {@link UserEventBus}.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public enum UserEventType {
+	CREATED,
+	UPDATED,
+	DELETED,
+	EMAIL_VERIFIED,
+	PASSWORD_RESET
+}
@@ -0,0 +1,163 @@
+package com.javadeveloperblogs.app.ws.shared.imports;
+
+import com.javadeveloperblogs.app.ws.ui.model.request.AddressRequestModel;
+import com.javadeveloperblogs.app.ws.ui.model.request.UserDetailsRequestModel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads user records from RFC 4180 CSV: comma separated, fields optionally enclosed in double
+ * quotes, "" for a quote inside a quoted field, quoted fields may span lines.
+ *
+ * The header row maps columns to UserDetailsRequestModel fields. Address columns are named
+ * addresses[&lt;index&gt;].&lt;field&gt; with an index below {@link UserRecordReader#MAX_ADDRESSES};
+ * an address whose columns are all empty is left out. A header with a larger index is rejected,
+ * since every row allocates one slot per index.
+ * Unknown columns are ignored.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class CsvUserRecordReader implements UserRecordReader {
+
+	private static final Pattern ADDRESS_COLUMN = Pattern.compile("addresses\\[(\\d{1,9})]\\.(\\w+)");
+
+	private final BufferedReader reader;
+	private final String[] header;
+	private final int addressCount;
+	private final StringBuilder field = new StringBuilder();
+
+	/**
+	 * @throws IOException if the header has an address column with an index of
+	 *                     {@link UserRecordReader#MAX_ADDRESSES} or more
+	 */
+	public CsvUserRecordReader(BufferedReader reader) throws IOException {
+		this.reader = reader;
+		List<String> columns = readRow();
+		this.header = columns != null ? columns.toArray(new String[0]) : new String[0];
+
+		int maxIndex = -1;
+		for (String column : header) {
+			Matcher matcher = ADDRESS_COLUMN.matcher(column.trim());
+			if (!matcher.matches()) continue;
+
+			int index = Integer.parseInt(matcher.group(1));
+			if (index >= MAX_ADDRESSES)
+				throw new IOException("Column " + column.trim() + " exceeds the limit of " + MAX_ADDRESSES + " addresses");
+			maxIndex = Math.max(maxIndex, index);
+		}
+		this.addressCount = maxIndex + 1;
+	}
+
+	@Override
+	public UserDetailsRequestModel next() throws IOException, MalformedRecordException {
+		List<String> row = readRow();
+		if (row == null) return null;
+		if (row.size() != header.length)
+			throw new MalformedRecordException("Expected " + header.length + " columns but found " + row.size());
+
+		UserDetailsRequestModel returnValue = new UserDetailsRequestModel();
+		AddressRequestModel[] addresses = new AddressRequestModel[addressCount];
+
+		for (int i = 0; i < header.length; i++) {
+			String column = header[i].trim();
+			String value = row.get(i).isEmpty() ? null : row.get(i);
+
+			switch (column) {
+				case "firstName" -> returnValue.setFirstName(value);
+				case "lastName" -> returnValue.setLastName(value);
+				case "email" -> returnValue.setEmail(value);
+				case "password" -> returnValue.setPassword(value);
+				default -> {
+					Matcher matcher = ADDRESS_COLUMN.matcher(column);
+					if (value != null && matcher.matches()) {
+						int index = Integer.parseInt(matcher.group(1));
+						if (addresses[index] == null) addresses[index] = new AddressRequestModel();
+						setAddressField(addresses[index], matcher.group(2), value);
+					}
+				}
+			}
+		}
+
+		List<AddressRequestModel> addressList = new ArrayList<>();
+		for (AddressRequestModel address : addresses) {
+			if (address != null) addressList.add(address);
+		}
+		returnValue.setAddresses(addressList);
+
+		return returnValue;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private static void setAddressField(AddressRequestModel address, String name, String value) {
+		switch (name) {
+			case "city" -> address.setCity(value);
+			case "country" -> address.setCountry(value);
+			case "streetName" -> address.setStreetName(value);
+			case "postalCode" -> address.setPostalCode(value);
+			case "type" -> address.setType(value);
+			default -> { }
+		}
+	}
+
+	/**
+	 * @return the fields of the next row, or null at the end of the input
+	 */
+	private List<String> readRow() throws IOException {
+		List<String> row = new ArrayList<>();
+		field.setLength(0);
+		boolean quoted = false;
+		boolean sawAnything = false;
+
+		int c;
+		while ((c = reader.read()) != -1) {
+			sawAnything = true;
+			if (quoted) {
+				if (c == '"') {
+					reader.mark(1);
+					if (reader.read() == '"') {
+						field.append('"');
+					} else {
+						reader.reset();
+						quoted = false;
+					}
+				} else {
+					field.append((char) c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				row.add(field.toString());
+				field.setLength(0);
+			} else if (c == '\n' || c == '\r') {
+				if (c == '\r') {
+					reader.mark(1);
+					if (reader.read() != '\n') reader.reset();
+				}
+				if (row.isEmpty() && field.length() == 0) {
+					// Blank line
+					sawAnything = false;
+					continue;
+				}
+				row.add(field.toString());
+				return row;
+			} else {
+				field.append((char) c);
+			}
+		}
+
+		if (!sawAnything) return null;
+		row.add(field.toString());
+		return row;
+	}
+}
@@ -0,0 +1,27 @@
+package com.javadeveloperblogs.app.ws.shared.imports;
+
+/**
+ * File formats accepted by the user import.
+ *
+ * - CSV: header row naming the UserDetailsRequestModel fields (firstName, lastName, email,
+ *   password); addresses use indexed columns such as addresses[0].city, addresses[1].type
+ * - NDJSON: one UserDetailsRequestModel JSON object per line, addresses as a nested array
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public enum ImportFormat {
+	CSV,
+	NDJSON;
+
+	/**
+	 * Format implied by the file extension (.csv, .ndjson, .jsonl), or null if unknown.
+	 */
+	public static ImportFormat fromFileName(String fileName) {
+		String name = fileName.toLowerCase();
+		if (name.endsWith(".csv")) return CSV;
+		if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) return NDJSON;
+		return null;
+	}
+}
@@ -0,0 +1,15 @@
+package com.javadeveloperblogs.app.ws.shared.imports;
+
+/**
+ * Lifecycle of a user import job. RUNNING jobs found at startup were interrupted by a crash
+ * or shutdown and are resumed from their checkpoint.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public enum ImportJobStatus {
+	RUNNING,
+	COMPLETED,
+	FAILED
+}
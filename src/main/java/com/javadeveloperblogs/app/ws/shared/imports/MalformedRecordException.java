@@ -0,0 +1,18 @@
+package com.javadeveloperblogs.app.ws.shared.imports;
+
+/**
+ * Thrown by a {@link UserRecordReader} for a record it could not parse. The record has been
+ * consumed, so reading can continue with the next one.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class MalformedRecordException extends Exception {
+
+	private static final long serialVersionUID = -1702398553624812941L;
+
+	public MalformedRecordException(String message) {
+		super(message, null, false, false);
+	}
+}
@@ -0,0 +1,46 @@
+package com.javadeveloperblogs.app.ws.shared.imports;
+
+import com.javadeveloperblogs.app.ws.ui.model.request.UserDetailsRequestModel;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads one UserDetailsRequestModel JSON object per line. Blank lines are ignored.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class NdjsonUserRecordReader implements UserRecordReader {
+
+	private final BufferedReader reader;
+	private final JsonMapper jsonMapper;
+
+	public NdjsonUserRecordReader(BufferedReader reader, JsonMapper jsonMapper) {
+		this.reader = reader;
+		this.jsonMapper = jsonMapper;
+	}
+
+	@Override
+	public UserDetailsRequestModel next() throws IOException, MalformedRecordException {
+		String line;
+		do {
+			line = reader.readLine();
+			if (line == null) return null;
+		} while (line.isBlank());
+
+		try {
+			return jsonMapper.readValue(line, UserDetailsRequestModel.class);
+		} catch (JacksonException e) {
+			throw new MalformedRecordException(e.getOriginalMessage());
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
@@ -0,0 +1,35 @@
+package com.javadeveloperblogs.app.ws.shared.imports;
+
+import com.javadeveloperblogs.app.ws.ui.model.request.UserDetailsRequestModel;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streaming reader of user records from an import file. Holds only the current record in
+ * memory, so files of any size can be read.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public interface UserRecordReader extends Closeable {
+
+	// Most addresses a record may carry; also bounds the addresses[<index>] columns of a CSV file
+	int MAX_ADDRESSES = 20;
+
+	/**
+	 * @return the next record, or null at the end of the file
+	 * @throws MalformedRecordException if the next record cannot be parsed; it is skipped
+	 */
+	UserDetailsRequestModel next() throws IOException, MalformedRecordException;
+
+	static UserRecordReader open(ImportFormat format, BufferedReader reader, JsonMapper jsonMapper) throws IOException {
+		return switch (format) {
+			case CSV -> new CsvUserRecordReader(reader);
+			case NDJSON -> new NdjsonUserRecordReader(reader, jsonMapper);
+		};
+	}
+}
@@ -1,4 +1,64 @@
 package com.javadeveloperblogs.app.ws.ui.controller;
 
+import com.javadeveloperblogs.app.ws.service.AuthenticationService;
+import com.javadeveloperblogs.app.ws.shared.dto.SessionDto;
+import com.javadeveloperblogs.app.ws.ui.model.request.LoginRequestModel;
+import com.javadeveloperblogs.app.ws.ui.model.request.RefreshTokenRequestModel;
+import com.javadeveloperblogs.app.ws.ui.model.response.OperationStatusModel;
+import com.javadeveloperblogs.app.ws.ui.model.response.RequestOperationStatus;
+import com.javadeveloperblogs.app.ws.ui.model.response.SessionRest;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Login, token refresh and logout.
+ * <p>
+ * A successful login returns a refresh token; POST /auth/refresh exchanges it for a new one
+ * and POST /auth/logout ends the session. Refresh and logout are served from the in-memory
+ * session store without touching the database.
+ * </p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@RestController
+@RequestMapping("/auth") // http://localhost:8080/auth
 public class AuthenticationController {
+
+    @Autowired
+    AuthenticationService authenticationService;
+
+    @Autowired
+    ModelMapper modelMapper;
+
+    @PostMapping(path = "/login",
+            consumes = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE },
+            produces = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public SessionRest login(@RequestBody LoginRequestModel loginDetails) {
+        SessionDto session = authenticationService.login(loginDetails.getEmail(), loginDetails.getPassword());
+        return modelMapper.map(session, SessionRest.class);
+    }
+
+    @PostMapping(path = "/refresh",
+            consumes = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE },
+            produces = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public SessionRest refresh(@RequestBody RefreshTokenRequestModel refreshDetails) {
+        SessionDto session = authenticationService.refresh(refreshDetails.getRefreshToken());
+        return modelMapper.map(session, SessionRest.class);
+    }
+
+    @PostMapping(path = "/logout",
+            consumes = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE },
+            produces = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public OperationStatusModel logout(@RequestBody RefreshTokenRequestModel logoutDetails) {
+        authenticationService.logout(logoutDetails.getRefreshToken());
+
+        OperationStatusModel returnValue = new OperationStatusModel();
+        returnValue.setOperationName(RequestOperationName.LOGOUT.name());
+        returnValue.setOperationResult(RequestOperationStatus.SUCCESS.name());
+        return returnValue;
+    }
 }
@@ -0,0 +1,62 @@
+package com.javadeveloperblogs.app.ws.ui.controller;
+
+import com.javadeveloperblogs.app.ws.service.ReactiveUserService;
+import com.javadeveloperblogs.app.ws.ui.model.response.AddressesRest;
+import com.javadeveloperblogs.app.ws.ui.model.response.UserRest;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read API for users, mirroring the read endpoints of {@link UserController}.
+ * <p>
+ * Handlers return {@link Mono}/{@link Flux} backed by R2DBC, so Spring MVC completes the
+ * response asynchronously and the servlet thread goes back to the pool while the
+ * database works. Concurrency is therefore bounded by database connections rather than request
+ * threads. Responses use the same {@link UserRest}/{@link AddressesRest} models as the
+ * blocking endpoints.
+ * </p>
+ *
+ * <p><b>Endpoints:</b></p>
+ * <ul>
+ *     <li>GET /reactive/users/{id}</li>
+ *     <li>GET /reactive/users?page=&amp;limit=</li>
+ *     <li>GET /reactive/users/{id}/addresses</li>
+ * </ul>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@RestController
+@RequestMapping("/reactive/users") // http://localhost:8080/reactive/users
+public class ReactiveUserController {
+
+    @Autowired
+    ReactiveUserService reactiveUserService;
+
+    @Autowired
+    ModelMapper modelMapper;
+
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<UserRest> getUser(@PathVariable String id) {
+        return reactiveUserService.getUserByUserId(id)
+                .map(userDto -> modelMapper.map(userDto, UserRest.class));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<UserRest> getUsers(@RequestParam(value = "page", defaultValue = "1") int page,
+                                   @RequestParam(value = "limit", defaultValue = "2") int limit) {
+        return reactiveUserService.getUsers(page, limit)
+                .map(userDto -> modelMapper.map(userDto, UserRest.class));
+    }
+
+    @GetMapping(path = "/{id}/addresses", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<AddressesRest> getUserAddresses(@PathVariable String id) {
+        return reactiveUserService.getAddresses(id)
+                .map(addressDto -> modelMapper.map(addressDto, AddressesRest.class));
+    }
+}
@@ -4,5 +4,6 @@ public enum RequestOperationName {
     DELETE,
     VERIFY_EMAIL,
     REQUEST_PASSWORD_RESET,
-    PASSWORD_RESET
+    PASSWORD_RESET,
+    LOGOUT
 }
@@ -1,9 +1,14 @@
 package com.javadeveloperblogs.app.ws.ui.controller;
 
+import com.javadeveloperblogs.app.ws.security.PreAuthorize;
 import com.javadeveloperblogs.app.ws.service.AddressService;
 import com.javadeveloperblogs.app.ws.service.UserService;
+import com.javadeveloperblogs.app.ws.service.UserStatisticsService;
+import com.javadeveloperblogs.app.ws.shared.TotalCountMode;
 import com.javadeveloperblogs.app.ws.shared.dto.AddressDTO;
 import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import com.javadeveloperblogs.app.ws.shared.dto.UserSliceDto;
+import com.javadeveloperblogs.app.ws.shared.dto.UserStatisticsDto;
 import com.javadeveloperblogs.app.ws.ui.model.request.*;
 import com.javadeveloperblogs.app.ws.ui.model.response.*;
 import org.modelmapper.ModelMapper;
@@ -14,7 +19,9 @@ import org.springframework.web.bind.annotation.*;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller responsible for handling all user-related API operations.
@@ -59,19 +66,30 @@ public class UserController {
     @Autowired
     AddressService addressesService;
 
-    /*@PostAuthorize("hasRole('ADMIN') or returnObject.userId == principal.userId")
-    @ApiOperation(value="The Get User Details Web Service Endpoint",
+    @Autowired
+    UserStatisticsService userStatisticsService;
+
+    @Autowired
+    ModelMapper modelMapper;
+
+    @PreAuthorize("hasRole('ADMIN') or #id == principal.userId")
+    /*@ApiOperation(value="The Get User Details Web Service Endpoint",
             notes="${userController.GetUser.ApiOperation.Notes}")
     @ApiImplicitParams({
             @ApiImplicitParam(name="authorization", value="${userController.authorizationHeader.description}", paramType="header")
     })*/
+    // http://localhost:8080/users/{id}?fields=firstName,lastName&expand=addresses,roles
     @GetMapping(path = "/{id}", produces = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE })
-    public UserRest getUser(@PathVariable String id) {
+    public UserRest getUser(@PathVariable String id,
+                            @RequestParam(value = "fields", required = false) List<String> fields,
+                            @RequestParam(value = "expand", required = false) List<String> expand) {
         UserRest returnValue = new UserRest();
 
-        UserDto userDto = userService.getUserByUserId(id);
-        ModelMapper modelMapper = new ModelMapper();
-        returnValue = modelMapper.map(userDto, UserRest.class);
+        if (fields == null && expand == null) {
+            returnValue = modelMapper.map(userService.getUserByUserId(id), UserRest.class);
+        } else {
+            returnValue = modelMapper.map(userService.getUserByUserId(id, fields, expand), PartialUserRest.class);
+        }
 
         return returnValue;
     }
@@ -83,7 +101,6 @@ public class UserController {
 
         // UserDto userDto = new UserDto();
         // BeanUtils.copyProperties(userDetails, userDto);
-        ModelMapper modelMapper = new ModelMapper();
         UserDto userDto = modelMapper.map(userDetails, UserDto.class);
       //  userDto.setRoles(new HashSet<>(Arrays.asList(Roles.ROLE_USER.name())));
 
@@ -103,15 +120,15 @@ public class UserController {
         UserRest returnValue = new UserRest();
 
         UserDto userDto = new UserDto();
-        userDto = new ModelMapper().map(userDetails, UserDto.class);
+        userDto = modelMapper.map(userDetails, UserDto.class);
 
         UserDto updateUser = userService.updateUser(id, userDto);
-        returnValue = new ModelMapper().map(updateUser, UserRest.class);
+        returnValue = modelMapper.map(updateUser, UserRest.class);
 
         return returnValue;
     }
 
-   // @PreAuthorize("hasRole('ROLE_ADMIN') or #id == principal.userId")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or #id == principal.userId")
     //@PreAuthorize("hasAuthority('DELETE_AUTHORITY')")
     //@Secured("ROLE_ADMIN")
     @DeleteMapping(path = "/{id}", produces = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE })
@@ -132,15 +149,21 @@ public class UserController {
             @ApiImplicitParam(name="authorization", value="${userController.authorizationHeader.description}", paramType="header")
     })*/
     @GetMapping(produces = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE })
-    public List<UserRest> getUsers(@RequestParam(value = "page", defaultValue = "0") int page,
-                                   @RequestParam(value = "limit", defaultValue = "2") int limit) {
+    public List<UserRest> getUsers(@RequestParam(value = "page", defaultValue = "1") int page,
+                                   @RequestParam(value = "limit", defaultValue = "2") int limit,
+                                   @RequestParam(value = "fields", required = false) List<String> fields,
+                                   @RequestParam(value = "expand", required = false) List<String> expand) {
         List<UserRest> returnValue = new ArrayList<>();
 
-        List<UserDto> users = userService.getUsers(page, limit);
-
-        Type listType = new TypeToken<List<UserRest>>() {
-        }.getType();
-        returnValue = new ModelMapper().map(users, listType);
+        if (fields == null && expand == null) {
+            Type listType = new TypeToken<List<UserRest>>() {
+            }.getType();
+            returnValue = modelMapper.map(userService.getUsers(page, limit), listType);
+        } else {
+            for (UserDto userDto : userService.getUsers(page, limit, fields, expand)) {
+                returnValue.add(modelMapper.map(userDto, PartialUserRest.class));
+            }
+        }
 
 		/*for (UserDto userDto : users) {
 			UserRest userModel = new UserRest();
@@ -151,13 +174,75 @@ public class UserController {
         return returnValue;
     }
 
+    /*
+     * http://localhost:8080/users?ids=01JB8ZQ3M4W5X6Y7Z8A9B0C1D2,01JB8ZQ3M4W5X6Y7Z8A9B0C1D3
+     * Batched profile lookup keyed by userId; ids that do not exist are left out of the response.
+     * */
+    @GetMapping(params = "ids", produces = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public Map<String, UserRest> getUsersByIds(@RequestParam(value = "ids") List<String> ids) {
+        Map<String, UserRest> returnValue = new LinkedHashMap<>();
+
+        Map<String, UserDto> users = userService.getUsersByUserIds(ids);
+        users.forEach((userId, userDto) -> returnValue.put(userId, modelMapper.map(userDto, UserRest.class)));
+
+        return returnValue;
+    }
+
+    /*
+     * http://localhost:8080/users/addresses/lookup
+     * Addresses of several users in one call, keyed by userId.
+     * */
+    @PostMapping(path = "/addresses/lookup", consumes = { MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_JSON_VALUE }, produces = { MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_JSON_VALUE })
+    public Map<String, List<AddressesRest>> getAddressesByUserIds(@RequestBody UserIdsRequestModel userIds) {
+        Map<String, List<AddressesRest>> returnValue = new LinkedHashMap<>();
+
+        List<String> ids = userIds.getUserIds() != null ? userIds.getUserIds() : new ArrayList<>();
+        Map<String, List<AddressDTO>> addresses = addressesService.getAddressesByUserIds(ids);
+
+        Type listType = new TypeToken<List<AddressesRest>>() {
+        }.getType();
+        addresses.forEach((userId, addressesDTO) -> returnValue.put(userId, modelMapper.map(addressesDTO, listType)));
+
+        return returnValue;
+    }
+
+    /*
+     * http://localhost:8080/users/confirmed?page=1&limit=50&total=none
+     * Users with a confirmed email address. No COUNT query runs unless total=cached or total=exact.
+     * */
+    @GetMapping(path = "/confirmed", produces = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public UserSliceRest getUsersWithConfirmedEmail(@RequestParam(value = "page", defaultValue = "1") int page,
+                                                    @RequestParam(value = "limit", defaultValue = "25") int limit,
+                                                    @RequestParam(value = "total", defaultValue = "none") String total) {
+        UserSliceDto usersSlice = userService.getUsersWithConfirmedEmail(page, limit,
+                TotalCountMode.fromParameter(total));
+
+        Type listType = new TypeToken<List<UserRest>>() {
+        }.getType();
+        List<UserRest> users = modelMapper.map(usersSlice.getUsers(), listType);
+
+        return new UserSliceRest(users, usersSlice.isHasNext(), usersSlice.getTotalCount());
+    }
+
+    /*
+     * http://localhost:8080/users/stats
+     * Served from in-memory counters; no COUNT or GROUP BY query runs per request.
+     * */
+    @GetMapping(path = "/stats", produces = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public UserStatisticsRest getUserStatistics() {
+        UserStatisticsDto statistics = userStatisticsService.getStatistics();
+        return modelMapper.map(statistics, UserStatisticsRest.class);
+    }
+
     // http://localhost:8080/mobile-app-ws/users/jfhdjeufhdhdj/addressses
    /* @ApiImplicitParams({
             @ApiImplicitParam(name="authorization", value="${userController.authorizationHeader.description}", paramType="header")
     })*/
     @GetMapping(path = "/{id}/addresses", produces = { MediaType.APPLICATION_XML_VALUE,
             MediaType.APPLICATION_JSON_VALUE, "application/hal+json" })
-    public void getUserAddresses(@PathVariable String id) {
+    public List<AddressesRest> getUserAddresses(@PathVariable String id) {
         List<AddressesRest> addressesListRestModel = new ArrayList<>();
 
         List<AddressDTO> addressesDTO = addressesService.getAddresses(id);
@@ -165,7 +250,7 @@ public class UserController {
         if (addressesDTO != null && !addressesDTO.isEmpty()) {
             Type listType = new TypeToken<List<AddressesRest>>() {
             }.getType();
-            addressesListRestModel = new ModelMapper().map(addressesDTO, listType);
+            addressesListRestModel = modelMapper.map(addressesDTO, listType);
 
             /*for (AddressesRest addressRest : addressesListRestModel) {
                 Link addressLink = linkTo(methodOn(UserController.class).getUserAddress(id, addressRest.getAddressId()))
@@ -178,6 +263,7 @@ public class UserController {
         }
 
        // return new Resources<>(addressesListRestModel);
+        return addressesListRestModel;
     }
 
     /*@ApiImplicitParams({
@@ -0,0 +1,91 @@
+package com.javadeveloperblogs.app.ws.ui.controller;
+
+import com.javadeveloperblogs.app.ws.shared.events.UserChangeEvent;
+import com.javadeveloperblogs.app.ws.shared.events.UserEventBus;
+import com.javadeveloperblogs.app.ws.shared.events.UserEventSubscriber;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Server-Sent Events stream of user changes, replacing polling of GET /users.
+ * <p>
+ * Every create (including users created by an import), update, delete, email verification and
+ * password reset is pushed as it commits. Events are
+ * delivered in batches: each SSE message named {@code user-changes} carries a JSON array of
+ * consecutive changes, and its id is the position of the last change in the array.
+ * </p>
+ *
+ * <p><b>Resuming:</b></p>
+ * <ul>
+ *     <li>Without a position the stream starts with the next change</li>
+ *     <li>With the {@code Last-Event-ID} header (sent automatically by EventSource on reconnect)
+ *     or the {@code lastEventId} parameter the stream continues right after that position</li>
+ *     <li>If changes were dropped before they could be delivered, a {@code gap} message is sent
+ *     first; if the position is from an earlier application run, a {@code reset} message is
+ *     sent and the stream replays the changes still buffered. Either way the client should
+ *     re-read the users it tracks</li>
+ * </ul>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@RestController
+@RequestMapping("/users") // http://localhost:8080/users/events
+public class UserEventsController {
+
+    @Autowired
+    UserEventBus userEventBus;
+
+    @Value("${app.user-events.sse-timeout:30m}")
+    Duration sseTimeout;
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUserEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                       @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) throws Exception {
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+
+        long fromSequence;
+        if (lastEventId == null || lastEventId.isBlank()) {
+            fromSequence = userEventBus.headSequence();
+        } else {
+            fromSequence = userEventBus.resumeSequence(lastEventId.trim());
+            if (fromSequence < 0) {
+                fromSequence = userEventBus.oldestRetainedSequence();
+                emitter.send(SseEmitter.event().name("reset")
+                        .data(Map.of("resumedAt", userEventBus.position(fromSequence)), MediaType.APPLICATION_JSON));
+            }
+        }
+
+        UserEventBus.Subscription subscription = userEventBus.subscribe(fromSequence, new UserEventSubscriber() {
+            @Override
+            public void onEvents(List<UserChangeEvent> batch) throws Exception {
+                emitter.send(SseEmitter.event().name("user-changes")
+                        .id(userEventBus.position(batch.get(batch.size() - 1).getSequence()))
+                        .data(new ArrayList<>(batch), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onGap(long missedFrom, long resumedAt) throws Exception {
+                emitter.send(SseEmitter.event().name("gap")
+                        .data(Map.of("missedFrom", userEventBus.position(missedFrom),
+                                "resumedAt", userEventBus.position(resumedAt)), MediaType.APPLICATION_JSON));
+            }
+        });
+
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+
+        return emitter;
+    }
+}
@@ -0,0 +1,50 @@
+package com.javadeveloperblogs.app.ws.ui.controller;
+
+import com.javadeveloperblogs.app.ws.service.UserImportService;
+import com.javadeveloperblogs.app.ws.shared.dto.ImportJobDto;
+import com.javadeveloperblogs.app.ws.ui.model.request.ImportJobRequestModel;
+import com.javadeveloperblogs.app.ws.ui.model.response.ImportJobRest;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Bulk user import from CSV or NDJSON files.
+ * <p>
+ * An import runs in the background: POST returns the job at once with status RUNNING and
+ * the client polls GET /users/imports/{jobId} for progress. The file is read from the
+ * server's import directory, which lets an interrupted job resume from its last committed
+ * chunk after a restart.
+ * </p>
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@RestController
+@RequestMapping("/users/imports") // http://localhost:8080/users/imports
+public class UserImportController {
+
+    @Autowired
+    UserImportService userImportService;
+
+    @Autowired
+    ModelMapper modelMapper;
+
+    @PostMapping(
+            consumes = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE },
+            produces = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJobRest startImport(@RequestBody ImportJobRequestModel importJobDetails) {
+        ImportJobDto importJob = userImportService.startImport(importJobDetails.getPath(), importJobDetails.getFormat());
+        return modelMapper.map(importJob, ImportJobRest.class);
+    }
+
+    @GetMapping(path = "/{jobId}", produces = { MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public ImportJobRest getImport(@PathVariable String jobId) {
+        ImportJobDto importJob = userImportService.getImportJob(jobId);
+        return modelMapper.map(importJob, ImportJobRest.class);
+    }
+}
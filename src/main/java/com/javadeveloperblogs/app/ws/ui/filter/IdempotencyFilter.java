@@ -0,0 +1,230 @@
+package com.javadeveloperblogs.app.ws.ui.filter;
+
+import com.javadeveloperblogs.app.ws.service.IdempotencyService;
+import com.javadeveloperblogs.app.ws.shared.dto.IdempotentResponseDto;
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessage;
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Servlet filter that makes POST requests under /users idempotent when the client sends an
+ * Idempotency-Key header.
+ *
+ * The key is scoped to method, path and caller, and the request body is fingerprinted. The
+ * caller is the request principal; anonymous requests are scoped by their body fingerprint
+ * instead, so two clients that happen to choose the same key never see each other's response.
+ * An anonymous retry with a changed body therefore runs as a new request. The first
+ * request with a key runs normally and its response is captured and stored through
+ * {@link IdempotencyService}. Retries with the same key are answered from the stored response,
+ * marked with Idempotent-Replayed: true, without reaching the controller or UserService.
+ *
+ * Error Responses (an {@link ErrorMessage} body, like errors raised by the controllers):
+ * - 400: the key is empty or longer than 255 characters
+ * - 409: a request with the same key is still running after app.idempotency.max-wait
+ * - 413: the request body is larger than app.idempotency.max-body-size, since it is held in
+ *   memory to fingerprint it
+ * - 422: the caller already used the key with a different request body
+ *
+ * Requests without the header are not affected.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+	private final IdempotencyService idempotencyService;
+	private final JsonMapper jsonMapper;
+	private final long maxBodySize;
+
+	public IdempotencyFilter(IdempotencyService idempotencyService, JsonMapper jsonMapper,
+			@Value("${app.idempotency.max-body-size:1MB}") DataSize maxBodySize) {
+		this.idempotencyService = idempotencyService;
+		this.jsonMapper = jsonMapper;
+		this.maxBodySize = maxBodySize.toBytes();
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		return !"POST".equals(request.getMethod())
+				|| request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+				|| !(path.equals("/users") || path.startsWith("/users/"));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String clientKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+		if (clientKey.isEmpty() || clientKey.length() > 255) {
+			writeError(response, HttpServletResponse.SC_BAD_REQUEST, ErrorMessages.INVALID_IDEMPOTENCY_KEY);
+			return;
+		}
+
+		if (request.getContentLengthLong() > maxBodySize) {
+			writeError(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, ErrorMessages.IDEMPOTENT_REQUEST_TOO_LARGE);
+			return;
+		}
+		// Content-Length may be absent (chunked), so the limit is enforced while reading too
+		byte[] requestBody = request.getInputStream().readNBytes((int) Math.min(maxBodySize + 1, Integer.MAX_VALUE - 8));
+		if (requestBody.length > maxBodySize) {
+			writeError(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, ErrorMessages.IDEMPOTENT_REQUEST_TOO_LARGE);
+			return;
+		}
+
+		String requestHash = sha256(requestBody);
+		Principal principal = request.getUserPrincipal();
+		String caller = principal != null ? "principal:" + principal.getName() : "body:" + requestHash;
+		String idempotencyKey = sha256(request.getMethod() + ' ' + request.getRequestURI() + ' ' + caller + ' ' + clientKey);
+		HttpServletRequest cachedRequest = new CachedBodyRequest(request, requestBody);
+
+		IdempotentResponseDto result;
+		try {
+			result = idempotencyService.execute(idempotencyKey, requestHash, () -> {
+				ContentCachingResponseWrapper capturing = new ContentCachingResponseWrapper(response);
+				filterChain.doFilter(cachedRequest, capturing);
+
+				IdempotentResponseDto captured = new IdempotentResponseDto();
+				captured.setStatus(capturing.getStatus());
+				captured.setContentType(capturing.getContentType());
+				captured.setBody(capturing.getContentAsByteArray());
+				capturing.copyBodyToResponse();
+				return captured;
+			});
+		} catch (TimeoutException e) {
+			writeError(response, HttpServletResponse.SC_CONFLICT, ErrorMessages.IDEMPOTENT_REQUEST_IN_PROGRESS);
+			return;
+		} catch (IOException | ServletException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new ServletException(e);
+		}
+
+		if (!result.isReplayed()) return;
+
+		if (!requestHash.equals(result.getRequestHash())) {
+			writeError(response, 422, ErrorMessages.IDEMPOTENCY_KEY_REUSED);
+			return;
+		}
+
+		response.setStatus(result.getStatus());
+		if (result.getContentType() != null) response.setContentType(result.getContentType());
+		response.setHeader(REPLAYED_HEADER, "true");
+		response.setContentLength(result.getBody().length);
+		response.getOutputStream().write(result.getBody());
+	}
+
+	private void writeError(HttpServletResponse response, int status, ErrorMessages error) throws IOException {
+		response.setStatus(status);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		jsonMapper.writeValue(response.getOutputStream(), new ErrorMessage(new Date(), error.getErrorMessage()));
+	}
+
+	private static String sha256(String value) {
+		return sha256(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String sha256(byte[] value) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Request whose body was read up front for fingerprinting and is served again from memory.
+	 */
+	private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+		private final byte[] body;
+
+		private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.body = body;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			ByteArrayInputStream in = new ByteArrayInputStream(body);
+			return new ServletInputStream() {
+				@Override
+				public boolean isFinished() {
+					return in.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				@Override
+				public void setReadListener(ReadListener readListener) {
+					// The whole body is already in memory, so it is available at once
+					try {
+						if (!isFinished()) readListener.onDataAvailable();
+						readListener.onAllDataRead();
+					} catch (IOException e) {
+						readListener.onError(e);
+					}
+				}
+
+				@Override
+				public int read() {
+					return in.read();
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) {
+					return in.read(b, off, len);
+				}
+			};
+		}
+
+		@Override
+		public BufferedReader getReader() {
+			String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+			return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+		}
+
+		@Override
+		public int getContentLength() {
+			return body.length;
+		}
+
+		@Override
+		public long getContentLengthLong() {
+			return body.length;
+		}
+	}
+}
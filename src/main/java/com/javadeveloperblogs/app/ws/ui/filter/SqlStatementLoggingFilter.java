@@ -0,0 +1,71 @@
+package com.javadeveloperblogs.app.ws.ui.filter;
+
+import com.javadeveloperblogs.app.ws.io.statistics.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter that scopes SQL statement and row counting to a single HTTP request.
+ *
+ * For every request it:
+ * - starts a {@link SqlStatementCounter} scope before the request is dispatched
+ * - records the statement and row counts as sql.statements.per.request and
+ *   sql.rows.per.request distribution summaries, tagged by method and URI pattern
+ * - logs the counts at DEBUG level so production traffic can be sampled by enabling
+ *   logging.level.com.javadeveloperblogs.app.ws.ui.filter.SqlStatementLoggingFilter=DEBUG
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class SqlStatementLoggingFilter extends OncePerRequestFilter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SqlStatementLoggingFilter.class);
+
+	private final MeterRegistry meterRegistry;
+
+	public SqlStatementLoggingFilter(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		SqlStatementCounter.begin();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			SqlStatementCounter.Counts counts = SqlStatementCounter.end();
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+			DistributionSummary.builder("sql.statements.per.request")
+					.tag("method", request.getMethod())
+					.tag("uri", uri)
+					.register(meterRegistry)
+					.record(counts.getStatements());
+			DistributionSummary.builder("sql.rows.per.request")
+					.tag("method", request.getMethod())
+					.tag("uri", uri)
+					.register(meterRegistry)
+					.record(counts.getRows());
+
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("{} {} executed {} SQL statements and fetched {} rows",
+						request.getMethod(), uri, counts.getStatements(), counts.getRows());
+			}
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.javadeveloperblogs.app.ws.ui.filter;
+
+import com.javadeveloperblogs.app.ws.service.UserActivityService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+
+/**
+ * Servlet filter that records "last seen" activity for authenticated requests.
+ *
+ * The request principal's name is taken to be the caller's public userId. Requests without a
+ * principal and failed requests are ignored. Recording only updates an in-memory buffer; the
+ * database is written in batches by {@link UserActivityService}.
+ *
+ * Nothing in this application sets a request principal yet: the API has no access tokens, only
+ * the refresh-token sessions of AuthenticationService. Until an authentication filter sets one,
+ * this filter records nothing, and last_seen_at is advanced by session refreshes instead.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class UserActivityFilter extends OncePerRequestFilter {
+
+	private final UserActivityService userActivityService;
+
+	public UserActivityFilter(UserActivityService userActivityService) {
+		this.userActivityService = userActivityService;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		filterChain.doFilter(request, response);
+
+		Principal principal = request.getUserPrincipal();
+		if (principal != null && response.getStatus() < 400) {
+			userActivityService.recordSeen(principal.getName());
+		}
+	}
+}
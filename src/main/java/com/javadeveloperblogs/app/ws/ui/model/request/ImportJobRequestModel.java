@@ -0,0 +1,25 @@
+package com.javadeveloperblogs.app.ws.ui.model.request;
+
+import com.javadeveloperblogs.app.ws.shared.imports.ImportFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request model for starting a bulk user import.
+ *
+ * Fields:
+ * - path: Name of the import file, relative to the server's app.user-import.directory
+ * - format: CSV or NDJSON; optional, derived from the file extension when omitted
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobRequestModel {
+	private String path;
+	private ImportFormat format;
+}
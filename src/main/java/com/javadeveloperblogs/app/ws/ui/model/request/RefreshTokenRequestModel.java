@@ -0,0 +1,29 @@
+package com.javadeveloperblogs.app.ws.ui.model.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * REST request model for refreshing or ending a session.
+ *
+ * Fields:
+ * - refreshToken: The refresh token returned by the last login or refresh
+ *
+ * Example JSON Request:
+ * POST /auth/refresh
+ * {
+ *   "refreshToken": "q2T0e..."
+ * }
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenRequestModel {
+	private String refreshToken;
+
+}
@@ -0,0 +1,31 @@
+package com.javadeveloperblogs.app.ws.ui.model.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * REST request model for batched lookups by public user ID.
+ *
+ * Lets a client resolve many users in one call instead of one request per user.
+ * Duplicate ids are collapsed; at most app.multi-get.max-ids ids (default 100) are accepted.
+ *
+ * Example JSON Request:
+ * POST /users/addresses/lookup
+ * {
+ *   "userIds": ["01JB8ZQ3M4W5X6Y7Z8A9B0C1D2", "01JB8ZQ3M4W5X6Y7Z8A9B0C1D3"]
+ * }
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserIdsRequestModel {
+	private List<String> userIds;
+
+}
@@ -15,14 +15,15 @@ package com.javadeveloperblogs.app.ws.ui.model.response;
  * - Internationalization Ready: Easy to extend for multi-language support
  *
  * Error Categories:
- * - Validation Errors: MISSING_REQUIRED_FIELD
+ * - Validation Errors: MISSING_REQUIRED_FIELD, INVALID_PAGE, INVALID_TOTAL_COUNT_MODE
  * - Data Integrity: RECORD_ALREADY_EXISTS, NO_RECORD_FOUND
  * - System Errors: INTERNAL_SERVER_ERROR
- * - Authentication/Authorization: AUTHENTICATION_FAILED, EMAIL_ADDRESS_NOT_VERIFIED
+ * - Authentication/Authorization: AUTHENTICATION_FAILED, EMAIL_ADDRESS_NOT_VERIFIED, ACCOUNT_LOCKED,
+ *   ACCESS_DENIED
  * - Operation Failures: COULD_NOT_UPDATE_RECORD, COULD_NOT_DELETE_RECORD
  *
  * Usage Example:
- * throw new UserServiceException(ErrorMessages.NO_RECORD_FOUND.getErrorMessage());
+ * throw new UserException(ErrorMessages.UNKNOWN_FIELD);
  *
  * or in exception handlers:
  * return ErrorMessage.builder()
@@ -45,7 +46,20 @@ public enum ErrorMessages {
     AUTHENTICATION_FAILED("Authentication failed"),
     COULD_NOT_UPDATE_RECORD("Could not update record"),
     COULD_NOT_DELETE_RECORD("Could not delete record"),
-    EMAIL_ADDRESS_NOT_VERIFIED("Email address could not be verified");
+    EMAIL_ADDRESS_NOT_VERIFIED("Email address could not be verified"),
+    TOO_MANY_IDS_REQUESTED("Too many ids requested in one call"),
+    TOO_MANY_SUBSCRIBERS("Too many event stream subscribers, try again later"),
+    INVALID_IDEMPOTENCY_KEY("Idempotency-Key must be 1 to 255 characters"),
+    IDEMPOTENCY_KEY_REUSED("Idempotency-Key was already used for a different request"),
+    IDEMPOTENT_REQUEST_IN_PROGRESS("A request with this Idempotency-Key is still being processed"),
+    IDEMPOTENT_REQUEST_TOO_LARGE("Request body is too large to be sent with an Idempotency-Key"),
+    UNKNOWN_FIELD("Unknown field or expansion requested"),
+    INVALID_PAGE("Page and limit must be 1 or greater"),
+    INVALID_TOTAL_COUNT_MODE("total must be one of none, cached or exact"),
+    INVALID_IMPORT_FILE("Import file must be a .csv, .ndjson or .jsonl file inside the import directory"),
+    TOO_MANY_SESSIONS("Too many active sessions, try again later"),
+    ACCOUNT_LOCKED("Too many failed login attempts, try again later"),
+    ACCESS_DENIED("Access denied");
 
 
     private String errorMessage;
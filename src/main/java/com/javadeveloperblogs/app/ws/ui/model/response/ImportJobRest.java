@@ -0,0 +1,37 @@
+package com.javadeveloperblogs.app.ws.ui.model.response;
+
+import com.javadeveloperblogs.app.ws.shared.imports.ImportFormat;
+import com.javadeveloperblogs.app.ws.shared.imports.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * REST response model for a bulk user import job.
+ *
+ * The counters reflect committed chunks only; recordsPerSecond is the throughput of the
+ * current run while the job is RUNNING and the overall rate once it has finished.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobRest {
+	private String jobId;
+	private ImportFormat format;
+	private ImportJobStatus status;
+	private long recordsRead;
+	private long imported;
+	private long skipped;
+	private long failed;
+	private String firstError;
+	private double recordsPerSecond;
+	private Instant createdAt;
+	private Instant finishedAt;
+
+}
@@ -0,0 +1,19 @@
+package com.javadeveloperblogs.app.ws.ui.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * REST response model for a user read with ?fields= or ?expand=.
+ *
+ * Carries the same fields as {@link UserRest}, but fields that were not requested are null and
+ * left out of the response instead of being sent as null. Full responses keep all fields, so
+ * clients that do not project see the same document as before.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PartialUserRest extends UserRest {
+
+}
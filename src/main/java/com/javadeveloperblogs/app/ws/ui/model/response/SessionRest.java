@@ -0,0 +1,29 @@
+package com.javadeveloperblogs.app.ws.ui.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * REST response model for an authenticated session.
+ *
+ * Fields:
+ * - userId: Public ID of the authenticated user
+ * - refreshToken: Single-use token for POST /auth/refresh and POST /auth/logout; each refresh returns a new one
+ * - expiresAt: When the refresh token stops being accepted
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SessionRest {
+	private String userId;
+	private String refreshToken;
+	private Instant expiresAt;
+
+}
@@ -17,7 +17,9 @@ import java.util.List;
  * Key Characteristics:
  * - Uses public userId instead of internal database ID for security
  * - Excludes sensitive fields (encryptedPassword, emailVerificationToken)
- * - Includes nested address information through AddressesRest list
+ * - Includes nested address information through AddressesRest list and role names
+ * - Every field is always present, null included; responses narrowed with ?fields= or
+ *   ?expand= use {@link PartialUserRest}, which leaves out what was not requested
  * - Designed for JSON serialization in REST API responses
  *
  * Usage:
@@ -45,5 +47,6 @@ public class UserRest {
 	private String lastName;
 	private String email;
 	private List<AddressesRest> addresses;
+	private List<String> roles;
 
 }
\ No newline at end of file
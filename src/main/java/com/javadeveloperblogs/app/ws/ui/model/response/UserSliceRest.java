@@ -0,0 +1,37 @@
+package com.javadeveloperblogs.app.ws.ui.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * REST response model for one page of users fetched without a mandatory count query.
+ *
+ * Fields:
+ * - users: The users on the requested page
+ * - hasNext: Whether another page follows, determined by fetching one extra row
+ * - totalCount: Total number of matching users, present only when requested with
+ *   total=cached (may lag by the cache TTL) or total=exact
+ *
+ * Example JSON Response:
+ * {
+ *   "users": [ { "userId": "01JB8ZQ3M4W5X6Y7Z8A9B0C1D2", "firstName": "John", ... } ],
+ *   "hasNext": true,
+ *   "totalCount": null
+ * }
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSliceRest {
+	private List<UserRest> users;
+	private boolean hasNext;
+	private Long totalCount;
+
+}
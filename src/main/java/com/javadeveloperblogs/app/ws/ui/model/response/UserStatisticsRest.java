@@ -0,0 +1,46 @@
+package com.javadeveloperblogs.app.ws.ui.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * REST response model for aggregate user and address statistics.
+ *
+ * Values come from in-memory counters that are updated as users and addresses are committed
+ * and periodically reconciled against the database, so they can briefly lag bulk updates
+ * that bypass the entity lifecycle.
+ *
+ * Example JSON Response:
+ * {
+ *   "totalUsers": 1200,
+ *   "verifiedUsers": 950,
+ *   "unverifiedUsers": 250,
+ *   "usersByRole": { "ROLE_USER": 1200, "ROLE_ADMIN": 3 },
+ *   "totalAddresses": 1800,
+ *   "addressesByCountry": { "Canada": 1100, "USA": 700 },
+ *   "addressesByType": { "billing": 900, "shipping": 900 },
+ *   "reconciledAt": "2025-06-01T10:15:00Z"
+ * }
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserStatisticsRest {
+	private long totalUsers;
+	private long verifiedUsers;
+	private long unverifiedUsers;
+	private Map<String, Long> usersByRole;
+	private long totalAddresses;
+	private Map<String, Long> addressesByCountry;
+	private Map<String, Long> addressesByType;
+	private Instant reconciledAt;
+
+}
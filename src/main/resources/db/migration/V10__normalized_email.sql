@@ -0,0 +1,13 @@
+-- Email uniqueness ignores case and surrounding whitespace: UserEntity keeps normalized_email in
+-- sync with email (see Emails) and the unique constraint makes concurrent sign-ups with the same
+-- email fail instead of both inserting. Existing users are backfilled with the same
+-- normalization; if two of them already share a normalized email the constraint cannot be added
+-- and one of them has to be merged or renamed first.
+
+alter table users add column normalized_email varchar(120);
+
+update users set normalized_email = lower(trim(email));
+
+alter table users modify normalized_email varchar(120) not null;
+
+alter table users add constraint uk_users_normalized_email unique (normalized_email);
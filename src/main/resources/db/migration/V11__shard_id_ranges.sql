@@ -0,0 +1,12 @@
+-- With sharding, shard N allocates ids from N * 2^40 + 1 on, so the id blocks Hibernate's pooled
+-- optimizer shares across shards never repeat (see ShardSchemaInitializer). ${shard_id_start} is
+-- set per shard by ShardFlywayMigrationStrategy; it is 1 without sharding, which leaves the
+-- sequences as they are. Sequences already past the start keep their value.
+
+update users_seq set next_val = greatest(next_val, ${shard_id_start});
+update addresses_seq set next_val = greatest(next_val, ${shard_id_start});
+update password_reset_tokens_seq set next_val = greatest(next_val, ${shard_id_start});
+update roles_seq set next_val = greatest(next_val, ${shard_id_start});
+update authorities_seq set next_val = greatest(next_val, ${shard_id_start});
+update idempotency_records_seq set next_val = greatest(next_val, ${shard_id_start});
+update import_jobs_seq set next_val = greatest(next_val, ${shard_id_start});
@@ -0,0 +1,92 @@
+-- Schema of the user service as created by Hibernate before versioned migrations were introduced.
+-- Primary keys come from one-row tables emulating sequences, as Hibernate does on MySQL.
+
+create table users (
+    id bigint not null,
+    user_id varchar(255) not null,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(120) not null,
+    encrypted_password varchar(255) not null,
+    email_verification_token varchar(255),
+    email_verification_status bit not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into users_seq (next_val) values (1);
+
+create table addresses (
+    id bigint not null,
+    address_id varchar(30) not null,
+    city varchar(15) not null,
+    country varchar(15) not null,
+    street_name varchar(100) not null,
+    postal_code varchar(7) not null,
+    type varchar(10) not null,
+    users_id bigint,
+    primary key (id),
+    constraint fk_addresses_users foreign key (users_id) references users (id)
+) engine=InnoDB;
+
+create table addresses_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into addresses_seq (next_val) values (1);
+
+create table password_reset_tokens (
+    id bigint not null,
+    token varchar(255),
+    users_id bigint,
+    primary key (id),
+    constraint uk_password_reset_tokens_users_id unique (users_id),
+    constraint fk_password_reset_tokens_users foreign key (users_id) references users (id)
+) engine=InnoDB;
+
+create table password_reset_tokens_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into password_reset_tokens_seq (next_val) values (1);
+
+create table roles (
+    id bigint not null,
+    name varchar(20) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table roles_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into roles_seq (next_val) values (1);
+
+create table authorities (
+    id bigint not null,
+    name varchar(20) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table authorities_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into authorities_seq (next_val) values (1);
+
+create table users_roles (
+    users_id bigint not null,
+    roles_id bigint not null,
+    constraint fk_users_roles_users foreign key (users_id) references users (id),
+    constraint fk_users_roles_roles foreign key (roles_id) references roles (id)
+) engine=InnoDB;
+
+create table roles_authorities (
+    roles_id bigint not null,
+    authorities_id bigint not null,
+    constraint fk_roles_authorities_roles foreign key (roles_id) references roles (id),
+    constraint fk_roles_authorities_authorities foreign key (authorities_id) references authorities (id)
+) engine=InnoDB;
@@ -0,0 +1,7 @@
+-- Public user and address IDs are unique and indexed. New IDs are 26 characters long; IDs issued
+-- before are 30, so both columns keep room for them.
+
+alter table users modify user_id varchar(30) not null;
+alter table users add constraint uk_users_user_id unique (user_id);
+
+alter table addresses add constraint uk_addresses_address_id unique (address_id);
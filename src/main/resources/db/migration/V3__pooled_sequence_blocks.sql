@@ -0,0 +1,6 @@
+-- Users and addresses now take IDs from their sequences in blocks of 100 instead of 50. The pooled
+-- optimizer hands out the block ending at the value it reads, so without this jump the first new
+-- block would overlap IDs already handed out under the old block size.
+
+update users_seq set next_val = next_val + 100;
+update addresses_seq set next_val = next_val + 100;
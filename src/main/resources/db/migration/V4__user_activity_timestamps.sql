@@ -0,0 +1,4 @@
+-- Last login and last seen time of each user, written in batches by UserActivityServiceImpl.
+
+alter table users add column last_login_at datetime(6);
+alter table users add column last_seen_at datetime(6);
@@ -0,0 +1,22 @@
+-- Responses of POST requests sent with an Idempotency-Key, replayed to retries of the same request.
+
+create table idempotency_records (
+    id bigint not null,
+    idempotency_key char(64) not null,
+    request_hash char(64) not null,
+    status integer not null,
+    content_type varchar(100),
+    body mediumblob not null,
+    created_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    primary key (id),
+    constraint uk_idempotency_records_idempotency_key unique (idempotency_key)
+) engine=InnoDB;
+
+create index idx_idempotency_records_expires_at on idempotency_records (expires_at);
+
+create table idempotency_records_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into idempotency_records_seq (next_val) values (1);
@@ -0,0 +1,26 @@
+-- Bulk user import jobs and their checkpoints. claimed_by names the instance running a job.
+
+create table import_jobs (
+    id bigint not null,
+    job_id char(26) not null,
+    path varchar(500) not null,
+    format enum ('CSV','NDJSON') not null,
+    status enum ('COMPLETED','FAILED','RUNNING') not null,
+    records_read bigint not null,
+    imported bigint not null,
+    skipped bigint not null,
+    failed bigint not null,
+    first_error varchar(500),
+    claimed_by char(26),
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    finished_at datetime(6),
+    primary key (id),
+    constraint uk_import_jobs_job_id unique (job_id)
+) engine=InnoDB;
+
+create table import_jobs_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into import_jobs_seq (next_val) values (1);
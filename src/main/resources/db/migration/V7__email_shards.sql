@@ -0,0 +1,9 @@
+-- Directory of the shard holding each user's email, used when users are sharded. Only the
+-- default shard fills it, but the table exists on every shard.
+
+create table email_shards (
+    email varchar(120) not null,
+    shard_id integer not null,
+    claimed_at datetime(6) not null,
+    primary key (email)
+) engine=InnoDB;
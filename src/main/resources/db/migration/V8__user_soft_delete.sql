@@ -0,0 +1,5 @@
+-- Soft delete: deleted users keep their row until UserPurgeService removes it, oldest deletion first.
+
+alter table users add column deleted_at datetime(6);
+
+create index idx_users_deleted_at on users (deleted_at);
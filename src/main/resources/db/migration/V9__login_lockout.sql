@@ -0,0 +1,3 @@
+-- End of a login lockout, set and cleared by AuthenticationServiceImpl (see LoginFailureTracker).
+
+alter table users add column locked_until datetime(6);
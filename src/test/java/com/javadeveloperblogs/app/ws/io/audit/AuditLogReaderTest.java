@@ -0,0 +1,103 @@
+package com.javadeveloperblogs.app.ws.io.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the filters of {@link AuditLogReader} over segments written by hand, with known
+ * timestamps: a time range returns exactly the records inside it, including records at its
+ * start that end the segment before, skips the segments it cannot overlap and stops at the
+ * first record after it.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+class AuditLogReaderTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void aTimeRangeReturnsExactlyTheRecordsInside() throws IOException {
+		segment(1, 100, 200, 300);
+		segment(4, 300, 400, 500);
+		segment(7, 600, 700, 700);
+
+		assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), scan(null, null, null));
+		assertEquals(List.of(3L, 4L, 5L, 6L), scan(null, 300L, 600L));
+		assertEquals(List.of(2L, 3L, 4L, 5L, 6L, 7L), scan(null, 101L, 601L));
+		assertEquals(List.of(8L, 9L), scan(null, 700L, null));
+		assertEquals(List.of(1L), scan(null, null, 101L));
+		assertEquals(List.of(), scan(null, 501L, 600L));
+		assertEquals(List.of(), scan(null, 800L, null));
+	}
+
+	@Test
+	void segmentsBeforeTheRangeAreNotRead() throws IOException {
+		// Records out of time order, which the writer never produces, show which segments were read
+		segment(1, 100, 900, 200);
+		segment(4, 300, 950, 500);
+		segment(7, 600, 700, 800);
+
+		// The next segment starts at the range, so this one may hold records at its start too
+		assertEquals(List.of(2L, 4L, 5L, 6L, 7L, 8L, 9L), scan(null, 300L, null));
+		// The next segment starts before the range, so this one cannot overlap it
+		assertEquals(List.of(5L, 6L, 7L, 8L, 9L), scan(null, 301L, null));
+		assertEquals(List.of(8L, 9L), scan(null, 601L, null));
+	}
+
+	@Test
+	void theScanStopsAtTheFirstRecordAfterTheRange() throws IOException {
+		segment(1, 100, 200, 100);
+		segment(4, 150, 300, 400);
+
+		assertEquals(List.of(1L), scan(null, null, 200L));
+		assertEquals(List.of(1L, 2L, 3L, 4L), scan(null, null, 300L));
+	}
+
+	@Test
+	void theUserFilterAppliesWithinTheRange() throws IOException {
+		segment(1, 100, 200, 300);
+		segment(4, 400, 500, 600);
+
+		// Records alternate between two users, by odd and even sequence
+		assertEquals(List.of(1L, 3L, 5L), scan("user-odd", null, null));
+		assertEquals(List.of(4L), scan("user-even", 250L, 550L));
+		assertEquals(List.of(), scan("user-none", null, null));
+	}
+
+	/**
+	 * Writes a segment of records numbered from firstSequence, stamped with the given epoch
+	 * millis.
+	 */
+	private void segment(long firstSequence, long... recordedAt) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(4096);
+		for (int i = 0; i < recordedAt.length; i++) {
+			long sequence = firstSequence + i;
+			String userId = sequence % 2 == 1 ? "user-odd" : "user-even";
+			AuditSegments.write(buffer, sequence, recordedAt[i], AuditEventType.UPDATED, AuditSegments.encodeUserId(userId));
+		}
+		Files.write(AuditSegments.segmentPath(directory, firstSequence), buffer.array());
+	}
+
+	private List<Long> scan(String userId, Long from, Long to) throws IOException {
+		List<Long> returnValue = new ArrayList<>();
+		long matches = new AuditLogReader(directory).scan(userId,
+				from == null ? null : Instant.ofEpochMilli(from),
+				to == null ? null : Instant.ofEpochMilli(to),
+				record -> returnValue.add(record.getSequence()));
+		assertEquals(returnValue.size(), matches);
+		return returnValue;
+	}
+}
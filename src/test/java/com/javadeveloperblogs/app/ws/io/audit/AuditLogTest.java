@@ -0,0 +1,184 @@
+package com.javadeveloperblogs.app.ws.io.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks {@link AuditLog} outside of Spring: a record that exactly fills a segment stays in
+ * it and the next one starts a segment named after its sequence, and a log reopened after its
+ * last segment was torn, truncated or corrupted zeroes what follows the last valid record,
+ * continues the sequence after it, and reads back exactly the valid records.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+class AuditLogTest {
+
+	// Every record of these tests has a 10 byte userId, so a segment holds exactly 4 of them
+	private static final int RECORD_SIZE = AuditSegments.recordSize(new byte[10]);
+	private static final int SEGMENT_SIZE = 4 * RECORD_SIZE;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void segmentsRollWhenTheNextRecordDoesNotFit() throws Exception {
+		AuditLog log = open();
+		try {
+			append(log, 1, 10);
+		} finally {
+			log.destroy();
+		}
+
+		assertEquals(List.of("00000000000000000001.audit", "00000000000000000005.audit", "00000000000000000009.audit"),
+				segmentNames());
+		assertEquals(List.of(1L, 2L, 3L, 4L), sequencesIn(AuditSegments.segmentPath(directory, 1)));
+		assertEquals(List.of(5L, 6L, 7L, 8L), sequencesIn(AuditSegments.segmentPath(directory, 5)));
+		assertEquals(List.of(9L, 10L), sequencesIn(AuditSegments.segmentPath(directory, 9)));
+
+		// A reopened log fills the last segment, then rolls again
+		log = open();
+		try {
+			append(log, 11, 3);
+		} finally {
+			log.destroy();
+		}
+		assertEquals(List.of(9L, 10L, 11L, 12L), sequencesIn(AuditSegments.segmentPath(directory, 9)));
+		assertEquals(List.of(13L), sequencesIn(AuditSegments.segmentPath(directory, 13)));
+		assertEquals(sequences(1, 13), readAll());
+	}
+
+	@Test
+	void aTornWriteIsZeroedAndTheSequenceContinues() throws Exception {
+		writeAndClose(6);
+		// The start of a seventh record, cut off by a crash: its length, a CRC and the sequence
+		Path last = AuditSegments.segmentPath(directory, 5);
+		ByteBuffer torn = ByteBuffer.allocate(16).putInt(RECORD_SIZE - AuditSegments.HEADER_SIZE).putInt(0x12345678).putLong(7);
+		write(last, 2 * RECORD_SIZE, torn.flip());
+
+		reopenAndCheck(last, 2 * RECORD_SIZE, 7);
+	}
+
+	@Test
+	void aTruncatedSegmentLosesOnlyItsCutRecord() throws Exception {
+		writeAndClose(6);
+		Path last = AuditSegments.segmentPath(directory, 5);
+		try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE)) {
+			channel.truncate(2 * RECORD_SIZE - 5);
+		}
+
+		reopenAndCheck(last, RECORD_SIZE, 6);
+	}
+
+	@Test
+	void aCorruptedLastRecordIsDiscarded() throws Exception {
+		writeAndClose(6);
+		Path last = AuditSegments.segmentPath(directory, 5);
+		write(last, 2 * RECORD_SIZE - 1, ByteBuffer.wrap(new byte[] {'?'}));
+
+		reopenAndCheck(last, RECORD_SIZE, 6);
+	}
+
+	/**
+	 * Reopens the log over a last segment whose valid records end at validEnd with record
+	 * nextSequence - 1, then checks the zeroing, the sequence numbering and what the reader
+	 * returns.
+	 */
+	private void reopenAndCheck(Path last, int validEnd, long nextSequence) throws Exception {
+		AuditLog log = open();
+		try {
+			assertEquals(SEGMENT_SIZE, Files.size(last));
+			byte[] content = Files.readAllBytes(last);
+			for (int i = validEnd; i < content.length; i++) {
+				assertEquals(0, content[i], "byte " + i + " after the last valid record");
+			}
+			assertEquals(sequences(1, nextSequence - 1), readAll());
+
+			append(log, nextSequence, 4);
+		} finally {
+			log.destroy();
+		}
+		assertEquals(sequences(1, nextSequence + 3), readAll());
+	}
+
+	private void writeAndClose(int records) throws Exception {
+		AuditLog log = open();
+		try {
+			append(log, 1, records);
+		} finally {
+			log.destroy();
+		}
+	}
+
+	/**
+	 * Appends records one at a time, checking that they get the expected sequences.
+	 */
+	private static void append(AuditLog log, long firstSequence, int records) {
+		for (int i = 0; i < records; i++) {
+			long sequence = firstSequence + i;
+			assertEquals(sequence, log.append(AuditEventType.UPDATED, String.format("user-%05d", sequence)).join());
+		}
+	}
+
+	private AuditLog open() throws IOException {
+		AuditLog log = new AuditLog();
+		log.meterRegistry = new SimpleMeterRegistry();
+		log.directory = directory;
+		log.segmentSize = DataSize.ofBytes(SEGMENT_SIZE);
+		log.queueCapacity = 16;
+		log.batchSize = 4;
+		log.maxWait = Duration.ofSeconds(2);
+		log.init();
+		return log;
+	}
+
+	private List<Long> readAll() throws IOException {
+		List<Long> returnValue = new ArrayList<>();
+		new AuditLogReader(directory).scan(null, null, null, record -> {
+			assertEquals(String.format("user-%05d", record.getSequence()), record.getUserId());
+			returnValue.add(record.getSequence());
+		});
+		return returnValue;
+	}
+
+	private List<String> segmentNames() throws IOException {
+		List<String> returnValue = new ArrayList<>();
+		for (Path segment : AuditSegments.list(directory)) returnValue.add(segment.getFileName().toString());
+		return returnValue;
+	}
+
+	private static List<Long> sequencesIn(Path segment) throws IOException {
+		List<Long> returnValue = new ArrayList<>();
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+		AuditRecord record;
+		while ((record = AuditSegments.read(buffer)) != null) returnValue.add(record.getSequence());
+		return returnValue;
+	}
+
+	private static List<Long> sequences(long first, long last) {
+		List<Long> returnValue = new ArrayList<>();
+		for (long sequence = first; sequence <= last; sequence++) returnValue.add(sequence);
+		return returnValue;
+	}
+
+	private static void write(Path file, long position, ByteBuffer data) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(data, position);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.javadeveloperblogs.app.ws.io.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks the record framing of {@link AuditSegments}: records read back as written up to the
+ * zeros after them, and a record with any byte changed, or cut short by the end of the buffer,
+ * reads as the end of the data without moving the position.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+class AuditSegmentsTest {
+
+	@Test
+	void recordsReadBackAsWrittenUpToTheZeros() {
+		ByteBuffer buffer = ByteBuffer.allocate(1024);
+		AuditSegments.write(buffer, 7, 1_000, AuditEventType.CREATED, AuditSegments.encodeUserId("alice"));
+		AuditSegments.write(buffer, 8, 2_000, AuditEventType.PASSWORD_RESET, AuditSegments.encodeUserId(""));
+		AuditSegments.write(buffer, 9, 3_000, AuditEventType.PURGED, AuditSegments.encodeUserId("x".repeat(255)));
+		int end = buffer.position();
+
+		buffer.position(0);
+		assertRecord(AuditSegments.read(buffer), 7, 1_000, AuditEventType.CREATED, "alice");
+		assertRecord(AuditSegments.read(buffer), 8, 2_000, AuditEventType.PASSWORD_RESET, "");
+		assertRecord(AuditSegments.read(buffer), 9, 3_000, AuditEventType.PURGED, "x".repeat(255));
+		assertEquals(end, buffer.position());
+		assertNull(AuditSegments.read(buffer));
+		assertEquals(end, buffer.position());
+	}
+
+	@Test
+	void aRecordWithAnyByteChangedEndsTheData() {
+		byte[] userId = AuditSegments.encodeUserId("alice");
+		int size = AuditSegments.recordSize(userId);
+		ByteBuffer buffer = ByteBuffer.allocate(2 * size);
+		AuditSegments.write(buffer, 1, 1_000, AuditEventType.CREATED, userId);
+		AuditSegments.write(buffer, 2, 2_000, AuditEventType.UPDATED, userId);
+
+		for (int i = size; i < 2 * size; i++) {
+			for (int bit = 0; bit < 8; bit++) {
+				buffer.put(i, (byte) (buffer.get(i) ^ (1 << bit)));
+				buffer.position(0);
+				assertRecord(AuditSegments.read(buffer), 1, 1_000, AuditEventType.CREATED, "alice");
+				assertNull(AuditSegments.read(buffer), "bit " + bit + " of byte " + (i - size) + " flipped");
+				assertEquals(size, buffer.position());
+				buffer.put(i, (byte) (buffer.get(i) ^ (1 << bit)));
+			}
+		}
+		buffer.position(size);
+		assertRecord(AuditSegments.read(buffer), 2, 2_000, AuditEventType.UPDATED, "alice");
+	}
+
+	@Test
+	void aRecordCutShortByTheEndOfTheBufferEndsTheData() {
+		byte[] userId = AuditSegments.encodeUserId("alice");
+		int size = AuditSegments.recordSize(userId);
+		ByteBuffer written = ByteBuffer.allocate(size);
+		AuditSegments.write(written, 1, 1_000, AuditEventType.CREATED, userId);
+
+		for (int length = 0; length < size; length++) {
+			ByteBuffer cut = written.slice(0, length);
+			assertNull(AuditSegments.read(cut), "record cut to " + length + " bytes");
+			assertEquals(0, cut.position());
+		}
+		assertRecord(AuditSegments.read(written.position(0)), 1, 1_000, AuditEventType.CREATED, "alice");
+	}
+
+	private static void assertRecord(AuditRecord record, long sequence, long epochMilli, AuditEventType type, String userId) {
+		assertEquals(sequence, record.getSequence());
+		assertEquals(Instant.ofEpochMilli(epochMilli), record.getRecordedAt());
+		assertEquals(type, record.getType());
+		assertEquals(userId, record.getUserId());
+	}
+}
@@ -0,0 +1,146 @@
+package com.javadeveloperblogs.app.ws.io.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks {@link RefreshTokenStore} outside of Spring: revokeAll() ends the sessions that
+ * descend from logins up to it and no later ones, and a store opened over the files of one
+ * that crashed recovers the state of its last journal sync, from the snapshot and the journal
+ * behind it, without a session torn off the end of the journal.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+class RefreshTokenStoreTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void revokeAllEndsTheSessionsStartedBeforeIt() throws IOException, InterruptedException {
+		RefreshTokenStore store = open();
+		try {
+			Instant now = Instant.now();
+			String login = store.issue("alice", now.minusSeconds(60), now.plusSeconds(3600));
+			String refreshed = store.issue("alice", now.minusSeconds(7200), now.plusSeconds(3600));
+			String otherUser = store.issue("bob", now.minusSeconds(60), now.plusSeconds(3600));
+
+			store.revokeAll("alice");
+			Instant revokedAt = Instant.now();
+			// Sessions started in the millisecond of the revocation count as revoked
+			Thread.sleep(2);
+
+			String laterLogin = store.issue("alice", Instant.now(), Instant.now().plusSeconds(3600));
+			// A refresh of a session from before the revocation keeps its startedAt, and with it the revocation
+			String laterRefresh = store.issue("alice", revokedAt.minusSeconds(1), Instant.now().plusSeconds(3600));
+
+			assertNull(store.userIdOf(login));
+			assertNull(store.revoke(refreshed));
+			assertNull(store.userIdOf(laterRefresh));
+			assertEquals("alice", store.userIdOf(laterLogin));
+			assertEquals("bob", store.userIdOf(otherUser));
+
+			// Revoking again ends the later login too
+			Thread.sleep(2);
+			store.revokeAll("alice");
+			assertNull(store.userIdOf(laterLogin));
+		} finally {
+			store.destroy();
+		}
+	}
+
+	@Test
+	void recoversTheLastSyncAfterACrash() throws IOException, InterruptedException {
+		RefreshTokenStore crashed = open();
+		Instant now = Instant.now();
+		String revoked = crashed.issue("alice", now, now.plusSeconds(3600));
+		String kept = crashed.issue("alice", now, now.plusSeconds(3600));
+		String ofRevokedUser = crashed.issue("carol", now.minusSeconds(60), now.plusSeconds(3600));
+		String shortLived = crashed.issue("dave", now, now.plusMillis(50));
+		crashed.revoke(revoked);
+		crashed.revokeAll("carol");
+		crashed.snapshot();
+
+		// Changes after the snapshot exist only in its journal
+		String revokedAfterSnapshot = crashed.issue("bob", now, now.plusSeconds(3600));
+		String issuedAfterSnapshot = crashed.issue("bob", now, now.plusSeconds(3600));
+		crashed.revoke(revokedAfterSnapshot);
+		crashed.revokeAll("erin");
+		Thread.sleep(2);
+		String carolLater = crashed.issue("carol", Instant.now(), Instant.now().plusSeconds(3600));
+		crashed.sync();
+
+		// The last session issued before the crash was only half written
+		String torn = crashed.issue("frank", now, now.plusSeconds(3600));
+		crashed.sync();
+		Path journal = newestJournal();
+		try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 3);
+		}
+		Thread.sleep(100);
+
+		RefreshTokenStore recovered = open();
+		try {
+			assertNull(recovered.userIdOf(revoked));
+			assertEquals("alice", recovered.userIdOf(kept));
+			assertNull(recovered.userIdOf(ofRevokedUser));
+			assertNull(recovered.userIdOf(shortLived));
+			assertNull(recovered.userIdOf(revokedAfterSnapshot));
+			assertEquals("bob", recovered.userIdOf(issuedAfterSnapshot));
+			assertEquals("carol", recovered.userIdOf(carolLater));
+			assertNull(recovered.userIdOf(torn));
+			// alice, bob and the later carol; the expired and torn sessions were not loaded
+			assertEquals(3.0, recovered.meterRegistry.get("sessions.active").gauge().value());
+
+			// Recovery wrote a snapshot of its own, which a second restart starts from
+			recovered.destroy();
+			recovered = open();
+			assertEquals("alice", recovered.userIdOf(kept));
+			assertNull(recovered.userIdOf(ofRevokedUser));
+			assertEquals("carol", recovered.userIdOf(carolLater));
+			assertNotNull(recovered.revoke(issuedAfterSnapshot));
+		} finally {
+			recovered.destroy();
+		}
+	}
+
+	private RefreshTokenStore open() throws IOException {
+		RefreshTokenStore store = new RefreshTokenStore();
+		store.meterRegistry = new SimpleMeterRegistry();
+		store.directory = directory;
+		store.maxSessions = 1000;
+		store.stripes = 4;
+		store.wheelTick = Duration.ofSeconds(1);
+		store.maxLifetime = Duration.ofDays(30);
+		store.init();
+		return store;
+	}
+
+	private Path newestJournal() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.getFileName().toString().startsWith("journal-"))
+					.max((a, b) -> Long.compare(generation(a), generation(b)))
+					.orElseThrow();
+		}
+	}
+
+	private static long generation(Path journal) {
+		return Long.parseLong(journal.getFileName().toString().substring("journal-".length()));
+	}
+}
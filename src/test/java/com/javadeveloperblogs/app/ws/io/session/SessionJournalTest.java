@@ -0,0 +1,181 @@
+package com.javadeveloperblogs.app.ws.io.session;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks recovery from a {@link SessionJournal}: the newest snapshot plus the journals
+ * written since give the state at the crash, also when the crash interrupted a snapshot, and a
+ * journal torn anywhere replays exactly the records written completely before the tear.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+class SessionJournalTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void recoversTheSnapshotAndTheJournalsWrittenSince() throws IOException {
+		SessionJournal journal = new SessionJournal(directory);
+		journal.startGeneration(1);
+		journal.appendIssue(1, 1, 10, 1000, bytes("alice"));
+		journal.appendIssue(2, 2, 20, 2000, bytes("bob"));
+		journal.appendIssue(3, 3, 30, 3000, bytes("carol"));
+		journal.appendRevokeUser(bytes("bob"), 100);
+
+		// Changes made after the new journal is opened but before the stripes are copied end up
+		// in both the snapshot and the journal
+		journal.startGeneration(2);
+		journal.appendRevoke(2, 2);
+		journal.appendIssue(4, 4, 40, 4000, bytes("dave"));
+		journal.writeSnapshot(2, sessions(
+				new SessionRecord(1, 1, 10, 1000, "alice"),
+				new SessionRecord(3, 3, 30, 3000, "carol"),
+				new SessionRecord(4, 4, 40, 4000, "dave")), Map.of("bob", 100L));
+		assertFalse(Files.exists(directory.resolve("journal-1")), "journal-1 outlived the snapshot");
+		assertFalse(Files.exists(directory.resolve("snapshot-1")), "snapshot-1 outlived the snapshot");
+
+		journal.appendRevoke(1, 1);
+		journal.appendIssue(5, 5, 50, 5000, bytes("alice"));
+		journal.appendRevokeUser(bytes("carol"), 200);
+		journal.appendRevokeUser(bytes("bob"), 150);
+		journal.sync();
+
+		// Crash: no close, no further snapshot
+		State recovered = recover(directory);
+		assertEquals(2, recovered.generation);
+		assertEquals(Map.of(3L, "carol", 4L, "dave", 5L, "alice"), recovered.sessions);
+		assertEquals(Map.of("bob", 150L, "carol", 200L), recovered.userRevocations);
+		journal.close();
+	}
+
+	@Test
+	void aSnapshotCutShortByACrashIsIgnored() throws IOException {
+		SessionJournal journal = new SessionJournal(directory);
+		journal.startGeneration(1);
+		journal.appendIssue(1, 1, 10, 1000, bytes("alice"));
+		journal.writeSnapshot(1, sessions(new SessionRecord(1, 1, 10, 1000, "alice")), Map.of());
+		journal.appendIssue(2, 2, 20, 2000, bytes("bob"));
+
+		// The next snapshot got as far as opening its journal and part of the temporary file
+		journal.startGeneration(2);
+		journal.appendIssue(3, 3, 30, 3000, bytes("carol"));
+		journal.sync();
+		Files.write(directory.resolve("snapshot-2.tmp"), new byte[] {1, 0, 0, 0});
+
+		State recovered = recover(directory);
+		assertEquals(2, recovered.generation);
+		assertEquals(Map.of(1L, "alice", 2L, "bob", 3L, "carol"), recovered.sessions);
+		journal.close();
+	}
+
+	@Test
+	void aTornJournalReplaysTheRecordsBeforeTheTear() throws IOException {
+		Path written = directory.resolve("written");
+		SessionJournal journal = new SessionJournal(written);
+		journal.startGeneration(1);
+		// Journal length after each record
+		List<Long> ends = new ArrayList<>();
+		journal.appendIssue(1, 1, 10, 1000, bytes("alice"));
+		ends.add(length(journal, written));
+		journal.appendRevokeUser(bytes("bob"), 100);
+		ends.add(length(journal, written));
+		journal.appendIssue(2, 2, 20, 2000, bytes("carol"));
+		ends.add(length(journal, written));
+		journal.appendRevoke(1, 1);
+		ends.add(length(journal, written));
+		journal.close();
+
+		long fullLength = ends.get(ends.size() - 1);
+		for (long cut = 0; cut <= fullLength; cut++) {
+			Path torn = directory.resolve("torn-" + cut);
+			Files.createDirectories(torn);
+			Files.copy(written.resolve("journal-1"), torn.resolve("journal-1"));
+			try (FileChannel channel = FileChannel.open(torn.resolve("journal-1"), StandardOpenOption.WRITE)) {
+				channel.truncate(cut);
+			}
+
+			int complete = 0;
+			while (complete < ends.size() && ends.get(complete) <= cut) complete++;
+			State recovered = recover(torn);
+			assertEquals(expectedAfter(complete), recovered.sessions, "sessions with the journal cut at " + cut);
+			assertEquals(complete >= 2 ? Map.of("bob", 100L) : Map.of(), recovered.userRevocations,
+					"revocations with the journal cut at " + cut);
+		}
+	}
+
+	private static Map<Long, String> expectedAfter(int records) {
+		return switch (records) {
+			case 0 -> Map.of();
+			case 1, 2 -> Map.of(1L, "alice");
+			case 3 -> Map.of(1L, "alice", 2L, "carol");
+			default -> Map.of(2L, "carol");
+		};
+	}
+
+	private static long length(SessionJournal journal, Path directory) throws IOException {
+		journal.sync();
+		return Files.size(directory.resolve("journal-1"));
+	}
+
+	private static Consumer<Consumer<SessionRecord>> sessions(SessionRecord... sessions) {
+		return sink -> {
+			for (SessionRecord session : sessions) sink.accept(session);
+		};
+	}
+
+	private static byte[] bytes(String userId) {
+		return userId.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Recovers a fresh journal over the directory into maps: sessions by keyLow, which equals the
+	 * keyHigh in all these tests, and user revocations by userId.
+	 */
+	private static State recover(Path directory) throws IOException {
+		State returnValue = new State();
+		try (SessionJournal journal = new SessionJournal(directory)) {
+			returnValue.generation = journal.recover(new SessionJournal.Replay() {
+				@Override
+				public void issue(SessionRecord session) {
+					returnValue.sessions.put(session.getKeyLow(), session.getUserId());
+				}
+
+				@Override
+				public void revoke(long keyHigh, long keyLow) {
+					returnValue.sessions.remove(keyLow);
+				}
+
+				@Override
+				public void revokeUser(String userId, long revokedAt) {
+					returnValue.userRevocations.merge(userId, revokedAt, Math::max);
+				}
+			});
+		}
+		return returnValue;
+	}
+
+	private static final class State {
+		long generation;
+		final Map<Long, String> sessions = new TreeMap<>();
+		final Map<String, Long> userRevocations = new TreeMap<>();
+	}
+}
@@ -0,0 +1,146 @@
+package com.javadeveloperblogs.app.ws.io.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the hash index and the expiry wheel of {@link SessionSegment}: lookups still find
+ * every session after deletes in the middle of a probe chain, including chains that wrap
+ * around the end of the index, and the wheel frees each session at its expiry whether it was
+ * scheduled on level 0 or cascaded down from the levels above, and after a pause longer than
+ * the sweep walks through.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+class SessionSegmentTest {
+
+	private static final long FAR_FUTURE = Long.MAX_VALUE / 2;
+	private static final byte[] USER_ID = "user".getBytes(StandardCharsets.US_ASCII);
+
+	@Test
+	void deletesInsideProbeChainsKeepTheOtherSessionsReachable() {
+		// Capacity 8 gives an index of 16 positions; keyLow 14, 30, 46 and 62 share home 14, so
+		// their chain wraps around the end, and the sessions homed at 15, 0 and 1 queue behind it
+		SessionSegment segment = new SessionSegment(8, 1000, 0);
+		long[] keyLows = {14, 30, 46, 0, 15, 62, 1, 16};
+		for (int i = 0; i < keyLows.length; i++) {
+			assertTrue(segment.put(i, keyLows[i], 0, FAR_FUTURE, USER_ID));
+		}
+		assertFalse(segment.put(99, 99, 0, FAR_FUTURE, USER_ID), "put into a full segment");
+
+		List<Integer> remaining = new ArrayList<>(List.of(0, 1, 2, 3, 4, 5, 6, 7));
+		for (int removed : new int[] {1, 3, 0, 6, 7, 2, 5, 4}) {
+			assertNotNull(segment.remove(removed, keyLows[removed], 0), "remove key " + removed);
+			assertNull(segment.remove(removed, keyLows[removed], 0), "removed twice " + removed);
+			remaining.remove(Integer.valueOf(removed));
+
+			assertEquals(remaining.size(), segment.size());
+			for (int key : remaining) {
+				SessionRecord session = segment.get(key, keyLows[key], 0);
+				assertNotNull(session, "key " + key + " lost after removing key " + removed);
+				assertEquals(key, session.getKeyHigh());
+			}
+		}
+	}
+
+	@Test
+	void randomOperationsAgreeWithAMap() {
+		SessionSegment segment = new SessionSegment(64, 1000, 0);
+		Map<Long, Long> expected = new HashMap<>();
+		Random random = new Random(47);
+
+		for (int i = 0; i < 100_000; i++) {
+			// Few distinct keys with colliding keyLows keep the chains long and the segment near full
+			long keyHigh = random.nextInt(96);
+			long keyLow = (keyHigh % 8) * 128 + random.nextInt(2);
+			long key = keyHigh << 32 | keyLow;
+			if (random.nextInt(3) == 0) {
+				SessionRecord removed = segment.remove(keyHigh, keyLow, 0);
+				assertEquals(expected.remove(key), removed == null ? null : removed.getExpiresAt());
+			} else {
+				long expiresAt = FAR_FUTURE - i;
+				boolean stored = segment.put(keyHigh, keyLow, 0, expiresAt, USER_ID);
+				assertEquals(expected.containsKey(key) || expected.size() < 64, stored, "put " + i);
+				if (stored) expected.put(key, expiresAt);
+			}
+			assertEquals(expected.size(), segment.size());
+		}
+
+		for (long keyHigh = 0; keyHigh < 96; keyHigh++) {
+			for (long keyLow = (keyHigh % 8) * 128; keyLow < (keyHigh % 8) * 128 + 2; keyLow++) {
+				SessionRecord session = segment.get(keyHigh, keyLow, 0);
+				assertEquals(expected.get(keyHigh << 32 | keyLow), session == null ? null : session.getExpiresAt());
+			}
+		}
+	}
+
+	@Test
+	void sessionsExpireOnTimeAcrossLevelCascades() {
+		// With 1 ms ticks the levels span 64, 4096, 262144 and 16777216 ticks; the last expiry is
+		// beyond the wheel and waits in the top level
+		SessionSegment segment = new SessionSegment(32, 1, 0);
+		long[] expiries = {1, 63, 64, 65, 4095, 4096, 4097, 70_000, 262_143, 262_144, 262_145,
+				300_000, 16_777_215, 16_777_216, 20_000_000};
+		for (int i = 0; i < expiries.length; i++) {
+			assertTrue(segment.put(i, i, 0, expiries[i], USER_ID));
+		}
+
+		int freed = 0;
+		for (long expiresAt : expiries) {
+			freed += segment.advance(expiresAt - 1, Long.MAX_VALUE);
+			assertEquals(countAfter(expiries, expiresAt - 1), segment.size(), "sessions left before " + expiresAt);
+			freed += segment.advance(expiresAt, Long.MAX_VALUE);
+			assertEquals(countAfter(expiries, expiresAt), segment.size(), "sessions left at " + expiresAt);
+		}
+		assertEquals(expiries.length, freed);
+	}
+
+	@Test
+	void aLongPauseFreesEverySessionExpiredMeanwhile() {
+		// One second ticks: expiries on every level, and a pause of 40 days before the next sweep
+		long day = 86_400_000;
+		SessionSegment segment = new SessionSegment(32, 1000, 0);
+		long[] expiries = {5_000, 200_000, 7_200_000, day, 20 * day, 35 * day, 41 * day, 300 * day};
+		for (int i = 0; i < expiries.length; i++) {
+			assertTrue(segment.put(i, i, 0, expiries[i], USER_ID));
+		}
+
+		int freed = segment.advance(40 * day, 1 << 16);
+		assertEquals(6, freed);
+		assertEquals(2, segment.size());
+		assertNull(segment.get(5, 5, 40 * day));
+		assertNotNull(segment.get(6, 6, 40 * day));
+
+		// The sessions left still expire on time, with the sweep running every tick again
+		long now = 40 * day;
+		while (now < 41 * day - 1000) {
+			now += 1000;
+			assertEquals(0, segment.advance(now, 1 << 16));
+		}
+		assertEquals(1, segment.advance(41 * day, 1 << 16));
+		assertEquals(1, segment.advance(400 * day, 1 << 16));
+		assertEquals(0, segment.size());
+	}
+
+	private static int countAfter(long[] expiries, long now) {
+		int returnValue = 0;
+		for (long expiresAt : expiries) {
+			if (expiresAt > now) returnValue++;
+		}
+		return returnValue;
+	}
+}
@@ -0,0 +1,60 @@
+package com.javadeveloperblogs.app.ws.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects response latencies and error counts for one endpoint of the load-test harness.
+ *
+ * Latencies are measured from the intended send time of the request rather than the actual
+ * send time, so queueing inside the client is charged to the service (no coordinated omission).
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+class LatencyRecorder {
+
+	private final String name;
+	private long[] latenciesNanos = new long[1024];
+	private int count;
+	private int errors;
+
+	LatencyRecorder(String name) {
+		this.name = name;
+	}
+
+	synchronized void record(long latencyNanos, boolean error) {
+		if (count == latenciesNanos.length) {
+			latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+		}
+		latenciesNanos[count++] = latencyNanos;
+		if (error) {
+			errors++;
+		}
+	}
+
+	synchronized String report(double durationSeconds) {
+		long[] sorted = Arrays.copyOf(latenciesNanos, count);
+		Arrays.sort(sorted);
+
+		return String.format("%-16s %9d %10.1f %10.2f %10.2f %10.2f %8.2f%%",
+				name,
+				count,
+				count / durationSeconds,
+				percentileMillis(sorted, 0.50),
+				percentileMillis(sorted, 0.99),
+				percentileMillis(sorted, 0.999),
+				count == 0 ? 0.0 : errors * 100.0 / count);
+	}
+
+	static String header() {
+		return String.format("%-16s %9s %10s %10s %10s %10s %9s",
+				"endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+	}
+
+	private static double percentileMillis(long[] sorted, double percentile) {
+		if (sorted.length == 0) return 0.0;
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(0, index)] / 1_000_000.0;
+	}
+}
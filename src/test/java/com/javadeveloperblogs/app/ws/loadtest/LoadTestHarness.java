@@ -0,0 +1,310 @@
+package com.javadeveloperblogs.app.ws.loadtest;
+
+import com.javadeveloperblogs.app.ws.UserServiceApplication;
+import com.javadeveloperblogs.app.ws.io.Repository.RoleRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.UserRepository;
+import com.javadeveloperblogs.app.ws.io.entity.AddressEntity;
+import com.javadeveloperblogs.app.ws.io.entity.AuthorityEntity;
+import com.javadeveloperblogs.app.ws.io.entity.RoleEntity;
+import com.javadeveloperblogs.app.ws.io.entity.UserEntity;
+import com.javadeveloperblogs.app.ws.shared.Utils;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runnable load-test harness for the User Service.
+ *
+ * Boots UserServiceApplication with the "loadtest" profile (embedded H2 database in MySQL
+ * compatibility mode), seeds users, addresses and roles, then drives a mixed workload over
+ * localhost using an open arrival model: requests are issued at exponentially distributed
+ * intervals for the configured rate, independent of how fast responses come back.
+ *
+ * Run with:
+ * ./mvnw -Ploadtest test-compile exec:java -Dloadtest.users=10000 -Dloadtest.rate=300
+ *
+ * System properties (defaults in brackets):
+ * - loadtest.users: users to seed [1000]
+ * - loadtest.addressesPerUser: addresses per seeded user [2]
+ * - loadtest.rate: target arrival rate in requests/second [200]
+ * - loadtest.warmupSeconds: warm-up duration, not reported [10]
+ * - loadtest.durationSeconds: measured duration [30]
+ * - loadtest.mix: operation weights [signup:5,read:50,list:20,update:15,passwordReset:10]
+ *
+ * The report lists throughput, p50/p99/p999 latency and error rate per endpoint.
+ * ReadPathBenchmark reuses this harness to compare the blocking and reactive read paths.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class LoadTestHarness {
+
+	private static final String SEED_PASSWORD = "loadtest-password";
+	private static final int SEED_BATCH_SIZE = 500;
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private final AtomicLong signupSequence = new AtomicLong();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final String baseUrl;
+	private final List<String> userIds;
+	private final List<String> emails;
+
+	LoadTestHarness(String baseUrl, List<String> userIds, List<String> emails) {
+		this.baseUrl = baseUrl;
+		this.userIds = userIds;
+		this.emails = emails;
+	}
+
+	public static void main(String[] args) {
+		Map<Operation, Integer> mix = parseMix(System.getProperty("loadtest.mix",
+				"signup:5,read:50,list:20,update:15,passwordReset:10"));
+
+		try (ConfigurableApplicationContext context = start(args)) {
+			seeded(context).measure("Mixed workload", mix);
+		}
+	}
+
+	static ConfigurableApplicationContext start(String[] args) {
+		SpringApplication application = new SpringApplication(UserServiceApplication.class);
+		application.setAdditionalProfiles("loadtest");
+		return application.run(args);
+	}
+
+	static LoadTestHarness seeded(ConfigurableApplicationContext context) {
+		int users = Integer.getInteger("loadtest.users", 1000);
+		int addressesPerUser = Integer.getInteger("loadtest.addressesPerUser", 2);
+		String port = context.getEnvironment().getProperty("local.server.port");
+		List<String> userIds = new ArrayList<>(users);
+		List<String> emails = new ArrayList<>(users);
+
+		long seedStart = System.nanoTime();
+		seed(context, users, addressesPerUser, userIds, emails);
+		System.out.printf("Seeded %d users with %d addresses each in %d ms%n", users, addressesPerUser,
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+		return new LoadTestHarness("http://localhost:" + port, userIds, emails);
+	}
+
+	/**
+	 * Warms up, then measures the given operation mix and prints the report.
+	 */
+	void measure(String title, Map<Operation, Integer> mix) {
+		int rate = Integer.getInteger("loadtest.rate", 200);
+		int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+		int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+
+		System.out.printf("%n== %s ==%n", title);
+		System.out.printf("Warming up for %d s at %d req/s%n", warmupSeconds, rate);
+		run(mix, rate, warmupSeconds);
+
+		System.out.printf("Measuring for %d s at %d req/s%n", durationSeconds, rate);
+		Map<Operation, LatencyRecorder> results = run(mix, rate, durationSeconds);
+
+		System.out.println(LatencyRecorder.header());
+		for (LatencyRecorder recorder : results.values()) {
+			System.out.println(recorder.report(durationSeconds));
+		}
+	}
+
+	private static void seed(ConfigurableApplicationContext context, int users, int addressesPerUser,
+							 List<String> userIds, List<String> emails) {
+		RoleRepository roleRepository = context.getBean(RoleRepository.class);
+		UserRepository userRepository = context.getBean(UserRepository.class);
+		Utils utils = context.getBean(Utils.class);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+		roleRepository.save(role("ROLE_USER", "READ_AUTHORITY", "WRITE_AUTHORITY"));
+		roleRepository.save(role("ROLE_ADMIN", "DELETE_AUTHORITY"));
+
+		// One hash shared by every seeded user: hashing per row would dominate seeding time.
+		String encryptedPassword = context.getBean(BCryptPasswordEncoder.class).encode(SEED_PASSWORD);
+
+		for (int first = 0; first < users; first += SEED_BATCH_SIZE) {
+			int from = first;
+			int to = Math.min(users, first + SEED_BATCH_SIZE);
+
+			// Roles are re-read inside the transaction so cascading PERSIST sees managed instances.
+			transactionTemplate.executeWithoutResult(status -> {
+				RoleEntity userRole = roleRepository.findByName("ROLE_USER");
+				RoleEntity adminRole = roleRepository.findByName("ROLE_ADMIN");
+				List<UserEntity> batch = new ArrayList<>(to - from);
+
+				for (int i = from; i < to; i++) {
+					UserEntity user = new UserEntity();
+					user.setUserId(utils.generateUserId());
+					user.setFirstName("First" + i);
+					user.setLastName("Last" + i);
+					user.setEmail("seed" + i + "@loadtest.local");
+					user.setEncryptedPassword(encryptedPassword);
+					user.setEmailVerificationStatus(i % 2 == 0);
+					user.setRoles(new ArrayList<>(i % 100 == 0 ? List.of(userRole, adminRole) : List.of(userRole)));
+
+					List<AddressEntity> addresses = new ArrayList<>(addressesPerUser);
+					for (int a = 0; a < addressesPerUser; a++) {
+						AddressEntity address = new AddressEntity();
+						address.setAddressId(utils.generateAddressId());
+						address.setCity("City" + (i % 50));
+						address.setCountry(i % 3 == 0 ? "Canada" : "Germany");
+						address.setStreetName(a + " Main Street");
+						address.setPostalCode("V6B2M9");
+						address.setType(a % 2 == 0 ? "shipping" : "billing");
+						address.setUserDetails(user);
+						addresses.add(address);
+					}
+					user.setAddresses(addresses);
+
+					batch.add(user);
+					userIds.add(user.getUserId());
+					emails.add(user.getEmail());
+				}
+
+				userRepository.saveAll(batch);
+			});
+		}
+	}
+
+	private static RoleEntity role(String name, String... authorities) {
+		RoleEntity role = new RoleEntity();
+		role.setName(name);
+		List<AuthorityEntity> authorityEntities = new ArrayList<>();
+		for (String authority : authorities) {
+			authorityEntities.add(authority(authority));
+		}
+		role.setAuthorities(authorityEntities);
+		return role;
+	}
+
+	private static AuthorityEntity authority(String name) {
+		AuthorityEntity authority = new AuthorityEntity();
+		authority.setName(name);
+		return authority;
+	}
+
+	Map<Operation, LatencyRecorder> run(Map<Operation, Integer> mix, int rate, int durationSeconds) {
+		Map<Operation, LatencyRecorder> recorders = new LinkedHashMap<>();
+		for (Operation operation : mix.keySet()) {
+			recorders.put(operation, new LatencyRecorder(operation.name()));
+		}
+		Operation[] weighted = weightedOperations(mix);
+
+		double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) rate;
+		long start = System.nanoTime();
+		long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+		long intended = start;
+
+		while (true) {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			intended += (long) (-Math.log(1.0 - random.nextDouble()) * meanIntervalNanos);
+			if (intended >= end) break;
+
+			long wait = intended - System.nanoTime();
+			if (wait > 0) LockSupport.parkNanos(wait);
+
+			Operation operation = weighted[random.nextInt(weighted.length)];
+			LatencyRecorder recorder = recorders.get(operation);
+			long scheduledAt = intended;
+
+			inFlight.incrementAndGet();
+			client.sendAsync(request(operation, random), HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, failure) -> {
+						boolean error = failure != null || response.statusCode() >= 400;
+						recorder.record(System.nanoTime() - scheduledAt, error);
+						inFlight.decrementAndGet();
+					});
+		}
+
+		long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+		}
+
+		return recorders;
+	}
+
+	private HttpRequest request(Operation operation, ThreadLocalRandom random) {
+		int index = random.nextInt(userIds.size());
+
+		switch (operation) {
+			case signup: {
+				long n = signupSequence.incrementAndGet();
+				String body = "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"signup" + n + "-" + System.nanoTime()
+						+ "@loadtest.local\",\"password\":\"" + SEED_PASSWORD + "\",\"addresses\":[{\"city\":\"Vancouver\","
+						+ "\"country\":\"Canada\",\"streetName\":\"123 Main Street\",\"postalCode\":\"V6B2M9\",\"type\":\"shipping\"}]}";
+				return json(baseUrl + "/users").POST(HttpRequest.BodyPublishers.ofString(body)).build();
+			}
+			case read:
+				return json(baseUrl + "/users/" + userIds.get(index)).GET().build();
+			case list:
+				return json(baseUrl + "/users?page=" + random.nextInt(1, 20) + "&limit=50").GET().build();
+			case addresses:
+				return json(baseUrl + "/users/" + userIds.get(index) + "/addresses").GET().build();
+			case reactiveRead:
+				return json(baseUrl + "/reactive/users/" + userIds.get(index)).GET().build();
+			case reactiveList:
+				return json(baseUrl + "/reactive/users?page=" + random.nextInt(1, 20) + "&limit=50").GET().build();
+			case reactiveAddresses:
+				return json(baseUrl + "/reactive/users/" + userIds.get(index) + "/addresses").GET().build();
+			case update: {
+				String body = "{\"firstName\":\"Updated" + random.nextInt(1000) + "\",\"lastName\":\"Last" + index + "\"}";
+				return json(baseUrl + "/users/" + userIds.get(index)).PUT(HttpRequest.BodyPublishers.ofString(body)).build();
+			}
+			case passwordReset: {
+				String body = "{\"email\":\"" + emails.get(index) + "\"}";
+				return json(baseUrl + "/users/password-reset-request").POST(HttpRequest.BodyPublishers.ofString(body)).build();
+			}
+			default:
+				throw new IllegalArgumentException("Unknown operation " + operation);
+		}
+	}
+
+	private static HttpRequest.Builder json(String url) {
+		return HttpRequest.newBuilder(URI.create(url))
+				.timeout(Duration.ofSeconds(30))
+				.header("Content-Type", "application/json")
+				.header("Accept", "application/json");
+	}
+
+	private static Operation[] weightedOperations(Map<Operation, Integer> mix) {
+		List<Operation> weighted = new ArrayList<>();
+		mix.forEach((operation, weight) -> {
+			for (int i = 0; i < weight; i++) weighted.add(operation);
+		});
+		return weighted.toArray(new Operation[0]);
+	}
+
+	static Map<Operation, Integer> parseMix(String mix) {
+		Map<Operation, Integer> returnValue = new LinkedHashMap<>();
+		Arrays.stream(mix.split(",")).map(String::trim).filter(s -> !s.isEmpty()).forEach(entry -> {
+			String[] parts = entry.split(":");
+			returnValue.put(Operation.valueOf(parts[0]), Integer.parseInt(parts[1]));
+		});
+		return returnValue;
+	}
+
+	enum Operation {
+		signup, read, list, update, passwordReset, addresses,
+		reactiveRead, reactiveList, reactiveAddresses
+	}
+}
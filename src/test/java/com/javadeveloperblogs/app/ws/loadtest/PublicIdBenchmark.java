@@ -0,0 +1,99 @@
+package com.javadeveloperblogs.app.ws.loadtest;
+
+import com.javadeveloperblogs.app.ws.shared.PublicIdGenerator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Benchmarks insert throughput and index size of time-ordered public IDs (PublicIdGenerator,
+ * CHAR(26)) against random UUID strings (VARCHAR(36)).
+ *
+ * Each variant gets a table shaped like "users": a BIGINT primary key plus a unique index on
+ * the public ID, filled with batched inserts. By default an H2 file database is used;
+ * point idbench.url at MySQL to measure InnoDB, where random keys cause page splits.
+ *
+ * Run with:
+ * ./mvnw -Ploadtest test-compile exec:java
+ *     -Dloadtest.mainClass=com.javadeveloperblogs.app.ws.loadtest.PublicIdBenchmark -Didbench.rows=1000000
+ *
+ * System properties (defaults in brackets):
+ * - idbench.rows: rows per variant [500000]
+ * - idbench.url / idbench.user / idbench.password: JDBC connection [temporary H2 file database]
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class PublicIdBenchmark {
+
+	private static final int BATCH_SIZE = 1000;
+
+	public static void main(String[] args) throws Exception {
+		int rows = Integer.getInteger("idbench.rows", 500_000);
+		String url = System.getProperty("idbench.url");
+		if (url == null) {
+			Path directory = Files.createTempDirectory("idbench");
+			url = "jdbc:h2:file:" + directory.resolve("idbench") + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+		}
+		boolean mysql = url.startsWith("jdbc:mysql:");
+
+		try (Connection connection = DriverManager.getConnection(url,
+				System.getProperty("idbench.user", "sa"), System.getProperty("idbench.password", ""))) {
+			connection.setAutoCommit(false);
+
+			System.out.printf("%-22s %10s %12s %14s%n", "variant", "rows", "inserts/s", "table+index KB");
+			run(connection, mysql, "ids_time_ordered", "CHAR(26)", rows, PublicIdGenerator::generate);
+			run(connection, mysql, "ids_random_uuid", "VARCHAR(36)", rows, () -> UUID.randomUUID().toString());
+		}
+	}
+
+	private static void run(Connection connection, boolean mysql, String table, String columnType, int rows,
+							Supplier<String> ids) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("DROP TABLE IF EXISTS " + table);
+			statement.execute("CREATE TABLE " + table + " (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+					+ "public_id " + columnType + " NOT NULL, CONSTRAINT uk_" + table + " UNIQUE (public_id))");
+		}
+		connection.commit();
+
+		long start = System.nanoTime();
+		try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " (public_id) VALUES (?)")) {
+			for (int i = 1; i <= rows; i++) {
+				insert.setString(1, ids.get());
+				insert.addBatch();
+				if (i % BATCH_SIZE == 0 || i == rows) {
+					insert.executeBatch();
+					connection.commit();
+				}
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+		System.out.printf("%-22s %10d %12.0f %14d%n", table, rows, rows / seconds, sizeKilobytes(connection, mysql, table));
+	}
+
+	private static long sizeKilobytes(Connection connection, boolean mysql, String table) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			if (mysql) {
+				statement.execute("ANALYZE TABLE " + table);
+				try (ResultSet resultSet = statement.executeQuery("SELECT data_length + index_length FROM information_schema.tables "
+						+ "WHERE table_schema = DATABASE() AND table_name = '" + table + "'")) {
+					return resultSet.next() ? resultSet.getLong(1) / 1024 : -1;
+				}
+			}
+			statement.execute("CHECKPOINT");
+			try (ResultSet resultSet = statement.executeQuery("CALL DISK_SPACE_USED('" + table + "')")) {
+				return resultSet.next() ? resultSet.getLong(1) / 1024 : -1;
+			}
+		}
+	}
+}
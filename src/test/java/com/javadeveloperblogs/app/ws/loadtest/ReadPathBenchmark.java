@@ -0,0 +1,34 @@
+package com.javadeveloperblogs.app.ws.loadtest;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Side-by-side benchmark of the blocking UserController read endpoints and the non-blocking
+ * ReactiveUserController endpoints.
+ *
+ * Both read paths are driven with the same operation mix (profile read, list, addresses) at the
+ * same open arrival rate against the same seeded database in one JVM, so the two reports
+ * compare throughput and latency on equal hardware. Raise loadtest.rate until one path starts
+ * to queue to find its saturation point.
+ *
+ * Run with:
+ * ./mvnw -Ploadtest test-compile exec:java
+ *     -Dloadtest.mainClass=com.javadeveloperblogs.app.ws.loadtest.ReadPathBenchmark -Dloadtest.rate=1000
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class ReadPathBenchmark {
+
+	public static void main(String[] args) {
+		try (ConfigurableApplicationContext context = LoadTestHarness.start(args)) {
+			LoadTestHarness harness = LoadTestHarness.seeded(context);
+
+			harness.measure("Blocking UserController",
+					LoadTestHarness.parseMix("read:3,list:1,addresses:2"));
+			harness.measure("Reactive ReactiveUserController",
+					LoadTestHarness.parseMix("reactiveRead:3,reactiveList:1,reactiveAddresses:2"));
+		}
+	}
+}
@@ -0,0 +1,186 @@
+package com.javadeveloperblogs.app.ws.loadtest;
+
+import com.javadeveloperblogs.app.ws.UserServiceApplication;
+import com.javadeveloperblogs.app.ws.exception.UserAlreadyExistsException;
+import com.javadeveloperblogs.app.ws.io.Repository.UserRepository;
+import com.javadeveloperblogs.app.ws.io.sharding.ShardRouter;
+import com.javadeveloperblogs.app.ws.service.UserService;
+import com.javadeveloperblogs.app.ws.shared.Emails;
+import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency check of email uniqueness on signup.
+ *
+ * Boots UserServiceApplication with the "loadtest" profile (and "sharded" if requested), then
+ * lets many threads sign up at once with a fixed set of emails, each email attempted several
+ * times in different letter case, and verifies that:
+ * - every email was created exactly once, all other attempts got UserAlreadyExistsException
+ * - no attempt failed with any other exception
+ * - the database holds exactly one row per normalized email
+ * - every email is found by any of its spellings and resolves to the user that won
+ *
+ * Prints throughput and latency of the created and rejected signups. Password hashing happens
+ * on every attempt and dominates the latency; compare runs rather than absolute numbers.
+ *
+ * Run with:
+ * ./mvnw -Ploadtest test-compile exec:java
+ *     -Dloadtest.mainClass=com.javadeveloperblogs.app.ws.loadtest.SignupConcurrencyCheck -Dsignupcheck.threads=64
+ *
+ * System properties (defaults in brackets):
+ * - signupcheck.threads: concurrent signup threads [32]
+ * - signupcheck.emails: distinct emails [200]
+ * - signupcheck.attempts: signups attempted per email [8]
+ * - signupcheck.sharded: run against the three embedded shards [false]
+ *
+ * Exits with status 1 if a check fails.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+public class SignupConcurrencyCheck {
+
+	public static void main(String[] args) throws InterruptedException {
+		int threads = Integer.getInteger("signupcheck.threads", 32);
+		int emails = Integer.getInteger("signupcheck.emails", 200);
+		int attempts = Integer.getInteger("signupcheck.attempts", 8);
+		boolean sharded = Boolean.getBoolean("signupcheck.sharded");
+
+		SpringApplication application = new SpringApplication(UserServiceApplication.class);
+		if (sharded) {
+			application.setAdditionalProfiles("loadtest", "sharded");
+		} else {
+			application.setAdditionalProfiles("loadtest");
+		}
+
+		List<String> failures = new ArrayList<>();
+		try (ConfigurableApplicationContext context = application.run(args)) {
+			UserService userService = context.getBean(UserService.class);
+			UserRepository userRepository = context.getBean(UserRepository.class);
+			ShardRouter shardRouter = context.getBean(ShardRouter.class);
+
+			// Attempts for the same email are spread over the run, so they race with each other
+			List<String> signups = new ArrayList<>(emails * attempts);
+			for (int i = 0; i < emails; i++) {
+				for (int attempt = 0; attempt < attempts; attempt++) {
+					signups.add(spelling("signup" + i + "@example.com", attempt));
+				}
+			}
+			Collections.shuffle(signups);
+
+			Map<String, String> winners = new ConcurrentHashMap<>();
+			Map<String, AtomicInteger> created = new ConcurrentHashMap<>();
+			AtomicInteger rejected = new AtomicInteger();
+			Queue<String> errors = new ConcurrentLinkedQueue<>();
+			LatencyRecorder createdLatency = new LatencyRecorder("created");
+			LatencyRecorder rejectedLatency = new LatencyRecorder("rejected");
+
+			ExecutorService pool = Executors.newFixedThreadPool(threads);
+			CountDownLatch startSignal = new CountDownLatch(1);
+			AtomicInteger next = new AtomicInteger();
+			for (int t = 0; t < threads; t++) {
+				pool.execute(() -> {
+					try {
+						startSignal.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					for (int i = next.getAndIncrement(); i < signups.size(); i = next.getAndIncrement()) {
+						String email = signups.get(i);
+						long sent = System.nanoTime();
+						try {
+							String userId = userService.createUser(newUser(email)).getUserId();
+							createdLatency.record(System.nanoTime() - sent, false);
+							created.computeIfAbsent(Emails.normalize(email), key -> new AtomicInteger()).incrementAndGet();
+							winners.put(Emails.normalize(email), userId);
+						} catch (UserAlreadyExistsException expected) {
+							rejectedLatency.record(System.nanoTime() - sent, false);
+							rejected.incrementAndGet();
+						} catch (RuntimeException e) {
+							rejectedLatency.record(System.nanoTime() - sent, true);
+							errors.add(email + ": " + e);
+						}
+					}
+				});
+			}
+
+			long start = System.nanoTime();
+			startSignal.countDown();
+			pool.shutdown();
+			pool.awaitTermination(1, TimeUnit.HOURS);
+			double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+			System.out.printf("%d signups for %d emails on %d threads in %.2f s (%.1f signups/s)%n",
+					signups.size(), emails, threads, seconds, signups.size() / seconds);
+			System.out.println(LatencyRecorder.header());
+			System.out.println(createdLatency.report(seconds));
+			System.out.println(rejectedLatency.report(seconds));
+
+			errors.stream().limit(10).forEach(error -> failures.add("unexpected error for " + error));
+			if (errors.size() > 10) failures.add((errors.size() - 10) + " more unexpected errors");
+
+			for (int i = 0; i < emails; i++) {
+				String email = "signup" + i + "@example.com";
+				AtomicInteger count = created.get(email);
+				if (count == null || count.get() != 1)
+					failures.add(email + " was created " + (count == null ? 0 : count.get()) + " times");
+			}
+			int expectedRejected = signups.size() - emails - errors.size();
+			if (rejected.get() != expectedRejected)
+				failures.add(rejected.get() + " signups were rejected, expected " + expectedRejected);
+
+			List<String> normalizedEmails = new ArrayList<>(winners.keySet());
+			List<List<String>> stored = shardRouter.onAllShards(shard -> userRepository.findExistingEmails(normalizedEmails));
+			int rows = stored.stream().mapToInt(List::size).sum();
+			if (rows != emails) failures.add(rows + " user rows are stored for " + emails + " emails");
+
+			for (Map.Entry<String, String> winner : winners.entrySet()) {
+				String lookup = spelling(winner.getKey(), attempts + 1);
+				if (!winner.getValue().equals(userService.getUser(lookup).getUserId()))
+					failures.add("lookup by " + lookup + " returned another user than the one created");
+			}
+		}
+
+		if (failures.isEmpty()) {
+			System.out.println("Signup concurrency check passed");
+		} else {
+			failures.forEach(failure -> System.out.println("FAILED: " + failure));
+			System.exit(1);
+		}
+	}
+
+	// Same email in different letter case: as given, upper case, or with a capitalized domain
+	private static String spelling(String email, int variant) {
+		return switch (variant % 3) {
+			case 0 -> email;
+			case 1 -> email.toUpperCase(Locale.ROOT);
+			default -> email.replace("@example.com", "@Example.COM");
+		};
+	}
+
+	private static UserDto newUser(String email) {
+		UserDto user = new UserDto();
+		user.setFirstName("Signup");
+		user.setLastName("Check");
+		user.setEmail(email);
+		user.setPassword("signupcheck-password");
+		return user;
+	}
+}
@@ -0,0 +1,295 @@
+package com.javadeveloperblogs.app.ws.service.impl;
+
+import com.javadeveloperblogs.app.ws.exception.UserAlreadyExistsException;
+import com.javadeveloperblogs.app.ws.io.Repository.EmailShardRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.RoleRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.UserRepository;
+import com.javadeveloperblogs.app.ws.io.entity.RoleEntity;
+import com.javadeveloperblogs.app.ws.io.sharding.ShardContext;
+import com.javadeveloperblogs.app.ws.io.sharding.ShardRouter;
+import com.javadeveloperblogs.app.ws.io.statistics.SqlStatementCounter;
+import com.javadeveloperblogs.app.ws.service.ReactiveUserService;
+import com.javadeveloperblogs.app.ws.service.UserImportService;
+import com.javadeveloperblogs.app.ws.service.UserService;
+import com.javadeveloperblogs.app.ws.shared.dto.ImportJobDto;
+import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import com.javadeveloperblogs.app.ws.shared.imports.ImportFormat;
+import com.javadeveloperblogs.app.ws.shared.imports.ImportJobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * End-to-end checks of user sharding against several embedded databases.
+ *
+ * Runs with the "loadtest" and "sharded" profiles (three in-memory H2 shards) and creates
+ * users through UserService, which is ShardedUserService there. A claim left in the email
+ * directory by a creation that never finished is simulated by inserting the entry directly.
+ * ROLE_USER is created on every shard, so each shard holds it under an id of its own range.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@SpringBootTest(properties = {"app.user-import.directory=target/sharded-user-imports", "app.user-import.chunk-size=6"})
+@ActiveProfiles({"loadtest", "sharded"})
+class ShardedUserServiceTest {
+
+	private static final int USERS = 120;
+	private static final int PAGE_SIZE = 25;
+	private static final int USERS_WITH_ROLES = 60;
+
+	@Autowired
+	UserService userService;
+
+	@Autowired
+	ReactiveUserService reactiveUserService;
+
+	@Autowired
+	UserRepository userRepository;
+
+	@Autowired
+	EmailShardRepository emailShardRepository;
+
+	@Autowired
+	ShardRouter shardRouter;
+
+	@Autowired
+	RoleRepository roleRepository;
+
+	@Autowired
+	UserImportService userImportService;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Value("${app.user-import.directory}")
+	Path importDirectory;
+
+	private static final List<String> userIds = new ArrayList<>();
+
+	@BeforeEach
+	void seedOnce() {
+		synchronized (userIds) {
+			if (userIds.isEmpty()) {
+				shardRouter.onAllShards(shard -> new TransactionTemplate(transactionManager).execute(status -> {
+					RoleEntity role = new RoleEntity();
+					role.setName("ROLE_USER");
+					role.setAuthorities(new ArrayList<>());
+					return roleRepository.save(role);
+				}));
+				for (int i = 0; i < USERS; i++) {
+					userIds.add(userService.createUser(user("shardcheck" + i + "@example.com")).getUserId());
+				}
+			}
+		}
+	}
+
+	@Test
+	void usersAreSpreadOverAllShards() {
+		List<Long> perShard = shardRouter.onAllShards(shard -> userRepository.count());
+
+		assertFalse(perShard.contains(0L), "users per shard: " + perShard);
+	}
+
+	@Test
+	void statementsOnEveryShardCountTowardTheCaller() {
+		SqlStatementCounter.begin();
+		try {
+			shardRouter.onAllShards(shard -> userRepository.count());
+		} finally {
+			SqlStatementCounter.end();
+		}
+
+		assertEquals(shardRouter.shardCount(), SqlStatementCounter.lastCompleted().getStatements());
+	}
+
+	@Test
+	void usersAreFoundByUserIdAndEmail() {
+		for (int i = 0; i < USERS; i++) {
+			assertEquals(userIds.get(i), userService.getUserByUserId(userIds.get(i)).getUserId());
+			assertEquals(userIds.get(i), userService.getUser("ShardCheck" + i + "@example.com").getUserId());
+		}
+	}
+
+	@Test
+	void emailIsUniqueAcrossShards() {
+		assertThrows(UserAlreadyExistsException.class, () -> userService.createUser(user("SHARDCHECK0@example.com")));
+	}
+
+	@Test
+	void pagesListEveryUserOnceInUserIdOrder() {
+		List<String> listed = new ArrayList<>();
+		for (int page = 1; ; page++) {
+			List<UserDto> users = userService.getUsers(page, PAGE_SIZE);
+			if (users.isEmpty()) break;
+			users.forEach(user -> listed.add(user.getUserId()));
+		}
+
+		List<String> expected = new ArrayList<>(userIds);
+		expected.sort(null);
+		assertEquals(expected, listed.stream().filter(userIds::contains).toList());
+		assertEquals(listed.size(), listed.stream().distinct().count());
+	}
+
+	@Test
+	void multiGetReturnsUsersOfAllShards() {
+		List<String> requested = userIds.subList(0, 100);
+
+		assertEquals(requested.size(), userService.getUsersByUserIds(requested).size());
+	}
+
+	@Test
+	void reactiveReadsAreRouted() {
+		List<String> listed = reactiveUserService.getUsers(1, PAGE_SIZE).map(UserDto::getUserId).collectList().block();
+
+		assertEquals(userService.getUsers(1, PAGE_SIZE).stream().map(UserDto::getUserId).toList(), listed);
+		for (String userId : userIds.subList(0, 10)) {
+			assertEquals(userId, reactiveUserService.getUserByUserId(userId).block().getUserId());
+		}
+	}
+
+	@Test
+	void leakedClaimIsTakenOverAfterTimeout() {
+		claim("leaked@example.com", Instant.now().minus(Duration.ofMinutes(5)));
+
+		UserDto created = userService.createUser(user("leaked@example.com"));
+
+		assertEquals(created.getUserId(), userService.getUser("leaked@example.com").getUserId());
+	}
+
+	@Test
+	void recentClaimIsKept() {
+		claim("claimed@example.com", Instant.now());
+
+		assertThrows(UserAlreadyExistsException.class, () -> userService.createUser(user("claimed@example.com")));
+	}
+
+	@Test
+	void createdUsersGetTheRoleOfTheirShard() throws InterruptedException, ExecutionException {
+		assertEachShardFindsItsOwnRole();
+
+		// Concurrent, so role lookups on different shards run between the inserts that
+		// invalidate cached role queries
+		List<Callable<UserDto>> signups = new ArrayList<>();
+		for (int i = 0; i < USERS_WITH_ROLES; i++) {
+			UserDto user = user("rolecheck" + i + "@example.com");
+			user.setRoles(List.of("ROLE_USER"));
+			signups.add(() -> userService.createUser(user));
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			for (Future<UserDto> signup : pool.invokeAll(signups)) {
+				signup.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		assertEveryUserHasRole("rolecheck%", USERS_WITH_ROLES);
+	}
+
+	@Test
+	void importedUsersGetTheRoleOfTheirShard() throws IOException, InterruptedException {
+		assertEachShardFindsItsOwnRole();
+
+		StringBuilder csv = new StringBuilder("firstName,lastName,email,password\n");
+		for (int i = 0; i < USERS_WITH_ROLES; i++) {
+			csv.append("Import,Check,importcheck").append(i).append("@example.com,importcheck-password\n");
+		}
+		Files.createDirectories(importDirectory);
+		Files.writeString(importDirectory.resolve("sharded-roles.csv"), csv);
+
+		ImportJobDto job = userImportService.startImport("sharded-roles.csv", ImportFormat.CSV);
+		Instant deadline = Instant.now().plus(Duration.ofMinutes(1));
+		while (job.getStatus() == ImportJobStatus.RUNNING && Instant.now().isBefore(deadline)) {
+			Thread.sleep(100);
+			job = userImportService.getImportJob(job.getJobId());
+		}
+
+		assertEquals(ImportJobStatus.COMPLETED, job.getStatus(), "first error: " + job.getFirstError());
+		assertEquals(USERS_WITH_ROLES, job.getImported());
+		assertEquals(0, job.getFailed(), "first error: " + job.getFirstError());
+		assertEveryUserHasRole("importcheck%", USERS_WITH_ROLES);
+	}
+
+	/**
+	 * Looks ROLE_USER up on one shard after the other, so a lookup answered from a result
+	 * cached for another shard is noticed.
+	 */
+	private void assertEachShardFindsItsOwnRole() {
+		Set<Long> roleIds = new HashSet<>();
+		for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+			roleIds.add(shardRouter.onShard(shard, () -> roleRepository.findByName("ROLE_USER").getId()));
+		}
+		assertEquals(shardRouter.shardCount(), roleIds.size(), "ROLE_USER ids found per shard: " + roleIds);
+	}
+
+	/**
+	 * Checks on every shard that the matching users hold the shard's own ROLE_USER, and that
+	 * they are spread over all shards.
+	 */
+	private void assertEveryUserHasRole(String emailPattern, int users) {
+		List<long[]> perShard = shardRouter.onAllShards(shard -> new long[]{
+				jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email LIKE ?", Long.class, emailPattern),
+				jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users u JOIN users_roles ur ON ur.users_id = u.id "
+						+ "JOIN roles r ON r.id = ur.roles_id WHERE u.email LIKE ? AND r.name = 'ROLE_USER'", Long.class, emailPattern)});
+
+		long total = 0;
+		for (long[] counts : perShard) {
+			assertNotEquals(0, counts[0], "users per shard");
+			assertEquals(counts[0], counts[1], "users with ROLE_USER on their shard");
+			total += counts[0];
+		}
+		assertEquals(users, total);
+	}
+
+	/**
+	 * Registers the email on a shard without creating its user, as a crashed creation does.
+	 */
+	private void claim(String email, Instant claimedAt) {
+		shardRouter.onShard(ShardContext.DEFAULT_SHARD, () -> new TransactionTemplate(transactionManager).execute(status -> {
+			emailShardRepository.insert(email, 1, claimedAt.truncatedTo(ChronoUnit.MICROS));
+			return null;
+		}));
+	}
+
+	private static UserDto user(String email) {
+		UserDto user = new UserDto();
+		user.setFirstName("Shard");
+		user.setLastName("Check");
+		user.setEmail(email);
+		user.setPassword("shardcheck-password");
+		return user;
+	}
+}
@@ -0,0 +1,102 @@
+package com.javadeveloperblogs.app.ws.service.impl;
+
+import com.javadeveloperblogs.app.ws.exception.UserAlreadyExistsException;
+import com.javadeveloperblogs.app.ws.io.Repository.UserRepository;
+import com.javadeveloperblogs.app.ws.service.UserService;
+import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that concurrent signups with the same email, spelled in different letter case and
+ * with surrounding whitespace, create exactly one user: the unique index on the normalized
+ * email decides between them and every other signup gets UserAlreadyExistsException.
+ * Runs against the embedded database of the "loadtest" profile.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@SpringBootTest
+@ActiveProfiles("loadtest")
+class UserServiceImplConcurrentSignupTest {
+
+	private static final int THREADS = 16;
+
+	@Autowired
+	UserService userService;
+
+	@Autowired
+	UserRepository userRepository;
+
+	@Test
+	void concurrentSignupsWithTheSameEmailCreateOneUser() throws InterruptedException {
+		AtomicInteger created = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch startSignal = new CountDownLatch(1);
+		for (int t = 0; t < THREADS; t++) {
+			UserDto user = newUser(spelling("race.check@example.com", t));
+			pool.execute(() -> {
+				try {
+					startSignal.await();
+					userService.createUser(user);
+					created.incrementAndGet();
+				} catch (UserAlreadyExistsException expected) {
+					rejected.incrementAndGet();
+				} catch (Throwable e) {
+					errors.add(e);
+				}
+			});
+		}
+		startSignal.countDown();
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES), "signups did not finish");
+
+		assertTrue(errors.isEmpty(), "unexpected errors: " + errors);
+		assertEquals(1, created.get(), "users created");
+		assertEquals(THREADS - 1, rejected.get(), "signups rejected");
+		assertEquals(List.of("race.check@example.com"),
+				userRepository.findExistingEmails(List.of("race.check@example.com")));
+		assertEquals("race.check@example.com",
+				userService.getUser(" Race.Check@EXAMPLE.com ").getEmail().trim().toLowerCase(Locale.ROOT));
+	}
+
+	// As given, upper case, capitalized domain, or padded with whitespace
+	private static String spelling(String email, int variant) {
+		return switch (variant % 4) {
+			case 0 -> email;
+			case 1 -> email.toUpperCase(Locale.ROOT);
+			case 2 -> email.replace("@example.com", "@Example.COM");
+			default -> "  " + email + " ";
+		};
+	}
+
+	private static UserDto newUser(String email) {
+		UserDto user = new UserDto();
+		user.setFirstName("Race");
+		user.setLastName("Check");
+		user.setEmail(email);
+		user.setPassword("race-check-password");
+		user.setAddresses(new ArrayList<>());
+		return user;
+	}
+}
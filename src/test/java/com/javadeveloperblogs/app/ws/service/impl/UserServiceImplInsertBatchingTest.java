@@ -0,0 +1,100 @@
+package com.javadeveloperblogs.app.ws.service.impl;
+
+import com.javadeveloperblogs.app.ws.io.statistics.SqlStatementCounter;
+import com.javadeveloperblogs.app.ws.service.UserService;
+import com.javadeveloperblogs.app.ws.shared.dto.AddressDTO;
+import com.javadeveloperblogs.app.ws.shared.dto.UserDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that creating a user with several addresses sends each table's rows as one JDBC
+ * batch, which needs IDs from the pooled sequences (META-INF/id-generators.xml) and
+ * hibernate.jdbc.batch_size with ordered inserts.
+ *
+ * Hibernate prepares one statement per batch, so the INSERTs are counted by replacing the
+ * statement inspector with one that records the SQL prepared on the test thread.
+ * Runs against the embedded database of the "loadtest" profile.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.javadeveloperblogs.app.ws.service.impl.UserServiceImplInsertBatchingTest$InsertRecorder")
+@ActiveProfiles("loadtest")
+class UserServiceImplInsertBatchingTest {
+
+	private static final int ADDRESSES = 5;
+
+	@Autowired
+	UserService userService;
+
+	@Test
+	void createUserInsertsEachTableInOneBatch() {
+		UserDto user = new UserDto();
+		user.setFirstName("Batch");
+		user.setLastName("Check");
+		user.setEmail("batch.check@example.com");
+		user.setPassword("secret-password");
+
+		List<AddressDTO> addresses = new ArrayList<>();
+		for (int i = 0; i < ADDRESSES; i++) {
+			AddressDTO address = new AddressDTO();
+			address.setCity("City");
+			address.setCountry("Canada");
+			address.setStreetName(i + " Main Street");
+			address.setPostalCode("V6B2M9");
+			address.setType("shipping");
+			addresses.add(address);
+		}
+		user.setAddresses(addresses);
+
+		List<String> inserts = InsertRecorder.record(() -> userService.createUser(user));
+
+		assertEquals(1, count(inserts, "users"), "INSERTs into users: " + inserts);
+		assertEquals(1, count(inserts, "addresses"), "INSERTs into addresses: " + inserts);
+	}
+
+	private static long count(List<String> inserts, String table) {
+		return inserts.stream().filter(sql -> sql.startsWith("insert into " + table + " ")).count();
+	}
+
+	/**
+	 * Records the INSERT statements Hibernate prepares on the recording thread, besides
+	 * counting statements like the inspector it replaces.
+	 */
+	public static class InsertRecorder extends SqlStatementCounter {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+		static List<String> record(Runnable action) {
+			List<String> recorded = new ArrayList<>();
+			RECORDED.set(recorded);
+			try {
+				action.run();
+			} finally {
+				RECORDED.remove();
+			}
+			return recorded;
+		}
+
+		@Override
+		public String inspect(String sql) {
+			List<String> recorded = RECORDED.get();
+			String statement = sql.strip().toLowerCase(Locale.ROOT);
+			if (recorded != null && statement.startsWith("insert")) recorded.add(statement);
+			return super.inspect(sql);
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package com.javadeveloperblogs.app.ws.ui.controller;
+
+import com.javadeveloperblogs.app.ws.io.Repository.RoleRepository;
+import com.javadeveloperblogs.app.ws.io.Repository.UserRepository;
+import com.javadeveloperblogs.app.ws.io.entity.AddressEntity;
+import com.javadeveloperblogs.app.ws.io.entity.RoleEntity;
+import com.javadeveloperblogs.app.ws.io.entity.UserEntity;
+import com.javadeveloperblogs.app.ws.io.statistics.SqlStatementCounter;
+import com.javadeveloperblogs.app.ws.shared.Utils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement budgets of the UserController read endpoints.
+ *
+ * Each test performs one request through MockMvc, so SqlStatementLoggingFilter scopes the
+ * count to that request, and fails if more statements ran than the endpoint is allowed.
+ * A budget that is exceeded usually means a relation is loaded once per user again (N+1).
+ * Runs against the embedded database of the "loadtest" profile.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class UserControllerStatementBudgetTest {
+
+	private static final int USERS = 60;
+	private static final int ADDRESSES_PER_USER = 2;
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	UserRepository userRepository;
+
+	@Autowired
+	RoleRepository roleRepository;
+
+	@Autowired
+	Utils utils;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	private static final List<String> userIds = new ArrayList<>();
+
+	@BeforeEach
+	void seedOnce() {
+		synchronized (userIds) {
+			if (userIds.isEmpty()) seed();
+		}
+	}
+
+	@Test
+	void listingUsersStaysWithinBudget() throws Exception {
+		assertBudget(3, "/users?limit=50");
+	}
+
+	@Test
+	void listingUsersWithExpansionsStaysWithinBudget() throws Exception {
+		assertBudget(3, "/users?limit=50&expand=addresses,roles");
+	}
+
+	@Test
+	void readingUserStaysWithinBudget() throws Exception {
+		assertBudget(3, "/users/" + userIds.get(0));
+	}
+
+	@Test
+	void readingUserFieldsStaysWithinBudget() throws Exception {
+		assertBudget(3, "/users/" + userIds.get(0) + "?fields=firstName&expand=addresses,roles");
+	}
+
+	@Test
+	void readingUserAddressesStaysWithinBudget() throws Exception {
+		assertBudget(2, "/users/" + userIds.get(0) + "/addresses");
+	}
+
+	@Test
+	void multiGetStaysWithinBudget() throws Exception {
+		assertBudget(3, "/users?ids=" + String.join(",", userIds.subList(0, 50)));
+	}
+
+	@Test
+	void addressLookupStaysWithinBudget() throws Exception {
+		String body = "{\"userIds\":[\"" + String.join("\",\"", userIds.subList(0, 50)) + "\"]}";
+		mockMvc.perform(post("/users/addresses/lookup").contentType(MediaType.APPLICATION_JSON).content(body)
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+		assertWithin(3, "POST /users/addresses/lookup");
+	}
+
+	@Test
+	void listingConfirmedUsersStaysWithinBudget() throws Exception {
+		assertBudget(2, "/users/confirmed?limit=25");
+	}
+
+	private void assertBudget(int maxStatements, String uri) throws Exception {
+		mockMvc.perform(get(uri).accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+		assertWithin(maxStatements, "GET " + uri);
+	}
+
+	private static void assertWithin(int maxStatements, String request) {
+		int statements = SqlStatementCounter.lastCompleted().getStatements();
+		assertTrue(statements <= maxStatements,
+				request + " executed " + statements + " SQL statements, budget is " + maxStatements);
+	}
+
+	private void seed() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			RoleEntity role = roleRepository.findByName("ROLE_USER");
+			if (role == null) {
+				role = new RoleEntity();
+				role.setName("ROLE_USER");
+				role.setAuthorities(new ArrayList<>());
+				role = roleRepository.save(role);
+			}
+
+			List<UserEntity> users = new ArrayList<>(USERS);
+			for (int i = 0; i < USERS; i++) {
+				UserEntity user = new UserEntity();
+				user.setUserId(utils.generateUserId());
+				user.setFirstName("Budget" + i);
+				user.setLastName("Check");
+				user.setEmail("budget" + i + "@example.com");
+				user.setEncryptedPassword("not-a-hash");
+				user.setEmailVerificationStatus(true);
+				user.setRoles(new ArrayList<>(List.of(role)));
+
+				List<AddressEntity> addresses = new ArrayList<>(ADDRESSES_PER_USER);
+				for (int a = 0; a < ADDRESSES_PER_USER; a++) {
+					AddressEntity address = new AddressEntity();
+					address.setAddressId(utils.generateAddressId());
+					address.setCity("City");
+					address.setCountry("Canada");
+					address.setStreetName(a + " Main Street");
+					address.setPostalCode("V6B2M9");
+					address.setType("shipping");
+					address.setUserDetails(user);
+					addresses.add(address);
+				}
+				user.setAddresses(addresses);
+				users.add(user);
+			}
+			userRepository.saveAll(users);
+			users.forEach(user -> userIds.add(user.getUserId()));
+		});
+	}
+}
@@ -0,0 +1,175 @@
+package com.javadeveloperblogs.app.ws.ui.filter;
+
+import com.javadeveloperblogs.app.ws.exception.ServiceBusyException;
+import com.javadeveloperblogs.app.ws.service.UserService;
+import com.javadeveloperblogs.app.ws.ui.model.response.ErrorMessages;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.security.Principal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Idempotency-Key handling of POST /users, through IdempotencyFilter and
+ * IdempotencyServiceImpl.
+ *
+ * Each test signs up a user of its own with its own key, and counts through a spy how often
+ * the request reached UserService: a retry is replayed without reaching it, a caller reusing
+ * a key with another body gets 422, two identical requests at the same time run it once, and
+ * a server error is not stored, so the retry runs again.
+ * Runs against the embedded database of the "loadtest" profile.
+ *
+ * @author Nasim Sarwar
+ * @version 1.0
+ * @since 2025
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class IdempotencyFilterTest {
+
+	private static final AtomicInteger signups = new AtomicInteger();
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@MockitoSpyBean
+	UserService userService;
+
+	@BeforeEach
+	void resetSpy() {
+		reset(userService);
+	}
+
+	@Test
+	void aRetryIsReplayed() throws Exception {
+		String key = newKey();
+		String body = signup();
+
+		MockHttpServletResponse first = perform(createUser(key, body));
+		MockHttpServletResponse retry = perform(createUser(key, body));
+
+		assertEquals(200, first.getStatus());
+		assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		assertEquals(200, retry.getStatus());
+		assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		assertEquals(first.getContentAsString(), retry.getContentAsString());
+		assertEquals(first.getContentType(), retry.getContentType());
+		verify(userService, times(1)).createUser(any());
+	}
+
+	@Test
+	void reusingAKeyForAnotherRequestIsRejected() throws Exception {
+		String key = newKey();
+		Principal caller = () -> "idempotency-caller";
+
+		assertEquals(200, perform(createUser(key, signup()).principal(caller)).getStatus());
+		mockMvc.perform(createUser(key, signup()).principal(caller))
+				.andExpect(status().is(422))
+				.andExpect(jsonPath("$.message").value(ErrorMessages.IDEMPOTENCY_KEY_REUSED.getErrorMessage()));
+		verify(userService, times(1)).createUser(any());
+	}
+
+	@Test
+	void concurrentIdenticalRequestsRunOnce() throws Exception {
+		String key = newKey();
+		String body = signup();
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			entered.countDown();
+			assertTrue(release.await(1, TimeUnit.MINUTES), "request was not released");
+			return invocation.callRealMethod();
+		}).when(userService).createUser(any());
+
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			Future<MockHttpServletResponse> first = pool.submit(() -> perform(createUser(key, body)));
+			assertTrue(entered.await(1, TimeUnit.MINUTES), "first request did not reach UserService");
+			Future<MockHttpServletResponse> second = pool.submit(() -> perform(createUser(key, body)));
+			// Give the second request time to find the first one in flight and wait for it
+			Thread.sleep(200);
+			release.countDown();
+
+			MockHttpServletResponse leader = first.get(1, TimeUnit.MINUTES);
+			MockHttpServletResponse follower = second.get(1, TimeUnit.MINUTES);
+			assertEquals(200, leader.getStatus());
+			assertNull(leader.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+			assertEquals(200, follower.getStatus());
+			assertEquals("true", follower.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+			assertEquals(leader.getContentAsString(), follower.getContentAsString());
+		} finally {
+			pool.shutdownNow();
+		}
+		verify(userService, times(1)).createUser(any());
+	}
+
+	@Test
+	void aServerErrorIsNotStored() throws Exception {
+		String key = newKey();
+		String body = signup();
+		doThrow(new ServiceBusyException(ErrorMessages.INTERNAL_SERVER_ERROR))
+				.doCallRealMethod()
+				.when(userService).createUser(any());
+
+		MockHttpServletResponse failed = perform(createUser(key, body));
+		MockHttpServletResponse retry = perform(createUser(key, body));
+		MockHttpServletResponse replay = perform(createUser(key, body));
+
+		assertEquals(503, failed.getStatus());
+		assertEquals(200, retry.getStatus());
+		assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		assertEquals("true", replay.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		assertEquals(retry.getContentAsString(), replay.getContentAsString());
+		verify(userService, times(2)).createUser(any());
+	}
+
+	private MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+		return mockMvc.perform(request).andReturn().getResponse();
+	}
+
+	private static MockHttpServletRequestBuilder createUser(String key, String body) {
+		return post("/users")
+				.header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+				.contentType(MediaType.APPLICATION_JSON)
+				.accept(MediaType.APPLICATION_JSON)
+				.content(body);
+	}
+
+	private static String newKey() {
+		return "idempotency-test-" + signups.incrementAndGet();
+	}
+
+	private static String signup() {
+		int n = signups.incrementAndGet();
+		return "{\"firstName\":\"Idempotent\",\"lastName\":\"Check\",\"email\":\"idempotent" + n
+				+ "@example.com\",\"password\":\"idempotent-password\",\"addresses\":[]}";
+	}
+}